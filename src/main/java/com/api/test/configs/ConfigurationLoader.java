@@ -4,12 +4,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
 
+/**
+ * Loads {@code application-<env>.properties} from the classpath, where {@code env} is taken from
+ * {@code -Denv=...} (the legacy {@code -Dqa=...} is still honoured) and defaults to {@code dev}.
+ *
+ * <p>Any key can be overridden for a single run with a system property of the same name, e.g.
+ * {@code -Dload.concurrency=64}.
+ */
 public class ConfigurationLoader {
 
   private static Properties properties = new Properties();
 
   static {
-    String env = System.getProperty("qa", "dev"); // default to 'qa'
+    String env = System.getProperty("env", System.getProperty("qa", "")).trim();
+    if (env.isEmpty()) {
+      env = "dev";
+    }
     String fileName = "application-" + env + ".properties";
 
     try (InputStream input = ConfigurationLoader.class.getClassLoader().getResourceAsStream(fileName)) {
@@ -23,10 +33,47 @@ public class ConfigurationLoader {
   }
 
   public static String getProperty(String key) {
-    String value = properties.getProperty(key);
+    String value = lookup(key);
     if (value == null) {
       throw new RuntimeException("Property '" + key + "' not found in loaded configuration file");
     }
     return value;
   }
-}
\ No newline at end of file
+
+  public static String getProperty(String key, String defaultValue) {
+    String value = lookup(key);
+    return value == null ? defaultValue : value.trim();
+  }
+
+  public static int getIntProperty(String key, int defaultValue) {
+    String value = lookup(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException ex) {
+      throw new RuntimeException("Property '" + key + "' is not a valid integer: " + value, ex);
+    }
+  }
+
+  public static double getDoubleProperty(String key, double defaultValue) {
+    String value = lookup(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Double.parseDouble(value.trim());
+    } catch (NumberFormatException ex) {
+      throw new RuntimeException("Property '" + key + "' is not a valid number: " + value, ex);
+    }
+  }
+
+  private static String lookup(String key) {
+    String override = System.getProperty(key);
+    if (override != null && !override.isBlank()) {
+      return override;
+    }
+    return properties.getProperty(key);
+  }
+}
@@ -0,0 +1,210 @@
+package com.api.test.generators;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The {@code FakeDataGenerator} class produces large amounts of fake {@link Book}s and {@link
+ * Author}s, e.g. for load and soak runs, using every core.
+ *
+ * <p>Records are generated in chunks of {@value #CHUNK_SIZE} on a pool of worker threads. Each
+ * chunk gets its own {@link SplittableRandom} seeded from the generator seed and the chunk number,
+ * so a seed always produces the same records in the same order whatever the thread count. Chunks
+ * are handed to the {@link RecordSink} in order, from the calling thread, with only a few chunks
+ * per worker held in memory at a time.
+ *
+ * <pre>{@code
+ * FakeDataGenerator generator = FakeDataGenerator.fromConfiguration();
+ * try (RecordSink<Book> sink = RecordSink.jsonArray(Paths.get("target/books.json"))) {
+ *   generator.generate(1_000_000, generator.books(), sink);
+ * }
+ * }</pre>
+ *
+ * <p>Field values come from pools sampled from JavaFaker once per generator, see {@link
+ * FakeValuePools}; use {@link #serialized(RecordFactory)} to also serialize the payloads on the
+ * worker threads. Configuration: {@code generator.seed} (default 42) and {@code
+ * generator.threads} (default: available processors).
+ */
+public final class FakeDataGenerator {
+
+  static final int CHUNK_SIZE = 1024;
+  // publish dates are relative to a fixed day rather than "now", so they are reproducible too
+  private static final Instant REFERENCE_DATE = Instant.parse("2025-01-01T00:00:00Z");
+  private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+  private static final DateTimeFormatter PUBLISH_DATE =
+      DateTimeFormatter.ISO_INSTANT.withZone(ZoneOffset.UTC);
+
+  private final long seed;
+  private final int threads;
+  private final FakeValuePools pools;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  public FakeDataGenerator(long seed, int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least 1: " + threads);
+    }
+    this.seed = seed;
+    this.threads = threads;
+    this.pools = FakeValuePools.sample(seed);
+  }
+
+  public static FakeDataGenerator fromConfiguration() {
+    return new FakeDataGenerator(
+        Long.parseLong(ConfigurationLoader.getProperty("generator.seed", "42")),
+        ConfigurationLoader.getIntProperty(
+            "generator.threads", Runtime.getRuntime().availableProcessors()));
+  }
+
+  /** Books with ids {@code 1..count}, shaped like {@code BookRepository.getFakeNewBook()}. */
+  public RecordFactory<Book> books() {
+    return (index, random) ->
+        Book.builder()
+            .id((int) index + 1)
+            .title(pools.title(random))
+            .description(pools.paragraph(random))
+            .pageCount(random.nextInt(1000))
+            .excerpt(pools.paragraph(random))
+            .publishDate(
+                PUBLISH_DATE.format(REFERENCE_DATE.minusMillis(random.nextLong(YEAR_MILLIS))))
+            .build();
+  }
+
+  /** Authors with ids {@code 1..count}, each pointing at a book id in {@code 1..maxBookId}. */
+  public RecordFactory<Author> authors(int maxBookId) {
+    return (index, random) ->
+        Author.builder()
+            .id((int) index + 1)
+            .idBook(1 + random.nextInt(maxBookId))
+            .firstName(pools.firstName(random))
+            .lastName(pools.lastName(random))
+            .build();
+  }
+
+  /** Serializes every record to its JSON request body on the worker that created it. */
+  public <T> RecordFactory<byte[]> serialized(RecordFactory<T> factory) {
+    return (index, random) -> {
+      try {
+        return objectMapper.writeValueAsBytes(factory.create(index, random));
+      } catch (JsonProcessingException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+  }
+
+  /**
+   * Generates {@code count} records and passes them to {@code sink} in order. The sink is not
+   * closed, so several data sets can go to the same sink.
+   */
+  public <T> void generate(long count, RecordFactory<T> factory, RecordSink<? super T> sink)
+      throws IOException {
+    long chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    // enough queued chunks to keep every worker busy while the sink drains the oldest one
+    int window = threads * 2;
+    ExecutorService workers = Executors.newFixedThreadPool(threads);
+    try {
+      Deque<Future<List<T>>> pending = new ArrayDeque<>(window);
+      long next = 0;
+      while (next < chunks || !pending.isEmpty()) {
+        while (next < chunks && pending.size() < window) {
+          long chunk = next++;
+          pending.add(workers.submit(() -> createChunk(chunk, count, factory)));
+        }
+        sink.accept(pending.poll().get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while generating records", e);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException cause
+          ? cause
+          : new IllegalStateException(e.getCause());
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  private <T> List<T> createChunk(long chunk, long count, RecordFactory<T> factory) {
+    SplittableRandom random = new SplittableRandom(mix(seed, chunk));
+    long from = chunk * CHUNK_SIZE;
+    long to = Math.min(count, from + CHUNK_SIZE);
+    List<T> records = new ArrayList<>((int) (to - from));
+    for (long index = from; index < to; index++) {
+      records.add(factory.create(index, random));
+    }
+    return records;
+  }
+
+  // SplittableRandom seeds that differ in a single bit give correlated streams, so mix first
+  private static long mix(long seed, long chunk) {
+    long z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Writes a data set to a file: {@code books|authors <count> <file>}, JSON array, or {@code
+   * book-payloads|author-payloads <count> <file>}, one request body per line.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      throw new IllegalArgumentException(
+          "Usage: FakeDataGenerator books|authors|book-payloads|author-payloads <count> <file>");
+    }
+    FakeDataGenerator generator = fromConfiguration();
+    long count = Long.parseLong(args[1]);
+    Path file = Paths.get(args[2]);
+    long start = System.nanoTime();
+    switch (args[0]) {
+      case "books" -> {
+        try (RecordSink<Book> sink = RecordSink.jsonArray(file)) {
+          generator.generate(count, generator.books(), sink);
+        }
+      }
+      case "authors" -> {
+        try (RecordSink<Author> sink = RecordSink.jsonArray(file)) {
+          generator.generate(count, generator.authors(maxBookId(count)), sink);
+        }
+      }
+      case "book-payloads" -> {
+        try (RecordSink<byte[]> sink = RecordSink.jsonLines(file)) {
+          generator.generate(count, generator.serialized(generator.books()), sink);
+        }
+      }
+      case "author-payloads" -> {
+        try (RecordSink<byte[]> sink = RecordSink.jsonLines(file)) {
+          generator.generate(
+              count, generator.serialized(generator.authors(maxBookId(count))), sink);
+        }
+      }
+      default -> throw new IllegalArgumentException("Unknown data set: " + args[0]);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf(
+        "Wrote %,d %s to %s in %.1f s (%,.0f records/s, %d threads)%n",
+        count, args[0], file, seconds, count / seconds, generator.threads);
+  }
+
+  private static int maxBookId(long authors) {
+    return ConfigurationLoader.getIntProperty("load.maxBookId", (int) Math.max(1, authors));
+  }
+}
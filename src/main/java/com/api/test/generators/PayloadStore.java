@@ -0,0 +1,101 @@
+package com.api.test.generators;
+
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code PayloadStore} class holds request bodies that were generated and serialized once, as
+ * UTF-8 bytes, to be sent again and again, e.g. by a load run that creates millions of books from
+ * a few thousand payloads. Handing out a payload allocates nothing, and the request classes send
+ * {@code byte[]} bodies without encoding or copying them, so a request pays neither for the
+ * reflection of a serializer nor for the copies of a {@code String} body.
+ *
+ * <p>The payloads are shared: callers must not change the arrays they get. {@link #next()} is safe
+ * for concurrent use.
+ *
+ * <pre>{@code
+ * PayloadStore books = PayloadStore.newBooks(FakeDataGenerator.fromConfiguration(), 1024);
+ * bookRequests.createBookBytes(books.next());
+ * }</pre>
+ */
+public final class PayloadStore {
+
+  private final byte[][] payloads;
+  private final long totalBytes;
+  private final AtomicInteger cursor = new AtomicInteger();
+
+  public PayloadStore(List<byte[]> payloads) {
+    if (payloads.isEmpty()) {
+      throw new IllegalArgumentException("A payload store needs at least one payload");
+    }
+    this.payloads = payloads.toArray(new byte[0][]);
+    long total = 0;
+    for (byte[] payload : this.payloads) {
+      total += payload.length;
+    }
+    this.totalBytes = total;
+  }
+
+  /**
+   * {@code count} new books, generated and serialized on the workers of {@code generator}. Their
+   * id is {@code 0}, as for a book the service has not stored yet.
+   */
+  public static PayloadStore newBooks(FakeDataGenerator generator, int count) {
+    RecordFactory<Book> books = generator.books();
+    return generate(
+        generator,
+        count,
+        (index, random) -> {
+          Book book = books.create(index, random);
+          book.setId(0);
+          return book;
+        });
+  }
+
+  /** {@code count} new authors (id {@code 0}), each of a book in {@code 1..maxBookId}. */
+  public static PayloadStore newAuthors(FakeDataGenerator generator, int count, int maxBookId) {
+    RecordFactory<Author> authors = generator.authors(maxBookId);
+    return generate(
+        generator,
+        count,
+        (index, random) -> {
+          Author author = authors.create(index, random);
+          author.setId(0);
+          return author;
+        });
+  }
+
+  private static <T> PayloadStore generate(
+      FakeDataGenerator generator, int count, RecordFactory<T> factory) {
+    List<byte[]> payloads = new ArrayList<>(count);
+    try {
+      generator.generate(count, generator.serialized(factory), RecordSink.collect(payloads));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new PayloadStore(payloads);
+  }
+
+  /** The payloads one after the other, starting over after the last one. */
+  public byte[] next() {
+    return payloads[Math.floorMod(cursor.getAndIncrement(), payloads.length)];
+  }
+
+  public byte[] get(int index) {
+    return payloads[index];
+  }
+
+  public int size() {
+    return payloads.length;
+  }
+
+  /** The bytes of all payloads together, i.e. about the heap the store takes. */
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+}
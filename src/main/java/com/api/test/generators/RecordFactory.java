@@ -0,0 +1,15 @@
+package com.api.test.generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * Creates the record at a given position of a generated data set. {@code random} is seeded from
+ * the generator seed and the record's chunk, so the same seed always yields the same records, no
+ * matter how many threads produce them. Implementations are called from several threads at once
+ * and must not keep mutable state.
+ */
+@FunctionalInterface
+public interface RecordFactory<T> {
+
+  T create(long index, SplittableRandom random);
+}
@@ -0,0 +1,94 @@
+package com.api.test.generators;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Receives generated records chunk by chunk, in index order and always from the thread that called
+ * {@link FakeDataGenerator#generate}, so implementations do not need to be thread-safe. {@link
+ * #close()} is called once generation has finished or failed.
+ */
+public interface RecordSink<T> extends AutoCloseable {
+
+  void accept(List<? extends T> chunk) throws IOException;
+
+  @Override
+  default void close() throws IOException {}
+
+  /** Writes records as one JSON array, readable with {@code LoadDataFromJson.streamObjects}. */
+  static <T> RecordSink<T> jsonArray(Path file) throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    JsonGenerator json =
+        mapper.getFactory().createGenerator(Files.newOutputStream(file), JsonEncoding.UTF8);
+    json.writeStartArray();
+    return new RecordSink<>() {
+      @Override
+      public void accept(List<? extends T> chunk) throws IOException {
+        for (T record : chunk) {
+          json.writeObject(record);
+        }
+      }
+
+      @Override
+      public void close() throws IOException {
+        json.writeEndArray();
+        json.close();
+      }
+    };
+  }
+
+  /** Writes pre-serialized payloads one per line (JSON Lines). */
+  static RecordSink<byte[]> jsonLines(Path file) throws IOException {
+    OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+    return new RecordSink<>() {
+      @Override
+      public void accept(List<? extends byte[]> chunk) throws IOException {
+        for (byte[] payload : chunk) {
+          out.write(payload);
+          out.write('\n');
+        }
+      }
+
+      @Override
+      public void close() throws IOException {
+        out.close();
+      }
+    };
+  }
+
+  /**
+   * Hands records to a consumer on another thread. {@code put} blocks while the queue is full, so
+   * a slow consumer holds generation back instead of letting it fill the heap.
+   */
+  static <T> RecordSink<T> queue(BlockingQueue<? super T> queue) {
+    return chunk -> {
+      try {
+        for (T record : chunk) {
+          queue.put(record);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while handing records to the queue", e);
+      }
+    };
+  }
+
+  /** Adds every record to {@code target}; only for data sets that fit in memory. */
+  static <T> RecordSink<T> collect(Collection<? super T> target) {
+    return target::addAll;
+  }
+
+  /** Drops every record; for measuring generation alone. */
+  static <T> RecordSink<T> discard() {
+    return chunk -> {};
+  }
+}
@@ -0,0 +1,146 @@
+package com.api.test.load;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.generators.FakeDataGenerator;
+import com.api.test.generators.PayloadStore;
+import com.api.test.repositories.AuthorRepository;
+import com.api.test.repositories.BookRepository;
+import com.api.test.requests.AuthorRequests;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.CircuitBreakers;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.RetryPolicy;
+import com.google.gson.Gson;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * The {@code LoadContext} class holds what the load operations need to build their requests: the
+ * request classes, the repositories used to generate payloads and the id ranges to pick existing
+ * records from. It is shared by all load workers and safe for concurrent use.
+ *
+ * <p>Create and update operations send payloads from a {@link PayloadStore}: {@code payloadCount}
+ * books and authors are generated and serialized by {@link #prepare()}, which the runners call
+ * before their clock starts, and then sent in turn, so a request costs no serialization. With a {@code payloadCount} of {@code 0} every request serializes a new
+ * fake record instead.
+ *
+ * <p>{@link #fromConfiguration()} neither retries calls nor sends them through a circuit breaker
+ * (see {@link #unprotected(RequestSettings)}): a run measures the endpoint, not the backoff of a
+ * retry or the instant rejection of an open breaker.
+ */
+@Getter
+public class LoadContext {
+
+  static final int DEFAULT_PAYLOAD_COUNT = 1_024;
+
+  private final RequestSettings settings;
+  private final BookRequests bookRequests;
+  private final AuthorRequests authorRequests;
+  private final BookRepository bookRepository = new BookRepository();
+  private final AuthorRepository authorRepository = new AuthorRepository();
+  private final Gson gson = new Gson();
+  private final int maxBookId;
+  private final int maxAuthorId;
+  private final int payloadCount;
+
+  @Getter(AccessLevel.NONE)
+  private volatile Payloads payloads;
+
+  public LoadContext(RequestSettings settings, int maxBookId, int maxAuthorId) {
+    this(settings, maxBookId, maxAuthorId, DEFAULT_PAYLOAD_COUNT);
+  }
+
+  public LoadContext(RequestSettings settings, int maxBookId, int maxAuthorId, int payloadCount) {
+    this.settings = settings;
+    this.bookRequests = new BookRequests(settings);
+    this.authorRequests = new AuthorRequests(settings);
+    this.maxBookId = maxBookId;
+    this.maxAuthorId = maxAuthorId;
+    this.payloadCount = payloadCount;
+  }
+
+  /** Context for the {@code baseUrl} and {@code load.*} settings of the active environment. */
+  public static LoadContext fromConfiguration() {
+    return new LoadContext(
+        unprotected(RequestSettings.fromConfiguration()),
+        ConfigurationLoader.getIntProperty("load.maxBookId", 200),
+        ConfigurationLoader.getIntProperty("load.maxAuthorId", 200),
+        ConfigurationLoader.getIntProperty("load.payloads", DEFAULT_PAYLOAD_COUNT));
+  }
+
+  /**
+   * {@code settings} without retries and with the circuit breakers disabled, so every call is sent
+   * once and timed and judged by what the server answered.
+   */
+  public static RequestSettings unprotected(RequestSettings settings) {
+    return settings.toBuilder()
+        .retryPolicy(RetryPolicy.none())
+        .circuitBreakers(CircuitBreakers.disabled())
+        .build();
+  }
+
+  public int randomBookId() {
+    return ThreadLocalRandom.current().nextInt(1, maxBookId + 1);
+  }
+
+  public int randomAuthorId() {
+    return ThreadLocalRandom.current().nextInt(1, maxAuthorId + 1);
+  }
+
+  public String newBookPayload() {
+    return gson.toJson(bookRepository.getFakeNewBook());
+  }
+
+  public String newAuthorPayload() {
+    return gson.toJson(authorRepository.getFakeNewAuthor());
+  }
+
+  /**
+   * Generates and serializes the stored payloads, if not done yet. Runners call it before they
+   * start timing; otherwise the first create or update would build them while every other worker
+   * waits.
+   */
+  public void prepare() {
+    if (payloadCount > 0) {
+      payloads();
+    }
+  }
+
+  /** The next stored book payload, or a new one when {@code payloadCount} is {@code 0}. */
+  public byte[] bookPayload() {
+    if (payloadCount == 0) {
+      return newBookPayload().getBytes(StandardCharsets.UTF_8);
+    }
+    return payloads().books().next();
+  }
+
+  /** The next stored author payload, or a new one when {@code payloadCount} is {@code 0}. */
+  public byte[] authorPayload() {
+    if (payloadCount == 0) {
+      return newAuthorPayload().getBytes(StandardCharsets.UTF_8);
+    }
+    return payloads().authors().next();
+  }
+
+  private Payloads payloads() {
+    Payloads current = payloads;
+    if (current == null) {
+      synchronized (this) {
+        current = payloads;
+        if (current == null) {
+          FakeDataGenerator generator = FakeDataGenerator.fromConfiguration();
+          current =
+              new Payloads(
+                  PayloadStore.newBooks(generator, payloadCount),
+                  PayloadStore.newAuthors(generator, payloadCount, maxBookId));
+          payloads = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private record Payloads(PayloadStore books, PayloadStore authors) {}
+}
@@ -0,0 +1,83 @@
+package com.api.test.load;
+
+import io.restassured.response.Response;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * The {@code LoadOperation} enum lists the requests a load scenario can be mixed from. Every
+ * operation is a thin call into {@code BookRequests} or {@code AuthorRequests}, so the endpoint
+ * knowledge stays in one place; operation names match the request method names.
+ */
+public enum LoadOperation {
+  GET_ALL_BOOKS("getAllBooks", context -> context.getBookRequests().getAllBooks()),
+  GET_BOOK_BY_ID(
+      "getBookById", context -> context.getBookRequests().getBookById(context.randomBookId())),
+  CREATE_BOOK(
+      "createBook", context -> context.getBookRequests().createBookBytes(context.bookPayload())),
+  UPDATE_BOOK(
+      "updateBook",
+      context ->
+          context.getBookRequests().updateBookBytes(context.randomBookId(), context.bookPayload())),
+  DELETE_BOOK(
+      "deleteBook", context -> context.getBookRequests().deleteBook(context.randomBookId())),
+  GET_ALL_AUTHORS("getAllAuthors", context -> context.getAuthorRequests().getAllAuthors()),
+  GET_AUTHOR_BY_ID(
+      "getAuthorById",
+      context -> context.getAuthorRequests().getAuthorById(context.randomAuthorId())),
+  CREATE_AUTHOR(
+      "createAuthor",
+      context -> context.getAuthorRequests().createAuthorBytes(context.authorPayload())),
+  UPDATE_AUTHOR(
+      "updateAuthor",
+      context ->
+          context
+              .getAuthorRequests()
+              .updateAuthorBytes(context.randomAuthorId(), context.authorPayload())),
+  DELETE_AUTHOR(
+      "deleteAuthor",
+      context -> context.getAuthorRequests().deleteAuthor(context.randomAuthorId()));
+
+  private final String operationName;
+  private final Function<LoadContext, Response> call;
+
+  LoadOperation(String operationName, Function<LoadContext, Response> call) {
+    this.operationName = operationName;
+    this.call = call;
+  }
+
+  public String getOperationName() {
+    return operationName;
+  }
+
+  public Response execute(LoadContext context) {
+    return call.apply(context);
+  }
+
+  /**
+   * Runs the operation and tells whether it failed: it answered with a status outside {@code 2xx}
+   * or threw, e.g. an {@code UncheckedIOException} for a refused connection.
+   */
+  public boolean executeFailed(LoadContext context) {
+    try {
+      int status = execute(context).statusCode();
+      return status < 200 || status >= 300;
+    } catch (RuntimeException e) {
+      return true;
+    }
+  }
+
+  public static LoadOperation fromName(String name) {
+    return Arrays.stream(values())
+        .filter(operation -> operation.operationName.equalsIgnoreCase(name.trim()))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    String.format(
+                        "Unknown load operation '%s', expected one of %s",
+                        name,
+                        Arrays.toString(
+                            Arrays.stream(values()).map(o -> o.operationName).toArray()))));
+  }
+}
@@ -0,0 +1,51 @@
+package com.api.test.load;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The {@code LoadPlan} class describes a load run: the scenario mix, how many workers run it
+ * concurrently and when to stop. A run stops after {@code iterations} requests when that is set
+ * (greater than zero), otherwise after {@code duration}.
+ *
+ * <p>When {@code ratePerSecond} is set the plan describes an open-model run instead: requests are
+ * started at a constant arrival rate no matter how fast the target answers, and at most {@code
+ * maxInFlight} of them are on the wire at once (see {@link OpenModelLoadRunner}).
+ */
+@Getter
+@Builder
+public class LoadPlan {
+
+  private final ScenarioMix mix;
+  @Builder.Default private final int concurrency = 16;
+  @Builder.Default private final Duration duration = Duration.ofSeconds(30);
+  @Builder.Default private final long iterations = 0;
+  @Builder.Default private final double ratePerSecond = 0;
+  @Builder.Default private final int maxInFlight = 1_000;
+
+  /** Plan from the {@code load.*} settings of the active environment. */
+  public static LoadPlan fromConfiguration() {
+    return LoadPlan.builder()
+        .mix(
+            ScenarioMix.parse(
+                ConfigurationLoader.getProperty(
+                    "load.mix", "getBookById:70,getAllBooks:20,createBook:10")))
+        .concurrency(ConfigurationLoader.getIntProperty("load.concurrency", 16))
+        .duration(
+            Duration.ofSeconds(ConfigurationLoader.getIntProperty("load.durationSeconds", 30)))
+        .iterations(ConfigurationLoader.getIntProperty("load.iterations", 0))
+        .ratePerSecond(ConfigurationLoader.getDoubleProperty("load.ratePerSecond", 0))
+        .maxInFlight(ConfigurationLoader.getIntProperty("load.maxInFlight", 1_000))
+        .build();
+  }
+
+  public boolean isIterationBound() {
+    return iterations > 0;
+  }
+
+  public boolean isOpenModel() {
+    return ratePerSecond > 0;
+  }
+}
@@ -0,0 +1,156 @@
+package com.api.test.load;
+
+import com.api.test.metrics.LatencyHistogram;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The {@code LoadReport} class summarizes a finished load run: throughput, error count and latency
+ * percentiles for every operation of the mix, plus a total line.
+ *
+ * <p>Reports of open-model runs print two tables: latency corrected for coordinated omission
+ * (measured from the intended start) and the uncorrected service time (measured from the actual
+ * send), so the effect of a stall on the tail is visible at a glance.
+ */
+public class LoadReport {
+
+  private static final String ROW_FORMAT =
+      "%-16s %9s %8s %10s %9s %9s %9s %9s %9s%n";
+  private static final String OPEN_MODEL_ROW_FORMAT = "%-16s %9s %8s %10s %9s %9s %10s %9s%n";
+
+  private final String target;
+  private final Duration elapsed;
+  private final List<OperationStats> operations;
+  private final boolean openModel;
+
+  public LoadReport(
+      String target, Duration elapsed, List<OperationStats> operations, boolean openModel) {
+    this.target = target;
+    this.elapsed = elapsed;
+    this.operations = operations;
+    this.openModel = openModel;
+  }
+
+  public Duration getElapsed() {
+    return elapsed;
+  }
+
+  public List<OperationStats> getOperations() {
+    return operations;
+  }
+
+  public long getTotalCount() {
+    return operations.stream().mapToLong(stats -> stats.getLatency().getCount()).sum();
+  }
+
+  public long getTotalErrors() {
+    return operations.stream().mapToLong(OperationStats::getErrors).sum();
+  }
+
+  /** Requests per second over the whole run. */
+  public double getThroughput() {
+    return throughput(getTotalCount());
+  }
+
+  /** Latency of all operations, measured from the intended start of each request. */
+  public LatencyHistogram getTotalLatency() {
+    LatencyHistogram total = new LatencyHistogram();
+    operations.forEach(stats -> total.add(stats.getLatency()));
+    return total;
+  }
+
+  /** Service time of all operations, measured from the actual send (open-model runs only). */
+  public LatencyHistogram getTotalServiceTime() {
+    LatencyHistogram total = new LatencyHistogram();
+    operations.forEach(stats -> total.add(stats.getServiceTime()));
+    return total;
+  }
+
+  public void print(PrintStream out) {
+    out.printf("Load run against %s finished in %.1f s%n", target, elapsed.toMillis() / 1000.0);
+    if (openModel) {
+      out.println("Corrected latency (from intended start):");
+      printOpenModelTable(out, OperationStats::getLatency);
+      out.println("Uncorrected service time (from actual send):");
+      printOpenModelTable(out, OperationStats::getServiceTime);
+      return;
+    }
+    out.printf(
+        ROW_FORMAT,
+        "operation",
+        "count",
+        "errors",
+        "req/s",
+        "mean ms",
+        "p50 ms",
+        "p90 ms",
+        "p99 ms",
+        "max ms");
+    LatencyHistogram total = new LatencyHistogram();
+    for (OperationStats stats : operations) {
+      total.add(stats.getLatency());
+      printRow(out, stats.getOperation().getOperationName(), stats.getLatency(), stats.getErrors());
+    }
+    printRow(out, "TOTAL", total, getTotalErrors());
+  }
+
+  private void printOpenModelTable(
+      PrintStream out, Function<OperationStats, LatencyHistogram> histogram) {
+    out.printf(
+        OPEN_MODEL_ROW_FORMAT,
+        "operation",
+        "count",
+        "errors",
+        "req/s",
+        "p50 ms",
+        "p99 ms",
+        "p99.9 ms",
+        "max ms");
+    LatencyHistogram total = new LatencyHistogram();
+    for (OperationStats stats : operations) {
+      total.add(histogram.apply(stats));
+      printOpenModelRow(
+          out, stats.getOperation().getOperationName(), histogram.apply(stats), stats.getErrors());
+    }
+    printOpenModelRow(out, "TOTAL", total, getTotalErrors());
+  }
+
+  private void printOpenModelRow(
+      PrintStream out, String name, LatencyHistogram latency, long errors) {
+    out.printf(
+        OPEN_MODEL_ROW_FORMAT,
+        name,
+        latency.getCount(),
+        errors,
+        String.format("%.1f", throughput(latency.getCount())),
+        millis(latency.getValueAtPercentile(50)),
+        millis(latency.getValueAtPercentile(99)),
+        millis(latency.getValueAtPercentile(99.9)),
+        millis(latency.getMax()));
+  }
+
+  private void printRow(PrintStream out, String name, LatencyHistogram latency, long errors) {
+    out.printf(
+        ROW_FORMAT,
+        name,
+        latency.getCount(),
+        errors,
+        String.format("%.1f", throughput(latency.getCount())),
+        millis(Math.round(latency.getMean())),
+        millis(latency.getValueAtPercentile(50)),
+        millis(latency.getValueAtPercentile(90)),
+        millis(latency.getValueAtPercentile(99)),
+        millis(latency.getMax()));
+  }
+
+  private double throughput(long count) {
+    long elapsedMicros = Math.max(1, elapsed.toNanos() / 1_000);
+    return count * 1_000_000.0 / elapsedMicros;
+  }
+
+  private static String millis(long micros) {
+    return String.format("%.2f", micros / 1000.0);
+  }
+}
@@ -0,0 +1,108 @@
+package com.api.test.load;
+
+import com.api.test.metrics.EndpointMetrics;
+import com.api.test.metrics.EndpointMetricsReport;
+import com.api.test.requests.ResponseCache;
+import com.api.test.server.FakeRestApiServer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code LoadRunner} class drives the existing request classes with a weighted scenario mix.
+ * It is a closed-loop runner: every worker (a virtual thread) sends its next request as soon as the
+ * previous one returns, so {@code concurrency} is the number of requests in flight.
+ *
+ * <p>Run it from Maven against any configured environment, e.g.
+ *
+ * <pre>
+ * mvn -Pload test-compile exec:java -Denv=prod -Dload.concurrency=32 -Dload.durationSeconds=60
+ * </pre>
+ *
+ * <p>A closed loop hides server stalls: while the target is slow, fewer requests are sent. Set
+ * {@code -Dload.ratePerSecond} to run the {@link OpenModelLoadRunner} instead.
+ *
+ * @see LoadPlan
+ * @see ScenarioMix
+ */
+public class LoadRunner {
+
+  private final LoadContext context;
+  private final LoadPlan plan;
+
+  public LoadRunner(LoadContext context, LoadPlan plan) {
+    this.context = context;
+    this.plan = plan;
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    // -Denv=local runs against the in-process FakeRestApi, a baseline for the client side
+    FakeRestApiServer.startEmbeddedIfConfigured();
+    LoadContext context = LoadContext.fromConfiguration();
+    LoadPlan plan = LoadPlan.fromConfiguration();
+    String stopCondition =
+        plan.isIterationBound()
+            ? plan.getIterations() + " iterations"
+            : plan.getDuration().toSeconds() + " s";
+    if (plan.isOpenModel()) {
+      System.out.printf(
+          "Starting open-model load run: mix=%s, rate=%.1f req/s, maxInFlight=%d, %s%n",
+          plan.getMix(), plan.getRatePerSecond(), plan.getMaxInFlight(), stopCondition);
+      new OpenModelLoadRunner(context, plan).run().print(System.out);
+    } else {
+      System.out.printf(
+          "Starting load run: mix=%s, concurrency=%d, %s%n",
+          plan.getMix(), plan.getConcurrency(), stopCondition);
+      new LoadRunner(context, plan).run().print(System.out);
+    }
+    EndpointMetricsReport endpoints = EndpointMetrics.shared().report();
+    endpoints.print(System.out);
+    endpoints.writeTo(null);
+    if (ResponseCache.shared().isEnabled()) {
+      System.out.printf("Response cache: %s%n", ResponseCache.shared().stats());
+    }
+    FakeRestApiServer.stopEmbedded();
+  }
+
+  public LoadReport run() throws InterruptedException {
+    Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+    for (LoadOperation operation : plan.getMix().getOperations()) {
+      stats.put(operation, new OperationStats(operation));
+    }
+
+    AtomicLong remaining = new AtomicLong(plan.getIterations());
+    context.prepare();
+    long start = System.nanoTime();
+    long deadline = start + plan.getDuration().toNanos();
+
+    ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    for (int i = 0; i < plan.getConcurrency(); i++) {
+      workers.submit(
+          () -> {
+            while (plan.isIterationBound()
+                ? remaining.getAndDecrement() > 0
+                : System.nanoTime() < deadline) {
+              LoadOperation operation = plan.getMix().next();
+              execute(operation, stats.get(operation));
+            }
+          });
+    }
+    workers.shutdown();
+    workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    return new LoadReport(
+        context.getBookRequests().getBaseUri(), elapsed, new ArrayList<>(stats.values()), false);
+  }
+
+  private void execute(LoadOperation operation, OperationStats stats) {
+    long callStart = System.nanoTime();
+    boolean error = operation.executeFailed(context);
+    stats.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - callStart), error);
+  }
+}
@@ -0,0 +1,95 @@
+package com.api.test.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code OpenModelLoadRunner} class sends requests at a constant arrival rate (an open model),
+ * independent of how fast the target answers. Request {@code i} is scheduled for {@code start + i /
+ * rate}; its latency is recorded from that intended start, so a request that had to wait behind a
+ * stalled one is charged for the wait. This avoids coordinated omission, where a closed loop simply
+ * stops sending while the server stalls and the percentiles look better than they are.
+ *
+ * <p>Each request runs on its own virtual thread. At most {@code maxInFlight} are on the wire at
+ * once, like a client with a bounded connection pool; the rest queue for a permit. Both the
+ * corrected latency and the uncorrected service time (from the moment a permit was obtained) are
+ * recorded, see {@link OperationStats}.
+ *
+ * <pre>
+ * mvn -Pload test-compile exec:java -Denv=prod -Dload.ratePerSecond=200 -Dload.durationSeconds=60
+ * </pre>
+ */
+public class OpenModelLoadRunner {
+
+  private final LoadContext context;
+  private final LoadPlan plan;
+
+  public OpenModelLoadRunner(LoadContext context, LoadPlan plan) {
+    if (!plan.isOpenModel()) {
+      throw new IllegalArgumentException("An open-model plan needs a ratePerSecond above zero");
+    }
+    this.context = context;
+    this.plan = plan;
+  }
+
+  public LoadReport run() throws InterruptedException {
+    Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+    for (LoadOperation operation : plan.getMix().getOperations()) {
+      stats.put(operation, new OperationStats(operation));
+    }
+
+    long intervalNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / plan.getRatePerSecond());
+    long requests =
+        plan.isIterationBound()
+            ? plan.getIterations()
+            : Math.max(1, plan.getDuration().toNanos() / intervalNanos);
+    Semaphore inFlight = new Semaphore(plan.getMaxInFlight());
+
+    context.prepare();
+    long start = System.nanoTime();
+    ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    for (long i = 0; i < requests; i++) {
+      long intendedStart = start + i * intervalNanos;
+      sleepUntil(intendedStart);
+      LoadOperation operation = plan.getMix().next();
+      senders.submit(() -> execute(operation, stats.get(operation), intendedStart, inFlight));
+    }
+    senders.shutdown();
+    senders.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    return new LoadReport(
+        context.getBookRequests().getBaseUri(), elapsed, new ArrayList<>(stats.values()), true);
+  }
+
+  private void execute(
+      LoadOperation operation, OperationStats stats, long intendedStart, Semaphore inFlight) {
+    inFlight.acquireUninterruptibly();
+    long actualStart = System.nanoTime();
+    boolean error;
+    try {
+      error = operation.executeFailed(context);
+    } finally {
+      inFlight.release();
+    }
+    long end = System.nanoTime();
+    stats.record(
+        TimeUnit.NANOSECONDS.toMicros(end - intendedStart),
+        TimeUnit.NANOSECONDS.toMicros(end - actualStart),
+        error);
+  }
+
+  private static void sleepUntil(long deadline) {
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.api.test.load;
+
+import com.api.test.metrics.LatencyHistogram;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency (in microseconds) and error count of a single {@link LoadOperation} during a load run.
+ * A call counts as an error when it throws or returns a status outside the 2xx range.
+ *
+ * <p>{@code latency} is measured from the moment the request should have been sent. In an
+ * open-model run that is its scheduled start, so time spent queued behind a stalled request is
+ * included (the coordinated-omission-corrected value). {@code serviceTime} is only filled by
+ * open-model runs and is measured from the moment the request was actually sent, which is what a
+ * naive client would report.
+ */
+public class OperationStats {
+
+  private final LoadOperation operation;
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LatencyHistogram serviceTime = new LatencyHistogram();
+  private final LongAdder errors = new LongAdder();
+
+  public OperationStats(LoadOperation operation) {
+    this.operation = operation;
+  }
+
+  public void record(long latencyMicros, boolean error) {
+    latency.record(latencyMicros);
+    if (error) {
+      errors.increment();
+    }
+  }
+
+  public void record(long latencyMicros, long serviceTimeMicros, boolean error) {
+    serviceTime.record(serviceTimeMicros);
+    record(latencyMicros, error);
+  }
+
+  public LoadOperation getOperation() {
+    return operation;
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  public LatencyHistogram getServiceTime() {
+    return serviceTime;
+  }
+
+  public long getErrors() {
+    return errors.sum();
+  }
+}
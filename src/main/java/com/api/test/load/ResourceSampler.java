@@ -0,0 +1,129 @@
+package com.api.test.load;
+
+import com.api.test.requests.HttpConnectionPool;
+import com.sun.management.UnixOperatingSystemMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * The {@code ResourceSampler} class reads the resource use of this JVM from the platform MXBeans:
+ * heap, garbage collections since the previous sample, live threads, connections of the client
+ * pool and open file descriptors (sockets included). When the target is the embedded {@code
+ * FakeRestApiServer} it runs in the same JVM, so its share is part of every number.
+ *
+ * <p>{@code heapAfterGcBytes} is what the heap held after the latest collection. Unlike the plain
+ * heap use it does not depend on when the sample falls between two collections, which makes it the
+ * number to watch for leaks.
+ */
+public class ResourceSampler {
+
+  private final HttpConnectionPool connectionPool;
+  private final List<MemoryPoolMXBean> heapPools =
+      ManagementFactory.getMemoryPoolMXBeans().stream()
+          .filter(pool -> pool.getType() == MemoryType.HEAP)
+          .toList();
+  // ZGC and Shenandoah also report their concurrent cycles, which do not stop the application
+  private final List<GarbageCollectorMXBean> collectors =
+      ManagementFactory.getGarbageCollectorMXBeans().stream()
+          .filter(collector -> !collector.getName().endsWith("Cycles"))
+          .toList();
+  private final OperatingSystemMXBean operatingSystem =
+      ManagementFactory.getOperatingSystemMXBean();
+  private long lastGcCount;
+  private long lastGcMillis;
+
+  /**
+   * Creates a sampler; collections before this call are not counted.
+   *
+   * @param connectionPool the pool whose connections are counted, {@code null} for none
+   */
+  public ResourceSampler(HttpConnectionPool connectionPool) {
+    this.connectionPool = connectionPool;
+    this.lastGcCount = gcCount();
+    this.lastGcMillis = gcMillis();
+  }
+
+  /** Reads the current use; the garbage collection numbers cover the time since the last call. */
+  public synchronized Usage sample() {
+    long heapUsed = 0;
+    long heapAfterGc = 0;
+    for (MemoryPoolMXBean pool : heapPools) {
+      MemoryUsage usage = pool.getUsage();
+      MemoryUsage afterGc = pool.getCollectionUsage();
+      heapUsed += usage.getUsed();
+      heapAfterGc += afterGc != null ? afterGc.getUsed() : usage.getUsed();
+    }
+    long gcCount = gcCount();
+    long gcMillis = gcMillis();
+    Usage sample =
+        new Usage(
+            heapUsed,
+            heapAfterGc,
+            gcCount - lastGcCount,
+            gcMillis - lastGcMillis,
+            ManagementFactory.getThreadMXBean().getThreadCount(),
+            connectionPool != null ? connectionPool.stats() : new PoolStats(0, 0, 0, 0),
+            operatingSystem instanceof UnixOperatingSystemMXBean unix
+                ? unix.getOpenFileDescriptorCount()
+                : -1);
+    lastGcCount = gcCount;
+    lastGcMillis = gcMillis;
+    return sample;
+  }
+
+  private long gcCount() {
+    return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+  }
+
+  private long gcMillis() {
+    return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+  }
+
+  /**
+   * Resource use at one point of a run.
+   *
+   * @param heapUsedBytes the heap in use at the time of the sample
+   * @param heapAfterGcBytes the heap in use after the latest collection
+   * @param gcCount the collections since the previous sample
+   * @param gcPauseMillis the time those collections took
+   * @param threads the live threads
+   * @param leasedConnections the pooled connections in use
+   * @param idleConnections the pooled connections kept open for reuse
+   * @param openFiles the open file descriptors, {@code -1} where the platform does not tell
+   */
+  public record Usage(
+      long heapUsedBytes,
+      long heapAfterGcBytes,
+      long gcCount,
+      long gcPauseMillis,
+      int threads,
+      int leasedConnections,
+      int idleConnections,
+      long openFiles) {
+
+    private Usage(
+        long heapUsedBytes,
+        long heapAfterGcBytes,
+        long gcCount,
+        long gcPauseMillis,
+        int threads,
+        PoolStats pool,
+        long openFiles) {
+      this(
+          heapUsedBytes,
+          heapAfterGcBytes,
+          gcCount,
+          gcPauseMillis,
+          threads,
+          pool.getLeased(),
+          pool.getAvailable(),
+          openFiles);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.api.test.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code ScenarioMix} class picks the next {@link LoadOperation} according to relative weights,
+ * e.g. {@code getBookById:70,getAllBooks:20,createBook:10}. Weights do not have to add up to 100.
+ */
+public class ScenarioMix {
+
+  private final List<LoadOperation> operations;
+  private final int[] cumulativeWeights;
+  private final int totalWeight;
+
+  private ScenarioMix(List<LoadOperation> operations, int[] cumulativeWeights) {
+    this.operations = operations;
+    this.cumulativeWeights = cumulativeWeights;
+    this.totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+  }
+
+  /**
+   * Parses a comma separated list of {@code operationName:weight} pairs.
+   *
+   * @throws IllegalArgumentException if the definition is empty, names an unknown operation or has
+   *     a weight that is not a positive integer
+   */
+  public static ScenarioMix parse(String definition) {
+    List<LoadOperation> operations = new ArrayList<>();
+    List<Integer> cumulative = new ArrayList<>();
+    int total = 0;
+    for (String entry : definition.split(",")) {
+      if (entry.isBlank()) {
+        continue;
+      }
+      String[] parts = entry.split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Expected 'operation:weight' but got '" + entry + "'");
+      }
+      int weight;
+      try {
+        weight = Integer.parseInt(parts[1].trim());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Weight is not a number in '" + entry + "'", e);
+      }
+      if (weight <= 0) {
+        throw new IllegalArgumentException("Weight must be positive in '" + entry + "'");
+      }
+      total += weight;
+      operations.add(LoadOperation.fromName(parts[0]));
+      cumulative.add(total);
+    }
+    if (operations.isEmpty()) {
+      throw new IllegalArgumentException("Scenario mix is empty");
+    }
+    return new ScenarioMix(
+        Collections.unmodifiableList(operations),
+        cumulative.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  public LoadOperation next() {
+    int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (ticket < cumulativeWeights[i]) {
+        return operations.get(i);
+      }
+    }
+    return operations.get(operations.size() - 1);
+  }
+
+  public List<LoadOperation> getOperations() {
+    return operations;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder description = new StringBuilder();
+    int previous = 0;
+    for (int i = 0; i < operations.size(); i++) {
+      if (i > 0) {
+        description.append(',');
+      }
+      description
+          .append(operations.get(i).getOperationName())
+          .append(':')
+          .append(cumulativeWeights[i] - previous);
+      previous = cumulativeWeights[i];
+    }
+    return description.toString();
+  }
+}
@@ -0,0 +1,45 @@
+package com.api.test.load;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The {@code SoakPlan} class describes a soak run on top of a {@link LoadPlan}: how long the mix is
+ * looped, how often resources and latency are sampled, and how much upward drift the trend may
+ * show before the report flags it. Samples taken during {@code warmUp} are reported but left out
+ * of the trends, so JIT compilation and filling caches are not mistaken for degradation.
+ *
+ * <p>With an {@code outputDir} the samples, the report and a JDK Flight Recorder recording ({@code
+ * soak.jfr}, unless {@code recording} is off) are written there.
+ */
+@Getter
+@Builder
+public class SoakPlan {
+
+  @Builder.Default private final Duration duration = Duration.ofHours(1);
+  @Builder.Default private final Duration sampleInterval = Duration.ofSeconds(30);
+  @Builder.Default private final Duration warmUp = Duration.ofMinutes(1);
+  @Builder.Default private final double maxLatencyDriftPercent = 20;
+  @Builder.Default private final double maxHeapGrowthPercent = 20;
+  @Builder.Default private final boolean recording = true;
+  private final Path outputDir;
+
+  /** Plan from the {@code soak.*} settings of the active environment. */
+  public static SoakPlan fromConfiguration() {
+    return SoakPlan.builder()
+        .duration(
+            Duration.ofMinutes(ConfigurationLoader.getIntProperty("soak.durationMinutes", 60)))
+        .sampleInterval(
+            Duration.ofSeconds(ConfigurationLoader.getIntProperty("soak.sampleSeconds", 30)))
+        .warmUp(Duration.ofSeconds(ConfigurationLoader.getIntProperty("soak.warmUpSeconds", 60)))
+        .maxLatencyDriftPercent(
+            ConfigurationLoader.getIntProperty("soak.maxLatencyDriftPercent", 20))
+        .maxHeapGrowthPercent(ConfigurationLoader.getIntProperty("soak.maxHeapGrowthPercent", 20))
+        .recording(Boolean.parseBoolean(ConfigurationLoader.getProperty("soak.jfr", "true").trim()))
+        .outputDir(Path.of(ConfigurationLoader.getProperty("soak.outputDir", "target/soak").trim()))
+        .build();
+  }
+}
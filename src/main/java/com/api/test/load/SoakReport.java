@@ -0,0 +1,253 @@
+package com.api.test.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleFunction;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The {@code SoakReport} class summarizes a finished soak run: the samples taken at every interval
+ * and straight-line trends through them (see {@link Trend}) for the p99 latency, the heap after
+ * garbage collection, the thread count and the open files. Samples taken during the warm-up are
+ * left out of the trends.
+ *
+ * <p>The p99 latency and the heap after GC are judged against the limits of the {@link SoakPlan}:
+ * a trend that rises by more than {@code maxLatencyDriftPercent} or {@code maxHeapGrowthPercent}
+ * over the run is listed in {@link #getFindings()}. At least {@value #MIN_TREND_SAMPLES} samples
+ * are needed for a verdict.
+ */
+public class SoakReport {
+
+  static final int MIN_TREND_SAMPLES = 3;
+  static final String CSV_HEADER =
+      "elapsed_s,requests,errors,p50_us,p99_us,max_us,heap_used_bytes,heap_after_gc_bytes,"
+          + "gc_count,gc_pause_ms,threads,leased_connections,idle_connections,open_files";
+  static final String CSV_FILE = "soak-samples.csv";
+  static final String JSON_FILE = "soak-report.json";
+  private static final String ROW_FORMAT =
+      "%9s %8s %7s %9s %9s %9s %12s %5s %7s %8s %6s %6s%n";
+  private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024;
+
+  private final LoadReport load;
+  private final List<SoakSample> samples;
+  private final SoakPlan plan;
+
+  public SoakReport(LoadReport load, List<SoakSample> samples, SoakPlan plan) {
+    this.load = load;
+    this.samples = samples;
+    this.plan = plan;
+  }
+
+  /** Throughput, errors and latency per operation over the whole run. */
+  public LoadReport getLoad() {
+    return load;
+  }
+
+  public List<SoakSample> getSamples() {
+    return samples;
+  }
+
+  /** The p99 latency in microseconds; intervals without a completed request are skipped. */
+  public Trend getLatencyTrend() {
+    return trend(sample -> sample.requests() > 0, SoakSample::p99Micros);
+  }
+
+  /** The heap in use after garbage collection, in bytes. */
+  public Trend getHeapTrend() {
+    return trend(sample -> true, sample -> sample.resources().heapAfterGcBytes());
+  }
+
+  public Trend getThreadTrend() {
+    return trend(sample -> true, sample -> sample.resources().threads());
+  }
+
+  public Trend getOpenFilesTrend() {
+    return trend(
+        sample -> sample.resources().openFiles() >= 0, sample -> sample.resources().openFiles());
+  }
+
+  /** Latency drift and heap growth above the limits of the plan; empty for a stable run. */
+  public List<String> getFindings() {
+    List<String> findings = new ArrayList<>();
+    Trend latency = getLatencyTrend();
+    if (latency.points() >= MIN_TREND_SAMPLES
+        && latency.changePercent() > plan.getMaxLatencyDriftPercent()) {
+      findings.add(
+          String.format(
+              "p99 latency drifted up %.1f%% (%s ms -> %s ms), limit %.0f%%",
+              latency.changePercent(),
+              millis(latency.start()),
+              millis(latency.end()),
+              plan.getMaxLatencyDriftPercent()));
+    }
+    Trend heap = getHeapTrend();
+    if (heap.points() >= MIN_TREND_SAMPLES
+        && heap.changePercent() > plan.getMaxHeapGrowthPercent()) {
+      findings.add(
+          String.format(
+              "heap after GC grew %.1f%% (%s MB -> %s MB), limit %.0f%%",
+              heap.changePercent(),
+              megabytes(heap.start()),
+              megabytes(heap.end()),
+              plan.getMaxHeapGrowthPercent()));
+    }
+    return findings;
+  }
+
+  public void print(PrintStream out) {
+    load.print(out);
+    out.printf(
+        ROW_FORMAT,
+        "elapsed s",
+        "requests",
+        "errors",
+        "p50 ms",
+        "p99 ms",
+        "heap MB",
+        "after GC MB",
+        "GCs",
+        "GC ms",
+        "threads",
+        "conns",
+        "files");
+    for (SoakSample sample : samples) {
+      ResourceSampler.Usage resources = sample.resources();
+      out.printf(
+          ROW_FORMAT,
+          sample.elapsedMillis() / 1000,
+          sample.requests(),
+          sample.errors(),
+          millis(sample.p50Micros()),
+          millis(sample.p99Micros()),
+          megabytes(resources.heapUsedBytes()),
+          megabytes(resources.heapAfterGcBytes()),
+          resources.gcCount(),
+          resources.gcPauseMillis(),
+          resources.threads(),
+          resources.leasedConnections() + resources.idleConnections(),
+          resources.openFiles());
+    }
+    out.printf("Trends after a warm-up of %d s:%n", plan.getWarmUp().toSeconds());
+    printTrend(out, "p99 latency ms", getLatencyTrend(), SoakReport::millis);
+    printTrend(out, "heap after GC MB", getHeapTrend(), SoakReport::megabytes);
+    printTrend(out, "threads", getThreadTrend(), value -> String.format("%.0f", value));
+    printTrend(out, "open files", getOpenFilesTrend(), value -> String.format("%.0f", value));
+    List<String> findings = getFindings();
+    if (findings.isEmpty()) {
+      out.printf(
+          "No latency drift above %.0f%% or heap growth above %.0f%%%n",
+          plan.getMaxLatencyDriftPercent(), plan.getMaxHeapGrowthPercent());
+    }
+    findings.forEach(finding -> out.println("DRIFT: " + finding));
+  }
+
+  public String toCsv() {
+    StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+    samples.forEach(sample -> csv.append(csvRow(sample)).append('\n'));
+    return csv.toString();
+  }
+
+  static String csvRow(SoakSample sample) {
+    ResourceSampler.Usage resources = sample.resources();
+    return String.join(
+        ",",
+        String.format("%.1f", sample.elapsedMillis() / 1000.0),
+        String.valueOf(sample.requests()),
+        String.valueOf(sample.errors()),
+        String.valueOf(sample.p50Micros()),
+        String.valueOf(sample.p99Micros()),
+        String.valueOf(sample.maxMicros()),
+        String.valueOf(resources.heapUsedBytes()),
+        String.valueOf(resources.heapAfterGcBytes()),
+        String.valueOf(resources.gcCount()),
+        String.valueOf(resources.gcPauseMillis()),
+        String.valueOf(resources.threads()),
+        String.valueOf(resources.leasedConnections()),
+        String.valueOf(resources.idleConnections()),
+        String.valueOf(resources.openFiles()));
+  }
+
+  public String toJson() {
+    Map<String, Object> trends = new LinkedHashMap<>();
+    trends.put("p99Micros", getLatencyTrend());
+    trends.put("heapAfterGcBytes", getHeapTrend());
+    trends.put("threads", getThreadTrend());
+    trends.put("openFiles", getOpenFilesTrend());
+    Map<String, Object> root = new LinkedHashMap<>();
+    root.put("elapsedSeconds", load.getElapsed().toMillis() / 1000.0);
+    root.put("requests", load.getTotalCount());
+    root.put("errors", load.getTotalErrors());
+    root.put("warmUpSeconds", plan.getWarmUp().toSeconds());
+    root.put("trends", trends);
+    root.put("findings", getFindings());
+    root.put("samples", samples);
+    try {
+      return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(root);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Writes {@code soak-samples.csv} and {@code soak-report.json} into {@code directory}. */
+  public void writeTo(Path directory) {
+    write(directory.resolve(CSV_FILE), toCsv());
+    write(directory.resolve(JSON_FILE), toJson());
+  }
+
+  private Trend trend(Predicate<SoakSample> include, ToDoubleFunction<SoakSample> value) {
+    long warmUpMillis = plan.getWarmUp().toMillis();
+    List<SoakSample> measured =
+        samples.stream()
+            .filter(sample -> sample.elapsedMillis() > warmUpMillis)
+            .filter(include)
+            .toList();
+    double[] hours = new double[measured.size()];
+    double[] values = new double[measured.size()];
+    for (int i = 0; i < measured.size(); i++) {
+      hours[i] = measured.get(i).elapsedMillis() / 3_600_000.0;
+      values[i] = value.applyAsDouble(measured.get(i));
+    }
+    return Trend.fit(hours, values);
+  }
+
+  private static void printTrend(
+      PrintStream out, String name, Trend trend, DoubleFunction<String> format) {
+    if (trend.points() < MIN_TREND_SAMPLES) {
+      out.printf("  %-18s not enough samples (%d)%n", name, trend.points());
+      return;
+    }
+    out.printf(
+        "  %-18s %s -> %s (%+.1f%%)%n",
+        name, format.apply(trend.start()), format.apply(trend.end()), trend.changePercent());
+  }
+
+  private static String millis(double micros) {
+    return String.format("%.2f", micros / 1000.0);
+  }
+
+  private static String megabytes(double bytes) {
+    return String.format("%.1f", bytes / BYTES_PER_MEGABYTE);
+  }
+
+  static void write(Path file, String content) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.writeString(file, content, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
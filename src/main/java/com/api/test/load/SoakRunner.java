@@ -0,0 +1,253 @@
+package com.api.test.load;
+
+import com.api.test.metrics.EndpointMetrics;
+import com.api.test.metrics.EndpointMetricsReport;
+import com.api.test.metrics.LatencyHistogram;
+import com.api.test.requests.HttpTransport;
+import com.api.test.server.FakeRestApiServer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * The {@code SoakRunner} class loops the scenario mix of a {@link LoadPlan} for hours, the way the
+ * closed-loop {@link LoadRunner} does, to catch slow degradation: a latency that creeps up, a heap
+ * that keeps growing, threads or connections that leak.
+ *
+ * <p>Every {@code sampleInterval} it closes a latency window and reads the resource use of the JVM
+ * (see {@link ResourceSampler}); each sample is appended to {@code soak-samples.csv} right away, so
+ * a run that is stopped early keeps what it measured. A JDK Flight Recorder recording with the
+ * {@code default} settings (about 1% overhead) runs alongside and is written to {@code soak.jfr}
+ * when the run ends, for the details behind a trend: allocation, GC pauses, lock contention.
+ * Nothing outside the JVM is needed; open the recording with JDK Mission Control or {@code jfr
+ * print}.
+ *
+ * <pre>
+ * mvn -Psoak test-compile exec:java -Denv=local -Dsoak.durationMinutes=240
+ * </pre>
+ *
+ * @see SoakPlan
+ * @see SoakReport
+ */
+public class SoakRunner {
+
+  static final String RECORDING_FILE = "soak.jfr";
+
+  private final LoadContext context;
+  private final LoadPlan plan;
+  private final SoakPlan soak;
+
+  public SoakRunner(LoadContext context, LoadPlan plan, SoakPlan soak) {
+    if (soak.getSampleInterval().isZero() || soak.getSampleInterval().isNegative()) {
+      throw new IllegalArgumentException("The sample interval must be positive");
+    }
+    this.context = context;
+    this.plan = plan;
+    this.soak = soak;
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    // -Denv=local runs the target in this JVM, so the samples and the recording cover it too
+    FakeRestApiServer.startEmbeddedIfConfigured();
+    LoadContext context = LoadContext.fromConfiguration();
+    LoadPlan plan = LoadPlan.fromConfiguration();
+    SoakPlan soak = SoakPlan.fromConfiguration();
+    System.out.printf(
+        "Starting soak run: mix=%s, concurrency=%d, %d min, a sample every %d s, output in %s%n",
+        plan.getMix(),
+        plan.getConcurrency(),
+        soak.getDuration().toMinutes(),
+        soak.getSampleInterval().toSeconds(),
+        soak.getOutputDir());
+    SoakReport report = new SoakRunner(context, plan, soak).run();
+    report.print(System.out);
+    report.writeTo(soak.getOutputDir());
+    EndpointMetricsReport endpoints = EndpointMetrics.shared().report();
+    endpoints.print(System.out);
+    endpoints.writeTo(null);
+    FakeRestApiServer.stopEmbedded();
+  }
+
+  public SoakReport run() throws InterruptedException {
+    Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+    for (LoadOperation operation : plan.getMix().getOperations()) {
+      stats.put(operation, new OperationStats(operation));
+    }
+    Path outputDir = soak.getOutputDir();
+    Recording recording =
+        outputDir != null && soak.isRecording() ? startRecording(outputDir) : null;
+    // the JDK transport keeps its connections out of the pool; open files still count them
+    ResourceSampler sampler =
+        new ResourceSampler(
+            context.getSettings().getTransport() == HttpTransport.Type.REST_ASSURED
+                ? context.getSettings().getConnectionPool()
+                : null);
+    Windows windows = new Windows();
+    List<SoakSample> samples = new ArrayList<>();
+
+    context.prepare();
+    long start = System.nanoTime();
+    long deadline = start + soak.getDuration().toNanos();
+    ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    for (int i = 0; i < plan.getConcurrency(); i++) {
+      workers.submit(
+          () -> {
+            while (System.nanoTime() < deadline) {
+              LoadOperation operation = plan.getMix().next();
+              execute(operation, stats.get(operation), windows);
+            }
+          });
+    }
+    workers.shutdown();
+
+    try (BufferedWriter csv = openCsv(outputDir)) {
+      long intervalNanos = soak.getSampleInterval().toNanos();
+      for (long tick = start + intervalNanos; tick < deadline; tick += intervalNanos) {
+        TimeUnit.NANOSECONDS.sleep(tick - System.nanoTime());
+        SoakSample sample = windows.next().close(tick - start, sampler);
+        samples.add(sample);
+        append(csv, sample);
+      }
+      // the last interval ends when the requests in flight at the deadline are done
+      workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      Window last = windows.next();
+      if (last.latency.getCount() > 0) {
+        SoakSample sample = last.close(System.nanoTime() - start, sampler);
+        samples.add(sample);
+        append(csv, sample);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write the soak samples to " + outputDir, e);
+    } finally {
+      if (recording != null) {
+        // stopping writes the recording to its destination
+        recording.stop();
+        recording.close();
+      }
+    }
+
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    String target = context.getBookRequests().getBaseUri();
+    return new SoakReport(
+        new LoadReport(target, elapsed, new ArrayList<>(stats.values()), false), samples, soak);
+  }
+
+  private void execute(LoadOperation operation, OperationStats stats, Windows windows) {
+    long callStart = System.nanoTime();
+    boolean error = operation.executeFailed(context);
+    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - callStart);
+    stats.record(latencyMicros, error);
+    windows.record(latencyMicros, error);
+  }
+
+  /** Starts a recording that is written to {@code soak.jfr} when it stops. */
+  private static Recording startRecording(Path outputDir) {
+    try {
+      Files.createDirectories(outputDir);
+      Recording recording = new Recording(Configuration.getConfiguration("default"));
+      recording.setName("soak");
+      recording.setToDisk(true);
+      recording.setDestination(outputDir.resolve(RECORDING_FILE));
+      recording.start();
+      return recording;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not start the flight recording in " + outputDir, e);
+    } catch (ParseException e) {
+      throw new IllegalStateException("The JDK's default recording settings do not parse", e);
+    }
+  }
+
+  private static BufferedWriter openCsv(Path outputDir) throws IOException {
+    if (outputDir == null) {
+      return null;
+    }
+    Files.createDirectories(outputDir);
+    BufferedWriter csv =
+        Files.newBufferedWriter(outputDir.resolve(SoakReport.CSV_FILE), StandardCharsets.UTF_8);
+    csv.write(SoakReport.CSV_HEADER);
+    csv.newLine();
+    return csv;
+  }
+
+  private static void append(BufferedWriter csv, SoakSample sample) throws IOException {
+    if (csv != null) {
+      csv.write(SoakReport.csvRow(sample));
+      csv.newLine();
+      csv.flush();
+    }
+  }
+
+  /**
+   * The window calls are recorded into. Recording holds the read lock and starting the next window
+   * the write lock, so a window is closed only after every call recording into it is done; a call
+   * that completes while the window is swapped lands in the new one instead of being lost.
+   */
+  private static final class Windows {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Window current = new Window();
+
+    void record(long latencyMicros, boolean error) {
+      lock.readLock().lock();
+      try {
+        current.record(latencyMicros, error);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Starts a new window and returns the previous one, which nothing records into any more. */
+    Window next() {
+      lock.writeLock().lock();
+      try {
+        Window previous = current;
+        current = new Window();
+        return previous;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /** The requests completed since the previous sample. */
+  private static final class Window {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyMicros, boolean error) {
+      latency.record(latencyMicros);
+      if (error) {
+        errors.increment();
+      }
+    }
+
+    SoakSample close(long elapsedNanos, ResourceSampler sampler) {
+      return new SoakSample(
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+          latency.getCount(),
+          errors.sum(),
+          latency.getValueAtPercentile(50),
+          latency.getValueAtPercentile(99),
+          latency.getMax(),
+          sampler.sample());
+    }
+  }
+}
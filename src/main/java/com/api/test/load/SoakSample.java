@@ -0,0 +1,22 @@
+package com.api.test.load;
+
+/**
+ * One sample of a soak run: the requests that completed since the previous sample and the
+ * resource use at the end of that interval.
+ *
+ * @param elapsedMillis the time since the start of the run
+ * @param requests the requests completed in the interval
+ * @param errors the requests in the interval that threw or returned a status outside 2xx
+ * @param p50Micros the median latency in the interval
+ * @param p99Micros the 99th percentile latency in the interval
+ * @param maxMicros the highest latency in the interval
+ * @param resources the resource use at the end of the interval
+ */
+public record SoakSample(
+    long elapsedMillis,
+    long requests,
+    long errors,
+    long p50Micros,
+    long p99Micros,
+    long maxMicros,
+    ResourceSampler.Usage resources) {}
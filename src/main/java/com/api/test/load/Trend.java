@@ -0,0 +1,50 @@
+package com.api.test.load;
+
+/**
+ * A least-squares straight line through a series of values over time. {@code start} and {@code
+ * end} are the line at the first and last point, so a single outlier moves them far less than it
+ * would move the first or last value itself.
+ *
+ * @param points the number of values the line was fitted to
+ * @param start the fitted value at the first point
+ * @param end the fitted value at the last point
+ * @param slopePerHour the change of the fitted value per hour
+ */
+public record Trend(int points, double start, double end, double slopePerHour) {
+
+  /**
+   * Fits a line through {@code values} taken at {@code hours}.
+   *
+   * @throws IllegalArgumentException if the arrays differ in length
+   */
+  public static Trend fit(double[] hours, double[] values) {
+    if (hours.length != values.length) {
+      throw new IllegalArgumentException(
+          hours.length + " points in time for " + values.length + " values");
+    }
+    int n = values.length;
+    if (n == 0) {
+      return new Trend(0, 0, 0, 0);
+    }
+    double meanX = 0;
+    double meanY = 0;
+    for (int i = 0; i < n; i++) {
+      meanX += hours[i] / n;
+      meanY += values[i] / n;
+    }
+    double covariance = 0;
+    double variance = 0;
+    for (int i = 0; i < n; i++) {
+      covariance += (hours[i] - meanX) * (values[i] - meanY);
+      variance += (hours[i] - meanX) * (hours[i] - meanX);
+    }
+    double slope = variance == 0 ? 0 : covariance / variance;
+    return new Trend(
+        n, meanY + slope * (hours[0] - meanX), meanY + slope * (hours[n - 1] - meanX), slope);
+  }
+
+  /** The change from {@code start} to {@code end} in percent of {@code start}. */
+  public double changePercent() {
+    return start <= 0 ? 0 : (end - start) * 100 / start;
+  }
+}
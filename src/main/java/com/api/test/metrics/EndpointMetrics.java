@@ -0,0 +1,222 @@
+package com.api.test.metrics;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code EndpointMetrics} class collects the latency, status codes and errors of every request
+ * sent through a {@code BaseRequest}, grouped by HTTP method and endpoint. Ids in the path are
+ * normalised, so {@code GET api/v1/Books/17} and {@code GET api/v1/Books/18} both count as {@code
+ * GET Books/{id}}.
+ *
+ * <p>The recording path is lock-free and allocation-free once an endpoint has been seen: the
+ * endpoint is looked up by the unmodified endpoint string in a concurrent map, and the counters are
+ * atomics (see {@link EndpointStats}). Normalising the name only happens on the first call for an
+ * endpoint.
+ *
+ * <p>Time spent waiting for the request limiter is kept per endpoint apart from the latency.
+ * Retries and calls rejected by an open circuit breaker are counted per endpoint; the state
+ * changes of the circuit breakers are kept as a list of {@link BreakerTransition}s.
+ *
+ * <p>{@link #snapshot()} and {@link EndpointMetricsReport} turn the counters into a table, CSV or
+ * JSON at the end of a run. The shared registry can be switched off with {@code
+ * metrics.enabled=false}.
+ */
+public final class EndpointMetrics {
+
+  private static final EndpointMetrics SHARED =
+      new EndpointMetrics(
+          Boolean.parseBoolean(ConfigurationLoader.getProperty("metrics.enabled", "true").trim()));
+
+  private static final Pattern VERSION_PREFIX = Pattern.compile("^api/v\\d+/");
+  private static final Pattern ID_SEGMENT =
+      Pattern.compile(
+          "\\d+"
+              + "|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+  private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+  private final boolean enabled;
+  // keyed by the endpoint string as callers pass it; several spellings may share one Endpoint
+  private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+  private final Map<String, Endpoint> byName = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<BreakerTransition> transitions =
+      new ConcurrentLinkedQueue<>();
+  private final long startNanos = System.nanoTime();
+
+  public EndpointMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** The registry every {@code BaseRequest} records into unless its settings name another one. */
+  public static EndpointMetrics shared() {
+    return SHARED;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Records a call that returned a response.
+   *
+   * @param method the HTTP method, upper case
+   * @param endpoint the endpoint as passed to {@code BaseRequest}, e.g. {@code api/v1/Books}
+   * @param item whether an id was appended to the endpoint
+   * @param status the response status
+   * @param elapsedNanos time from sending the request to having the whole response
+   */
+  public void record(String method, String endpoint, boolean item, int status, long elapsedNanos) {
+    if (enabled) {
+      stats(method, endpoint, item).record(status, TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+  }
+
+  /** Records a call that threw instead of returning a response. */
+  public void recordFailure(String method, String endpoint, boolean item, long elapsedNanos) {
+    if (enabled) {
+      stats(method, endpoint, item).recordFailure(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+  }
+
+  /** Records how long a call waited for the client-side request limiter. */
+  public void recordLimiterWait(String method, String endpoint, boolean item, long waitNanos) {
+    if (enabled) {
+      stats(method, endpoint, item).recordLimiterWait(TimeUnit.NANOSECONDS.toMicros(waitNanos));
+    }
+  }
+
+  /** Records that a failed call is about to be sent again. */
+  public void recordRetry(String method, String endpoint, boolean item) {
+    if (enabled) {
+      stats(method, endpoint, item).recordRetry();
+    }
+  }
+
+  /** Records a call that an open circuit breaker rejected without sending it. */
+  public void recordShortCircuit(String method, String endpoint, boolean item) {
+    if (enabled) {
+      stats(method, endpoint, item).recordShortCircuit();
+    }
+  }
+
+  /** Records a state change of the circuit breaker of {@code host}, e.g. from CLOSED to OPEN. */
+  public void recordBreakerTransition(String host, String from, String to) {
+    if (enabled) {
+      transitions.add(new BreakerTransition(System.currentTimeMillis(), host, from, to));
+    }
+  }
+
+  /** The circuit breaker state changes, oldest first. */
+  public List<BreakerTransition> breakerTransitions() {
+    return List.copyOf(transitions);
+  }
+
+  /** Every endpoint with at least one call, ordered by endpoint and method. */
+  public List<EndpointStats> snapshot() {
+    List<EndpointStats> all = new ArrayList<>();
+    byName.values().forEach(endpoint -> endpoint.collect(all));
+    all.sort(
+        Comparator.comparing(EndpointStats::getEndpoint).thenComparing(EndpointStats::getMethod));
+    return all;
+  }
+
+  /** Snapshot of the metrics as a report covering the time since creation. */
+  public EndpointMetricsReport report() {
+    return new EndpointMetricsReport(
+        snapshot(), breakerTransitions(), System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Replaces id-like path segments (numbers, UUIDs) with {@code {id}} and drops a leading {@code
+   * api/vN/}: {@code /api/v1/Books/17} becomes {@code Books/{id}}.
+   */
+  public static String normalize(String path) {
+    String trimmed = path.trim();
+    int query = trimmed.indexOf('?');
+    if (query >= 0) {
+      trimmed = trimmed.substring(0, query);
+    }
+    while (trimmed.startsWith("/")) {
+      trimmed = trimmed.substring(1);
+    }
+    trimmed = VERSION_PREFIX.matcher(trimmed).replaceFirst("");
+    StringBuilder normalized = new StringBuilder(trimmed.length());
+    for (String segment : trimmed.split("/")) {
+      if (segment.isEmpty()) {
+        continue;
+      }
+      if (normalized.length() > 0) {
+        normalized.append('/');
+      }
+      normalized.append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+    }
+    return normalized.toString();
+  }
+
+  private EndpointStats stats(String method, String endpoint, boolean item) {
+    Endpoint holder = endpoints.get(endpoint);
+    if (holder == null) {
+      holder =
+          endpoints.computeIfAbsent(
+              endpoint, key -> byName.computeIfAbsent(normalize(key), Endpoint::new));
+    }
+    return holder.stats(method, item);
+  }
+
+  /** A state change of the circuit breaker of one host. */
+  public record BreakerTransition(long epochMillis, String host, String from, String to) {}
+
+  /** The stats of one endpoint string, one slot per method and collection/item form. */
+  private static final class Endpoint {
+
+    private final String collection;
+    private final String item;
+    // created on first use; slot = method index * 2 + (item ? 1 : 0)
+    private final AtomicReferenceArray<EndpointStats> stats =
+        new AtomicReferenceArray<>(METHODS.length * 2);
+
+    Endpoint(String collection) {
+      this.collection = collection;
+      this.item = collection.isEmpty() ? "{id}" : collection + "/{id}";
+    }
+
+    EndpointStats stats(String method, boolean isItem) {
+      int index = methodIndex(method);
+      int slot = index * 2 + (isItem ? 1 : 0);
+      EndpointStats existing = stats.get(slot);
+      if (existing != null) {
+        return existing;
+      }
+      stats.compareAndSet(
+          slot, null, new EndpointStats(METHODS[index], isItem ? item : collection));
+      return stats.get(slot);
+    }
+
+    void collect(List<EndpointStats> into) {
+      for (int slot = 0; slot < stats.length(); slot++) {
+        EndpointStats slotStats = stats.get(slot);
+        if (slotStats != null
+            && (slotStats.getCount() > 0 || slotStats.getShortCircuited() > 0)) {
+          into.add(slotStats);
+        }
+      }
+    }
+
+    private static int methodIndex(String method) {
+      for (int i = 0; i < METHODS.length; i++) {
+        if (METHODS[i].equals(method)) {
+          return i;
+        }
+      }
+      throw new IllegalArgumentException("Invalid HTTP method: " + method);
+    }
+  }
+}
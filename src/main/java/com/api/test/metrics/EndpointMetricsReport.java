@@ -0,0 +1,347 @@
+package com.api.test.metrics;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code EndpointMetricsReport} class is a snapshot of {@link EndpointMetrics}: one row per
+ * method and endpoint with count, throughput, errors, status codes and latency percentiles, printed
+ * as a table or written as CSV or JSON. Latencies are in microseconds in the files and in
+ * milliseconds in the table.
+ *
+ * <p>The JSON also holds the histogram buckets of every endpoint, so reports of several JVMs (e.g.
+ * test shards) can be read back with {@link #readJson(Path)} and combined with {@link #merge(List)}
+ * without losing the percentiles.
+ *
+ * <p>The time calls waited for the request limiter is reported next to, not in, the latency.
+ * Retries and calls rejected by an open circuit breaker are columns of every row; the circuit
+ * breaker state changes of the run are listed below the table and in the JSON.
+ */
+public class EndpointMetricsReport {
+
+  public static final String CSV_FILE = "endpoint-metrics.csv";
+  public static final String JSON_FILE = "endpoint-metrics.json";
+
+  private static final String ROW_FORMAT =
+      "%-7s %-24s %8s %8s %8s %8s %9s %9s %9s %9s %9s %9s%n";
+  private static final String CSV_HEADER =
+      "method,endpoint,count,errors,failures,retries,short_circuited,requests_per_second,mean_us,"
+          + "p50_us,p90_us,p99_us,max_us,limiter_wait_mean_us,limiter_wait_p99_us,statuses";
+
+  private final List<EndpointStats> endpoints;
+  private final List<EndpointMetrics.BreakerTransition> breakerTransitions;
+  private final long elapsedNanos;
+
+  public EndpointMetricsReport(List<EndpointStats> endpoints, long elapsedNanos) {
+    this(endpoints, List.of(), elapsedNanos);
+  }
+
+  public EndpointMetricsReport(
+      List<EndpointStats> endpoints,
+      List<EndpointMetrics.BreakerTransition> breakerTransitions,
+      long elapsedNanos) {
+    this.endpoints = List.copyOf(endpoints);
+    this.breakerTransitions = List.copyOf(breakerTransitions);
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /** Reads a report written by {@link #writeJson(Path)}. */
+  public static EndpointMetricsReport readJson(Path file) {
+    JsonNode root;
+    try {
+      root = new ObjectMapper().readTree(file.toFile());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read endpoint metrics " + file, e);
+    }
+    List<EndpointStats> endpoints = new ArrayList<>();
+    for (JsonNode row : root.path("endpoints")) {
+      JsonNode histogram = row.path("histogram");
+      if (histogram.isMissingNode()) {
+        throw new IllegalArgumentException(
+            file + " has no latency histogram for " + row.path("endpoint").asText());
+      }
+      Map<Integer, Long> statuses = new LinkedHashMap<>();
+      row.path("statuses")
+          .fields()
+          .forEachRemaining(
+              status ->
+                  statuses.put(Integer.valueOf(status.getKey()), status.getValue().asLong()));
+      endpoints.add(
+          EndpointStats.restore(
+              row.path("method").asText(),
+              row.path("endpoint").asText(),
+              histogramOf(histogram),
+              histogramOf(row.path("limiterWaitHistogram")),
+              statuses,
+              row.path("errors").asLong(),
+              row.path("failures").asLong(),
+              row.path("retries").asLong(),
+              row.path("shortCircuited").asLong()));
+    }
+    List<EndpointMetrics.BreakerTransition> transitions = new ArrayList<>();
+    for (JsonNode transition : root.path("breakerTransitions")) {
+      transitions.add(
+          new EndpointMetrics.BreakerTransition(
+              transition.path("epochMillis").asLong(),
+              transition.path("host").asText(),
+              transition.path("from").asText(),
+              transition.path("to").asText()));
+    }
+    return new EndpointMetricsReport(
+        endpoints, transitions, (long) (root.path("elapsedSeconds").asDouble() * 1e9));
+  }
+
+  /**
+   * Combines reports of runs that happened at the same time, e.g. one per test shard: the calls of
+   * each method and endpoint are added up, the circuit breaker state changes are interleaved by
+   * time, and the elapsed time is that of the longest run.
+   */
+  public static EndpointMetricsReport merge(List<EndpointMetricsReport> reports) {
+    Map<String, EndpointStats> merged = new LinkedHashMap<>();
+    List<EndpointMetrics.BreakerTransition> transitions = new ArrayList<>();
+    long elapsedNanos = 0;
+    for (EndpointMetricsReport report : reports) {
+      elapsedNanos = Math.max(elapsedNanos, report.elapsedNanos);
+      transitions.addAll(report.breakerTransitions);
+      for (EndpointStats stats : report.endpoints) {
+        merged
+            .computeIfAbsent(
+                stats.getMethod() + " " + stats.getEndpoint(),
+                key -> new EndpointStats(stats.getMethod(), stats.getEndpoint()))
+            .add(stats);
+      }
+    }
+    List<EndpointStats> endpoints = new ArrayList<>(merged.values());
+    endpoints.sort(
+        Comparator.comparing(EndpointStats::getEndpoint).thenComparing(EndpointStats::getMethod));
+    transitions.sort(Comparator.comparingLong(EndpointMetrics.BreakerTransition::epochMillis));
+    return new EndpointMetricsReport(endpoints, transitions, elapsedNanos);
+  }
+
+  /** The histogram written by {@link #histogramMap}; empty when {@code node} is missing. */
+  private static LatencyHistogram histogramOf(JsonNode node) {
+    Map<Long, Long> buckets = new LinkedHashMap<>();
+    node.path("buckets")
+        .fields()
+        .forEachRemaining(
+            bucket -> buckets.put(Long.valueOf(bucket.getKey()), bucket.getValue().asLong()));
+    return LatencyHistogram.of(
+        buckets, node.path("sum").asLong(), node.path("min").asLong(), node.path("max").asLong());
+  }
+
+  public List<EndpointStats> getEndpoints() {
+    return endpoints;
+  }
+
+  public List<EndpointMetrics.BreakerTransition> getBreakerTransitions() {
+    return breakerTransitions;
+  }
+
+  public boolean isEmpty() {
+    return endpoints.isEmpty() && breakerTransitions.isEmpty();
+  }
+
+  public void print(PrintStream out) {
+    out.printf("Endpoint metrics over %.1f s%n", elapsedNanos / 1e9);
+    out.printf(
+        ROW_FORMAT,
+        "method",
+        "endpoint",
+        "count",
+        "errors",
+        "retries",
+        "rejected",
+        "req/s",
+        "p50 ms",
+        "p90 ms",
+        "p99 ms",
+        "max ms",
+        "wait p99");
+    for (EndpointStats stats : endpoints) {
+      LatencyHistogram latency = stats.getLatency();
+      out.printf(
+          ROW_FORMAT,
+          stats.getMethod(),
+          stats.getEndpoint(),
+          stats.getCount(),
+          stats.getErrors(),
+          stats.getRetries(),
+          stats.getShortCircuited(),
+          String.format("%.1f", throughput(stats)),
+          millis(latency.getValueAtPercentile(50)),
+          millis(latency.getValueAtPercentile(90)),
+          millis(latency.getValueAtPercentile(99)),
+          millis(latency.getMax()),
+          millis(stats.getLimiterWait().getValueAtPercentile(99)));
+    }
+    for (EndpointMetrics.BreakerTransition transition : breakerTransitions) {
+      out.printf(
+          "Circuit breaker %s: %s -> %s at %s%n",
+          transition.host(),
+          transition.from(),
+          transition.to(),
+          Instant.ofEpochMilli(transition.epochMillis()));
+    }
+  }
+
+  public String toCsv() {
+    StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+    for (EndpointStats stats : endpoints) {
+      LatencyHistogram latency = stats.getLatency();
+      csv.append(stats.getMethod())
+          .append(',')
+          .append(stats.getEndpoint())
+          .append(',')
+          .append(stats.getCount())
+          .append(',')
+          .append(stats.getErrors())
+          .append(',')
+          .append(stats.getFailures())
+          .append(',')
+          .append(stats.getRetries())
+          .append(',')
+          .append(stats.getShortCircuited())
+          .append(',')
+          .append(String.format("%.2f", throughput(stats)))
+          .append(',')
+          .append(String.format("%.1f", latency.getMean()))
+          .append(',')
+          .append(latency.getValueAtPercentile(50))
+          .append(',')
+          .append(latency.getValueAtPercentile(90))
+          .append(',')
+          .append(latency.getValueAtPercentile(99))
+          .append(',')
+          .append(latency.getMax())
+          .append(',')
+          .append(String.format("%.1f", stats.getLimiterWait().getMean()))
+          .append(',')
+          .append(stats.getLimiterWait().getValueAtPercentile(99))
+          .append(',')
+          .append(
+              stats.getStatusCounts().entrySet().stream()
+                  .map(entry -> entry.getKey() + ":" + entry.getValue())
+                  .collect(Collectors.joining(" ")))
+          .append('\n');
+    }
+    return csv.toString();
+  }
+
+  public String toJson() {
+    Map<String, Object> root = new LinkedHashMap<>();
+    root.put("elapsedSeconds", elapsedNanos / 1e9);
+    root.put(
+        "endpoints",
+        endpoints.stream().map(this::toMap).collect(Collectors.toList()));
+    root.put("breakerTransitions", breakerTransitions);
+    try {
+      return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(root);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes {@code endpoint-metrics.csv} and {@code endpoint-metrics.json} into {@code directory}
+   * ({@code metrics.outputDir}, default {@code target/metrics}, when {@code null}).
+   */
+  public void writeTo(Path directory) {
+    Path target =
+        directory != null
+            ? directory
+            : Path.of(
+                ConfigurationLoader.getProperty("metrics.outputDir", "target/metrics").trim());
+    writeCsv(target.resolve(CSV_FILE));
+    writeJson(target.resolve(JSON_FILE));
+  }
+
+  public void writeCsv(Path file) {
+    write(file, toCsv());
+  }
+
+  public void writeJson(Path file) {
+    write(file, toJson());
+  }
+
+  private Map<String, Object> toMap(EndpointStats stats) {
+    LatencyHistogram latency = stats.getLatency();
+    Map<String, Object> latencyMicros = new LinkedHashMap<>();
+    latencyMicros.put("mean", latency.getMean());
+    latencyMicros.put("p50", latency.getValueAtPercentile(50));
+    latencyMicros.put("p90", latency.getValueAtPercentile(90));
+    latencyMicros.put("p99", latency.getValueAtPercentile(99));
+    latencyMicros.put("max", latency.getMax());
+    Map<String, Long> statuses = new LinkedHashMap<>();
+    stats.getStatusCounts().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+    LatencyHistogram limiterWait = stats.getLimiterWait();
+    Map<String, Object> limiterWaitMicros = new LinkedHashMap<>();
+    limiterWaitMicros.put("count", limiterWait.getCount());
+    limiterWaitMicros.put("mean", limiterWait.getMean());
+    limiterWaitMicros.put("p50", limiterWait.getValueAtPercentile(50));
+    limiterWaitMicros.put("p99", limiterWait.getValueAtPercentile(99));
+    limiterWaitMicros.put("max", limiterWait.getMax());
+
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("method", stats.getMethod());
+    row.put("endpoint", stats.getEndpoint());
+    row.put("count", stats.getCount());
+    row.put("errors", stats.getErrors());
+    row.put("failures", stats.getFailures());
+    row.put("retries", stats.getRetries());
+    row.put("shortCircuited", stats.getShortCircuited());
+    row.put("requestsPerSecond", throughput(stats));
+    row.put("latencyMicros", latencyMicros);
+    row.put("statuses", statuses);
+    row.put("limiterWaitMicros", limiterWaitMicros);
+    row.put("histogram", histogramMap(latency));
+    row.put("limiterWaitHistogram", histogramMap(limiterWait));
+    return row;
+  }
+
+  private static Map<String, Object> histogramMap(LatencyHistogram histogram) {
+    Map<String, Long> buckets = new LinkedHashMap<>();
+    histogram
+        .getBucketCounts()
+        .forEach((value, count) -> buckets.put(String.valueOf(value), count));
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("sum", histogram.getSum());
+    map.put("min", histogram.getMin());
+    map.put("max", histogram.getMax());
+    map.put("buckets", buckets);
+    return map;
+  }
+
+  private double throughput(EndpointStats stats) {
+    return elapsedNanos <= 0 ? 0 : stats.getCount() / (elapsedNanos / 1e9);
+  }
+
+  private static String millis(long micros) {
+    return String.format("%.2f", micros / 1000.0);
+  }
+
+  private static void write(Path file, String content) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.writeString(file, content, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
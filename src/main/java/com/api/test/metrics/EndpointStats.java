@@ -0,0 +1,159 @@
+package com.api.test.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency (in microseconds), status codes and errors of one method and endpoint, e.g. {@code GET
+ * Books/{id}}. A call is an error when it returns a status of 400 or above; a failure when it threw
+ * instead of returning a response (connection refused, timeout, ...). Failures are errors too.
+ *
+ * <p>Every attempt of a retried call is recorded as a call of its own, and counted in {@link
+ * #getRetries()} from the second attempt on. Calls an open circuit breaker rejected without a
+ * request are only counted in {@link #getShortCircuited()}.
+ *
+ * <p>The time calls waited for a client-side rate or concurrency limit is kept in a histogram of
+ * its own, {@link #getLimiterWait()}, and is not part of the latency.
+ *
+ * <p>Recording only touches atomic counters, so it is lock-free and does not allocate.
+ */
+public class EndpointStats {
+
+  private static final int MAX_STATUS = 600;
+
+  private final String method;
+  private final String endpoint;
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LatencyHistogram limiterWait = new LatencyHistogram();
+  // index 0 collects statuses outside 0..599
+  private final AtomicLongArray statuses = new AtomicLongArray(MAX_STATUS);
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder shortCircuited = new LongAdder();
+
+  EndpointStats(String method, String endpoint) {
+    this.method = method;
+    this.endpoint = endpoint;
+  }
+
+  public void record(int status, long latencyMicros) {
+    latency.record(latencyMicros);
+    statuses.incrementAndGet(status > 0 && status < MAX_STATUS ? status : 0);
+    if (status >= 400) {
+      errors.increment();
+    }
+  }
+
+  /** Adds the calls of {@code other}, e.g. the same endpoint measured in another JVM. */
+  void add(EndpointStats other) {
+    latency.add(other.latency);
+    limiterWait.add(other.limiterWait);
+    for (int status = 0; status < MAX_STATUS; status++) {
+      long count = other.statuses.get(status);
+      if (count != 0) {
+        statuses.addAndGet(status, count);
+      }
+    }
+    errors.add(other.errors.sum());
+    failures.add(other.failures.sum());
+    retries.add(other.retries.sum());
+    shortCircuited.add(other.shortCircuited.sum());
+  }
+
+  /** Stats read back from a report: the histogram plus the counters that are not part of it. */
+  static EndpointStats restore(
+      String method,
+      String endpoint,
+      LatencyHistogram latency,
+      LatencyHistogram limiterWait,
+      Map<Integer, Long> statusCounts,
+      long errors,
+      long failures,
+      long retries,
+      long shortCircuited) {
+    EndpointStats stats = new EndpointStats(method, endpoint);
+    stats.latency.add(latency);
+    stats.limiterWait.add(limiterWait);
+    statusCounts.forEach(
+        (status, count) ->
+            stats.statuses.addAndGet(status > 0 && status < MAX_STATUS ? status : 0, count));
+    stats.errors.add(errors);
+    stats.failures.add(failures);
+    stats.retries.add(retries);
+    stats.shortCircuited.add(shortCircuited);
+    return stats;
+  }
+
+  public void recordFailure(long latencyMicros) {
+    latency.record(latencyMicros);
+    failures.increment();
+    errors.increment();
+  }
+
+  /** Counts an attempt that is about to be sent again after a failed one. */
+  public void recordRetry() {
+    retries.increment();
+  }
+
+  /** Records how long a call waited for the request limiter before it was sent. */
+  public void recordLimiterWait(long waitMicros) {
+    limiterWait.record(waitMicros);
+  }
+
+  /** Counts a call that was rejected by an open circuit breaker. */
+  public void recordShortCircuit() {
+    shortCircuited.increment();
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  /** Time spent waiting for the request limiter, in microseconds, one value per limited call. */
+  public LatencyHistogram getLimiterWait() {
+    return limiterWait;
+  }
+
+  public long getCount() {
+    return latency.getCount();
+  }
+
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  public long getShortCircuited() {
+    return shortCircuited.sum();
+  }
+
+  /** Number of responses per status code, in ascending order of status. */
+  public Map<Integer, Long> getStatusCounts() {
+    Map<Integer, Long> counts = new LinkedHashMap<>();
+    for (int status = 0; status < MAX_STATUS; status++) {
+      long count = statuses.get(status);
+      if (count != 0) {
+        counts.put(status, count);
+      }
+    }
+    return counts;
+  }
+}
@@ -0,0 +1,227 @@
+package com.api.test.metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The {@code HttpExchangeAnalyzer} class summarizes the {@code com.api.test.HttpExchange} events
+ * of JDK Flight Recorder files per method and endpoint: how many attempts, how many failed, the
+ * latency percentiles, and how the time splits into serialization in this client, the wire plus
+ * the server, and waiting for the request limiter. Rows are sorted by total time, so the endpoint
+ * that cost the run the most comes first.
+ *
+ * <p>Run it on a recording, e.g. the one of a soak run:
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.api.test.metrics.HttpExchangeAnalyzer \
+ *   -Dexec.args="target/soak/soak.jfr"
+ * </pre>
+ *
+ * The events are read one at a time, so recordings of any length fit in memory.
+ */
+public final class HttpExchangeAnalyzer {
+
+  // HttpExchangeEvent.NAME; the metrics do not depend on the request classes
+  static final String EVENT_NAME = "com.api.test.HttpExchange";
+  private static final String ROW_FORMAT =
+      "%-7s %-22s %8s %7s %8s %9s %9s %9s %9s %7s %9s %9s %10s%n";
+
+  private final Map<String, Summary> summaries = new LinkedHashMap<>();
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Usage: HttpExchangeAnalyzer <recording.jfr>...");
+      System.exit(2);
+    }
+    HttpExchangeAnalyzer analyzer = new HttpExchangeAnalyzer();
+    for (String file : args) {
+      analyzer.read(Path.of(file));
+    }
+    analyzer.print(System.out);
+  }
+
+  /** Adds the exchange events of {@code recording}; other events are skipped. */
+  public HttpExchangeAnalyzer read(Path recording) throws IOException {
+    try (RecordingFile file = new RecordingFile(recording)) {
+      while (file.hasMoreEvents()) {
+        RecordedEvent event = file.readEvent();
+        if (event.getEventType().getName().equals(EVENT_NAME)) {
+          add(event);
+        }
+      }
+    }
+    return this;
+  }
+
+  public void add(RecordedEvent event) {
+    String method = event.getString("method");
+    String endpoint = event.getString("endpoint");
+    summaries
+        .computeIfAbsent(method + " " + endpoint, key -> new Summary(method, endpoint))
+        .add(event);
+  }
+
+  /** The summaries, most total time first. */
+  public List<Summary> getSummaries() {
+    List<Summary> sorted = new ArrayList<>(summaries.values());
+    sorted.sort(Comparator.comparingLong(Summary::getTotalNanos).reversed());
+    return sorted;
+  }
+
+  public void print(PrintStream out) {
+    List<Summary> sorted = getSummaries();
+    if (sorted.isEmpty()) {
+      out.println("No " + EVENT_NAME + " events recorded");
+      return;
+    }
+    out.printf(
+        ROW_FORMAT,
+        "method",
+        "endpoint",
+        "count",
+        "errors",
+        "failures",
+        "p50 ms",
+        "p99 ms",
+        "max ms",
+        "serial ms",
+        "serial%",
+        "wait ms",
+        "req B",
+        "resp B");
+    for (Summary summary : sorted) {
+      LatencyHistogram duration = summary.getDuration();
+      out.printf(
+          ROW_FORMAT,
+          summary.getMethod(),
+          summary.getEndpoint(),
+          summary.getCount(),
+          summary.getErrors(),
+          summary.getFailures(),
+          millis(duration.getValueAtPercentile(50)),
+          millis(duration.getValueAtPercentile(99)),
+          millis(duration.getMax()),
+          millis(Math.round(summary.getSerialization().getMean())),
+          String.format("%.1f", summary.getSerializationPercent()),
+          millis(Math.round(summary.getLimiterWait().getMean())),
+          summary.getCount() == 0 ? 0 : summary.getRequestBytes() / summary.getCount(),
+          summary.getCount() == 0 ? 0 : summary.getResponseBytes() / summary.getCount());
+    }
+    out.println(
+        "errors: 4xx/5xx responses, failures: no response; serial: time spent building the"
+            + " request and response in the client, wait: request limiter; sizes are means");
+  }
+
+  private static String millis(long micros) {
+    return String.format("%.2f", micros / 1000.0);
+  }
+
+  /** The exchanges of one method and endpoint; latencies in microseconds. */
+  public static final class Summary {
+
+    private final String method;
+    private final String endpoint;
+    private final LatencyHistogram duration = new LatencyHistogram();
+    private final LatencyHistogram serialization = new LatencyHistogram();
+    private final LatencyHistogram limiterWait = new LatencyHistogram();
+    private final Map<Integer, Long> statuses = new LinkedHashMap<>();
+    private long count;
+    private long errors;
+    private long failures;
+    private long totalNanos;
+    private long serializationNanos;
+    private long requestBytes;
+    private long responseBytes;
+
+    Summary(String method, String endpoint) {
+      this.method = method;
+      this.endpoint = endpoint;
+    }
+
+    void add(RecordedEvent event) {
+      long nanos = event.getDuration().toNanos();
+      long serializationTime = event.getDuration("serializationTime").toNanos();
+      int status = event.getInt("status");
+      count++;
+      totalNanos += nanos;
+      serializationNanos += serializationTime;
+      requestBytes += event.getLong("requestBytes");
+      responseBytes += event.getLong("responseBytes");
+      duration.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+      serialization.record(TimeUnit.NANOSECONDS.toMicros(serializationTime));
+      long waitNanos = event.getDuration("limiterWait").toNanos();
+      limiterWait.record(TimeUnit.NANOSECONDS.toMicros(waitNanos));
+      statuses.merge(status, 1L, Long::sum);
+      if (status == 0) {
+        failures++;
+      } else if (status >= 400) {
+        errors++;
+      }
+    }
+
+    public String getMethod() {
+      return method;
+    }
+
+    public String getEndpoint() {
+      return endpoint;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    /** Attempts answered with a 4xx or 5xx status. */
+    public long getErrors() {
+      return errors;
+    }
+
+    /** Attempts that got no response. */
+    public long getFailures() {
+      return failures;
+    }
+
+    /** Attempts by status; {@code 0} counts the failures. */
+    public Map<Integer, Long> getStatuses() {
+      return statuses;
+    }
+
+    public LatencyHistogram getDuration() {
+      return duration;
+    }
+
+    public LatencyHistogram getSerialization() {
+      return serialization;
+    }
+
+    public LatencyHistogram getLimiterWait() {
+      return limiterWait;
+    }
+
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    /** The share of the total time spent on serialization. */
+    public double getSerializationPercent() {
+      return totalNanos == 0 ? 0 : serializationNanos * 100.0 / totalNanos;
+    }
+
+    public long getRequestBytes() {
+      return requestBytes;
+    }
+
+    public long getResponseBytes() {
+      return responseBytes;
+    }
+  }
+}
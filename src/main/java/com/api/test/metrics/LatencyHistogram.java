@@ -0,0 +1,183 @@
+package com.api.test.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code LatencyHistogram} class is a fixed-size, log-linear histogram in the spirit of
+ * HdrHistogram. Values (by convention microseconds) are counted in buckets whose width grows with
+ * the value, so every recorded value is kept with a relative error below 1.6% while the whole range
+ * of a {@code long} fits in about 3700 counters.
+ *
+ * <p>Recording is lock-free and allocation-free: it only increments atomic counters, so many
+ * threads can record into the same histogram without distorting what they measure. Reads ({@link
+ * #getValueAtPercentile(double)} and friends) walk the counters and are meant for reporting, not
+ * for the hot path.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   LatencyHistogram histogram = new LatencyHistogram();
+ *   histogram.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+ *   long p99 = histogram.getValueAtPercentile(99.0);
+ * }
+ * </pre>
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+  private static final int BUCKET_COUNT =
+      SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+  /** Records a single value; negative values are recorded as zero. */
+  public void record(long value) {
+    long v = Math.max(0, value);
+    counts.incrementAndGet(indexOf(v));
+    totalCount.increment();
+    sum.add(v);
+    if (v > max.get()) {
+      max.accumulateAndGet(v, Math::max);
+    }
+    if (v < min.get()) {
+      min.accumulateAndGet(v, Math::min);
+    }
+  }
+
+  /** Adds every value recorded in {@code other} to this histogram. */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      long count = other.counts.get(i);
+      if (count != 0) {
+        counts.addAndGet(i, count);
+      }
+    }
+    totalCount.add(other.totalCount.sum());
+    sum.add(other.sum.sum());
+    max.accumulateAndGet(other.max.get(), Math::max);
+    min.accumulateAndGet(other.min.get(), Math::min);
+  }
+
+  /**
+   * Rebuilds a histogram from the output of {@link #getBucketCounts()}, {@link #getSum()}, {@link
+   * #getMin()} and {@link #getMax()}, e.g. as read back from a report file.
+   */
+  public static LatencyHistogram of(Map<Long, Long> bucketCounts, long sum, long min, long max) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    bucketCounts.forEach(
+        (value, count) -> {
+          if (count < 0) {
+            throw new IllegalArgumentException("Negative count " + count + " for value " + value);
+          }
+          histogram.counts.addAndGet(indexOf(Math.max(0, value)), count);
+          histogram.totalCount.add(count);
+        });
+    if (histogram.getCount() > 0) {
+      histogram.sum.add(sum);
+      histogram.min.set(min);
+      histogram.max.set(max);
+    }
+    return histogram;
+  }
+
+  public long getCount() {
+    return totalCount.sum();
+  }
+
+  public long getSum() {
+    return sum.sum();
+  }
+
+  public long getMax() {
+    return getCount() == 0 ? 0 : max.get();
+  }
+
+  public long getMin() {
+    return getCount() == 0 ? 0 : min.get();
+  }
+
+  public double getMean() {
+    long count = getCount();
+    return count == 0 ? 0 : (double) sum.sum() / count;
+  }
+
+  /**
+   * Returns the value below which the given percentage of recorded values fall, e.g. {@code 99.9}.
+   * The result is the highest value of the matching bucket, capped at the recorded maximum.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long count = getCount();
+    if (count == 0) {
+      return 0;
+    }
+    double clamped = Math.min(100.0, Math.max(0.0, percentile));
+    long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts.get(i);
+      if (seen >= target) {
+        return Math.min(highestEquivalentValue(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /** Returns the number of recorded values that are less than or equal to {@code value}. */
+  public long getCountAtOrBelow(long value) {
+    int last = indexOf(Math.max(0, value));
+    long seen = 0;
+    for (int i = 0; i <= last; i++) {
+      seen += counts.get(i);
+    }
+    return seen;
+  }
+
+  /** The non-empty buckets in ascending order, keyed by the lowest value each one holds. */
+  public Map<Long, Long> getBucketCounts() {
+    Map<Long, Long> buckets = new LinkedHashMap<>();
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      long count = counts.get(i);
+      if (count != 0) {
+        buckets.put(lowestEquivalentValue(i), count);
+      }
+    }
+    return buckets;
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+    return SUB_BUCKET_COUNT
+        + (shift - 1) * SUB_BUCKET_HALF
+        + (int) (value >>> shift)
+        - SUB_BUCKET_HALF;
+  }
+
+  static long lowestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+    long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+    return subBucket << shift;
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index == BUCKET_COUNT - 1) {
+      return Long.MAX_VALUE;
+    }
+    return lowestEquivalentValue(index + 1) - 1;
+  }
+}
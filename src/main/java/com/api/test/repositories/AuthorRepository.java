@@ -3,6 +3,8 @@ package com.api.test.repositories;
 import com.api.test.models.Author;
 import com.github.javafaker.Faker;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * The {@code AuthorRepository} class provides access to author data for testing purposes. This
@@ -12,20 +14,44 @@ import java.util.List;
 public class AuthorRepository {
 
   private static final String DATA_URL = "data/authors/";
-  private final Faker faker = new Faker();
+  // Faker is not thread-safe; tests running in parallel each get their own instance
+  private final ThreadLocal<Faker> faker = ThreadLocal.withInitial(Faker::new);
 
   private final LoadDataFromJson loadData = new LoadDataFromJson();
   private List<Author> authors;
+  private IntIndex<Author> authorsById;
+  private IntMultiIndex<Author> authorsByBookId;
 
   public void loadAuthors(String resourceName) {
-    authors = loadData.loadObjects(String.format("%s/%s", DATA_URL, resourceName), Author.class);
+    authors =
+        FixtureCache.shared().get(String.format("%s/%s", DATA_URL, resourceName), Author.class);
+    authorsById = IntIndex.of(authors, Author::getId);
+    authorsByBookId = IntMultiIndex.of(authors, Author::getIdBook);
   }
 
   public List<Author> getAllAuthors() {
     return authors;
   }
 
+  public Optional<Author> findAuthorById(int id) {
+    return authorsById.find(id);
+  }
+
+  /** Authors of the book with id {@code idBook}, in fixture order. */
+  public List<Author> findAuthorsByBookId(int idBook) {
+    return authorsByBookId.get(idBook);
+  }
+
+  /**
+   * Streams authors from a JSON resource one record at a time instead of loading the whole file.
+   * Close the stream when done.
+   */
+  public Stream<Author> streamAuthors(String resourceName) {
+    return loadData.streamObjects(String.format("%s/%s", DATA_URL, resourceName), Author.class);
+  }
+
   public Author getFakeNewAuthor() {
+    Faker faker = this.faker.get();
 
     return Author.builder()
         .firstName(faker.name().firstName())
@@ -6,7 +6,9 @@ import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * The {@code BookRepository} class provides access to author data for testing purposes. This class
@@ -16,19 +18,43 @@ import java.util.concurrent.TimeUnit;
 public class BookRepository {
   private static final String DATA_URL = "data/books/";
   private final LoadDataFromJson loadData = new LoadDataFromJson();
-  private final Faker faker = new Faker();
+  // Faker is not thread-safe; tests running in parallel each get their own instance
+  private final ThreadLocal<Faker> faker = ThreadLocal.withInitial(Faker::new);
   private List<Book> books;
+  private IntIndex<Book> booksById;
+  private PrefixIndex<Book> booksByTitle;
 
   // Load books from JSON file
   public void loadBooks(String resourceName) {
-    books = loadData.loadObjects(String.format("%s/%s", DATA_URL, resourceName), Book.class);
+    books =
+        FixtureCache.shared().get(String.format("%s/%s", DATA_URL, resourceName), Book.class);
+    booksById = IntIndex.of(books, Book::getId);
+    booksByTitle = PrefixIndex.of(books, Book::getTitle);
   }
 
   public List<Book> getAllBooks() {
     return books;
   }
 
+  public Optional<Book> findBookById(int id) {
+    return booksById.find(id);
+  }
+
+  /** Books whose title starts with {@code prefix}, ignoring case, ordered by title. */
+  public List<Book> findBooksByTitlePrefix(String prefix) {
+    return booksByTitle.startingWith(prefix);
+  }
+
+  /**
+   * Streams books from a JSON resource one record at a time instead of loading the whole file.
+   * Close the stream when done.
+   */
+  public Stream<Book> streamBooks(String resourceName) {
+    return loadData.streamObjects(String.format("%s/%s", DATA_URL, resourceName), Book.class);
+  }
+
   public Book getFakeNewBook() {
+    Faker faker = this.faker.get();
 
     Instant pastInstant = faker.date().past(365, TimeUnit.DAYS).toInstant();
     String formattedPublishDate =
@@ -0,0 +1,176 @@
+package com.api.test.repositories;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code FixtureCache} class keeps parsed JSON fixture files in memory so that every test
+ * class asking for {@code books.json} shares one parse instead of re-reading the file in its own
+ * {@code @BeforeClass}.
+ *
+ * <p>Entries are keyed by resource path and record type. Each file is parsed exactly once: when
+ * several threads ask for the same fixture at the same time, one of them parses it and the others
+ * wait for that result. Lists are handed out as unmodifiable views; the records inside are shared
+ * between callers and must be treated as read-only.
+ *
+ * <p>The cache is bounded by {@code fixtures.cache.maxMegabytes} (default 256), measured as the
+ * size of the JSON source. When a new entry pushes it over the limit, the least recently used
+ * entries are evicted and will be parsed again on their next use. Files with a precompiled {@link
+ * FixtureSnapshot} are loaded from the snapshot.
+ */
+public final class FixtureCache {
+
+  private static final FixtureCache SHARED =
+      new FixtureCache(
+          ConfigurationLoader.getIntProperty("fixtures.cache.maxMegabytes", 256) * 1024L * 1024L);
+
+  private final LoadDataFromJson loadData = new LoadDataFromJson();
+  private final long maxBytes;
+  private final Map<Key, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+  // loaded entries in access order, used to pick eviction victims; guarded by itself
+  private final LinkedHashMap<Key, Entry> recentlyUsed = new LinkedHashMap<>(16, 0.75f, true);
+  private long cachedBytes;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder loadNanos = new LongAdder();
+
+  public FixtureCache(long maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  /** The process-wide cache used by the repositories. */
+  public static FixtureCache shared() {
+    return SHARED;
+  }
+
+  /** Returns the records of a JSON array resource, parsing it on first use. */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> get(String resourceName, Class<T> type) {
+    Key key = new Key(resourceName, type);
+    CompletableFuture<Entry> future = entries.get(key);
+    if (future == null) {
+      CompletableFuture<Entry> loading = new CompletableFuture<>();
+      future = entries.putIfAbsent(key, loading);
+      if (future == null) {
+        misses.increment();
+        return (List<T>) load(key, loading).records();
+      }
+    }
+    hits.increment();
+    Entry entry;
+    try {
+      entry = future.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+    synchronized (recentlyUsed) {
+      recentlyUsed.get(key);
+    }
+    return (List<T>) entry.records();
+  }
+
+  /** Drops every entry; the next {@link #get} parses the file again. */
+  public void clear() {
+    synchronized (recentlyUsed) {
+      recentlyUsed.keySet().forEach(entries::remove);
+      recentlyUsed.clear();
+      cachedBytes = 0;
+    }
+  }
+
+  public Stats stats() {
+    synchronized (recentlyUsed) {
+      return new Stats(
+          hits.sum(),
+          misses.sum(),
+          evictions.sum(),
+          loadNanos.sum(),
+          recentlyUsed.size(),
+          cachedBytes,
+          maxBytes);
+    }
+  }
+
+  private Entry load(Key key, CompletableFuture<Entry> loading) {
+    long start = System.nanoTime();
+    Entry entry;
+    try {
+      List<?> records =
+          Collections.unmodifiableList(loadData.loadObjects(key.resourceName(), key.type()));
+      entry = new Entry(records, loadData.resourceSize(key.resourceName()));
+    } catch (RuntimeException e) {
+      // let the next caller try again instead of caching the failure
+      entries.remove(key, loading);
+      loading.completeExceptionally(e);
+      throw e;
+    } finally {
+      loadNanos.add(System.nanoTime() - start);
+    }
+    loading.complete(entry);
+    admit(key, entry);
+    return entry;
+  }
+
+  private void admit(Key key, Entry entry) {
+    synchronized (recentlyUsed) {
+      recentlyUsed.put(key, entry);
+      cachedBytes += entry.sizeBytes();
+      Iterator<Map.Entry<Key, Entry>> eldest = recentlyUsed.entrySet().iterator();
+      while (cachedBytes > maxBytes && eldest.hasNext()) {
+        Map.Entry<Key, Entry> victim = eldest.next();
+        eldest.remove();
+        entries.remove(victim.getKey());
+        cachedBytes -= victim.getValue().sizeBytes();
+        evictions.increment();
+      }
+    }
+  }
+
+  private record Key(String resourceName, Class<?> type) {}
+
+  private record Entry(List<?> records, long sizeBytes) {}
+
+  /** Counters since the cache was created; {@code loadNanos} is the total time spent parsing. */
+  public record Stats(
+      long hits,
+      long misses,
+      long evictions,
+      long loadNanos,
+      int entries,
+      long cachedBytes,
+      long maxBytes) {
+
+    public double hitRatio() {
+      long requests = hits + misses;
+      return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "hits=%d, misses=%d (%.1f%% hit), evictions=%d, load time=%.1f ms, entries=%d, "
+              + "cached=%d/%d KB",
+          hits,
+          misses,
+          hitRatio() * 100,
+          evictions,
+          loadNanos / 1e6,
+          entries,
+          cachedBytes / 1024,
+          maxBytes / 1024);
+    }
+  }
+}
@@ -0,0 +1,510 @@
+package com.api.test.repositories;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@code FixtureSnapshot} class reads and writes a compact, column-oriented binary copy of a
+ * JSON fixture file. A snapshot sits next to its source ({@code books.json} gets {@code
+ * books.snap}) and is produced at build time by {@link FixtureSnapshotCompiler}.
+ *
+ * <p>Loading a snapshot memory-maps the file and only reads its header: the returned list is a
+ * read-only view that builds a record from the mapped columns the first time that row is read. A
+ * fixture of which a test uses one record therefore costs one record, not a parse of the whole
+ * file. A snapshot is ignored, and the caller falls back to JSON, when it is missing or truncated,
+ * when its source JSON has changed since it was written, or when the model class no longer has the
+ * same fields.
+ *
+ * <p>Layout (big-endian):
+ *
+ * <pre>
+ * int    magic "FSNP"          short version
+ * UTF    model class name      long  source size      long source last-modified
+ * int    row count             short column count     (UTF name, byte kind) per column
+ * per column: non-null bitmap of (rows + 7) / 8 bytes, then
+ *   INT32:  rows x int
+ *   STRING: byte encoding, then
+ *     PLAIN:      int rows, (rows + 1) x int offsets into a UTF-8 blob, then the blob
+ *     DICTIONARY: int n, (n + 1) x int offsets, the blob of the n distinct values, then
+ *                 rows x int index into them (used when at most half the values are distinct)
+ * </pre>
+ *
+ * <p>Only {@code Integer}/{@code int} and {@code String} fields are supported, which covers the
+ * {@code Book} and {@code Author} models.
+ */
+public final class FixtureSnapshot {
+
+  public static final String EXTENSION = ".snap";
+
+  private static final int MAGIC = 0x46534e50; // "FSNP"
+  private static final short VERSION = 1;
+  private static final byte INT32 = 1;
+  private static final byte STRING = 2;
+  private static final byte PLAIN = 0;
+  private static final byte DICTIONARY = 1;
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType NEW_RECORD = MethodType.methodType(Object.class);
+  private static final MethodType SET_FIELD =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  private FixtureSnapshot() {}
+
+  /** Snapshot resource name for a JSON resource, e.g. {@code data/books/books.snap}. */
+  public static String snapshotName(String jsonResourceName) {
+    return jsonResourceName.replaceFirst("\\.json$", "") + EXTENSION;
+  }
+
+  /**
+   * Loads the snapshot of {@code jsonResourceName} from the classpath, or returns empty when there
+   * is no usable snapshot and the JSON has to be parsed instead.
+   */
+  public static <T> Optional<List<T>> load(String jsonResourceName, Class<T> type) {
+    ClassLoader classLoader = FixtureSnapshot.class.getClassLoader();
+    URL snapshot = classLoader.getResource(snapshotName(jsonResourceName));
+    return snapshot == null
+        ? Optional.empty()
+        : load(snapshot, classLoader.getResource(jsonResourceName), type);
+  }
+
+  /** Same as {@link #load(String, Class)} for a JSON file outside the classpath. */
+  public static <T> Optional<List<T>> load(Path jsonFile, Class<T> type) {
+    Path snapshot = jsonFile.resolveSibling(snapshotName(jsonFile.getFileName().toString()));
+    if (!Files.exists(snapshot)) {
+      return Optional.empty();
+    }
+    try {
+      URL source = Files.exists(jsonFile) ? jsonFile.toUri().toURL() : null;
+      return load(snapshot.toUri().toURL(), source, type);
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static <T> Optional<List<T>> load(URL snapshot, URL source, Class<T> type) {
+    try {
+      ByteBuffer buffer = map(snapshot);
+      Header header = Header.read(buffer);
+      if (source != null && !header.matchesSource(source)) {
+        return Optional.empty();
+      }
+      return header.matchesModel(type)
+          ? Optional.of(open(buffer, header, type))
+          : Optional.empty();
+    } catch (IOException | RuntimeException e) {
+      // a damaged snapshot must never break the suite; the JSON is still there
+      return Optional.empty();
+    }
+  }
+
+  /** Writes {@code records} as a snapshot of a JSON source of the given size and timestamp. */
+  public static <T> void write(
+      List<T> records, Class<T> type, Path target, long sourceSize, long sourceLastModified)
+      throws IOException {
+    List<Field> fields = columns(type);
+    Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    try (OutputStream file = Files.newOutputStream(temporary);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeShort(VERSION);
+      writeUtf(out, type.getName());
+      out.writeLong(sourceSize);
+      out.writeLong(sourceLastModified);
+      out.writeInt(records.size());
+      out.writeShort(fields.size());
+      for (Field field : fields) {
+        writeUtf(out, field.getName());
+        out.writeByte(kind(field));
+      }
+      for (Field field : fields) {
+        writeColumn(out, records, field);
+      }
+    }
+    Files.move(temporary, target, REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  private static <T> void writeColumn(DataOutputStream out, List<T> records, Field field)
+      throws IOException {
+    int rows = records.size();
+    byte[] present = new byte[(rows + 7) / 8];
+    Object[] values = new Object[rows];
+    for (int row = 0; row < rows; row++) {
+      try {
+        values[row] = field.get(records.get(row));
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+      if (values[row] != null) {
+        present[row >>> 3] |= (byte) (1 << (row & 7));
+      }
+    }
+    out.write(present);
+    if (kind(field) == INT32) {
+      for (Object value : values) {
+        out.writeInt(value == null ? 0 : (Integer) value);
+      }
+      return;
+    }
+    Map<String, Integer> dictionary = new LinkedHashMap<>();
+    for (Object value : values) {
+      if (value != null) {
+        dictionary.putIfAbsent((String) value, dictionary.size());
+      }
+    }
+    // repeated values (dates, boilerplate text) are stored once and shared by every row using them
+    if (dictionary.size() <= rows / 2) {
+      out.writeByte(DICTIONARY);
+      writeStrings(out, dictionary.keySet());
+      for (Object value : values) {
+        out.writeInt(value == null ? 0 : dictionary.get(value));
+      }
+    } else {
+      out.writeByte(PLAIN);
+      List<String> strings = new ArrayList<>(rows);
+      for (Object value : values) {
+        strings.add(value == null ? "" : (String) value);
+      }
+      writeStrings(out, strings);
+    }
+  }
+
+  /** Writes {@code (count + 1)} offsets into a UTF-8 blob, then the blob. */
+  private static void writeStrings(DataOutputStream out, Collection<String> strings)
+      throws IOException {
+    out.writeInt(strings.size());
+    List<byte[]> encoded = new ArrayList<>(strings.size());
+    int offset = 0;
+    out.writeInt(offset);
+    for (String string : strings) {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      encoded.add(bytes);
+      offset += bytes.length;
+      out.writeInt(offset);
+    }
+    for (byte[] bytes : encoded) {
+      out.write(bytes);
+    }
+  }
+
+  private static <T> List<T> open(ByteBuffer buffer, Header header, Class<T> type) {
+    try {
+      MethodHandle constructor =
+          LOOKUP.findConstructor(type, MethodType.methodType(void.class)).asType(NEW_RECORD);
+      Column[] columns = new Column[header.fields.length];
+      for (int column = 0; column < columns.length; column++) {
+        MethodHandle setter = LOOKUP.unreflectSetter(header.fields[column]).asType(SET_FIELD);
+        columns[column] = Column.locate(buffer, header.rows, header.kinds[column], setter);
+      }
+      if (buffer.position() != buffer.limit()) {
+        throw new IllegalStateException("Snapshot has trailing bytes");
+      }
+      return new SnapshotList<>(buffer, header.rows, constructor, columns);
+    } catch (IllegalAccessException | NoSuchMethodException e) {
+      throw new IllegalStateException("Cannot instantiate " + type.getName(), e);
+    }
+  }
+
+  private static void writeUtf(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  private static ByteBuffer map(URL snapshot) throws IOException {
+    if ("file".equals(snapshot.getProtocol())) {
+      Path file = Paths.get(toUri(snapshot));
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    }
+    // inside a jar there is no file to map
+    try (InputStream in = snapshot.openStream()) {
+      return ByteBuffer.wrap(in.readAllBytes());
+    }
+  }
+
+  private static URI toUri(URL url) {
+    try {
+      return url.toURI();
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  /** Instance fields of the model in declaration order; these become the snapshot columns. */
+  static List<Field> columns(Class<?> type) {
+    List<Field> fields = new ArrayList<>();
+    for (Field field : type.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+        continue;
+      }
+      kind(field);
+      field.setAccessible(true);
+      fields.add(field);
+    }
+    return fields;
+  }
+
+  private static byte kind(Field field) {
+    Class<?> fieldType = field.getType();
+    if (fieldType == Integer.class || fieldType == int.class) {
+      return INT32;
+    }
+    if (fieldType == String.class) {
+      return STRING;
+    }
+    throw new IllegalArgumentException(
+        "Snapshots support Integer and String fields only, but " + field + " is " + fieldType);
+  }
+
+  /**
+   * Read-only list over a mapped snapshot. A record is built from its columns the first time it is
+   * read and then kept, so untouched rows cost nothing and every caller sees the same instance.
+   */
+  private static final class SnapshotList<T> extends AbstractList<T> implements RandomAccess {
+    private final ByteBuffer buffer;
+    private final int rows;
+    private final MethodHandle constructor;
+    private final Column[] columns;
+    private final AtomicReferenceArray<T> records;
+
+    private SnapshotList(ByteBuffer buffer, int rows, MethodHandle constructor, Column[] columns) {
+      this.buffer = buffer;
+      this.rows = rows;
+      this.constructor = constructor;
+      this.columns = columns;
+      this.records = new AtomicReferenceArray<>(rows);
+    }
+
+    @Override
+    public T get(int row) {
+      Objects.checkIndex(row, rows);
+      T record = records.get(row);
+      if (record == null) {
+        T built = build(row);
+        record = records.compareAndSet(row, null, built) ? built : records.get(row);
+      }
+      return record;
+    }
+
+    @Override
+    public int size() {
+      return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T build(int row) {
+      try {
+        Object record = constructor.invokeExact();
+        for (Column column : columns) {
+          Object value = column.value(buffer, row);
+          if (value != null) {
+            column.setter.invokeExact(record, value);
+          }
+        }
+        return (T) record;
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  /**
+   * Where one column lives in the buffer; values are read with absolute gets, so reads can race.
+   */
+  private static final class Column {
+    private final MethodHandle setter;
+    private final byte kind;
+    private final int presentAt;
+    // INT32 values, or the dictionary index of every row
+    private final int valuesAt;
+    private final int offsetsAt;
+    private final int blobAt;
+    // decoded dictionary entries; a racing decode just produces an equal string
+    private final String[] dictionary;
+
+    private Column(
+        MethodHandle setter,
+        byte kind,
+        int presentAt,
+        int valuesAt,
+        int offsetsAt,
+        int blobAt,
+        String[] dictionary) {
+      this.setter = setter;
+      this.kind = kind;
+      this.presentAt = presentAt;
+      this.valuesAt = valuesAt;
+      this.offsetsAt = offsetsAt;
+      this.blobAt = blobAt;
+      this.dictionary = dictionary;
+    }
+
+    /** Reads the layout of the column at the buffer's position and moves past it. */
+    static Column locate(ByteBuffer buffer, int rows, byte kind, MethodHandle setter) {
+      int presentAt = buffer.position();
+      skip(buffer, (rows + 7) / 8);
+      if (kind == INT32) {
+        int valuesAt = buffer.position();
+        skip(buffer, rows * Integer.BYTES);
+        return new Column(setter, kind, presentAt, valuesAt, -1, -1, null);
+      }
+      byte encoding = buffer.get();
+      int count = buffer.getInt();
+      int offsetsAt = buffer.position();
+      skip(buffer, (count + 1) * Integer.BYTES);
+      int blobAt = buffer.position();
+      skip(buffer, buffer.getInt(offsetsAt + count * Integer.BYTES));
+      if (encoding == DICTIONARY) {
+        int valuesAt = buffer.position();
+        skip(buffer, rows * Integer.BYTES);
+        return new Column(setter, kind, presentAt, valuesAt, offsetsAt, blobAt, new String[count]);
+      }
+      return new Column(setter, kind, presentAt, -1, offsetsAt, blobAt, null);
+    }
+
+    Object value(ByteBuffer buffer, int row) {
+      if ((buffer.get(presentAt + (row >>> 3)) & (1 << (row & 7))) == 0) {
+        return null;
+      }
+      if (kind == INT32) {
+        return buffer.getInt(valuesAt + row * Integer.BYTES);
+      }
+      if (dictionary == null) {
+        return string(buffer, row);
+      }
+      int index = buffer.getInt(valuesAt + row * Integer.BYTES);
+      String value = dictionary[index];
+      if (value == null) {
+        value = string(buffer, index);
+        dictionary[index] = value;
+      }
+      return value;
+    }
+
+    private String string(ByteBuffer buffer, int index) {
+      int start = buffer.getInt(offsetsAt + index * Integer.BYTES);
+      byte[] bytes = new byte[buffer.getInt(offsetsAt + (index + 1) * Integer.BYTES) - start];
+      buffer.get(blobAt + start, bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skip(ByteBuffer buffer, int bytes) {
+      buffer.position(buffer.position() + bytes);
+    }
+  }
+
+  private static final class Header {
+    private final String typeName;
+    private final long sourceSize;
+    private final long sourceLastModified;
+    private final int rows;
+    private final String[] names;
+    private final byte[] kinds;
+    private Field[] fields;
+
+    private Header(
+        String typeName,
+        long sourceSize,
+        long sourceLastModified,
+        int rows,
+        String[] names,
+        byte[] kinds) {
+      this.typeName = typeName;
+      this.sourceSize = sourceSize;
+      this.sourceLastModified = sourceLastModified;
+      this.rows = rows;
+      this.names = names;
+      this.kinds = kinds;
+    }
+
+    static Header read(ByteBuffer buffer) {
+      if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+        throw new IllegalStateException("Not a fixture snapshot, or written by another version");
+      }
+      String typeName = readUtf(buffer);
+      long sourceSize = buffer.getLong();
+      long sourceLastModified = buffer.getLong();
+      int rows = buffer.getInt();
+      int columns = buffer.getShort();
+      String[] names = new String[columns];
+      byte[] kinds = new byte[columns];
+      for (int column = 0; column < columns; column++) {
+        names[column] = readUtf(buffer);
+        kinds[column] = buffer.get();
+      }
+      return new Header(typeName, sourceSize, sourceLastModified, rows, names, kinds);
+    }
+
+    boolean matchesSource(URL source) throws IOException {
+      URLConnection connection = source.openConnection();
+      // size and modification time are only known once the connection is open
+      InputStream is = connection.getInputStream();
+      try {
+        return connection.getContentLengthLong() == sourceSize
+            && connection.getLastModified() == sourceLastModified;
+      } finally {
+        is.close();
+      }
+    }
+
+    /** True when the model still has exactly the snapshot's columns, in the same order. */
+    boolean matchesModel(Class<?> type) {
+      if (!type.getName().equals(typeName)) {
+        return false;
+      }
+      List<Field> columns = columns(type);
+      if (columns.size() != names.length) {
+        return false;
+      }
+      fields = columns.toArray(new Field[0]);
+      for (int column = 0; column < fields.length; column++) {
+        if (!fields[column].getName().equals(names[column])
+            || kind(fields[column]) != kinds[column]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static String readUtf(ByteBuffer buffer) {
+      byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+      buffer.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.api.test.repositories;
+
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build step that writes a {@link FixtureSnapshot} next to every JSON fixture under a directory.
+ * The model of a file is taken from its folder ({@code books/} holds {@link Book}s, {@code
+ * authors/} holds {@link Author}s); files in other folders are left alone.
+ *
+ * <p>Maven runs it on {@code target/test-classes/data} in the {@code process-test-classes} phase,
+ * so snapshots are rebuilt whenever the fixtures are copied. Skip it with {@code
+ * -Dfixtures.snapshots.skip=true}.
+ */
+public final class FixtureSnapshotCompiler {
+
+  private static final Map<String, Class<?>> MODELS =
+      Map.of("books", Book.class, "authors", Author.class);
+
+  private FixtureSnapshotCompiler() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("Usage: FixtureSnapshotCompiler <fixtures directory>");
+    }
+    Path root = Paths.get(args[0]);
+    if (!Files.isDirectory(root)) {
+      System.out.println("No fixtures in " + root + ", nothing to snapshot");
+      return;
+    }
+    List<Path> sources;
+    try (Stream<Path> files = Files.walk(root)) {
+      sources =
+          files.filter(file -> file.toString().endsWith(".json")).collect(Collectors.toList());
+    }
+    for (Path source : sources) {
+      Class<?> type = MODELS.get(source.getParent().getFileName().toString());
+      if (type != null) {
+        Path target = compile(source, type);
+        System.out.printf(
+            "Snapshot %s (%d bytes) -> %s (%d bytes)%n",
+            source, Files.size(source), target.getFileName(), Files.size(target));
+      }
+    }
+  }
+
+  /** Writes the snapshot of one JSON file and returns its path. */
+  public static <T> Path compile(Path source, Class<T> type) throws IOException {
+    Path target =
+        source.resolveSibling(FixtureSnapshot.snapshotName(source.getFileName().toString()));
+    List<T> records = new LoadDataFromJson().loadObjects(Files.newInputStream(source), type);
+    FixtureSnapshot.write(
+        records, type, target, Files.size(source), Files.getLastModifiedTime(source).toMillis());
+    return target;
+  }
+}
@@ -0,0 +1,84 @@
+package com.api.test.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The {@code IntIndex} class is a read-only map from an {@code int} key to a record, built once
+ * from a list. Keys live in a plain {@code int[]} with open addressing, so a lookup is a hash and a
+ * few array reads, without the {@code Integer} key and {@code HashMap.Node} that {@code
+ * HashMap<Integer, T>} keeps per entry (about 16 bytes per record here against roughly 50).
+ *
+ * <p>Records whose key is {@code null} are not indexed; when two records share a key the first one
+ * wins.
+ */
+public final class IntIndex<T> {
+
+  // a slot is free when its value is null, so key 0 needs no sentinel
+  private final int[] keys;
+  private final Object[] values;
+  private final int mask;
+  private final int size;
+
+  private IntIndex(int[] keys, Object[] values, int size) {
+    this.keys = keys;
+    this.values = values;
+    this.mask = keys.length - 1;
+    this.size = size;
+  }
+
+  public static <T> IntIndex<T> of(List<T> records, Function<? super T, Integer> key) {
+    // at most half full keeps probe sequences short
+    int capacity = Integer.highestOneBit(Math.max(2, records.size()) * 2 - 1) << 1;
+    int[] keys = new int[capacity];
+    Object[] values = new Object[capacity];
+    int mask = capacity - 1;
+    int size = 0;
+    for (T record : records) {
+      Integer boxed = key.apply(record);
+      if (boxed == null) {
+        continue;
+      }
+      int k = boxed;
+      int slot = mix(k) & mask;
+      while (values[slot] != null && keys[slot] != k) {
+        slot = (slot + 1) & mask;
+      }
+      if (values[slot] == null) {
+        keys[slot] = k;
+        values[slot] = record;
+        size++;
+      }
+    }
+    return new IntIndex<>(keys, values, size);
+  }
+
+  /** The record with this key, or {@code null}. */
+  @SuppressWarnings("unchecked")
+  public T get(int key) {
+    int slot = mix(key) & mask;
+    Object value;
+    while ((value = values[slot]) != null) {
+      if (keys[slot] == key) {
+        return (T) value;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  public Optional<T> find(int key) {
+    return Optional.ofNullable(get(key));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  // ids are mostly sequential; spread them so neighbouring keys do not form long probe runs
+  private static int mix(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,75 @@
+package com.api.test.repositories;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The {@code IntMultiIndex} class is a read-only map from an {@code int} key to every record with
+ * that key, e.g. authors by {@code idBook}. Records are grouped by key into one array, with a
+ * sorted {@code int[]} of the distinct keys and the start of each group next to it, so a lookup is
+ * a binary search and the index costs a few bytes per record instead of a {@code List} per key.
+ *
+ * <p>Records whose key is {@code null} are not indexed. Within a key, records keep their order in
+ * the source list.
+ */
+public final class IntMultiIndex<T> {
+
+  private final int[] keys;
+  // records of keys[i] are records[starts[i]] .. records[starts[i + 1] - 1]
+  private final int[] starts;
+  private final Object[] records;
+
+  private IntMultiIndex(int[] keys, int[] starts, Object[] records) {
+    this.keys = keys;
+    this.starts = starts;
+    this.records = records;
+  }
+
+  public static <T> IntMultiIndex<T> of(List<T> source, Function<? super T, Integer> key) {
+    int count = 0;
+    long[] keyAndPosition = new long[source.size()];
+    for (int position = 0; position < source.size(); position++) {
+      Integer boxed = key.apply(source.get(position));
+      if (boxed != null) {
+        // sorting key:position pairs groups equal keys and keeps their source order
+        keyAndPosition[count++] = ((long) boxed << 32) | position;
+      }
+    }
+    Arrays.sort(keyAndPosition, 0, count);
+
+    int[] keys = new int[count];
+    int[] starts = new int[count + 1];
+    Object[] records = new Object[count];
+    int distinct = 0;
+    for (int i = 0; i < count; i++) {
+      int k = (int) (keyAndPosition[i] >> 32);
+      if (distinct == 0 || keys[distinct - 1] != k) {
+        keys[distinct] = k;
+        starts[distinct] = i;
+        distinct++;
+      }
+      records[i] = source.get((int) keyAndPosition[i]);
+    }
+    starts[distinct] = count;
+    return new IntMultiIndex<>(
+        Arrays.copyOf(keys, distinct), Arrays.copyOf(starts, distinct + 1), records);
+  }
+
+  /** Records with this key, in source order; empty when there are none. */
+  @SuppressWarnings("unchecked")
+  public List<T> get(int key) {
+    int group = Arrays.binarySearch(keys, key);
+    if (group < 0) {
+      return Collections.emptyList();
+    }
+    List<Object> view = Arrays.asList(records).subList(starts[group], starts[group + 1]);
+    return (List<T>) Collections.unmodifiableList(view);
+  }
+
+  /** Number of distinct keys. */
+  public int keyCount() {
+    return keys.length;
+  }
+}
@@ -1,9 +1,20 @@
 package com.api.test.repositories;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@code LoadDataFromJson} class is responsible for loading and parsing data from JSON files
@@ -12,18 +23,154 @@ import java.util.List;
  *
  * <p>It simplifies the process of reading data from JSON files, deserializing the data, and
  * returning it in a usable format, such as a list of objects or a specific data structure.
+ *
+ * <p>{@link #loadObjects} materializes the whole array. For large fixture sets use {@link
+ * #streamObjects}, which deserializes one array element at a time so memory stays constant no
+ * matter how big the file is:
+ *
+ * <pre>{@code
+ * try (Stream<Book> books = loadData.streamObjects("data/books/books.json", Book.class)) {
+ *   books.filter(book -> book.getPageCount() > 500).limit(10).forEach(...);
+ * }
+ * }</pre>
  */
 public class LoadDataFromJson {
 
   private final ObjectMapper objectMapper = new ObjectMapper();
 
+  /**
+   * Loads a JSON array resource. When a precompiled {@link FixtureSnapshot} of the resource is on
+   * the classpath and still matches the JSON, it is memory-mapped instead of parsing the text.
+   */
   public <T> List<T> loadObjects(String resourceName, Class<T> clazz) {
-    InputStream is = getClass().getClassLoader().getResourceAsStream(resourceName);
-    try {
+    return FixtureSnapshot.load(resourceName, clazz)
+        .orElseGet(() -> loadObjects(openResource(resourceName), clazz));
+  }
+
+  public <T> List<T> loadObjects(InputStream is, Class<T> clazz) {
+    try (is) {
       return objectMapper.readValue(
           is, objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Lazily reads a JSON array resource. The returned stream holds the resource open and must be
+   * closed, e.g. with try-with-resources.
+   */
+  public <T> Stream<T> streamObjects(String resourceName, Class<T> clazz) {
+    return streamObjects(openResource(resourceName), clazz);
+  }
+
+  /** Lazily reads a JSON array from {@code is}; closing the stream closes {@code is}. */
+  public <T> Stream<T> streamObjects(InputStream is, Class<T> clazz) {
+    JsonArrayIterator<T> iterator = iterateObjects(is, clazz);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(iterator::close);
+  }
+
+  /** Iterator flavour of {@link #streamObjects(InputStream, Class)}. */
+  public <T> JsonArrayIterator<T> iterateObjects(InputStream is, Class<T> clazz) {
+    try {
+      JsonParser parser = objectMapper.getFactory().createParser(is);
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        parser.close();
+        throw new IllegalArgumentException(
+            "Expected a JSON array but found " + parser.currentToken());
+      }
+      return new JsonArrayIterator<>(parser, clazz);
+    } catch (IOException e) {
+      // the stream was handed over, and no iterator owns it now
+      try {
+        is.close();
+      } catch (IOException closing) {
+        e.addSuppressed(closing);
+      }
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Size in bytes of a classpath resource, used to weigh cached fixtures. */
+  public long resourceSize(String resourceName) {
+    URL url = getClass().getClassLoader().getResource(resourceName);
+    if (url == null) {
+      throw new IllegalArgumentException("Resource not found on the classpath: " + resourceName);
+    }
+    try {
+      URLConnection connection = url.openConnection();
+      // the size is only known once the connection is open; nothing is read from the stream
+      InputStream is = connection.getInputStream();
+      try {
+        return connection.getContentLengthLong();
+      } finally {
+        is.close();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private InputStream openResource(String resourceName) {
+    InputStream is = getClass().getClassLoader().getResourceAsStream(resourceName);
+    if (is == null) {
+      throw new IllegalArgumentException("Resource not found on the classpath: " + resourceName);
+    }
+    return is;
+  }
+
+  /** Pulls one element of a JSON array per {@link #next()} call. */
+  public static final class JsonArrayIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final JsonParser parser;
+    private final Class<T> clazz;
+    private JsonToken token;
+
+    private JsonArrayIterator(JsonParser parser, Class<T> clazz) {
+      this.parser = parser;
+      this.clazz = clazz;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        if (token == null) {
+          token = parser.nextToken();
+        }
+        if (token == null) {
+          throw new IllegalStateException("Unexpected end of input inside the JSON array");
+        }
+        return token != JsonToken.END_ARRAY;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        T value = parser.readValueAs(clazz);
+        token = null;
+        return value;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        parser.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
 }
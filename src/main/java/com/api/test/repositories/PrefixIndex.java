@@ -0,0 +1,90 @@
+package com.api.test.repositories;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The {@code PrefixIndex} class finds records by a case-insensitive prefix of a text key, e.g.
+ * books by the start of their title. Keys are sorted once with {@link
+ * String#CASE_INSENSITIVE_ORDER}, so all records sharing a prefix sit next to each other: a lookup
+ * is two binary searches and returns a view of that range, O(log n) regardless of how many records
+ * match. The index references the records' own key strings rather than folded copies.
+ *
+ * <p>Records whose key is {@code null} are not indexed. Matches are returned in key order.
+ */
+public final class PrefixIndex<T> {
+
+  private final String[] keys;
+  private final Object[] records;
+
+  private PrefixIndex(String[] keys, Object[] records) {
+    this.keys = keys;
+    this.records = records;
+  }
+
+  public static <T> PrefixIndex<T> of(List<T> source, Function<? super T, String> key) {
+    String[] texts = new String[source.size()];
+    Integer[] order = new Integer[source.size()];
+    int count = 0;
+    for (int position = 0; position < source.size(); position++) {
+      texts[position] = key.apply(source.get(position));
+      if (texts[position] != null) {
+        order[count++] = position;
+      }
+    }
+    // stable, so records with the same key keep their source order
+    Arrays.sort(order, 0, count, (a, b) -> CASE_INSENSITIVE_ORDER.compare(texts[a], texts[b]));
+
+    String[] keys = new String[count];
+    Object[] records = new Object[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = texts[order[i]];
+      records[i] = source.get(order[i]);
+    }
+    return new PrefixIndex<>(keys, records);
+  }
+
+  /** Records whose key starts with {@code prefix}, ignoring case. */
+  @SuppressWarnings("unchecked")
+  public List<T> startingWith(String prefix) {
+    int from = lowerBound(prefix);
+    int to = from;
+    // keys starting with the prefix form one run from 'from'; find where it ends
+    int high = keys.length;
+    while (to < high) {
+      int middle = (to + high) >>> 1;
+      if (keys[middle].regionMatches(true, 0, prefix, 0, prefix.length())) {
+        to = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    if (from == to) {
+      return Collections.emptyList();
+    }
+    List<Object> view = Arrays.asList(records).subList(from, to);
+    return (List<T>) Collections.unmodifiableList(view);
+  }
+
+  public int size() {
+    return keys.length;
+  }
+
+  private int lowerBound(String key) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (CASE_INSENSITIVE_ORDER.compare(keys[middle], key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,164 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * The {@code AsyncRequestExecutor} class runs requests on virtual threads, so a single test or load
+ * run can keep thousands of requests in flight without a platform thread for each. A semaphore
+ * bounds how many requests are actually on the wire at once, so a large fan-out cannot overwhelm
+ * the target; the remaining tasks wait (cheaply, as parked virtual threads) for a permit.
+ *
+ * <p>Cancelling a returned future, or letting it time out via {@link
+ * CompletableFuture#orTimeout(long, java.util.concurrent.TimeUnit)}, interrupts the virtual thread
+ * running the request. A virtual thread interrupted in socket I/O closes the socket, so the
+ * connection is dropped instead of being held until the server answers. Cancel the future returned
+ * here, not a dependent stage: cancelling {@code thenApply(...)} does not reach back to the
+ * request.
+ *
+ * <p>The concurrency limit of the shared executor comes from {@code async.maxInFlight}.
+ */
+public final class AsyncRequestExecutor {
+
+  private static final AsyncRequestExecutor SHARED =
+      new AsyncRequestExecutor(ConfigurationLoader.getIntProperty("async.maxInFlight", 200));
+
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-request-", 0).factory());
+  private final Semaphore permits;
+  private final int maxInFlight;
+
+  public AsyncRequestExecutor(int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be at least 1, got " + maxInFlight);
+    }
+    this.maxInFlight = maxInFlight;
+    this.permits = new Semaphore(maxInFlight, true);
+  }
+
+  public static AsyncRequestExecutor shared() {
+    return SHARED;
+  }
+
+  public <T> CompletableFuture<T> submit(Callable<T> call) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Future<?> task =
+        executor.submit(
+            () -> {
+              boolean acquired = false;
+              try {
+                permits.acquire();
+                acquired = true;
+                // cancelled or timed out while waiting for a permit
+                if (!result.isDone()) {
+                  result.complete(call.call());
+                }
+              } catch (InterruptedException e) {
+                result.completeExceptionally(new CancellationException("Request was interrupted"));
+              } catch (Throwable t) {
+                result.completeExceptionally(t);
+              } finally {
+                if (acquired) {
+                  permits.release();
+                }
+              }
+            });
+    result.whenComplete(
+        (value, error) -> {
+          if (error != null) {
+            task.cancel(true);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Starts a call that is itself asynchronous, e.g. {@code HttpClient.sendAsync}, holding a permit
+   * until the future it returns completes. When a permit is free the call starts on the caller's
+   * thread; otherwise a virtual thread waits for one. Cancelling the returned future cancels the
+   * call's future.
+   */
+  public <T> CompletableFuture<T> submitAsync(Supplier<? extends CompletableFuture<T>> call) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    if (permits.tryAcquire()) {
+      start(call, result);
+      return result;
+    }
+    Future<?> task =
+        executor.submit(
+            () -> {
+              try {
+                permits.acquire();
+              } catch (InterruptedException e) {
+                result.completeExceptionally(new CancellationException("Request was interrupted"));
+                return;
+              }
+              start(call, result);
+            });
+    result.whenComplete(
+        (value, error) -> {
+          if (error != null) {
+            task.cancel(true);
+          }
+        });
+    return result;
+  }
+
+  /** Runs {@code call} while holding a permit, which is released when its future completes. */
+  private <T> void start(
+      Supplier<? extends CompletableFuture<T>> call, CompletableFuture<T> result) {
+    // cancelled or timed out while waiting for a permit
+    if (result.isDone()) {
+      permits.release();
+      return;
+    }
+    CompletableFuture<T> pending;
+    try {
+      pending = call.get();
+    } catch (Throwable t) {
+      permits.release();
+      result.completeExceptionally(t);
+      return;
+    }
+    pending.whenComplete(
+        (value, error) -> {
+          permits.release();
+          if (error != null) {
+            result.completeExceptionally(
+                error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error);
+          } else {
+            result.complete(value);
+          }
+        });
+    result.whenComplete(
+        (value, error) -> {
+          if (error != null) {
+            pending.cancel(true);
+          }
+        });
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  /** Number of requests currently holding a permit, i.e. on the wire. */
+  public int getInFlight() {
+    return maxInFlight - permits.availablePermits();
+  }
+
+  /** Number of submitted requests still waiting for a permit (an estimate). */
+  public int getQueued() {
+    return permits.getQueueLength();
+  }
+}
@@ -27,6 +27,14 @@ package com.api.test.requests;
  *   <li>Delete an author - {@code deleteAuthor(Object authorId)}
  * </ul>
  *
+ * <p>{@code createAuthorBytes} and {@code updateAuthorBytes} take the payload as UTF-8 encoded
+ * {@code byte[]} or {@code ByteBuffer}, e.g. from a {@code PayloadStore}, which is sent without
+ * being encoded or copied again.
+ *
+ * <p>Every operation also has an {@code ...Async} variant returning a {@code
+ * CompletableFuture<Response>}, which runs on a virtual thread and is bounded by the async executor
+ * of the {@code RequestSettings} this instance was created with.
+ *
  * <p>This class uses the {@code BaseRequest}'s {@code sendRequest()} method to execute the HTTP
  * requests, relying on REST-assured to handle the underlying request construction and execution.
  *
@@ -34,10 +42,24 @@ package com.api.test.requests;
  */
 import com.api.test.configs.ConfigurationLoader;
 import io.restassured.response.Response;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 
 public class AuthorRequests extends BaseRequest {
   private final String AUTHORS_URL = ConfigurationLoader.getProperty("authorsUrl");
 
+  public AuthorRequests() {
+    super();
+  }
+
+  public AuthorRequests(String baseUri) {
+    super(baseUri);
+  }
+
+  public AuthorRequests(RequestSettings settings) {
+    super(settings);
+  }
+
   public Response getAllAuthors() {
     return sendRequest(AUTHORS_URL, GET, null, null);
   }
@@ -54,7 +76,61 @@ public class AuthorRequests extends BaseRequest {
     return sendRequest(AUTHORS_URL, PUT, authorId, jsonPayload);
   }
 
+  /** Sends {@code utf8Json} as it is, without encoding or copying it. */
+  public Response createAuthorBytes(byte[] utf8Json) {
+    return sendEncoded(AUTHORS_URL, POST, null, RequestBody.of(utf8Json));
+  }
+
+  /** Sends the remaining bytes of {@code utf8Json}; the buffer's position is not moved. */
+  public Response createAuthorBytes(ByteBuffer utf8Json) {
+    return sendEncoded(AUTHORS_URL, POST, null, RequestBody.of(utf8Json));
+  }
+
+  public Response updateAuthorBytes(Object authorId, byte[] utf8Json) {
+    return sendEncoded(AUTHORS_URL, PUT, authorId, RequestBody.of(utf8Json));
+  }
+
+  public Response updateAuthorBytes(Object authorId, ByteBuffer utf8Json) {
+    return sendEncoded(AUTHORS_URL, PUT, authorId, RequestBody.of(utf8Json));
+  }
+
   public Response deleteAuthor(Object authorId) {
     return sendRequest(AUTHORS_URL, DELETE, authorId, null);
   }
+
+  public CompletableFuture<Response> getAllAuthorsAsync() {
+    return sendRequestAsync(AUTHORS_URL, GET, null, null);
+  }
+
+  public CompletableFuture<Response> getAuthorByIdAsync(Object authorId) {
+    return sendRequestAsync(AUTHORS_URL, GET, authorId, null);
+  }
+
+  public CompletableFuture<Response> createAuthorAsync(String jsonPayload) {
+    return sendRequestAsync(AUTHORS_URL, POST, null, jsonPayload);
+  }
+
+  public CompletableFuture<Response> updateAuthorAsync(Object authorId, String jsonPayload) {
+    return sendRequestAsync(AUTHORS_URL, PUT, authorId, jsonPayload);
+  }
+
+  public CompletableFuture<Response> createAuthorBytesAsync(byte[] utf8Json) {
+    return sendEncodedAsync(AUTHORS_URL, POST, null, RequestBody.of(utf8Json));
+  }
+
+  public CompletableFuture<Response> createAuthorBytesAsync(ByteBuffer utf8Json) {
+    return sendEncodedAsync(AUTHORS_URL, POST, null, RequestBody.of(utf8Json));
+  }
+
+  public CompletableFuture<Response> updateAuthorBytesAsync(Object authorId, byte[] utf8Json) {
+    return sendEncodedAsync(AUTHORS_URL, PUT, authorId, RequestBody.of(utf8Json));
+  }
+
+  public CompletableFuture<Response> updateAuthorBytesAsync(Object authorId, ByteBuffer utf8Json) {
+    return sendEncodedAsync(AUTHORS_URL, PUT, authorId, RequestBody.of(utf8Json));
+  }
+
+  public CompletableFuture<Response> deleteAuthorAsync(Object authorId) {
+    return sendRequestAsync(AUTHORS_URL, DELETE, authorId, null);
+  }
 }
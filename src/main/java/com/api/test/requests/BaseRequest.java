@@ -1,10 +1,14 @@
 package com.api.test.requests;
 
-import static io.restassured.RestAssured.given;
-
-import io.restassured.http.ContentType;
+import com.api.test.metrics.EndpointMetrics;
 import io.restassured.response.Response;
-import io.restassured.specification.RequestSpecification;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The {@code BaseRequest} class provides a generic mechanism to send HTTP requests using common
@@ -12,7 +16,9 @@ import io.restassured.specification.RequestSpecification;
  * dispatch, including setting the appropriate HTTP method, endpoint, and request payload.
  *
  * <p>This class supports sending JSON data as the payload for POST and PUT requests, and handles
- * path parameters in the URL for GET, PUT, and DELETE requests.
+ * path parameters in the URL for GET, PUT, and DELETE requests. The payload is a {@code String},
+ * or a {@link RequestBody} of bytes that are already UTF-8 encoded for {@code sendEncoded}, which
+ * are sent without a copy.
  *
  * <pre>
  * Example usage:
@@ -22,9 +28,30 @@ import io.restassured.specification.RequestSpecification;
  * }
  * </pre>
  *
- * <p>This class is built on top of RestAssured, using {@code RequestSpecification} to configure and
- * send the HTTP requests. It provides flexibility by allowing different HTTP methods to be
- * specified dynamically at runtime.
+ * <p>The request is put on the wire by an {@link HttpTransport}: RestAssured over a shared
+ * keep-alive {@link HttpConnectionPool} by default, or the JDK {@code HttpClient} when {@code
+ * http.transport=jdk}. Either way callers get a RestAssured {@code Response} back. It provides
+ * flexibility by allowing different HTTP methods to be specified dynamically at runtime.
+ *
+ * <p>Instances hold no mutable state and write nothing to the static {@code RestAssured}
+ * configuration, so instances pointing at different hosts can be used from many threads at once,
+ * e.g. when TestNG runs methods in parallel. The {@code ...Async} variants of the request methods
+ * are bounded by the {@link AsyncRequestExecutor} of the settings. Every call is timed into the
+ * {@link EndpointMetrics} of the settings; {@code GET}s answered by an enabled {@link
+ * ResponseCache} without a request are not.
+ *
+ * <p>Calls go through the {@link CircuitBreaker} of their host: once too many calls to it failed,
+ * further calls throw a {@link CircuitBreakerOpenException} without a request until the host has
+ * recovered. Failed {@code GET}, {@code PUT} and {@code DELETE} calls are sent again as the {@link
+ * RetryPolicy} of the settings allows; every attempt is recorded, and retries, rejected calls and
+ * breaker state changes show up in the metrics.
+ *
+ * <p>Every attempt first waits for a permit of the {@link RequestLimiter} of the settings, which
+ * keeps a run within a request rate and a number of requests in flight. That wait is recorded
+ * apart from the latency.
+ *
+ * <p>While a JDK Flight Recorder recording is running, every attempt also commits an {@link
+ * HttpExchangeEvent} with its endpoint, status, body sizes and the time spent on serialization.
  *
  * <p>The following HTTP methods are supported:
  *
@@ -42,32 +69,442 @@ public class BaseRequest {
   protected static final String PUT = "PUT";
   protected static final String DELETE = "DELETE";
 
+  private final String baseUri;
+  private final HttpTransport transport;
+  private final EndpointMetrics metrics;
+  private final ResponseCache cache;
+  private final CircuitBreaker breaker;
+  private final RetryPolicy retryPolicy;
+  private final RequestLimiter limiter;
+
+  /** Creates a request sender for the {@code baseUrl} of the active environment. */
+  public BaseRequest() {
+    this(RequestSettings.fromConfiguration());
+  }
+
+  /**
+   * Creates a request sender bound to the given base URI.
+   *
+   * @param baseUri the scheme, host and port all endpoints are resolved against
+   */
+  public BaseRequest(String baseUri) {
+    this(RequestSettings.forBaseUri(baseUri));
+  }
+
+  /**
+   * Creates a request sender from the given settings.
+   *
+   * @param settings the base URI, transport, connection pool, async executor, response cache,
+   *     circuit breakers, retry policy, limiter and filters to use
+   */
+  public BaseRequest(RequestSettings settings) {
+    this.baseUri = settings.getBaseUri().trim();
+    this.transport = HttpTransport.create(settings);
+    this.metrics = settings.getMetrics();
+    this.cache = settings.getResponseCache();
+    this.breaker = settings.getCircuitBreakers().forBaseUri(baseUri);
+    this.retryPolicy = settings.getRetryPolicy();
+    this.limiter = settings.getLimiter();
+  }
+
+  public String getBaseUri() {
+    return baseUri;
+  }
+
+  public HttpTransport getTransport() {
+    return transport;
+  }
+
+  /**
+   * Sends the request without blocking the caller. The number of requests on the wire at once is
+   * bounded by the {@link AsyncRequestExecutor} of this instance; cancelling the returned future
+   * (or a timeout set with {@code orTimeout}) aborts the request.
+   */
+  public CompletableFuture<Response> sendRequestAsync(
+      String endpoint, String method, Object id, String jsonPayload) {
+    return sendEncodedAsync(endpoint, method, id, RequestBody.of(jsonPayload));
+  }
+
+  /**
+   * Like {@link #sendRequestAsync(String, String, Object, String)}, with a body that may already
+   * be encoded.
+   */
+  public CompletableFuture<Response> sendEncodedAsync(
+      String endpoint, String method, Object id, RequestBody body) {
+    String verb = verb(method);
+    boolean item = addressesItem(verb, id);
+    String path = path(endpoint, item, id);
+    if (!cache.isEnabled()) {
+      return sendAsync(verb, endpoint, item, path, body, Map.of());
+    }
+    if (!verb.equals(GET)) {
+      CompletableFuture<Response> response =
+          sendAsync(verb, endpoint, item, path, body, Map.of());
+      // the dependent stage completes after the invalidation, so a caller's next GET misses
+      return cancelsSource(
+          response.whenComplete((result, error) -> invalidate(endpoint, path)), response);
+    }
+    String key = cacheKey(path);
+    ResponseCache.Entry cached = cache.get(key);
+    if (cached != null && cache.isFresh(cached)) {
+      return CompletableFuture.completedFuture(cache.hit(cached));
+    }
+    long generation = cache.generation();
+    CompletableFuture<Response> response =
+        sendAsync(verb, endpoint, item, path, null, conditionalHeaders(cached));
+    return cancelsSource(
+        response.thenApply(sent -> cache.update(key, cached, sent, generation)), response);
+  }
+
+  /**
+   * Sends the request and waits for the response. With a {@link ResponseCache} in the settings, a
+   * {@code GET} may be answered from the cache, and any other method invalidates what is cached
+   * for its item and collection.
+   */
   public Response sendRequest(String endpoint, String method, Object id, String jsonPayload) {
+    return sendEncoded(endpoint, method, id, RequestBody.of(jsonPayload));
+  }
+
+  /**
+   * Like {@link #sendRequest(String, String, Object, String)}, with a body that may already be
+   * encoded, e.g. by a {@code PayloadStore}; encoded bytes are sent without being copied.
+   */
+  public Response sendEncoded(String endpoint, String method, Object id, RequestBody body) {
+    String verb = verb(method);
+    boolean item = addressesItem(verb, id);
+    String path = path(endpoint, item, id);
+    if (!cache.isEnabled()) {
+      return send(verb, endpoint, item, path, body, Map.of());
+    }
+    if (!verb.equals(GET)) {
+      try {
+        return send(verb, endpoint, item, path, body, Map.of());
+      } finally {
+        invalidate(endpoint, path);
+      }
+    }
+    String key = cacheKey(path);
+    ResponseCache.Entry cached = cache.get(key);
+    if (cached != null && cache.isFresh(cached)) {
+      return cache.hit(cached);
+    }
+    long generation = cache.generation();
+    Response response = send(verb, endpoint, item, path, null, conditionalHeaders(cached));
+    return cache.update(key, cached, response, generation);
+  }
 
-    RequestSpecification request = given().contentType(ContentType.JSON);
+  private Response send(
+      String verb,
+      String endpoint,
+      boolean item,
+      String path,
+      RequestBody body,
+      Map<String, String> headers) {
+    for (int attempt = 1; ; attempt++) {
+      acquire(verb, endpoint, item);
+      RequestLimiter.Permit permit;
+      try {
+        permit = limiter.acquire(endpoint);
+      } catch (InterruptedException e) {
+        breaker.onIgnored();
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Request was interrupted");
+      }
+      recordWait(verb, endpoint, item, permit);
+      HttpExchangeEvent exchange = new HttpExchangeEvent();
+      exchange.begin();
+      long start = System.nanoTime();
+      Response response;
+      try {
+        response = transport.send(verb, path, body, headers, exchange.ifEnabled());
+      } catch (RuntimeException e) {
+        permit.release();
+        metrics.recordFailure(verb, endpoint, item, System.nanoTime() - start);
+        complete(exchange, verb, endpoint, item, attempt, 0, e, permit);
+        if (Thread.currentThread().isInterrupted()) {
+          breaker.onIgnored();
+          throw e;
+        }
+        recordTransition(breaker.onFailure());
+        if (!retryPolicy.shouldRetry(verb, attempt, e) || !backOff(verb, endpoint, item, attempt)) {
+          throw e;
+        }
+        continue;
+      }
+      permit.release();
+      int status = response.statusCode();
+      metrics.record(verb, endpoint, item, status, System.nanoTime() - start);
+      complete(exchange, verb, endpoint, item, attempt, status, null, permit);
+      recordTransition(breaker.onStatus(status));
+      if (!retryPolicy.shouldRetry(verb, attempt, status)
+          || !backOff(verb, endpoint, item, attempt)) {
+        return response;
+      }
+    }
+  }
+
+  private CompletableFuture<Response> sendAsync(
+      String verb,
+      String endpoint,
+      boolean item,
+      String path,
+      RequestBody body,
+      Map<String, String> headers) {
+    AsyncCall call = new AsyncCall(verb, endpoint, item, path, body, headers);
+    call.send(1);
+    return call.result;
+  }
 
-    if (jsonPayload != null && !method.equalsIgnoreCase(GET)) {
-      request.body(jsonPayload);
+  /** Passes the circuit breaker of the host, or records the rejected call and throws. */
+  private void acquire(String verb, String endpoint, boolean item) {
+    try {
+      recordTransition(breaker.acquire());
+    } catch (CircuitBreakerOpenException e) {
+      metrics.recordShortCircuit(verb, endpoint, item);
+      throw e;
     }
+  }
 
-    switch (method.toUpperCase()) {
+  private void recordWait(
+      String verb, String endpoint, boolean item, RequestLimiter.Permit permit) {
+    if (permit.isLimited()) {
+      metrics.recordLimiterWait(verb, endpoint, item, permit.getWaitNanos());
+    }
+  }
+
+  private void complete(
+      HttpExchangeEvent exchange,
+      String verb,
+      String endpoint,
+      boolean item,
+      int attempt,
+      int status,
+      Throwable error,
+      RequestLimiter.Permit permit) {
+    exchange.complete(
+        verb,
+        endpoint,
+        item,
+        breaker.getHost(),
+        transport,
+        attempt,
+        status,
+        error,
+        permit.getWaitNanos());
+  }
+
+  private void recordTransition(CircuitBreaker.Transition transition) {
+    if (transition != null) {
+      metrics.recordBreakerTransition(
+          transition.host(), transition.from().name(), transition.to().name());
+    }
+  }
+
+  /** Waits before the next attempt; {@code false} if interrupted, which ends the retries. */
+  private boolean backOff(String verb, String endpoint, boolean item, int attempt) {
+    try {
+      Thread.sleep(retryPolicy.backoffMillis(attempt));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    metrics.recordRetry(verb, endpoint, item);
+    return true;
+  }
+
+  /**
+   * One asynchronous call and its retries. {@code result} completes with the outcome of the last
+   * attempt, after it was recorded; failing or cancelling it (e.g. with {@code orTimeout}) aborts
+   * the attempt on the wire and any retry still waiting for its backoff.
+   */
+  private final class AsyncCall {
+
+    private final String verb;
+    private final String endpoint;
+    private final boolean item;
+    private final String path;
+    private final RequestBody body;
+    private final Map<String, String> headers;
+    private final CompletableFuture<Response> result = new CompletableFuture<>();
+    // the limiter permit being waited for, or the request on the wire
+    private volatile CompletableFuture<?> attempt;
+
+    AsyncCall(
+        String verb,
+        String endpoint,
+        boolean item,
+        String path,
+        RequestBody body,
+        Map<String, String> headers) {
+      this.verb = verb;
+      this.endpoint = endpoint;
+      this.item = item;
+      this.path = path;
+      this.body = body;
+      this.headers = headers;
+      result.whenComplete(
+          (response, error) -> {
+            CompletableFuture<?> current = attempt;
+            if (error != null && current != null) {
+              current.cancel(true);
+            }
+          });
+    }
+
+    void send(int number) {
+      if (result.isDone()) {
+        return;
+      }
+      try {
+        acquire(verb, endpoint, item);
+      } catch (CircuitBreakerOpenException e) {
+        result.completeExceptionally(e);
+        return;
+      }
+      CompletableFuture<RequestLimiter.Permit> permit;
+      try {
+        permit = limiter.acquireAsync(endpoint);
+      } catch (RuntimeException e) {
+        breaker.onIgnored();
+        result.completeExceptionally(e);
+        return;
+      }
+      attempt = permit;
+      if (result.isDone()) {
+        permit.cancel(true);
+      }
+      permit.whenComplete(
+          (granted, error) -> {
+            if (error != null) {
+              breaker.onIgnored();
+              result.completeExceptionally(
+                  error instanceof CompletionException ? error.getCause() : error);
+            } else if (result.isDone()) {
+              granted.release();
+              breaker.onIgnored();
+            } else {
+              recordWait(verb, endpoint, item, granted);
+              send(number, granted);
+            }
+          });
+    }
+
+    private void send(int number, RequestLimiter.Permit permit) {
+      // timed from submission, so waiting for an in-flight permit of the executor counts towards
+      // the latency; waiting for the limiter does not
+      HttpExchangeEvent exchange = new HttpExchangeEvent();
+      exchange.begin();
+      long start = System.nanoTime();
+      CompletableFuture<Response> response;
+      try {
+        response = transport.sendAsync(verb, path, body, headers, exchange.ifEnabled());
+      } catch (RuntimeException e) {
+        // thrown before anything was sent, e.g. a header the transport refuses or a rejected
+        // submission; nobody would see it from the permit's callback
+        permit.release();
+        metrics.recordFailure(verb, endpoint, item, System.nanoTime() - start);
+        complete(exchange, verb, endpoint, item, number, 0, e, permit);
+        breaker.onIgnored();
+        result.completeExceptionally(e);
+        return;
+      }
+      attempt = response;
+      if (result.isDone()) {
+        response.cancel(true);
+      }
+      response.whenComplete(
+          (sent, error) -> {
+            permit.release();
+            long elapsed = System.nanoTime() - start;
+            if (error == null) {
+              int status = sent.statusCode();
+              metrics.record(verb, endpoint, item, status, elapsed);
+              complete(exchange, verb, endpoint, item, number, status, null, permit);
+              recordTransition(breaker.onStatus(status));
+              if (retryPolicy.shouldRetry(verb, number, status)) {
+                retry(number);
+              } else {
+                result.complete(sent);
+              }
+            } else if (response.isCancelled()) {
+              complete(exchange, verb, endpoint, item, number, 0, error, permit);
+              breaker.onIgnored();
+              result.completeExceptionally(error);
+            } else {
+              Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+              metrics.recordFailure(verb, endpoint, item, elapsed);
+              complete(exchange, verb, endpoint, item, number, 0, cause, permit);
+              recordTransition(breaker.onFailure());
+              if (retryPolicy.shouldRetry(verb, number, cause)) {
+                retry(number);
+              } else {
+                result.completeExceptionally(cause);
+              }
+            }
+          });
+    }
+
+    private void retry(int number) {
+      if (result.isDone()) {
+        return;
+      }
+      metrics.recordRetry(verb, endpoint, item);
+      try {
+        CompletableFuture.delayedExecutor(retryPolicy.backoffMillis(number), TimeUnit.MILLISECONDS)
+            .execute(() -> send(number + 1));
+      } catch (RejectedExecutionException e) {
+        result.completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * Cancelling a dependent stage, or failing it with {@code orTimeout}, does not reach its source;
+   * this makes it abort the request. Cancelling a source that is already done has no effect.
+   */
+  private static <T> CompletableFuture<T> cancelsSource(
+      CompletableFuture<T> dependent, CompletableFuture<?> source) {
+    dependent.whenComplete(
+        (result, error) -> {
+          if (error != null) {
+            source.cancel(true);
+          }
+        });
+    return dependent;
+  }
+
+  /** A write changes the item and the collection listing it. */
+  private void invalidate(String endpoint, String path) {
+    cache.invalidate(cacheKey(endpoint), cacheKey(path));
+  }
+
+  private String cacheKey(String path) {
+    return baseUri + " " + path;
+  }
+
+  private static Map<String, String> conditionalHeaders(ResponseCache.Entry cached) {
+    return cached == null ? Map.of() : cached.conditionalHeaders();
+  }
+
+  private static String verb(String method) {
+    String verb = method.toUpperCase(Locale.ROOT);
+    switch (verb) {
       case GET:
-        if (id != null) {
-          return given().when().get(String.format("%s/%s", endpoint, id));
-        } else {
-          return given().when().get(endpoint);
-        }
       case POST:
-        return request.when().post(endpoint);
       case PUT:
-        return request.when().put(String.format("%s/%s", endpoint, id));
       case DELETE:
-        return given()
-            .contentType(ContentType.JSON)
-            .when()
-            .delete(String.format("%s/%s", endpoint, id));
+        return verb;
       default:
         throw new IllegalArgumentException("Invalid HTTP method: " + method);
     }
   }
+
+  /** POST always targets the collection; PUT and DELETE always address an item. */
+  private static boolean addressesItem(String verb, Object id) {
+    return !verb.equals(POST) && (id != null || !verb.equals(GET));
+  }
+
+  private static String path(String endpoint, boolean item, Object id) {
+    return item ? String.format("%s/%s", endpoint, id) : endpoint;
+  }
 }
@@ -2,6 +2,8 @@ package com.api.test.requests;
 
 import com.api.test.configs.ConfigurationLoader;
 import io.restassured.response.Response;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@code BookRequests} class extends {@code BaseRequest} and provides specific methods to
@@ -30,6 +32,14 @@ import io.restassured.response.Response;
  *   <li>Delete a book - {@code deleteBook(Object bookId)}
  * </ul>
  *
+ * <p>{@code createBookBytes} and {@code updateBookBytes} take the payload as UTF-8 encoded
+ * {@code byte[]} or {@code ByteBuffer}, e.g. from a {@code PayloadStore}, which is sent without
+ * being encoded or copied again.
+ *
+ * <p>Every operation also has an {@code ...Async} variant returning a {@code
+ * CompletableFuture<Response>}, which runs on a virtual thread and is bounded by the async executor
+ * of the {@code RequestSettings} this instance was created with.
+ *
  * <p>This class uses the {@code BaseRequest}'s {@code sendRequest()} method to execute the HTTP
  * requests, relying on REST-assured to handle the underlying request construction and execution.
  *
@@ -38,6 +48,18 @@ import io.restassured.response.Response;
 public class BookRequests extends BaseRequest {
   private final String BOOKS_URL = ConfigurationLoader.getProperty("booksUrl");
 
+  public BookRequests() {
+    super();
+  }
+
+  public BookRequests(String baseUri) {
+    super(baseUri);
+  }
+
+  public BookRequests(RequestSettings settings) {
+    super(settings);
+  }
+
   public Response getAllBooks() {
     return sendRequest(BOOKS_URL, GET, null, null);
   }
@@ -54,7 +76,61 @@ public class BookRequests extends BaseRequest {
     return sendRequest(BOOKS_URL, PUT, bookId, jsonPayload);
   }
 
+  /** Sends {@code utf8Json} as it is, without encoding or copying it. */
+  public Response createBookBytes(byte[] utf8Json) {
+    return sendEncoded(BOOKS_URL, POST, null, RequestBody.of(utf8Json));
+  }
+
+  /** Sends the remaining bytes of {@code utf8Json}; the buffer's position is not moved. */
+  public Response createBookBytes(ByteBuffer utf8Json) {
+    return sendEncoded(BOOKS_URL, POST, null, RequestBody.of(utf8Json));
+  }
+
+  public Response updateBookBytes(Object bookId, byte[] utf8Json) {
+    return sendEncoded(BOOKS_URL, PUT, bookId, RequestBody.of(utf8Json));
+  }
+
+  public Response updateBookBytes(Object bookId, ByteBuffer utf8Json) {
+    return sendEncoded(BOOKS_URL, PUT, bookId, RequestBody.of(utf8Json));
+  }
+
   public Response deleteBook(Object bookId) {
     return sendRequest(BOOKS_URL, DELETE, bookId, null);
   }
+
+  public CompletableFuture<Response> getAllBooksAsync() {
+    return sendRequestAsync(BOOKS_URL, GET, null, null);
+  }
+
+  public CompletableFuture<Response> getBookByIdAsync(Object bookId) {
+    return sendRequestAsync(BOOKS_URL, GET, bookId, null);
+  }
+
+  public CompletableFuture<Response> createBookAsync(String jsonPayload) {
+    return sendRequestAsync(BOOKS_URL, POST, null, jsonPayload);
+  }
+
+  public CompletableFuture<Response> updateBookAsync(Object bookId, String jsonPayload) {
+    return sendRequestAsync(BOOKS_URL, PUT, bookId, jsonPayload);
+  }
+
+  public CompletableFuture<Response> createBookBytesAsync(byte[] utf8Json) {
+    return sendEncodedAsync(BOOKS_URL, POST, null, RequestBody.of(utf8Json));
+  }
+
+  public CompletableFuture<Response> createBookBytesAsync(ByteBuffer utf8Json) {
+    return sendEncodedAsync(BOOKS_URL, POST, null, RequestBody.of(utf8Json));
+  }
+
+  public CompletableFuture<Response> updateBookBytesAsync(Object bookId, byte[] utf8Json) {
+    return sendEncodedAsync(BOOKS_URL, PUT, bookId, RequestBody.of(utf8Json));
+  }
+
+  public CompletableFuture<Response> updateBookBytesAsync(Object bookId, ByteBuffer utf8Json) {
+    return sendEncodedAsync(BOOKS_URL, PUT, bookId, RequestBody.of(utf8Json));
+  }
+
+  public CompletableFuture<Response> deleteBookAsync(Object bookId) {
+    return sendRequestAsync(BOOKS_URL, DELETE, bookId, null);
+  }
 }
@@ -0,0 +1,197 @@
+package com.api.test.requests;
+
+import java.time.Duration;
+
+/**
+ * The {@code CircuitBreaker} class tracks the outcome of the last calls to one host and stops
+ * sending requests to it once too many of them failed, so a run against a broken environment fails
+ * in milliseconds instead of waiting for every request to time out.
+ *
+ * <ul>
+ *   <li>{@code CLOSED} - calls go through. When at least {@code minimumCalls} of the last {@code
+ *       windowSize} calls are known and {@code failureRatePercent} of them failed, the breaker
+ *       opens.
+ *   <li>{@code OPEN} - calls fail with a {@link CircuitBreakerOpenException} without a request.
+ *       After {@code openDuration} the breaker turns half-open.
+ *   <li>{@code HALF_OPEN} - up to {@code halfOpenCalls} trial calls go through. If all of them
+ *       succeed the breaker closes with an empty window; the first failure opens it again.
+ * </ul>
+ *
+ * <p>A call fails when it throws (connection refused, timeout, ...) or returns a {@code 5xx}
+ * status; client errors are the test's business, not the host's. Cancelled calls are not counted.
+ *
+ * <p>Methods that change the state return the {@link Transition}, or {@code null} when the state
+ * did not change, so the caller can record it. Breakers are created by {@link CircuitBreakers}, one
+ * per host.
+ */
+public final class CircuitBreaker {
+
+  /** The states of a breaker. */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  /** A state change of the breaker of {@code host}. */
+  public record Transition(String host, State from, State to) {}
+
+  private final String host;
+  private final boolean enabled;
+  private final int minimumCalls;
+  private final int failureRatePercent;
+  private final long openNanos;
+  private final int halfOpenCalls;
+
+  // all guarded by this
+  private final boolean[] failed;
+  private int next;
+  private int recorded;
+  private int failures;
+  private State state = State.CLOSED;
+  private long openedAtNanos;
+  private int trialsStarted;
+  private int trialsSucceeded;
+
+  CircuitBreaker(
+      String host,
+      boolean enabled,
+      int windowSize,
+      int minimumCalls,
+      int failureRatePercent,
+      Duration openDuration,
+      int halfOpenCalls) {
+    this.host = host;
+    this.enabled = enabled;
+    this.failed = new boolean[windowSize];
+    this.minimumCalls = minimumCalls;
+    this.failureRatePercent = failureRatePercent;
+    this.openNanos = openDuration.toNanos();
+    this.halfOpenCalls = halfOpenCalls;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  /**
+   * Asks to send a call. Every permitted call has to be followed by {@link #onSuccess}, {@link
+   * #onFailure} or {@link #onIgnored}.
+   *
+   * @return the {@code OPEN} to {@code HALF_OPEN} transition this call caused, or {@code null}
+   * @throws CircuitBreakerOpenException if the breaker is open, or half-open with all trial calls
+   *     taken
+   */
+  public Transition acquire() {
+    if (!enabled) {
+      return null;
+    }
+    synchronized (this) {
+      Transition transition = null;
+      if (state == State.OPEN) {
+        long remaining = openNanos - (System.nanoTime() - openedAtNanos);
+        if (remaining > 0) {
+          throw new CircuitBreakerOpenException(host, Duration.ofNanos(remaining));
+        }
+        transition = moveTo(State.HALF_OPEN);
+        trialsStarted = 0;
+        trialsSucceeded = 0;
+      }
+      if (state == State.HALF_OPEN) {
+        if (trialsStarted == halfOpenCalls) {
+          throw new CircuitBreakerOpenException(host, Duration.ZERO);
+        }
+        trialsStarted++;
+      }
+      return transition;
+    }
+  }
+
+  /** Records a call that returned a response with a status below 500. */
+  public Transition onSuccess() {
+    if (!enabled) {
+      return null;
+    }
+    synchronized (this) {
+      if (state == State.HALF_OPEN) {
+        if (++trialsSucceeded < halfOpenCalls) {
+          return null;
+        }
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        return moveTo(State.CLOSED);
+      }
+      return state == State.CLOSED ? record(false) : null;
+    }
+  }
+
+  /** Records a call that threw or returned a {@code 5xx} status. */
+  public Transition onFailure() {
+    if (!enabled) {
+      return null;
+    }
+    synchronized (this) {
+      if (state == State.HALF_OPEN) {
+        return open();
+      }
+      return state == State.CLOSED ? record(true) : null;
+    }
+  }
+
+  /** Records a call that ended without an outcome, e.g. because it was cancelled. */
+  public void onIgnored() {
+    if (!enabled) {
+      return;
+    }
+    synchronized (this) {
+      if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+        trialsStarted--;
+      }
+    }
+  }
+
+  /** Records the outcome of a call that returned {@code status}. */
+  public Transition onStatus(int status) {
+    return status >= 500 ? onFailure() : onSuccess();
+  }
+
+  private Transition record(boolean failure) {
+    if (recorded == failed.length) {
+      if (failed[next]) {
+        failures--;
+      }
+    } else {
+      recorded++;
+    }
+    failed[next] = failure;
+    next = (next + 1) % failed.length;
+    if (failure) {
+      failures++;
+    }
+    if (recorded >= minimumCalls && failures * 100 >= failureRatePercent * recorded) {
+      return open();
+    }
+    return null;
+  }
+
+  private Transition open() {
+    openedAtNanos = System.nanoTime();
+    return moveTo(State.OPEN);
+  }
+
+  private Transition moveTo(State to) {
+    Transition transition = new Transition(host, state, to);
+    state = to;
+    return transition;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("%s %s (%d of the last %d calls failed)", host, state, failures, recorded);
+  }
+}
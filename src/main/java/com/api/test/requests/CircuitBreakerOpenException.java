@@ -0,0 +1,34 @@
+package com.api.test.requests;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of sending a request while the {@link CircuitBreaker} of its host is open. It
+ * stands for the failures that opened the breaker: the request was not sent, so it is never
+ * retried.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String host;
+  private final Duration retryAfter;
+
+  public CircuitBreakerOpenException(String host, Duration retryAfter) {
+    super(
+        String.format(
+            "Circuit breaker for %s is open, not sending requests for another %d ms",
+            host, retryAfter.toMillis()));
+    this.host = host;
+    this.retryAfter = retryAfter;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  /** How long the breaker stays open; zero while it is half-open and waiting for trial calls. */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
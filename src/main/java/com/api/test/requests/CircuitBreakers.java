@@ -0,0 +1,130 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code CircuitBreakers} class hands out one {@link CircuitBreaker} per host, all with the
+ * same thresholds. {@code BaseRequest}s whose settings name the same instance share the breaker of
+ * their host, so the failures seen by one test class open it for all of them.
+ *
+ * <p>The shared instance is configured with {@code http.breaker.enabled} (default {@code true}),
+ * {@code http.breaker.windowSize} (20), {@code http.breaker.minimumCalls} (10), {@code
+ * http.breaker.failureRatePercent} (50), {@code http.breaker.openMs} (10,000) and {@code
+ * http.breaker.halfOpenCalls} (2).
+ */
+public final class CircuitBreakers {
+
+  private static final CircuitBreakers DISABLED =
+      new CircuitBreakers(false, 1, 1, 100, Duration.ZERO, 1);
+  private static final CircuitBreakers SHARED = fromConfiguration();
+
+  private final boolean enabled;
+  private final int windowSize;
+  private final int minimumCalls;
+  private final int failureRatePercent;
+  private final Duration openDuration;
+  private final int halfOpenCalls;
+  private final Map<String, CircuitBreaker> byHost = new ConcurrentHashMap<>();
+
+  /**
+   * Creates enabled breakers.
+   *
+   * @param windowSize the number of most recent calls the failure rate is computed over
+   * @param minimumCalls the number of calls in the window before the breaker may open
+   * @param failureRatePercent the share of failed calls in the window that opens the breaker
+   * @param openDuration how long an open breaker rejects calls before trying again
+   * @param halfOpenCalls the number of trial calls that have to succeed to close the breaker
+   */
+  public CircuitBreakers(
+      int windowSize,
+      int minimumCalls,
+      int failureRatePercent,
+      Duration openDuration,
+      int halfOpenCalls) {
+    this(true, windowSize, minimumCalls, failureRatePercent, openDuration, halfOpenCalls);
+  }
+
+  private CircuitBreakers(
+      boolean enabled,
+      int windowSize,
+      int minimumCalls,
+      int failureRatePercent,
+      Duration openDuration,
+      int halfOpenCalls) {
+    if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+      throw new IllegalArgumentException(
+          "Need 0 < minimumCalls <= windowSize, got " + minimumCalls + " and " + windowSize);
+    }
+    if (failureRatePercent <= 0 || failureRatePercent > 100) {
+      throw new IllegalArgumentException(
+          "failureRatePercent must be within 1..100: " + failureRatePercent);
+    }
+    if (openDuration.isNegative()) {
+      throw new IllegalArgumentException("openDuration must not be negative: " + openDuration);
+    }
+    if (halfOpenCalls <= 0) {
+      throw new IllegalArgumentException("halfOpenCalls must be positive: " + halfOpenCalls);
+    }
+    this.enabled = enabled;
+    this.windowSize = windowSize;
+    this.minimumCalls = minimumCalls;
+    this.failureRatePercent = failureRatePercent;
+    this.openDuration = openDuration;
+    this.halfOpenCalls = halfOpenCalls;
+  }
+
+  /** The breakers {@code BaseRequest}s use unless their settings name others. */
+  public static CircuitBreakers shared() {
+    return SHARED;
+  }
+
+  /** Breakers that never open. */
+  public static CircuitBreakers disabled() {
+    return DISABLED;
+  }
+
+  private static CircuitBreakers fromConfiguration() {
+    if (!Boolean.parseBoolean(ConfigurationLoader.getProperty("http.breaker.enabled", "true"))) {
+      return DISABLED;
+    }
+    return new CircuitBreakers(
+        ConfigurationLoader.getIntProperty("http.breaker.windowSize", 20),
+        ConfigurationLoader.getIntProperty("http.breaker.minimumCalls", 10),
+        ConfigurationLoader.getIntProperty("http.breaker.failureRatePercent", 50),
+        Duration.ofMillis(ConfigurationLoader.getIntProperty("http.breaker.openMs", 10_000)),
+        ConfigurationLoader.getIntProperty("http.breaker.halfOpenCalls", 2));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** The breaker of the host (and port) of {@code baseUri}. */
+  public CircuitBreaker forBaseUri(String baseUri) {
+    URI uri = URI.create(baseUri.trim());
+    String host = uri.getAuthority() != null ? uri.getAuthority() : baseUri.trim();
+    return byHost.computeIfAbsent(
+        host,
+        key ->
+            new CircuitBreaker(
+                key,
+                enabled,
+                windowSize,
+                minimumCalls,
+                failureRatePercent,
+                openDuration,
+                halfOpenCalls));
+  }
+
+  /** The current state of every breaker, by host. */
+  public Map<String, CircuitBreaker.State> states() {
+    Map<String, CircuitBreaker.State> states = new TreeMap<>();
+    byHost.forEach((host, breaker) -> states.put(host, breaker.getState()));
+    return states;
+  }
+}
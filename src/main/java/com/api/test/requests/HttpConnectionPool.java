@@ -0,0 +1,169 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HeaderElement;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+
+/**
+ * The {@code HttpConnectionPool} class owns a pooled, keep-alive Apache HTTP client that is shared
+ * by every {@code BaseRequest}. Reusing connections avoids a new TCP/TLS handshake per request,
+ * which otherwise dominates the latency of the small Books/Authors payloads.
+ *
+ * <p>The pool is configured from the active {@code application-*.properties} file:
+ *
+ * <ul>
+ *   <li>{@code http.pool.maxTotal} - maximum number of open connections
+ *   <li>{@code http.pool.maxPerRoute} - maximum number of open connections per host
+ *   <li>{@code http.pool.keepAliveMs} - how long an idle connection is kept when the server does
+ *       not send a {@code Keep-Alive} timeout
+ *   <li>{@code http.pool.idleEvictionMs} - connections idle for longer than this are closed
+ *   <li>{@code http.connectTimeoutMs} / {@code http.readTimeoutMs} - socket timeouts
+ *   <li>{@code http.pool.leaseTimeoutMs} - how long a request waits for a free connection
+ * </ul>
+ *
+ * <p>Use {@link #stats()} to confirm that connections are being reused during long runs.
+ */
+public final class HttpConnectionPool {
+
+  private static final HttpConnectionPool SHARED = fromConfiguration();
+
+  // RestAssured 5 still needs the deprecated HttpClient 4 API (DefaultHttpClient, HttpParams)
+  @SuppressWarnings("deprecation")
+  private final PoolingClientConnectionManager connectionManager;
+
+  @SuppressWarnings("deprecation")
+  private final DefaultHttpClient httpClient;
+
+  private final ScheduledExecutorService evictor;
+  private final int connectTimeoutMs;
+  private final int readTimeoutMs;
+
+  @SuppressWarnings("deprecation")
+  public HttpConnectionPool(
+      int maxTotal,
+      int maxPerRoute,
+      long keepAliveMs,
+      long idleEvictionMs,
+      int connectTimeoutMs,
+      int readTimeoutMs,
+      long leaseTimeoutMs) {
+    this.connectTimeoutMs = connectTimeoutMs;
+    this.readTimeoutMs = readTimeoutMs;
+
+    connectionManager = new PoolingClientConnectionManager();
+    connectionManager.setMaxTotal(maxTotal);
+    connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+    httpClient = new DefaultHttpClient(connectionManager);
+    HttpParams params = httpClient.getParams();
+    params.setIntParameter(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMs);
+    params.setIntParameter(CoreConnectionPNames.SO_TIMEOUT, readTimeoutMs);
+    params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, leaseTimeoutMs);
+    httpClient.setKeepAliveStrategy(keepAliveStrategy(keepAliveMs));
+    // the default handler silently re-sends failed requests, including aborted/cancelled ones
+    httpClient.setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+
+    evictor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "http-pool-evictor");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = Math.max(1, idleEvictionMs / 2);
+    evictor.scheduleWithFixedDelay(
+        () -> {
+          connectionManager.closeExpiredConnections();
+          connectionManager.closeIdleConnections(idleEvictionMs, TimeUnit.MILLISECONDS);
+        },
+        interval,
+        interval,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /** Returns the pool shared by all request classes, configured for the active environment. */
+  public static HttpConnectionPool shared() {
+    return SHARED;
+  }
+
+  private static HttpConnectionPool fromConfiguration() {
+    return new HttpConnectionPool(
+        ConfigurationLoader.getIntProperty("http.pool.maxTotal", 50),
+        ConfigurationLoader.getIntProperty("http.pool.maxPerRoute", 20),
+        ConfigurationLoader.getIntProperty("http.pool.keepAliveMs", 60_000),
+        ConfigurationLoader.getIntProperty("http.pool.idleEvictionMs", 30_000),
+        ConfigurationLoader.getIntProperty("http.connectTimeoutMs", 10_000),
+        ConfigurationLoader.getIntProperty("http.readTimeoutMs", 30_000),
+        ConfigurationLoader.getIntProperty("http.pool.leaseTimeoutMs", 30_000));
+  }
+
+  /**
+   * Returns the client backed by this pool. RestAssured must be configured to reuse it, otherwise
+   * it shuts the connection manager down after every request.
+   */
+  public HttpClient httpClient() {
+    return httpClient;
+  }
+
+  /** Timeout parameters RestAssured applies to the client on every request. */
+  @SuppressWarnings("deprecation")
+  Map<String, Object> timeoutParams() {
+    return Map.of(
+        CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMs,
+        CoreConnectionPNames.SO_TIMEOUT, readTimeoutMs);
+  }
+
+  /**
+   * Returns a snapshot of the pool: leased (in use), available (idle, ready for reuse), pending
+   * (requests waiting for a connection) and the configured maximum.
+   */
+  public PoolStats stats() {
+    return connectionManager.getTotalStats();
+  }
+
+  /** Closes every idle connection right away, e.g. between phases of a long run. */
+  public void evictIdleConnections() {
+    connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+  }
+
+  /** Closes all connections and stops the eviction thread. The shared pool is never shut down. */
+  public void shutdown() {
+    if (this == SHARED) {
+      throw new IllegalStateException("The shared connection pool cannot be shut down");
+    }
+    evictor.shutdownNow();
+    connectionManager.shutdown();
+  }
+
+  private static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultKeepAliveMs) {
+    return (response, context) -> {
+      BasicHeaderElementIterator elements =
+          new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+      while (elements.hasNext()) {
+        HeaderElement element = elements.nextElement();
+        if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+          try {
+            return Long.parseLong(element.getValue()) * 1000;
+          } catch (NumberFormatException ignored) {
+            // fall back to the configured keep-alive
+          }
+        }
+      }
+      return defaultKeepAliveMs;
+    };
+  }
+}
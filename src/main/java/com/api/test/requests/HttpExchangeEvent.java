@@ -0,0 +1,149 @@
+package com.api.test.requests;
+
+import com.api.test.metrics.EndpointMetrics;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The {@code HttpExchangeEvent} class is the JDK Flight Recorder event {@code
+ * com.api.test.HttpExchange}, committed by {@code BaseRequest} for every attempt it puts on the
+ * wire. Its duration runs from the hand-over to the {@link HttpTransport} until the response is
+ * buffered or the attempt failed, like the latency in the endpoint metrics; the limiter wait before
+ * it is a field of its own.
+ *
+ * <p>{@code serializationTime} is the part of the duration this client spent building the request
+ * and turning the received bytes into a {@code Response}; the rest is the wire and the server.
+ *
+ * <p>While no recording asks for the event, {@link #isEnabled()} is a constant {@code false} to the
+ * JIT: the transports skip the extra timing, nothing is normalized or committed, and the event
+ * object itself is scalar replaced. Record it with the {@code default} settings of a recording or
+ * {@code -XX:StartFlightRecording}, and summarize the file with {@code
+ * com.api.test.metrics.HttpExchangeAnalyzer}.
+ */
+@Name(HttpExchangeEvent.NAME)
+@Label("HTTP Exchange")
+@Category({"API Tests", "HTTP"})
+@Description("One request attempt sent through BaseRequest")
+@StackTrace(false)
+public final class HttpExchangeEvent extends Event {
+
+  public static final String NAME = "com.api.test.HttpExchange";
+
+  // ids are normalised once per endpoint string, not once per event
+  private static final Map<String, String> NORMALIZED = new ConcurrentHashMap<>();
+
+  @Label("Method")
+  String method;
+
+  @Label("Endpoint")
+  @Description("The endpoint with ids replaced, e.g. Books/{id}")
+  String endpoint;
+
+  @Label("Host")
+  String host;
+
+  @Label("Transport")
+  String transport;
+
+  @Label("Attempt")
+  @Description("1 for the first attempt, higher for retries")
+  int attempt;
+
+  @Label("Status")
+  @Description("The HTTP status, 0 when no response arrived")
+  int status;
+
+  @Label("Error")
+  @Description("The exception class when no response arrived")
+  String error;
+
+  @Label("Request Size")
+  @Description("The request body in bytes")
+  @DataAmount
+  long requestBytes;
+
+  @Label("Response Size")
+  @Description("The response body in bytes")
+  @DataAmount
+  long responseBytes;
+
+  @Label("Serialization Time")
+  @Description("Time spent building the request and the Response object, outside the wire")
+  @Timespan
+  long serializationTime;
+
+  @Label("Limiter Wait")
+  @Description("Time spent waiting for the request limiter before the exchange")
+  @Timespan
+  long limiterWait;
+
+  /** This event when a recording wants it, otherwise {@code null} for the transport to skip. */
+  HttpExchangeEvent ifEnabled() {
+    return isEnabled() ? this : null;
+  }
+
+  /** Adds time the transport spent encoding the request or decoding the response. */
+  void addSerializationTime(long nanos) {
+    serializationTime += nanos;
+  }
+
+  /** Ends the event and commits it if a recording wants it. */
+  void complete(
+      String method,
+      String endpoint,
+      boolean item,
+      String host,
+      HttpTransport transport,
+      int attempt,
+      int status,
+      Throwable error,
+      long limiterWaitNanos) {
+    end();
+    if (shouldCommit()) {
+      this.method = method;
+      this.endpoint = NORMALIZED.computeIfAbsent(endpoint, EndpointMetrics::normalize);
+      if (item) {
+        this.endpoint = this.endpoint.isEmpty() ? "{id}" : this.endpoint + "/{id}";
+      }
+      this.host = host;
+      this.transport = transport.getClass().getSimpleName();
+      this.attempt = attempt;
+      this.status = status;
+      this.error = error != null ? error.getClass().getName() : null;
+      this.limiterWait = limiterWaitNanos;
+      commit();
+    }
+  }
+
+  /** The number of bytes {@code text} takes in UTF-8, without encoding it. */
+  static long utf8Length(CharSequence text) {
+    if (text == null) {
+      return 0;
+    }
+    long bytes = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        bytes++;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < text.length()
+          && Character.isLowSurrogate(text.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+}
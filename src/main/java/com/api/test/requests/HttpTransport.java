@@ -0,0 +1,120 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import io.restassured.response.Response;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The {@code HttpTransport} interface is what a {@code BaseRequest} uses to put a request on the
+ * wire. Request classes only build the method, path and JSON payload (a {@link RequestBody}, as
+ * text or already encoded); the transport sends it and hands back a RestAssured {@code Response},
+ * so tests can keep using {@code then()}, {@code jsonPath()} and {@code as(...)} whichever
+ * transport is active.
+ *
+ * <p>Two implementations exist, chosen with {@code http.transport} (or {@code
+ * RequestSettings.builder().transport(...)}):
+ *
+ * <ul>
+ *   <li>{@code restassured} (default) - {@link RestAssuredTransport}, RestAssured over the pooled
+ *       Apache client, with filter support
+ *   <li>{@code jdk} - {@link JdkHttpTransport}, the JDK {@code java.net.http.HttpClient} with
+ *       HTTP/2 and non-blocking asynchronous sends; much cheaper per request, meant for load runs
+ * </ul>
+ */
+public interface HttpTransport {
+
+  /**
+   * Sends one request and returns the fully buffered response.
+   *
+   * @param method the HTTP method, upper case
+   * @param path the path relative to the base URI, e.g. {@code api/v1/Books/1}
+   * @param jsonPayload the request body, or {@code null} for none
+   * @param headers extra request headers, e.g. {@code If-None-Match}
+   */
+  default Response send(
+      String method, String path, String jsonPayload, Map<String, String> headers) {
+    return send(method, path, RequestBody.of(jsonPayload), headers, null);
+  }
+
+  /**
+   * Sends one request like {@link #send(String, String, String, Map)} and adds the body sizes and
+   * the serialization time to {@code exchange}.
+   *
+   * @param body the request body, text or already encoded, or {@code null} for none
+   * @param exchange the event of this attempt, or {@code null} when it is not recorded
+   */
+  Response send(
+      String method,
+      String path,
+      RequestBody body,
+      Map<String, String> headers,
+      HttpExchangeEvent exchange);
+
+  /** Sends one request without extra headers. */
+  default Response send(String method, String path, String jsonPayload) {
+    return send(method, path, jsonPayload, Map.of());
+  }
+
+  /**
+   * Asynchronous variant of {@link #send}. The number of requests on the wire at once is bounded by
+   * the {@link AsyncRequestExecutor} the transport was created with, and cancelling the returned
+   * future aborts the request.
+   */
+  default CompletableFuture<Response> sendAsync(
+      String method, String path, String jsonPayload, Map<String, String> headers) {
+    return sendAsync(method, path, RequestBody.of(jsonPayload), headers, null);
+  }
+
+  /**
+   * Asynchronous variant of {@link #send(String, String, RequestBody, Map, HttpExchangeEvent)};
+   * {@code exchange} is filled in by the time the returned future completes.
+   */
+  CompletableFuture<Response> sendAsync(
+      String method,
+      String path,
+      RequestBody body,
+      Map<String, String> headers,
+      HttpExchangeEvent exchange);
+
+  /** Sends one request asynchronously without extra headers. */
+  default CompletableFuture<Response> sendAsync(String method, String path, String jsonPayload) {
+    return sendAsync(method, path, jsonPayload, Map.of());
+  }
+
+  /** The available transports. */
+  enum Type {
+    REST_ASSURED,
+    JDK;
+
+    /** The transport named by {@code http.transport}: {@code restassured} or {@code jdk}. */
+    public static Type fromConfiguration() {
+      return parse(ConfigurationLoader.getProperty("http.transport", "restassured"));
+    }
+
+    public static Type parse(String name) {
+      switch (name.trim().toLowerCase(Locale.ROOT)) {
+        case "restassured":
+        case "rest_assured":
+          return REST_ASSURED;
+        case "jdk":
+          return JDK;
+        default:
+          throw new IllegalArgumentException(
+              "Unknown http.transport '" + name + "', expected restassured or jdk");
+      }
+    }
+  }
+
+  /** Creates the transport selected by {@code settings}. */
+  static HttpTransport create(RequestSettings settings) {
+    switch (settings.getTransport()) {
+      case JDK:
+        return new JdkHttpTransport(settings);
+      case REST_ASSURED:
+      default:
+        return new RestAssuredTransport(settings);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The {@code JdkHttpTransport} class sends requests with the JDK {@code java.net.http.HttpClient}.
+ * It skips RestAssured's per-request specification merging, filter chain and Groovy based
+ * response handling, so it costs far less CPU and allocation per request; the response is still
+ * handed back as a RestAssured {@code Response} built from the buffered body.
+ *
+ * <p>The client prefers HTTP/2 (negotiated with ALPN over TLS, falling back to HTTP/1.1 when the
+ * server does not offer it) and keeps its own connection pool, so the {@link HttpConnectionPool}
+ * of the settings is not used. {@link #sendAsync} is non-blocking: no thread waits for the
+ * response, and a virtual thread is only started when all {@link AsyncRequestExecutor} permits are
+ * taken. RestAssured filters are not supported by this transport.
+ *
+ * <p>Configured with {@code http.connectTimeoutMs} and {@code http.readTimeoutMs}; {@code
+ * http.jdk.version} ({@code HTTP_2} or {@code HTTP_1_1}) pins the protocol.
+ */
+public final class JdkHttpTransport implements HttpTransport {
+
+  private static final String JSON = "application/json; charset=utf-8";
+  private static final HttpResponse.BodyHandler<byte[]> BODY =
+      HttpResponse.BodyHandlers.ofByteArray();
+
+  private final URI baseUri;
+  private final String basePath;
+  private final HttpClient client;
+  private final Duration readTimeout;
+  private final AsyncRequestExecutor asyncExecutor;
+
+  public JdkHttpTransport(RequestSettings settings) {
+    this(settings, SharedClient.CLIENT);
+  }
+
+  public JdkHttpTransport(RequestSettings settings, HttpClient client) {
+    if (!settings.getFilters().isEmpty()) {
+      throw new IllegalArgumentException(
+          "RestAssured filters are not supported by the jdk transport, use restassured");
+    }
+    this.baseUri = URI.create(settings.getBaseUri().trim());
+    String path = baseUri.getPath() == null ? "" : baseUri.getPath();
+    this.basePath = path.endsWith("/") ? path : path + "/";
+    this.client = client;
+    this.readTimeout =
+        Duration.ofMillis(ConfigurationLoader.getIntProperty("http.readTimeoutMs", 30_000));
+    this.asyncExecutor = settings.getAsyncExecutor();
+  }
+
+  /** A client configured from the active environment, as used by the shared transport. */
+  public static HttpClient newClient() {
+    return HttpClient.newBuilder()
+        .version(
+            HttpClient.Version.valueOf(
+                ConfigurationLoader.getProperty("http.jdk.version", "HTTP_2")
+                    .trim()
+                    .toUpperCase(Locale.ROOT)))
+        .connectTimeout(
+            Duration.ofMillis(ConfigurationLoader.getIntProperty("http.connectTimeoutMs", 10_000)))
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+  }
+
+  @Override
+  public Response send(
+      String method,
+      String path,
+      RequestBody body,
+      Map<String, String> headers,
+      HttpExchangeEvent exchange) {
+    try {
+      HttpRequest request = request(method, path, body, headers, exchange);
+      return toResponse(client.send(request, BODY), exchange);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Request was interrupted");
+    }
+  }
+
+  @Override
+  public CompletableFuture<Response> sendAsync(
+      String method,
+      String path,
+      RequestBody body,
+      Map<String, String> headers,
+      HttpExchangeEvent exchange) {
+    HttpRequest request = request(method, path, body, headers, exchange);
+    return asyncExecutor.submitAsync(
+        () -> client.sendAsync(request, BODY).thenApply(sent -> toResponse(sent, exchange)));
+  }
+
+  private HttpRequest request(
+      String method,
+      String path,
+      RequestBody body,
+      Map<String, String> headers,
+      HttpExchangeEvent exchange) {
+    long start = exchange != null ? System.nanoTime() : 0;
+    HttpRequest.BodyPublisher publisher;
+    if (body == null || method.equals(BaseRequest.GET)) {
+      publisher = HttpRequest.BodyPublishers.noBody();
+    } else if (exchange != null && body.isText()) {
+      // encoded here rather than by the client, so the encoding is part of the measured time
+      byte[] bytes = body.toByteArray();
+      exchange.requestBytes = bytes.length;
+      publisher = HttpRequest.BodyPublishers.ofByteArray(bytes);
+    } else {
+      if (exchange != null) {
+        exchange.requestBytes = body.byteLength();
+      }
+      publisher = body.publisher();
+    }
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(resolve(path)).timeout(readTimeout).method(method, publisher);
+    if (!method.equals(BaseRequest.GET)) {
+      builder.header("Content-Type", JSON);
+    }
+    headers.forEach(builder::header);
+    HttpRequest request = builder.build();
+    if (exchange != null) {
+      exchange.addSerializationTime(System.nanoTime() - start);
+    }
+    return request;
+  }
+
+  /** Appends {@code path} to the base URI, quoting characters that are not legal in a path. */
+  private URI resolve(String path) {
+    String relative = path.startsWith("/") ? path.substring(1) : path;
+    try {
+      return new URI(
+          baseUri.getScheme(), baseUri.getAuthority(), basePath + relative, null, null);
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Invalid request path: " + path, e);
+    }
+  }
+
+  private static Response toResponse(HttpResponse<byte[]> response, HttpExchangeEvent exchange) {
+    long start = exchange != null ? System.nanoTime() : 0;
+    List<Header> headers = new ArrayList<>();
+    response
+        .headers()
+        .map()
+        .forEach((name, values) -> values.forEach(value -> headers.add(new Header(name, value))));
+    ResponseBuilder builder =
+        new ResponseBuilder()
+            .setStatusCode(response.statusCode())
+            .setStatusLine(protocol(response.version()) + " " + response.statusCode())
+            .setHeaders(new Headers(headers))
+            .setBody(response.body());
+    response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+    Response built = builder.build();
+    if (exchange != null) {
+      exchange.responseBytes = response.body().length;
+      exchange.addSerializationTime(System.nanoTime() - start);
+    }
+    return built;
+  }
+
+  private static String protocol(HttpClient.Version version) {
+    return version == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+  }
+
+  /** Created on first use, so the default transport never starts the JDK client's threads. */
+  private static final class SharedClient {
+    private static final HttpClient CLIENT = newClient();
+  }
+}
@@ -0,0 +1,99 @@
+package com.api.test.requests;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The {@code RequestBody} class is the JSON payload of a request, either as text or as bytes that
+ * are already UTF-8 encoded. Bytes are not copied: a payload serialized once (see {@code
+ * PayloadStore}) can be sent any number of times, from any number of threads, without being
+ * encoded or copied again per request. The bytes must not be changed while requests using them may
+ * still be sent.
+ *
+ * <p>A {@code ByteBuffer} body is the buffer's remaining bytes; its position is not moved. A heap
+ * buffer is read through its backing array. A direct buffer, or a slice of an array, is copied
+ * once per request for RestAssured, which takes whole arrays only; the JDK transport sends slices
+ * of heap arrays as they are.
+ */
+public final class RequestBody {
+
+  private final String text;
+  private final byte[] bytes;
+  private final int offset;
+  private final int length;
+
+  private RequestBody(String text, byte[] bytes, int offset, int length) {
+    this.text = text;
+    this.bytes = bytes;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /** The body {@code json}, encoded by the transport; {@code null} for no body. */
+  public static RequestBody of(String json) {
+    return json == null ? null : new RequestBody(json, null, 0, 0);
+  }
+
+  /** The body {@code utf8Json}, sent as is; {@code null} for no body. */
+  public static RequestBody of(byte[] utf8Json) {
+    return utf8Json == null ? null : new RequestBody(null, utf8Json, 0, utf8Json.length);
+  }
+
+  /** The remaining bytes of {@code utf8Json}, sent as is; {@code null} for no body. */
+  public static RequestBody of(ByteBuffer utf8Json) {
+    if (utf8Json == null) {
+      return null;
+    }
+    if (utf8Json.hasArray()) {
+      return new RequestBody(
+          null,
+          utf8Json.array(),
+          utf8Json.arrayOffset() + utf8Json.position(),
+          utf8Json.remaining());
+    }
+    byte[] copy = new byte[utf8Json.remaining()];
+    utf8Json.duplicate().get(copy);
+    return new RequestBody(null, copy, 0, copy.length);
+  }
+
+  /** Whether the body is text the transport still has to encode. */
+  public boolean isText() {
+    return text != null;
+  }
+
+  /** The body as text; decodes encoded bodies, so meant for logs and reports. */
+  public String asString() {
+    return text != null ? text : new String(bytes, offset, length, StandardCharsets.UTF_8);
+  }
+
+  /** The size of the encoded body in bytes; counts the UTF-8 length of text without encoding it. */
+  public long byteLength() {
+    return text != null ? HttpExchangeEvent.utf8Length(text) : length;
+  }
+
+  /** The encoded body in an array of its own; the wrapped array when that is the whole body. */
+  byte[] toByteArray() {
+    if (text != null) {
+      return text.getBytes(StandardCharsets.UTF_8);
+    }
+    if (offset == 0 && length == bytes.length) {
+      return bytes;
+    }
+    return Arrays.copyOfRange(bytes, offset, offset + length);
+  }
+
+  /** A publisher of the encoded body for the JDK client, without copying encoded bodies. */
+  HttpRequest.BodyPublisher publisher() {
+    if (text != null) {
+      return HttpRequest.BodyPublishers.ofString(text);
+    }
+    return HttpRequest.BodyPublishers.ofByteArray(bytes, offset, length);
+  }
+
+  @Override
+  public String toString() {
+    return asString();
+  }
+}
@@ -0,0 +1,307 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.metrics.EndpointMetrics;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The {@code RequestLimiter} class keeps a run under the request rate and concurrency a shared
+ * environment allows. Every request sent through a {@code BaseRequest} first takes a {@link Permit}
+ * from the limiter of its settings; a request that would exceed a limit waits for it.
+ *
+ * <p>Two kinds of limits exist, each globally and per endpoint (e.g. {@code Books}, ids and {@code
+ * api/vN/} dropped as in {@link EndpointMetrics#normalize}):
+ *
+ * <ul>
+ *   <li>a token bucket of {@code ratePerSecond} tokens per second holding up to {@code burst}
+ *       tokens; every request takes one
+ *   <li>a maximum number of requests on the wire ({@code maxInFlight}); the permit is held until
+ *       the response or error is in
+ * </ul>
+ *
+ * <p>Neither takes a lock: the bucket is a single atomic "next free slot" timestamp advanced with
+ * compare-and-set, so a request reserves its token in one step and then sleeps until the slot
+ * comes, and the in-flight limit is a non-fair {@link Semaphore}. Waiting parks the caller, which
+ * is cheap on virtual threads; the asynchronous variant waits on a virtual thread of its own.
+ *
+ * <p>The shared limiter is configured with {@code http.limit.ratePerSecond}, {@code
+ * http.limit.burst} and {@code http.limit.maxInFlight}, and per endpoint with {@code
+ * http.limit.<endpoint>.ratePerSecond}, {@code .burst} and {@code .maxInFlight}. Zero (the
+ * default) means unlimited. The time spent waiting is recorded apart from the latency, see {@code
+ * EndpointStats#getLimiterWait()}.
+ */
+public final class RequestLimiter {
+
+  private static final RequestLimiter UNLIMITED =
+      new RequestLimiter(Limit.NONE, endpoint -> Limit.NONE);
+  private static final RequestLimiter SHARED = fromConfiguration();
+  private static final ExecutorService WAITERS =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("request-limiter-", 0).factory());
+
+  private final Gate global;
+  private final Function<String, Limit> endpointLimits;
+  private final Map<String, Gate> endpoints = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a limiter.
+   *
+   * @param global the limit of all requests together
+   * @param endpointLimits the limit of an endpoint, by its normalised name; asked once per endpoint
+   */
+  public RequestLimiter(Limit global, Function<String, Limit> endpointLimits) {
+    this.global = new Gate(global);
+    this.endpointLimits = endpointLimits;
+  }
+
+  /**
+   * A limiter with fixed limits for the endpoints in {@code endpointLimits}, e.g. {@code Books}.
+   */
+  public static RequestLimiter of(Limit global, Map<String, Limit> endpointLimits) {
+    return new RequestLimiter(
+        global, endpoint -> endpointLimits.getOrDefault(endpoint, Limit.NONE));
+  }
+
+  /** The limiter {@code BaseRequest}s use unless their settings name another one. */
+  public static RequestLimiter shared() {
+    return SHARED;
+  }
+
+  /** A limiter that never waits. */
+  public static RequestLimiter unlimited() {
+    return UNLIMITED;
+  }
+
+  private static RequestLimiter fromConfiguration() {
+    Limit global = Limit.fromConfiguration("http.limit.", Limit.DEFAULT_BURST);
+    return new RequestLimiter(
+        global,
+        endpoint -> Limit.fromConfiguration("http.limit." + endpoint + ".", global.burst()));
+  }
+
+  /**
+   * Waits until a request to {@code endpoint} is within all limits.
+   *
+   * @param endpoint the endpoint as passed to {@code BaseRequest}, e.g. {@code api/v1/Books}
+   * @throws InterruptedException if interrupted while waiting; no permit is held then
+   */
+  public Permit acquire(String endpoint) throws InterruptedException {
+    Gate gate = gate(endpoint);
+    if (!global.limited && !gate.limited) {
+      return Permit.UNLIMITED;
+    }
+    long start = System.nanoTime();
+    long wait = Math.max(global.reserve(start), gate.reserve(start));
+    if (wait > 0) {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+    return enter(gate, start);
+  }
+
+  /**
+   * Asynchronous variant of {@link #acquire}. The future is complete at once when no limit makes
+   * the request wait; cancelling it while it waits gives up the permit.
+   */
+  public CompletableFuture<Permit> acquireAsync(String endpoint) {
+    Gate gate = gate(endpoint);
+    if (!global.limited && !gate.limited) {
+      return CompletableFuture.completedFuture(Permit.UNLIMITED);
+    }
+    long start = System.nanoTime();
+    long wait = Math.max(global.reserve(start), gate.reserve(start));
+    if (wait <= 0 && global.tryEnter()) {
+      if (gate.tryEnter()) {
+        return CompletableFuture.completedFuture(new Permit(global, gate, 0));
+      }
+      global.exit();
+    }
+    CompletableFuture<Permit> result = new CompletableFuture<>();
+    Future<?> task =
+        WAITERS.submit(
+            () -> {
+              try {
+                long remaining = wait - (System.nanoTime() - start);
+                if (remaining > 0) {
+                  TimeUnit.NANOSECONDS.sleep(remaining);
+                }
+                Permit permit = enter(gate, start);
+                // cancelled or timed out while waiting
+                if (!result.complete(permit)) {
+                  permit.release();
+                }
+              } catch (InterruptedException e) {
+                result.completeExceptionally(new CancellationException("Request was interrupted"));
+              }
+            });
+    result.whenComplete(
+        (permit, error) -> {
+          if (error != null) {
+            task.cancel(true);
+          }
+        });
+    return result;
+  }
+
+  /** Takes the in-flight slots, global first, after the rate wait is over. */
+  private Permit enter(Gate gate, long start) throws InterruptedException {
+    global.enter();
+    try {
+      gate.enter();
+    } catch (InterruptedException e) {
+      global.exit();
+      throw e;
+    }
+    return new Permit(global, gate, System.nanoTime() - start);
+  }
+
+  private Gate gate(String endpoint) {
+    Gate gate = endpoints.get(endpoint);
+    if (gate == null) {
+      gate =
+          endpoints.computeIfAbsent(
+              endpoint,
+              key -> new Gate(endpointLimits.apply(EndpointMetrics.normalize(key))));
+    }
+    return gate;
+  }
+
+  /**
+   * A limit; zero for {@code ratePerSecond} or {@code maxInFlight} switches that part off.
+   *
+   * @param ratePerSecond the sustained number of requests per second
+   * @param burst the number of requests that may start at once after an idle period
+   * @param maxInFlight the number of requests on the wire at once
+   */
+  public record Limit(double ratePerSecond, int burst, int maxInFlight) {
+
+    public static final Limit NONE = new Limit(0, 1, 0);
+
+    static final int DEFAULT_BURST = 10;
+
+    public Limit {
+      if (ratePerSecond < 0 || burst < 1 || maxInFlight < 0) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Invalid limit: %s per second, burst %d, %d in flight",
+                ratePerSecond, burst, maxInFlight));
+      }
+    }
+
+    /** A rate limit alone. */
+    public static Limit rate(double ratePerSecond, int burst) {
+      return new Limit(ratePerSecond, burst, 0);
+    }
+
+    /** An in-flight limit alone. */
+    public static Limit inFlight(int maxInFlight) {
+      return new Limit(0, 1, maxInFlight);
+    }
+
+    /**
+     * The limit in {@code <prefix>ratePerSecond} (fractions allowed, e.g. {@code 0.5} for one
+     * request every two seconds), {@code <prefix>burst} and {@code <prefix>maxInFlight}.
+     */
+    public static Limit fromConfiguration(String prefix, int defaultBurst) {
+      return new Limit(
+          ConfigurationLoader.getDoubleProperty(prefix + "ratePerSecond", 0),
+          ConfigurationLoader.getIntProperty(prefix + "burst", defaultBurst),
+          ConfigurationLoader.getIntProperty(prefix + "maxInFlight", 0));
+    }
+  }
+
+  /**
+   * The right to send one request. Release it when the response or error is in; releasing twice
+   * has no effect.
+   */
+  public static final class Permit {
+
+    static final Permit UNLIMITED = new Permit(null, null, 0);
+
+    private final Gate global;
+    private final Gate endpoint;
+    private final long waitNanos;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(Gate global, Gate endpoint, long waitNanos) {
+      this.global = global;
+      this.endpoint = endpoint;
+      this.waitNanos = waitNanos;
+    }
+
+    /** Whether any limit applied to the request; if not, nothing was waited for. */
+    public boolean isLimited() {
+      return global != null;
+    }
+
+    /** The time spent waiting for this permit. */
+    public long getWaitNanos() {
+      return waitNanos;
+    }
+
+    public void release() {
+      if (global != null && released.compareAndSet(false, true)) {
+        endpoint.exit();
+        global.exit();
+      }
+    }
+  }
+
+  /** A token bucket and an in-flight limit, either of them possibly off. */
+  private static final class Gate {
+
+    private final boolean limited;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Semaphore inFlight;
+    // the time the next token is due if the bucket is empty; a request takes the later of it and
+    // (now - burst), and moves it on by one interval
+    private final AtomicLong nextSlot = new AtomicLong(Long.MIN_VALUE / 2);
+
+    Gate(Limit limit) {
+      this.intervalNanos = limit.ratePerSecond() > 0 ? (long) (1e9 / limit.ratePerSecond()) : 0;
+      this.burstNanos = (limit.burst() - 1) * intervalNanos;
+      this.inFlight = limit.maxInFlight() > 0 ? new Semaphore(limit.maxInFlight()) : null;
+      this.limited = intervalNanos > 0 || inFlight != null;
+    }
+
+    /** Takes a token; returns how long to wait, from {@code now}, until it may be used. */
+    long reserve(long now) {
+      if (intervalNanos == 0) {
+        return 0;
+      }
+      while (true) {
+        long next = nextSlot.get();
+        long slot = Math.max(next, now - burstNanos);
+        if (nextSlot.compareAndSet(next, slot + intervalNanos)) {
+          return slot - now;
+        }
+      }
+    }
+
+    boolean tryEnter() {
+      return inFlight == null || inFlight.tryAcquire();
+    }
+
+    void enter() throws InterruptedException {
+      if (inFlight != null) {
+        inFlight.acquire();
+      }
+    }
+
+    void exit() {
+      if (inFlight != null) {
+        inFlight.release();
+      }
+    }
+  }
+}
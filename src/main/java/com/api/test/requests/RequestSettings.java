@@ -0,0 +1,68 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.metrics.EndpointMetrics;
+import io.restassured.filter.Filter;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+/**
+ * The {@code RequestSettings} class groups everything a {@code BaseRequest} is bound to: the base
+ * URI, the {@link HttpTransport} type, the connection pool, the executor used by the asynchronous
+ * methods, the {@link EndpointMetrics} calls are recorded into, the {@link ResponseCache} for
+ * {@code GET}s, the {@link CircuitBreakers} and {@link RetryPolicy} failed calls go through, the
+ * {@link RequestLimiter} that paces requests and the RestAssured filters.
+ * Anything not set explicitly falls back to the shared, configuration driven default.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   RequestSettings settings =
+ *       RequestSettings.builder()
+ *           .baseUri("http://localhost:8089/")
+ *           .asyncExecutor(new AsyncRequestExecutor(16))
+ *           .build();
+ *   BookRequests bookRequests = new BookRequests(settings);
+ * }
+ * </pre>
+ */
+@Getter
+@Builder(toBuilder = true)
+public class RequestSettings {
+
+  private final String baseUri;
+
+  @Builder.Default
+  private final HttpTransport.Type transport = HttpTransport.Type.fromConfiguration();
+
+  @Builder.Default private final HttpConnectionPool connectionPool = HttpConnectionPool.shared();
+
+  @Builder.Default
+  private final AsyncRequestExecutor asyncExecutor = AsyncRequestExecutor.shared();
+
+  @Builder.Default private final EndpointMetrics metrics = EndpointMetrics.shared();
+
+  /** Off unless {@code http.cache.enabled=true}, see {@link ResponseCache}. */
+  @Builder.Default private final ResponseCache responseCache = ResponseCache.shared();
+
+  @Builder.Default private final CircuitBreakers circuitBreakers = CircuitBreakers.shared();
+
+  @Builder.Default private final RetryPolicy retryPolicy = RetryPolicy.shared();
+
+  /** Unlimited unless {@code http.limit.*} is configured, see {@link RequestLimiter}. */
+  @Builder.Default private final RequestLimiter limiter = RequestLimiter.shared();
+
+  /** Only applied by the {@code REST_ASSURED} transport. */
+  @Singular private final List<Filter> filters;
+
+  /** Settings for the {@code baseUrl} of the active environment. */
+  public static RequestSettings fromConfiguration() {
+    return forBaseUri(ConfigurationLoader.getProperty("baseUrl"));
+  }
+
+  public static RequestSettings forBaseUri(String baseUri) {
+    return RequestSettings.builder().baseUri(baseUri).build();
+  }
+}
@@ -0,0 +1,313 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code ResponseCache} class is an opt-in, client-side cache of {@code GET} responses, shared
+ * by the {@code BaseRequest}s whose settings name it. Tests that read the same book or the whole
+ * book list over and over then only pay for one round trip per time-to-live.
+ *
+ * <p>A cached response is served without a request while it is younger than the time-to-live.
+ * After that it is revalidated: the request carries {@code If-None-Match} and {@code
+ * If-Modified-Since} from the cached {@code ETag}/{@code Last-Modified}, and a {@code 304 Not
+ * Modified} answer refreshes the entry and hands the cached body back as a {@code 200}. Responses
+ * with {@code Cache-Control: no-store} and statuses other than {@code 200} are not stored.
+ *
+ * <p>A {@code POST}, {@code PUT} or {@code DELETE} sent through a {@code BaseRequest} drops the
+ * cached item and its collection. A {@code GET} that was already on the wire when that happened is
+ * not stored, so it cannot put the old state back.
+ *
+ * <p>The cache is bounded by {@code http.cache.maxMegabytes} (default 64) of response bodies; the
+ * least recently used entries are evicted first. The shared cache is configured with {@code
+ * http.cache.enabled} (default {@code false}) and {@code http.cache.ttlMs} (default 30,000).
+ */
+public final class ResponseCache {
+
+  private static final ResponseCache DISABLED = new ResponseCache(false, Duration.ZERO, 1);
+  private static final ResponseCache SHARED = fromConfiguration();
+
+  private final boolean enabled;
+  private final long ttlNanos;
+  private final long maxBytes;
+  // entries in access order, the eldest is evicted first; guarded by itself
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long cachedBytes;
+  // bumped by every invalidation, guarded by entries
+  private long generation;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder revalidated = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+  private final LongAdder bytesSaved = new LongAdder();
+
+  /**
+   * Creates an enabled cache.
+   *
+   * @param ttl how long a response is served without asking the server
+   * @param maxBytes the total size of the cached bodies
+   */
+  public ResponseCache(Duration ttl, long maxBytes) {
+    this(true, ttl, maxBytes);
+  }
+
+  private ResponseCache(boolean enabled, Duration ttl, long maxBytes) {
+    if (ttl.isNegative()) {
+      throw new IllegalArgumentException("ttl must not be negative: " + ttl);
+    }
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+    }
+    this.enabled = enabled;
+    this.ttlNanos = ttl.toNanos();
+    this.maxBytes = maxBytes;
+  }
+
+  /** The cache {@code BaseRequest}s use unless their settings name another one. */
+  public static ResponseCache shared() {
+    return SHARED;
+  }
+
+  /** A cache that stores nothing; every request goes to the server. */
+  public static ResponseCache disabled() {
+    return DISABLED;
+  }
+
+  private static ResponseCache fromConfiguration() {
+    if (!Boolean.parseBoolean(ConfigurationLoader.getProperty("http.cache.enabled", "false"))) {
+      return DISABLED;
+    }
+    return new ResponseCache(
+        Duration.ofMillis(ConfigurationLoader.getIntProperty("http.cache.ttlMs", 30_000)),
+        ConfigurationLoader.getIntProperty("http.cache.maxMegabytes", 64) * 1024L * 1024L);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** The entry for {@code key}, fresh or stale, or {@code null}. */
+  Entry get(String key) {
+    synchronized (entries) {
+      return entries.get(key);
+    }
+  }
+
+  /** Whether {@code entry} may be served without asking the server. */
+  boolean isFresh(Entry entry) {
+    return System.nanoTime() - entry.storedAtNanos() < ttlNanos;
+  }
+
+  /** Serves a fresh entry. */
+  Response hit(Entry entry) {
+    hits.increment();
+    bytesSaved.add(entry.body().length);
+    return entry.toResponse();
+  }
+
+  /** The value to pass to {@link #update} for a request sent now. */
+  long generation() {
+    synchronized (entries) {
+      return generation;
+    }
+  }
+
+  /**
+   * Handles the server's answer to a {@code GET} of {@code key}.
+   *
+   * @param stale the entry the request was revalidating, or {@code null}
+   * @param response the response from the server
+   * @param sentAtGeneration {@link #generation()} from before the request was sent
+   * @return the response to hand to the caller: the cached one on {@code 304}
+   */
+  Response update(String key, Entry stale, Response response, long sentAtGeneration) {
+    if (response.statusCode() == 304 && stale != null) {
+      revalidated.increment();
+      bytesSaved.add(stale.body().length);
+      store(key, stale.refreshed(System.nanoTime()), sentAtGeneration);
+      return stale.toResponse();
+    }
+    misses.increment();
+    if (response.statusCode() == 200 && !noStore(response)) {
+      store(key, Entry.of(response, System.nanoTime()), sentAtGeneration);
+    } else if (stale != null) {
+      remove(key);
+    }
+    return response;
+  }
+
+  /** Drops the cached responses for {@code keys} and fences off {@code GET}s in flight. */
+  public void invalidate(String... keys) {
+    synchronized (entries) {
+      generation++;
+      for (String key : keys) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+          cachedBytes -= removed.body().length;
+          invalidations.increment();
+        }
+      }
+    }
+  }
+
+  /** Drops every entry. */
+  public void clear() {
+    synchronized (entries) {
+      generation++;
+      entries.clear();
+      cachedBytes = 0;
+    }
+  }
+
+  public Stats stats() {
+    synchronized (entries) {
+      return new Stats(
+          hits.sum(),
+          revalidated.sum(),
+          misses.sum(),
+          evictions.sum(),
+          invalidations.sum(),
+          bytesSaved.sum(),
+          entries.size(),
+          cachedBytes,
+          maxBytes);
+    }
+  }
+
+  private void store(String key, Entry entry, long sentAtGeneration) {
+    if (!enabled || entry.body().length > maxBytes) {
+      return;
+    }
+    synchronized (entries) {
+      if (generation != sentAtGeneration) {
+        return;
+      }
+      Entry previous = entries.put(key, entry);
+      cachedBytes += entry.body().length - (previous == null ? 0 : previous.body().length);
+      Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+      while (cachedBytes > maxBytes && eldest.hasNext()) {
+        Map.Entry<String, Entry> victim = eldest.next();
+        eldest.remove();
+        cachedBytes -= victim.getValue().body().length;
+        evictions.increment();
+      }
+    }
+  }
+
+  private void remove(String key) {
+    synchronized (entries) {
+      Entry removed = entries.remove(key);
+      if (removed != null) {
+        cachedBytes -= removed.body().length;
+      }
+    }
+  }
+
+  private static boolean noStore(Response response) {
+    String cacheControl = response.header("Cache-Control");
+    return cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+  }
+
+  /** A buffered response and the validators to revalidate it with. */
+  record Entry(
+      int statusCode,
+      String statusLine,
+      Headers headers,
+      String contentType,
+      byte[] body,
+      long storedAtNanos) {
+
+    static Entry of(Response response, long now) {
+      return new Entry(
+          response.statusCode(),
+          response.statusLine(),
+          response.headers(),
+          response.contentType(),
+          response.asByteArray(),
+          now);
+    }
+
+    Entry refreshed(long now) {
+      return new Entry(statusCode, statusLine, headers, contentType, body, now);
+    }
+
+    /** {@code If-None-Match}/{@code If-Modified-Since} for the validators the server sent. */
+    Map<String, String> conditionalHeaders() {
+      Map<String, String> conditional = new LinkedHashMap<>();
+      String etag = headers.getValue("ETag");
+      if (etag != null) {
+        conditional.put("If-None-Match", etag);
+      }
+      String lastModified = headers.getValue("Last-Modified");
+      if (lastModified != null) {
+        conditional.put("If-Modified-Since", lastModified);
+      }
+      return conditional;
+    }
+
+    /** A new response per caller, so callers never share RestAssured's parsing state. */
+    Response toResponse() {
+      ResponseBuilder builder =
+          new ResponseBuilder()
+              .setStatusCode(statusCode)
+              .setHeaders(headers)
+              .setBody(body);
+      if (statusLine != null) {
+        builder.setStatusLine(statusLine);
+      }
+      if (contentType != null && !contentType.isEmpty()) {
+        builder.setContentType(contentType);
+      }
+      return builder.build();
+    }
+  }
+
+  /**
+   * Counters since the cache was created. {@code hits} were served without a request, {@code
+   * revalidated} by a {@code 304}; {@code bytesSaved} is the size of the bodies not downloaded.
+   */
+  public record Stats(
+      long hits,
+      long revalidated,
+      long misses,
+      long evictions,
+      long invalidations,
+      long bytesSaved,
+      int entries,
+      long cachedBytes,
+      long maxBytes) {
+
+    /** Share of {@code GET}s answered without downloading the body. */
+    public double hitRatio() {
+      long requests = hits + revalidated + misses;
+      return requests == 0 ? 0 : (double) (hits + revalidated) / requests;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "hits=%d, revalidated=%d, misses=%d (%.1f%% hit), evictions=%d, invalidations=%d, "
+              + "saved=%d KB, entries=%d, cached=%d/%d KB",
+          hits,
+          revalidated,
+          misses,
+          hitRatio() * 100,
+          evictions,
+          invalidations,
+          bytesSaved / 1024,
+          entries,
+          cachedBytes / 1024,
+          maxBytes / 1024);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code RetryPolicy} class decides whether a {@code BaseRequest} sends a call again and how
+ * long it waits before doing so. Only idempotent methods ({@code GET}, {@code PUT}, {@code DELETE})
+ * are retried, so a retry can never create a second book; a {@code POST} fails on the first error.
+ *
+ * <p>A call is retried when it threw (connection refused or reset, timeout, ...) or returned {@code
+ * 429}, {@code 502}, {@code 503} or {@code 504}, at most until {@code maxAttempts} calls were sent.
+ * Before attempt {@code n + 1} it waits a random time between zero and {@code baseDelay * 2^(n -
+ * 1)}, capped at {@code maxDelay} ("full jitter"), so clients that failed together do not retry
+ * together. Calls rejected by an open {@link CircuitBreaker} and cancelled calls are not retried.
+ *
+ * <p>The shared policy is configured with {@code http.retry.maxAttempts} (default 1, which
+ * disables retries), {@code http.retry.baseDelayMs} (100) and {@code http.retry.maxDelayMs}
+ * (2,000).
+ */
+public final class RetryPolicy {
+
+  private static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+  private static final RetryPolicy SHARED = fromConfiguration();
+
+  private final int maxAttempts;
+  private final long baseDelayMillis;
+  private final long maxDelayMillis;
+
+  /**
+   * @param maxAttempts the number of calls sent at most, the first one included
+   * @param baseDelay the upper bound of the wait before the first retry
+   * @param maxDelay the upper bound of any wait
+   */
+  public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+    if (maxAttempts <= 0) {
+      throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+    }
+    if (baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0) {
+      throw new IllegalArgumentException(
+          "Need 0 <= baseDelay <= maxDelay, got " + baseDelay + " and " + maxDelay);
+    }
+    this.maxAttempts = maxAttempts;
+    this.baseDelayMillis = baseDelay.toMillis();
+    this.maxDelayMillis = maxDelay.toMillis();
+  }
+
+  /** The policy {@code BaseRequest}s use unless their settings name another one. */
+  public static RetryPolicy shared() {
+    return SHARED;
+  }
+
+  /** Sends every call once. */
+  public static RetryPolicy none() {
+    return NONE;
+  }
+
+  private static RetryPolicy fromConfiguration() {
+    return new RetryPolicy(
+        ConfigurationLoader.getIntProperty("http.retry.maxAttempts", 1),
+        Duration.ofMillis(ConfigurationLoader.getIntProperty("http.retry.baseDelayMs", 100)),
+        Duration.ofMillis(ConfigurationLoader.getIntProperty("http.retry.maxDelayMs", 2_000)));
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /** Whether a call is sent again after attempt {@code attempt} returned {@code status}. */
+  public boolean shouldRetry(String method, int attempt, int status) {
+    return canRetry(method, attempt)
+        && (status == 429 || status == 502 || status == 503 || status == 504);
+  }
+
+  /** Whether a call is sent again after attempt {@code attempt} threw {@code error}. */
+  public boolean shouldRetry(String method, int attempt, Throwable error) {
+    return canRetry(method, attempt)
+        && !(error instanceof CircuitBreakerOpenException)
+        && !(error instanceof CancellationException)
+        && !(error instanceof IllegalArgumentException);
+  }
+
+  /** The wait before attempt {@code attempt + 1}, in milliseconds. */
+  public long backoffMillis(int attempt) {
+    long ceiling = baseDelayMillis << Math.min(attempt - 1, 20);
+    ceiling = Math.min(maxDelayMillis, ceiling < 0 ? maxDelayMillis : ceiling);
+    return ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private boolean canRetry(String method, int attempt) {
+    return attempt < maxAttempts
+        && (method.equals("GET") || method.equals("PUT") || method.equals("DELETE"));
+  }
+}
@@ -0,0 +1,371 @@
+package com.api.test.server;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.LoadDataFromJson;
+import com.api.test.server.PayloadReader.Field;
+import com.api.test.server.PayloadReader.FieldType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * The {@code FakeRestApiServer} class is an embedded, in-process stand-in for the Books and
+ * Authors part of {@code https://fakerestapi.azurewebsites.net/}. It answers {@code api/v1/Books}
+ * and {@code api/v1/Authors} (collection and {@code /{id}}) with the same status codes and the
+ * same problem-details error body (title, traceId, errors map) as the real service, so the suite
+ * can run offline and the client side can be measured without network noise. {@code GET}s carry
+ * an {@code ETag} and {@code Last-Modified} and answer conditional requests with {@code 304}.
+ *
+ * <p>Records are seeded from {@code data/books/books.json} and {@code data/authors/authors.json};
+ * the collections are then filled up to {@code server.books.count}/{@code server.authors.count}
+ * generated records, like the 200 books the real service returns. The real service accepts writes
+ * but never stores them, and the suite relies on that (e.g. deleting author 1 while another test
+ * reads it). The same happens here unless {@code server.persistWrites=true}.
+ *
+ * <p>Select it with {@code -Denv=local}: {@code application-local.properties} sets {@code
+ * server.embedded=true}, and {@link #startEmbeddedIfConfigured()} starts it on {@code server.port}.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   try (FakeRestApiServer server = FakeRestApiServer.start(0)) {
+ *     BookRequests bookRequests = new BookRequests(server.baseUri());
+ *   }
+ * }
+ * </pre>
+ */
+public class FakeRestApiServer implements AutoCloseable {
+
+  static {
+    // headers and body are written separately; without TCP_NODELAY every response waits for the
+    // client's delayed ACK
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+  }
+
+  private static final String BOOKS_PATH = "/api/v1/Books";
+  private static final String AUTHORS_PATH = "/api/v1/Authors";
+  private static final String JSON = "application/json; charset=utf-8; v=1.0";
+  private static final String PROBLEM_JSON = "application/problem+json; charset=utf-8";
+  private static final String VALIDATION_TITLE = "One or more validation errors occurred.";
+
+  private static FakeRestApiServer embedded;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ResourceStore<Book> books = new ResourceStore<>(objectMapper, Book::getId);
+  private final ResourceStore<Author> authors = new ResourceStore<>(objectMapper, Author::getId);
+  private final PayloadReader bookReader =
+      new PayloadReader(
+          "book",
+          "FakeRestAPI.Web.V1.Models.Book",
+          List.of(
+              new Field("id", FieldType.INT32),
+              new Field("title", FieldType.STRING),
+              new Field("description", FieldType.STRING),
+              new Field("pageCount", FieldType.INT32),
+              new Field("excerpt", FieldType.STRING),
+              new Field("publishDate", FieldType.DATE_TIME)));
+  private final PayloadReader authorReader =
+      new PayloadReader(
+          "author",
+          "FakeRestAPI.Web.V1.Models.Author",
+          List.of(
+              new Field("id", FieldType.INT32),
+              new Field("idBook", FieldType.INT32),
+              new Field("firstName", FieldType.STRING),
+              new Field("lastName", FieldType.STRING)));
+  private final boolean persistWrites;
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  private FakeRestApiServer(int port, int bookCount, int authorCount, boolean persistWrites) {
+    this.persistWrites = persistWrites;
+    seed(bookCount, authorCount);
+    try {
+      server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not start the embedded FakeRestApi on port " + port, e);
+    }
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    server.createContext(BOOKS_PATH, exchange -> handle(exchange, books, bookReader, Book.class));
+    server.createContext(
+        AUTHORS_PATH, exchange -> handle(exchange, authors, authorReader, Author.class));
+    server.createContext("/", exchange -> send(exchange, 404, JSON, new byte[0]));
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /** Starts a server with the configured record counts; use port 0 for a free port. */
+  public static FakeRestApiServer start(int port) {
+    boolean persistWrites =
+        Boolean.parseBoolean(ConfigurationLoader.getProperty("server.persistWrites", "false"));
+    return start(port, persistWrites);
+  }
+
+  /** Like {@link #start(int)}, storing writes or not whatever {@code server.persistWrites} says. */
+  public static FakeRestApiServer start(int port, boolean persistWrites) {
+    return new FakeRestApiServer(
+        port,
+        ConfigurationLoader.getIntProperty("server.books.count", 200),
+        ConfigurationLoader.getIntProperty("server.authors.count", 200),
+        persistWrites);
+  }
+
+  /**
+   * Starts the shared embedded server when the active environment sets {@code
+   * server.embedded=true}. Calling it again is a no-op, so every entry point (test suite, load
+   * runner) can call it.
+   */
+  public static synchronized void startEmbeddedIfConfigured() {
+    if (embedded == null
+        && Boolean.parseBoolean(ConfigurationLoader.getProperty("server.embedded", "false"))) {
+      embedded = start(ConfigurationLoader.getIntProperty("server.port", 8089));
+    }
+  }
+
+  public static synchronized void stopEmbedded() {
+    if (embedded != null) {
+      embedded.close();
+      embedded = null;
+    }
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  public String baseUri() {
+    return String.format("http://localhost:%d/", port());
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void seed(int bookCount, int authorCount) {
+    LoadDataFromJson loadData = new LoadDataFromJson();
+    try (Stream<Book> fixtures = loadData.streamObjects("data/books/books.json", Book.class)) {
+      fixtures.forEach(books::put);
+    }
+    try (Stream<Author> fixtures =
+        loadData.streamObjects("data/authors/authors.json", Author.class)) {
+      fixtures.forEach(authors::put);
+    }
+    for (int id = 1; books.size() < bookCount; id++) {
+      books.putIfAbsent(generatedBook(id));
+    }
+    for (int id = 1; authors.size() < authorCount; id++) {
+      authors.putIfAbsent(generatedAuthor(id, bookCount));
+    }
+  }
+
+  private static Book generatedBook(int id) {
+    return Book.builder()
+        .id(id)
+        .title("Book " + id)
+        .description("Description of book " + id)
+        .pageCount(id * 100)
+        .excerpt("Excerpt of book " + id)
+        .publishDate(
+            OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).minusDays(id).toString())
+        .build();
+  }
+
+  private static Author generatedAuthor(int id, int bookCount) {
+    return Author.builder()
+        .id(id)
+        .idBook((id - 1) % Math.max(1, bookCount) + 1)
+        .firstName("First Name " + id)
+        .lastName("Last Name " + id)
+        .build();
+  }
+
+  private <T> void handle(
+      HttpExchange exchange, ResourceStore<T> store, PayloadReader reader, Class<T> type)
+      throws IOException {
+    try (exchange) {
+      String base = exchange.getHttpContext().getPath();
+      String rest = exchange.getRequestURI().getPath().substring(base.length());
+      String method = exchange.getRequestMethod();
+      if (rest.isEmpty() || rest.equals("/")) {
+        switch (method) {
+          case "GET" -> sendCacheable(exchange, store, store.allAsJson());
+          case "POST" -> write(exchange, store, reader, type, null);
+          default -> send(exchange, 405, JSON, new byte[0]);
+        }
+        return;
+      }
+      String idText = rest.substring(1);
+      if (!rest.startsWith("/") || idText.contains("/")) {
+        send(exchange, 404, JSON, new byte[0]);
+        return;
+      }
+      Integer id = parseId(idText);
+      if (id == null) {
+        exchange.getRequestBody().readAllBytes();
+        sendValidationErrors(
+            exchange, Map.of("id", List.of("The value '" + idText + "' is not valid.")));
+        return;
+      }
+      switch (method) {
+        case "GET" -> {
+          T record = store.get(id);
+          if (record == null) {
+            sendNotFound(exchange);
+          } else {
+            sendCacheable(exchange, store, objectMapper.writeValueAsBytes(record));
+          }
+        }
+        case "PUT" -> write(exchange, store, reader, type, id);
+        case "DELETE" -> {
+          if (persistWrites) {
+            store.remove(id);
+          }
+          send(exchange, 200, JSON, new byte[0]);
+        }
+        default -> send(exchange, 405, JSON, new byte[0]);
+      }
+    }
+  }
+
+  private <T> void write(
+      HttpExchange exchange,
+      ResourceStore<T> store,
+      PayloadReader reader,
+      Class<T> type,
+      Integer pathId)
+      throws IOException {
+    PayloadReader.Result result = reader.read(exchange.getRequestBody().readAllBytes());
+    if (!result.isValid()) {
+      sendValidationErrors(exchange, result.errors());
+      return;
+    }
+    ObjectNode model = result.model();
+    if (persistWrites) {
+      if (pathId == null && model.get("id").asInt() == 0) {
+        model.put("id", store.nextId());
+      }
+      store.put(objectMapper.treeToValue(model, type));
+    }
+    send(exchange, 200, JSON, objectMapper.writeValueAsBytes(model));
+  }
+
+  /**
+   * Sends a {@code 200} with an {@code ETag} (a hash of the body) and the {@code Last-Modified} of
+   * the collection, or an empty {@code 304} when the request's {@code If-None-Match} or, without
+   * one, its {@code If-Modified-Since} shows the client already has this version.
+   */
+  private static void sendCacheable(HttpExchange exchange, ResourceStore<?> store, byte[] body)
+      throws IOException {
+    String etag = etag(body);
+    Instant lastModified = store.lastModified();
+    Headers headers = exchange.getResponseHeaders();
+    headers.set("ETag", etag);
+    headers.set(
+        "Last-Modified",
+        DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified.atOffset(ZoneOffset.UTC)));
+    if (notModified(exchange.getRequestHeaders(), etag, lastModified)) {
+      send(exchange, 304, JSON, new byte[0]);
+    } else {
+      send(exchange, 200, JSON, body);
+    }
+  }
+
+  private static boolean notModified(Headers request, String etag, Instant lastModified) {
+    String ifNoneMatch = request.getFirst("If-None-Match");
+    if (ifNoneMatch != null) {
+      for (String candidate : ifNoneMatch.split(",")) {
+        String tag = candidate.trim();
+        // weak comparison, as RFC 7232 asks for on GET
+        if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+          return true;
+        }
+      }
+      return false;
+    }
+    String ifModifiedSince = request.getFirst("If-Modified-Since");
+    if (ifModifiedSince == null) {
+      return false;
+    }
+    try {
+      return !lastModified.isAfter(
+          Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(ifModifiedSince)));
+    } catch (DateTimeParseException e) {
+      return false;
+    }
+  }
+
+  private static String etag(byte[] body) {
+    CRC32C crc = new CRC32C();
+    crc.update(body);
+    return String.format("\"%x-%x\"", body.length, crc.getValue());
+  }
+
+  private static Integer parseId(String text) {
+    try {
+      return Integer.valueOf(text);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private void sendNotFound(HttpExchange exchange) throws IOException {
+    Map<String, Object> problem = new LinkedHashMap<>();
+    problem.put("type", "https://tools.ietf.org/html/rfc7231#section-6.5.4");
+    problem.put("title", "Not Found");
+    problem.put("status", 404);
+    problem.put("traceId", traceId());
+    send(exchange, 404, PROBLEM_JSON, objectMapper.writeValueAsBytes(problem));
+  }
+
+  private void sendValidationErrors(HttpExchange exchange, Map<String, List<String>> errors)
+      throws IOException {
+    Map<String, Object> problem = new LinkedHashMap<>();
+    problem.put("type", "https://tools.ietf.org/html/rfc7231#section-6.5.1");
+    problem.put("title", VALIDATION_TITLE);
+    problem.put("status", 400);
+    problem.put("traceId", traceId());
+    problem.put("errors", errors);
+    send(exchange, 400, PROBLEM_JSON, objectMapper.writeValueAsBytes(problem));
+  }
+
+  /** W3C trace-context style id, the format ASP.NET Core puts in problem details. */
+  private static String traceId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return String.format(
+        "00-%016x%016x-%016x-00", random.nextLong(), random.nextLong(), random.nextLong());
+  }
+
+  private static void send(HttpExchange exchange, int status, String contentType, byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+    if (body.length > 0) {
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package com.api.test.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@code PayloadReader} class binds a request body to a Books/Authors model the way the
+ * ASP.NET Core FakeRESTApi does: property names are matched case-insensitively, unknown properties
+ * are ignored, missing ones get their default value, and the first value that cannot be converted
+ * ends binding with a validation error such as {@code "The JSON value could not be converted to
+ * System.Int32. Path: $.pageCount | LineNumber: 0 | BytePositionInLine: 42."}.
+ */
+class PayloadReader {
+
+  enum FieldType {
+    INT32("System.Int32"),
+    STRING("System.String"),
+    DATE_TIME("System.DateTime");
+
+    private final String dotNetType;
+
+    FieldType(String dotNetType) {
+      this.dotNetType = dotNetType;
+    }
+  }
+
+  record Field(String name, FieldType type) {}
+
+  /** Result of binding: either the normalized model or the validation errors. */
+  record Result(ObjectNode model, Map<String, List<String>> errors) {
+    boolean isValid() {
+      return errors.isEmpty();
+    }
+  }
+
+  private static final String MIN_DATE_TIME = "0001-01-01T00:00:00";
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+  private final String modelName;
+  private final String modelTypeName;
+  private final List<Field> fields;
+
+  PayloadReader(String modelName, String modelTypeName, List<Field> fields) {
+    this.modelName = modelName;
+    this.modelTypeName = modelTypeName;
+    this.fields = fields;
+  }
+
+  Result read(byte[] body) {
+    ObjectNode model = defaults();
+    if (body.length == 0) {
+      return error("", "A non-empty request body is required.");
+    }
+    try (JsonParser parser = jsonFactory.createParser(body)) {
+      JsonToken token = parser.nextToken();
+      if (token != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        return modelError(conversionMessage(modelTypeName, "$", parser.getTokenLocation()));
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        JsonToken value = parser.nextToken();
+        Field field = find(name);
+        if (field == null) {
+          parser.skipChildren();
+          continue;
+        }
+        String path = "$." + name;
+        if (!bind(parser, value, field, model)) {
+          return modelError(
+              path, conversionMessage(field.type().dotNetType, path, parser.getTokenLocation()));
+        }
+      }
+      if (parser.nextToken() != null) {
+        return modelError(
+            "$",
+            String.format(
+                "'%s' is invalid after a single JSON value. Path: $", parser.getText()));
+      }
+      return new Result(model, Map.of());
+    } catch (JsonProcessingException e) {
+      return modelError(
+          "$",
+          String.format(
+              "The JSON payload is not valid. Path: $ | LineNumber: %d | BytePositionInLine: %d.",
+              Math.max(0, e.getLocation().getLineNr() - 1),
+              Math.max(0, e.getLocation().getColumnNr() - 1)));
+    } catch (IOException e) {
+      throw new IllegalStateException("Reading an in-memory body failed", e);
+    }
+  }
+
+  private boolean bind(JsonParser parser, JsonToken value, Field field, ObjectNode model)
+      throws IOException {
+    switch (field.type()) {
+      case INT32:
+        if (value != JsonToken.VALUE_NUMBER_INT
+            || parser.getNumberType() != JsonParser.NumberType.INT) {
+          parser.skipChildren();
+          return false;
+        }
+        model.put(field.name(), parser.getIntValue());
+        return true;
+      case STRING:
+        if (value == JsonToken.VALUE_NULL) {
+          model.putNull(field.name());
+          return true;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+          parser.skipChildren();
+          return false;
+        }
+        model.put(field.name(), parser.getText());
+        return true;
+      case DATE_TIME:
+        if (value != JsonToken.VALUE_STRING || !isDateTime(parser.getText())) {
+          parser.skipChildren();
+          return false;
+        }
+        model.put(field.name(), parser.getText());
+        return true;
+      default:
+        throw new IllegalStateException("Unsupported field type " + field.type());
+    }
+  }
+
+  private Field find(String name) {
+    for (Field field : fields) {
+      if (field.name().equalsIgnoreCase(name)) {
+        return field;
+      }
+    }
+    return null;
+  }
+
+  private ObjectNode defaults() {
+    ObjectNode model = JsonNodeFactory.instance.objectNode();
+    for (Field field : fields) {
+      switch (field.type()) {
+        case INT32 -> model.put(field.name(), 0);
+        case STRING -> model.putNull(field.name());
+        case DATE_TIME -> model.put(field.name(), MIN_DATE_TIME);
+      }
+    }
+    return model;
+  }
+
+  static boolean isDateTime(String text) {
+    String value = text.trim().toUpperCase(Locale.ROOT);
+    try {
+      OffsetDateTime.parse(value);
+      return true;
+    } catch (DateTimeParseException ignored) {
+      // no offset, try the local forms
+    }
+    try {
+      LocalDateTime.parse(value);
+      return true;
+    } catch (DateTimeParseException ignored) {
+      // not a local date-time either
+    }
+    try {
+      LocalDate.parse(value);
+      return true;
+    } catch (DateTimeParseException ignored) {
+      return false;
+    }
+  }
+
+  private static String conversionMessage(String type, String path, JsonLocation location) {
+    return String.format(
+        "The JSON value could not be converted to %s. Path: %s | LineNumber: %d"
+            + " | BytePositionInLine: %d.",
+        type,
+        path,
+        Math.max(0, location.getLineNr() - 1),
+        Math.max(0, location.getColumnNr() - 1));
+  }
+
+  private Result modelError(String message) {
+    return modelError("$", message);
+  }
+
+  /** Like ASP.NET Core, a body that cannot be bound also reports the model parameter as missing. */
+  private Result modelError(String path, String message) {
+    Map<String, List<String>> errors = new LinkedHashMap<>();
+    errors.put(modelName, List.of(String.format("The %s field is required.", modelName)));
+    errors.put(path, List.of(message));
+    return new Result(null, errors);
+  }
+
+  private static Result error(String key, String message) {
+    return new Result(null, Map.of(key, List.of(message)));
+  }
+}
@@ -0,0 +1,112 @@
+package com.api.test.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+
+/**
+ * The {@code ResourceStore} class keeps the records of one collection (books or authors) of the
+ * {@link FakeRestApiServer}, ordered by id. It is backed by a {@link ConcurrentSkipListMap}, so
+ * reads never take a lock and concurrent writes to different ids do not block each other.
+ *
+ * <p>The serialized JSON array returned by {@code GET /api/v1/<collection>} is cached and only
+ * rebuilt after a write, because that response is by far the most expensive one to produce.
+ *
+ * <p>{@link #lastModified()} is the time of the last write to the collection, at the one second
+ * precision of the {@code Last-Modified} header.
+ *
+ * <p>{@link #nextId()} hands out ids above the highest one ever stored, each one once, so
+ * concurrent creates never get the same id.
+ */
+class ResourceStore<T> {
+
+  private final ConcurrentNavigableMap<Integer, T> records = new ConcurrentSkipListMap<>();
+  private final ObjectMapper objectMapper;
+  private final ToIntFunction<T> idOf;
+  private final AtomicLong version = new AtomicLong();
+  private final AtomicInteger lastId = new AtomicInteger();
+  private final AtomicReference<CachedJson> allRecordsJson = new AtomicReference<>();
+  private volatile Instant lastModified = now();
+
+  ResourceStore(ObjectMapper objectMapper, ToIntFunction<T> idOf) {
+    this.objectMapper = objectMapper;
+    this.idOf = idOf;
+  }
+
+  T get(int id) {
+    return records.get(id);
+  }
+
+  void put(T record) {
+    int id = idOf.applyAsInt(record);
+    records.put(id, record);
+    lastId.accumulateAndGet(id, Math::max);
+    version.incrementAndGet();
+    lastModified = now();
+  }
+
+  /** Stores the record unless one with the same id exists; returns whether it was stored. */
+  boolean putIfAbsent(T record) {
+    int id = idOf.applyAsInt(record);
+    boolean stored = records.putIfAbsent(id, record) == null;
+    if (stored) {
+      lastId.accumulateAndGet(id, Math::max);
+      version.incrementAndGet();
+      lastModified = now();
+    }
+    return stored;
+  }
+
+  boolean remove(int id) {
+    boolean removed = records.remove(id) != null;
+    if (removed) {
+      version.incrementAndGet();
+      lastModified = now();
+    }
+    return removed;
+  }
+
+  Instant lastModified() {
+    return lastModified;
+  }
+
+  int nextId() {
+    return lastId.incrementAndGet();
+  }
+
+  int size() {
+    return records.size();
+  }
+
+  Collection<T> all() {
+    return records.values();
+  }
+
+  byte[] allAsJson() throws JsonProcessingException {
+    long current = version.get();
+    CachedJson cached = allRecordsJson.get();
+    if (cached != null && cached.version() == current) {
+      return cached.json();
+    }
+    byte[] json = objectMapper.writeValueAsBytes(records.values());
+    // only publish if no write happened while serializing, otherwise the next read rebuilds
+    if (version.get() == current) {
+      allRecordsJson.set(new CachedJson(current, json));
+    }
+    return json;
+  }
+
+  private static Instant now() {
+    return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+  }
+
+  private record CachedJson(long version, byte[] json) {}
+}
@@ -0,0 +1,26 @@
+package com.api.test.benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bytes allocated by the current thread, from HotSpot's per-thread allocation counter. Take a
+ * reading before and after the code under test; the difference is what that code allocated on
+ * this thread, garbage included. {@link #totalAllocatedBytes()} counts every thread of the JVM, for
+ * code that hands work to other threads.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {}
+
+    public static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /** Bytes allocated by all threads since the JVM started, including threads that have ended. */
+    public static long totalAllocatedBytes() {
+        return THREADS.getTotalThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,183 @@
+package com.api.test.benchmarks;
+
+import static org.testng.Assert.assertEquals;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.reporting.AllureAttachmentFilter;
+import com.api.test.reporting.AllureAttachments;
+import com.api.test.reporting.AttachmentPolicy;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.server.FakeRestApiServer;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.filter.Filter;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Allure results of a data-driven run with the request/response attachments of {@code
+ * AllureRestAssured} (two HTML files per call, written on the test thread) against {@link
+ * AllureAttachmentFilter} (one text file per kept call, written in the background), once keeping
+ * every exchange and once with the default policy. The run is {@code getBookById} against the
+ * embedded {@link FakeRestApiServer}, ten calls per test, and one test in a hundred fails.
+ * Reported: wall time including the wait for the last file, files and bytes in the results
+ * directory. 10,000 calls per row by default, {@code -Dbenchmark.attachments.requests=} to change.
+ *
+ * <p>A single run per row is too noisy to compare (on one core the unfiltered row came out slower
+ * than the filtered ones), so every row is run {@code benchmark.attachments.repetitions} times (5
+ * by default), the rows taking turns, and the median is reported.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class AllureAttachmentBenchmark {
+
+    private static final int CALLS_PER_TEST = 10;
+    private static final int FAILING_EVERY = 100;
+    private static final String ROW = "%-30s %14s %10s %12s %12s%n";
+
+    private FakeRestApiServer server;
+    private int requests;
+
+    @BeforeClass
+    public void startServer() {
+        server = FakeRestApiServer.start(0);
+        requests = ConfigurationLoader.getIntProperty("benchmark.attachments.requests", 10_000);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test(description = "AllureRestAssured vs sampled, asynchronously written attachments")
+    public void compareAttachmentPolicies() throws Exception {
+        System.out.printf("%nAllure attachments, %,d getBookById in tests of %d calls, 1 in %d failing%n",
+                requests, CALLS_PER_TEST, FAILING_EVERY);
+        int repetitions = ConfigurationLoader.getIntProperty("benchmark.attachments.repetitions", 5);
+        AttachmentPolicy configured = AttachmentPolicy.fromConfiguration();
+        Map<String, AttachmentPolicy> rows = new LinkedHashMap<>();
+        rows.put("none", null);
+        rows.put("AllureRestAssured", null);
+        rows.put("filter, all attached", AttachmentPolicy.builder().samplePercent(100).build());
+        rows.put("filter, " + configured.getSamplePercent() + "% of passing", configured);
+
+        // warms up the client and the server
+        measure("none", null).delete();
+        Map<String, List<Result>> results = new LinkedHashMap<>();
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            for (Map.Entry<String, AttachmentPolicy> row : rows.entrySet()) {
+                Result result = measure(row.getKey(), row.getValue());
+                result.delete();
+                results.computeIfAbsent(row.getKey(), name -> new ArrayList<>()).add(result);
+            }
+        }
+        System.out.printf(ROW, "attachments", "median wall ms", "files", "KB", "us/call");
+        results.values().forEach(AllureAttachmentBenchmark::printMedian);
+    }
+
+    /** The run with the median wall time of a row; files and bytes are the same in every run. */
+    private static void printMedian(List<Result> runs) {
+        List<Result> sorted = new ArrayList<>(runs);
+        sorted.sort(Comparator.comparingLong(Result::nanos));
+        Result median = sorted.get(sorted.size() / 2);
+        System.out.printf(ROW, median.name(),
+                median.nanos() / 1_000_000,
+                String.format("%,d", median.files()),
+                String.format("%,d", median.bytes() / 1024),
+                String.format("%.1f", median.nanos() / 1e3 / median.requests()));
+    }
+
+    /** One run into a results directory of its own; {@code policy} is null for the unfiltered rows. */
+    private Result measure(String name, AttachmentPolicy policy) throws IOException {
+        Path directory = Files.createTempDirectory("allure-results");
+        AllureLifecycle lifecycle = new AllureLifecycle(new FileSystemResultsWriter(directory));
+        AllureAttachments attachments = policy != null ? new AllureAttachments(lifecycle, policy) : null;
+        Filter filter = attachments != null
+                ? new AllureAttachmentFilter(attachments)
+                : name.equals("AllureRestAssured") ? new AllureRestAssured() : null;
+        RequestSettings.RequestSettingsBuilder settings = RequestSettings.builder()
+                .baseUri(server.baseUri())
+                .responseCache(ResponseCache.disabled());
+        if (filter != null) {
+            settings.filter(filter);
+        }
+        BookRequests bookRequests = new BookRequests(settings.build());
+
+        // AllureRestAssured attaches to the global lifecycle
+        AllureLifecycle global = Allure.getLifecycle();
+        Allure.setLifecycle(lifecycle);
+        long start = System.nanoTime();
+        try {
+            for (int test = 0, sent = 0; sent < requests; test++) {
+                String uuid = UUID.randomUUID().toString();
+                boolean failed = test % FAILING_EVERY == FAILING_EVERY - 1;
+                lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("test " + test));
+                lifecycle.startTestCase(uuid);
+                if (attachments != null) {
+                    attachments.begin(uuid);
+                }
+                for (int call = 0; call < CALLS_PER_TEST && sent < requests; call++, sent++) {
+                    assertEquals(bookRequests.getBookById(sent % 200 + 1).statusCode(), HttpStatus.SC_OK);
+                }
+                if (attachments != null) {
+                    attachments.finish(uuid, "AllureAttachmentBenchmark#test[" + test + "]", failed);
+                }
+                lifecycle.updateTestCase(uuid, result -> result.setStatus(failed ? Status.FAILED : Status.PASSED));
+                lifecycle.stopTestCase(uuid);
+                lifecycle.writeTestCase(uuid);
+            }
+            if (attachments != null) {
+                attachments.close();
+            }
+        } finally {
+            Allure.setLifecycle(global);
+        }
+        long nanos = System.nanoTime() - start;
+        try (Stream<Path> paths = Files.list(directory)) {
+            long[] sizes = paths.mapToLong(Result::size).toArray();
+            return new Result(name, nanos, requests, sizes.length, LongStream.of(sizes).sum(), directory);
+        }
+    }
+
+    private record Result(String name, long nanos, int requests, long files, long bytes, Path directory) {
+
+        /** Removes the results directory; the repetitions would otherwise fill the disk. */
+        void delete() throws IOException {
+            try (Stream<Path> paths = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) paths::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+
+        private static long size(Path file) {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
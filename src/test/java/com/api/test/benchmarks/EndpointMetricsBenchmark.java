@@ -0,0 +1,55 @@
+package com.api.test.benchmarks;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.metrics.EndpointMetrics;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+/**
+ * Cost of recording one call into {@link EndpointMetrics}, the overhead {@code BaseRequest} adds to
+ * every request: nanoseconds and bytes allocated per call on one thread, and nanoseconds per call
+ * with every core recording into the same endpoint.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class EndpointMetricsBenchmark {
+
+    private static final int CALLS = 5_000_000;
+
+    @Test(description = "Time and allocation per EndpointMetrics.record call")
+    public void measureRecordingOverhead() throws InterruptedException {
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        record(metrics, CALLS);
+
+        long allocated = AllocationMeter.allocatedBytes();
+        long start = System.nanoTime();
+        record(metrics, CALLS);
+        double nanosPerCall = (System.nanoTime() - start) / (double) CALLS;
+        double bytesPerCall = (AllocationMeter.allocatedBytes() - allocated) / (double) CALLS;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> record(metrics, CALLS));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES));
+        double contendedNanosPerCall = (System.nanoTime() - start) / (double) CALLS;
+
+        System.out.printf("%nEndpointMetrics.record: %.1f ns and %.2f bytes per call on one thread, "
+                + "%.1f ns per call with %d threads%n", nanosPerCall, bytesPerCall, contendedNanosPerCall, threads);
+        assertEquals(metrics.snapshot().stream().mapToLong(stats -> stats.getCount()).sum(), (2L + threads) * CALLS);
+        assertTrue(bytesPerCall < 1, "Recording should not allocate, got " + bytesPerCall + " bytes per call");
+    }
+
+    private static void record(EndpointMetrics metrics, int calls) {
+        for (int i = 0; i < calls; i++) {
+            metrics.record("GET", "api/v1/Books", (i & 1) == 0, (i & 15) == 0 ? 404 : 200, 150_000 + (i & 1023) * 1_000);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.api.test.benchmarks;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.generators.FakeDataGenerator;
+import com.api.test.generators.RecordSink;
+import com.api.test.models.Book;
+import com.api.test.repositories.BookRepository;
+import com.google.gson.Gson;
+import java.io.IOException;
+import org.testng.annotations.Test;
+
+/**
+ * Throughput of the bulk {@link FakeDataGenerator} against the one-at-a-time {@code
+ * BookRepository.getFakeNewBook()} path, with and without serializing the payloads. The generator
+ * produces 500,000 books per run by default, {@code -Dbenchmark.generator.records=2000000} to
+ * change; the one-at-a-time path is measured on far fewer, as it is orders of magnitude slower.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class FakeDataGeneratorBenchmark {
+
+    private static final int ONE_AT_A_TIME_RECORDS = 3_000;
+    private static final String ROW = "%-40s %8s %14s%n";
+
+    @Test(description = "Books per second: getFakeNewBook vs FakeDataGenerator")
+    public void compareThroughput() throws IOException {
+        int records = ConfigurationLoader.getIntProperty("benchmark.generator.records", 500_000);
+        int cores = Runtime.getRuntime().availableProcessors();
+        BookRepository repository = new BookRepository();
+        Gson gson = new Gson();
+
+        System.out.printf("%nFake book generation, %d cores%n", cores);
+        System.out.printf(ROW, "path", "threads", "books / s");
+        row("getFakeNewBook", 1, measure(ONE_AT_A_TIME_RECORDS, () -> {
+            for (int i = 0; i < ONE_AT_A_TIME_RECORDS; i++) {
+                repository.getFakeNewBook();
+            }
+        }));
+        row("getFakeNewBook + Gson.toJson", 1, measure(ONE_AT_A_TIME_RECORDS, () -> {
+            for (int i = 0; i < ONE_AT_A_TIME_RECORDS; i++) {
+                gson.toJson(repository.getFakeNewBook());
+            }
+        }));
+        for (int threads : cores == 1 ? new int[] {1} : new int[] {1, cores}) {
+            FakeDataGenerator generator = new FakeDataGenerator(42, threads);
+            row("FakeDataGenerator", threads, measure(records, () -> {
+                generator.generate(records, generator.books(), RecordSink.<Book>discard());
+            }));
+            row("FakeDataGenerator, serialized payloads", threads, measure(records, () -> {
+                generator.generate(records, generator.serialized(generator.books()), RecordSink.<byte[]>discard());
+            }));
+        }
+    }
+
+    /** Records per second of the second of two runs; the first one warms the JIT up. */
+    private static double measure(int records, Run run) throws IOException {
+        run.run();
+        long start = System.nanoTime();
+        run.run();
+        return records / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void row(String path, int threads, double perSecond) {
+        System.out.printf(ROW, path, threads, String.format("%,.0f", perSecond));
+    }
+
+    @FunctionalInterface
+    private interface Run {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,112 @@
+package com.api.test.benchmarks;
+
+import static org.testng.Assert.assertEquals;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Book;
+import com.api.test.repositories.FixtureSnapshot;
+import com.api.test.repositories.FixtureSnapshotCompiler;
+import com.api.test.repositories.LoadDataFromJson;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Compares loading a books fixture with {@code ObjectMapper.readValue} against loading its
+ * memory-mapped {@link FixtureSnapshot}, both on its own and followed by reading every record: mean
+ * time and bytes allocated per load. The fixture has
+ * 100,000 books by default, {@code -Dbenchmark.snapshot.books=500000} to change.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class FixtureSnapshotBenchmark {
+
+    private static final int WARM_UP = 10;
+    private static final int MEASURED = 10;
+
+    private final LoadDataFromJson loadData = new LoadDataFromJson();
+    private Path json;
+    private int books;
+
+    @BeforeClass
+    public void generateFixture() throws IOException {
+        books = ConfigurationLoader.getIntProperty("benchmark.snapshot.books", 100_000);
+        json = Paths.get("target", "benchmarks", String.format("snapshot-books-%d.json", books));
+        Files.createDirectories(json.getParent());
+        try (JsonGenerator out = new JsonFactory().createGenerator(Files.newOutputStream(json))) {
+            out.writeStartArray();
+            for (int id = 1; id <= books; id++) {
+                out.writeStartObject();
+                out.writeNumberField("id", id);
+                out.writeStringField("title", "Book " + id);
+                out.writeStringField("description", "Description of book " + id + ", in a few more words");
+                out.writeNumberField("pageCount", id % 1000);
+                out.writeStringField("excerpt", "Excerpt of book " + id);
+                out.writeStringField("publishDate", "2024-01-01T00:00:00.000Z");
+                out.writeEndObject();
+            }
+            out.writeEndArray();
+        }
+        FixtureSnapshotCompiler.compile(json, Book.class);
+    }
+
+    @Test(description = "readValue vs memory-mapped snapshot: time and allocation per load")
+    public void compareJsonAndSnapshot() throws IOException {
+        Result text = measure("json", () -> {
+            try {
+                return loadData.loadObjects(Files.newInputStream(json), Book.class);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Result opened = measure("snapshot", () -> FixtureSnapshot.load(json, Book.class).orElseThrow());
+        Result read = measure("snapshot, every record read", () -> {
+            List<Book> snapshot = FixtureSnapshot.load(json, Book.class).orElseThrow();
+            snapshot.forEach(Objects::requireNonNull);
+            return snapshot;
+        });
+
+        Path snapshot = json.resolveSibling(FixtureSnapshot.snapshotName(json.getFileName().toString()));
+        System.out.printf("%nFixture loading, %,d books: JSON %,d KB, snapshot %,d KB%n",
+                books, Files.size(json) >> 10, Files.size(snapshot) >> 10);
+        System.out.printf("%-28s %10s %14s%n", "path", "mean ms", "allocated MB");
+        System.out.println(text);
+        System.out.println(opened);
+        System.out.println(read);
+    }
+
+    private Result measure(String path, Supplier<List<Book>> load) {
+        for (int i = 0; i < WARM_UP; i++) {
+            assertEquals(load.get().size(), books);
+        }
+        long nanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < MEASURED; i++) {
+            // start every load from an empty young generation so GC pauses are comparable
+            System.gc();
+            long allocatedBefore = AllocationMeter.allocatedBytes();
+            long start = System.nanoTime();
+            List<Book> loaded = load.get();
+            nanos += System.nanoTime() - start;
+            bytes += AllocationMeter.allocatedBytes() - allocatedBefore;
+            assertEquals(loaded.size(), books);
+        }
+        return new Result(path, nanos / MEASURED, bytes / MEASURED);
+    }
+
+    private record Result(String path, long meanNanos, long allocatedBytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %10.1f %14.1f", path, meanNanos / 1e6, allocatedBytes / (1024.0 * 1024));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.api.test.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples used heap on a background thread and remembers the highest value seen, so a benchmark
+ * can report the peak heap of one code path. A full GC is requested before sampling starts so the
+ * baseline does not include garbage from the previous measurement.
+ *
+ * <pre>{@code
+ * try (HeapSampler heap = HeapSampler.start()) {
+ *     runTheCodePath();
+ *     System.out.println(heap.peakMegabytes());
+ * }
+ * }</pre>
+ */
+public final class HeapSampler implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MS = 2;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong baseline = new AtomicLong();
+    private final AtomicLong peak = new AtomicLong();
+    private final Thread sampler;
+    private volatile boolean running = true;
+
+    private HeapSampler() {
+        System.gc();
+        baseline.set(used());
+        peak.set(baseline.get());
+        sampler = Thread.ofPlatform().daemon().name("heap-sampler").start(this::sample);
+    }
+
+    public static HeapSampler start() {
+        return new HeapSampler();
+    }
+
+    /** Highest heap usage seen so far, above the post-GC baseline. */
+    public long peakBytes() {
+        peak.accumulateAndGet(used(), Math::max);
+        return Math.max(0, peak.get() - baseline.get());
+    }
+
+    public long peakMegabytes() {
+        return peakBytes() / (1024 * 1024);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sample() {
+        while (running) {
+            peak.accumulateAndGet(used(), Math::max);
+            try {
+                Thread.sleep(SAMPLE_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private long used() {
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
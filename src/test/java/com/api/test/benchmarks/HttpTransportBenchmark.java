@@ -0,0 +1,112 @@
+package com.api.test.benchmarks;
+
+import static org.testng.Assert.assertEquals;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.requests.AsyncRequestExecutor;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.server.FakeRestApiServer;
+import io.restassured.response.Response;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Per-request cost of the two {@link HttpTransport}s against the embedded {@link FakeRestApiServer}:
+ * wall time, process CPU time and bytes allocated (by the calling thread and by the whole JVM) per
+ * {@code getBookById}, sent one at a time and as asynchronous batches. The server runs in the same
+ * JVM, so its share of the process numbers is the same for both transports; the difference between
+ * the rows is the client. 10,000 requests per row by default, {@code
+ * -Dbenchmark.transport.requests=} to change.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class HttpTransportBenchmark {
+
+    // below http.pool.maxPerRoute: RestAssured callers waiting for a pooled connection pin their
+    // carrier thread, which would starve the in-process server's virtual threads
+    private static final int BATCH = 16;
+    private static final String ROW = "%-26s %12s %12s %14s %14s%n";
+
+    private static final com.sun.management.OperatingSystemMXBean OS =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private FakeRestApiServer server;
+    private int requests;
+
+    @BeforeClass
+    public void startServer() {
+        server = FakeRestApiServer.start(0);
+        requests = ConfigurationLoader.getIntProperty("benchmark.transport.requests", 10_000);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test(description = "RestAssured vs java.net.http: CPU and allocation per request")
+    public void compareTransports() {
+        System.out.printf("%nHTTP transports, %,d getBookById per row, in-process server%n", requests);
+        System.out.printf(ROW, "transport", "wall us/req", "CPU us/req", "thread KB/req", "JVM KB/req");
+        for (HttpTransport.Type type : HttpTransport.Type.values()) {
+            BookRequests bookRequests = new BookRequests(RequestSettings.builder()
+                    .baseUri(server.baseUri())
+                    .transport(type)
+                    .asyncExecutor(new AsyncRequestExecutor(BATCH))
+                    .build());
+            measure(type + ", sync", requests, () -> sendSequentially(bookRequests, requests / 4));
+            measure(type + ", sync", requests, () -> sendSequentially(bookRequests, requests)).print();
+            measure(type + ", async x" + BATCH, requests, () -> sendInBatches(bookRequests, requests)).print();
+        }
+    }
+
+    private static void sendSequentially(BookRequests bookRequests, int count) {
+        for (int i = 0; i < count; i++) {
+            assertEquals(bookRequests.getBookById(i % 200 + 1).statusCode(), HttpStatus.SC_OK);
+        }
+    }
+
+    private static void sendInBatches(BookRequests bookRequests, int count) {
+        List<CompletableFuture<Response>> batch = new ArrayList<>(BATCH);
+        for (int sent = 0; sent < count; ) {
+            batch.clear();
+            for (int i = 0; i < BATCH && sent < count; i++, sent++) {
+                batch.add(bookRequests.getBookByIdAsync(sent % 200 + 1));
+            }
+            batch.forEach(call -> assertEquals(call.join().statusCode(), HttpStatus.SC_OK));
+        }
+    }
+
+    private static Result measure(String name, int count, Runnable run) {
+        long thread = AllocationMeter.allocatedBytes();
+        long total = AllocationMeter.totalAllocatedBytes();
+        long cpu = OS.getProcessCpuTime();
+        long start = System.nanoTime();
+        run.run();
+        return new Result(
+                name,
+                (System.nanoTime() - start) / (double) count,
+                (OS.getProcessCpuTime() - cpu) / (double) count,
+                (AllocationMeter.allocatedBytes() - thread) / (double) count,
+                (AllocationMeter.totalAllocatedBytes() - total) / (double) count);
+    }
+
+    private record Result(String name, double wallNanos, double cpuNanos, double threadBytes, double totalBytes) {
+
+        void print() {
+            System.out.printf(ROW, name,
+                    String.format("%.1f", wallNanos / 1e3),
+                    String.format("%.1f", cpuNanos / 1e3),
+                    String.format("%.1f", threadBytes / 1024),
+                    String.format("%.1f", totalBytes / 1024));
+        }
+    }
+}
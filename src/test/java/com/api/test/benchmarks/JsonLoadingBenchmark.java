@@ -0,0 +1,147 @@
+package com.api.test.benchmarks;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Book;
+import com.api.test.repositories.LoadDataFromJson;
+import com.api.test.repositories.LoadDataFromJson.JsonArrayIterator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Compares {@link LoadDataFromJson#loadObjects} with {@link LoadDataFromJson#streamObjects} on a
+ * generated books file (256 MB by default, {@code -Dbenchmark.json.megabytes=512} to change).
+ * Reports peak heap above baseline, time to the first record and total time for each path.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class JsonLoadingBenchmark {
+
+    private static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do "
+            + "eiusmod tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud "
+            + "exercitation ullamco laboris nisi ut aliquip ex ea commodo consequat.";
+
+    private static final long LARGE_FILE_BYTES = 64L * 1024 * 1024;
+
+    private final LoadDataFromJson loadData = new LoadDataFromJson();
+    private Path file;
+    private long records;
+
+    @BeforeClass
+    public void generateFile() throws IOException {
+        int megabytes = ConfigurationLoader.getIntProperty("benchmark.json.megabytes", 256);
+        file = Paths.get("target", "benchmarks", String.format("books-%dmb.json", megabytes));
+        records = Files.exists(file) ? countRecords(file) : writeBooks(file, megabytes * 1024L * 1024L);
+    }
+
+    @Test(description = "List vs streaming: peak heap, time to first record and total time")
+    public void compareListAndStream() throws IOException {
+        Measurement list = measureList();
+        Measurement stream = measureStream();
+
+        System.out.printf("%nJSON loading, %s (%,d MB, %,d books)%n", file, Files.size(file) >> 20, records);
+        System.out.printf("%-8s %14s %18s %12s%n", "path", "peak heap MB", "first record ms", "total ms");
+        System.out.println(list);
+        System.out.println(stream);
+
+        assertEquals(list.records, records);
+        assertEquals(stream.records, records);
+        // on small files young-generation garbage dominates both peaks, so only compare large ones
+        if (Files.size(file) >= LARGE_FILE_BYTES) {
+            assertTrue(stream.peakHeapMb < list.peakHeapMb, "streaming should not hold the whole file in memory");
+        }
+    }
+
+    private Measurement measureList() throws IOException {
+        try (HeapSampler heap = HeapSampler.start(); InputStream in = open()) {
+            long start = System.nanoTime();
+            List<Book> books = loadData.loadObjects(in, Book.class);
+            long firstRecord = System.nanoTime() - start;
+            long pages = 0;
+            for (Book book : books) {
+                pages += book.getPageCount();
+            }
+            long total = System.nanoTime() - start;
+            return new Measurement("list", books.size(), heap.peakMegabytes(), firstRecord, total, pages);
+        }
+    }
+
+    private Measurement measureStream() throws IOException {
+        try (HeapSampler heap = HeapSampler.start();
+                JsonArrayIterator<Book> books = loadData.iterateObjects(open(), Book.class)) {
+            long start = System.nanoTime();
+            long firstRecord = 0;
+            long count = 0;
+            long pages = 0;
+            while (books.hasNext()) {
+                pages += books.next().getPageCount();
+                if (count++ == 0) {
+                    firstRecord = System.nanoTime() - start;
+                }
+            }
+            long total = System.nanoTime() - start;
+            return new Measurement("stream", count, heap.peakMegabytes(), firstRecord, total, pages);
+        }
+    }
+
+    private InputStream open() throws IOException {
+        return new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+    }
+
+    private long countRecords(Path path) throws IOException {
+        try (JsonArrayIterator<Book> books = loadData.iterateObjects(Files.newInputStream(path), Book.class)) {
+            long count = 0;
+            for (; books.hasNext(); books.next()) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static long writeBooks(Path path, long targetBytes) throws IOException {
+        Files.createDirectories(path.getParent());
+        long count = 0;
+        try (JsonGenerator json = new JsonFactory().createGenerator(Files.newOutputStream(path))) {
+            json.writeStartArray();
+            do {
+                count++;
+                json.writeStartObject();
+                json.writeNumberField("id", count);
+                json.writeStringField("title", "Book " + count);
+                json.writeStringField("description", DESCRIPTION);
+                json.writeNumberField("pageCount", count % 1000);
+                json.writeStringField("excerpt", DESCRIPTION);
+                json.writeStringField("publishDate", "2024-01-01T00:00:00.000Z");
+                json.writeEndObject();
+            } while (count % 1000 != 0 || written(json, path) < targetBytes);
+            json.writeEndArray();
+        }
+        return count;
+    }
+
+    private static long written(JsonGenerator json, Path path) throws IOException {
+        json.flush();
+        return Files.size(path);
+    }
+
+    private record Measurement(
+            String path, long records, long peakHeapMb, long firstRecordNanos, long totalNanos, long checksum) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%-8s %14d %18.1f %12.1f", path, peakHeapMb, firstRecordNanos / 1e6, totalNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.api.test.benchmarks;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.IntIndex;
+import com.api.test.repositories.IntMultiIndex;
+import com.api.test.repositories.PrefixIndex;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Lookup time and retained heap of the repository indexes against a linear scan of the list and a
+ * boxed {@code HashMap}. Uses 500,000 books and authors by default, {@code
+ * -Dbenchmark.index.records=1000000} to change.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class RepositoryIndexBenchmark {
+
+    private static final int LOOKUPS = 2_000_000;
+    // a scan is O(n), so it only gets a few lookups
+    private static final int SCAN_LOOKUPS = 200;
+    private static final String ROW = "%-34s %14s %14s%n";
+
+    private int size;
+    private List<Book> books;
+    private List<Author> authors;
+    private int[] randomIds;
+
+    @BeforeClass
+    public void generateRecords() {
+        size = ConfigurationLoader.getIntProperty("benchmark.index.records", 500_000);
+        Random random = new Random(1);
+        books = new ArrayList<>(size);
+        authors = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            books.add(Book.builder().id(id).title("Book " + Integer.toString(id, 36)).pageCount(id % 1000).build());
+            authors.add(Author.builder().id(id).idBook(random.nextInt(size / 4) + 1).build());
+        }
+        randomIds = random.ints(LOOKUPS, 1, size + 1).toArray();
+    }
+
+    @Test(description = "Id lookups: scan vs HashMap<Integer, Book> vs IntIndex")
+    public void compareIdLookups() {
+        Retained<Map<Integer, Book>> hashMap = retained(() -> {
+            Map<Integer, Book> map = new HashMap<>();
+            books.forEach(book -> map.put(book.getId(), book));
+            return map;
+        });
+        Retained<IntIndex<Book>> index = retained(() -> IntIndex.of(books, Book::getId));
+
+        header("Book by id, " + size + " books");
+        row("list scan", "-", time(SCAN_LOOKUPS, i -> scanById(randomIds[i]).getPageCount()));
+        Timing boxed = time(LOOKUPS, i -> hashMap.value.get(randomIds[i]).getPageCount());
+        row("HashMap<Integer, Book>", hashMap.megabytes(), boxed);
+        Timing indexed = time(LOOKUPS, i -> index.value.get(randomIds[i]).getPageCount());
+        row("IntIndex", index.megabytes(), indexed);
+        assertEquals(index.value.size(), size);
+        assertEquals(indexed.sum(), boxed.sum(), "both find the same books");
+    }
+
+    @Test(description = "Authors by idBook: scan vs HashMap<Integer, List<Author>> vs IntMultiIndex")
+    public void compareBookIdLookups() {
+        Retained<Map<Integer, List<Author>>> hashMap =
+                retained(() -> authors.stream().collect(Collectors.groupingBy(Author::getIdBook)));
+        Retained<IntMultiIndex<Author>> index = retained(() -> IntMultiIndex.of(authors, Author::getIdBook));
+        int books = size / 4;
+
+        header("Authors by idBook, " + size + " authors");
+        row("list scan", "-", time(SCAN_LOOKUPS, i -> scanByBookId(randomIds[i] % books + 1)));
+        Timing boxed = time(LOOKUPS, i -> hashMap.value.getOrDefault(randomIds[i] % books + 1, List.of()).size());
+        row("HashMap<Integer, List<Author>>", hashMap.megabytes(), boxed);
+        Timing indexed = time(LOOKUPS, i -> index.value.get(randomIds[i] % books + 1).size());
+        row("IntMultiIndex", index.megabytes(), indexed);
+        assertEquals(indexed.sum(), boxed.sum(), "both find the same authors");
+    }
+
+    @Test(description = "Books by title prefix: scan vs PrefixIndex")
+    public void compareTitlePrefixLookups() {
+        Retained<PrefixIndex<Book>> index = retained(() -> PrefixIndex.of(books, Book::getTitle));
+        // "book xyz" prefixes match a handful of titles each
+        String[] prefixes = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String id = Integer.toString(randomIds[i], 36);
+            prefixes[i] = "book " + id.substring(0, Math.min(3, id.length()));
+        }
+
+        header("Books by title prefix, " + size + " books");
+        row("list scan", "-", time(SCAN_LOOKUPS, i -> scanByTitlePrefix(prefixes[i])));
+        Timing indexed = time(LOOKUPS, i -> index.value.startingWith(prefixes[i]).size());
+        row("PrefixIndex", index.megabytes(), indexed);
+        // every prefix is taken from a title, so each lookup finds at least that book
+        assertTrue(indexed.sum() >= LOOKUPS, "every prefix matches a title");
+    }
+
+    private Book scanById(int id) {
+        for (Book book : books) {
+            if (book.getId() == id) {
+                return book;
+            }
+        }
+        return null;
+    }
+
+    private int scanByBookId(int idBook) {
+        int count = 0;
+        for (Author author : authors) {
+            if (author.getIdBook() == idBook) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int scanByTitlePrefix(String prefix) {
+        int count = 0;
+        for (Book book : books) {
+            if (book.getTitle().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Mean nanoseconds per lookup, after a warm-up pass of the same lookups, and the sum of the
+     * measured results; returning the sum keeps the JIT from dropping lookups whose result is unused.
+     */
+    private static Timing time(int lookups, IntUnaryOperator lookup) {
+        long warmUp = 0;
+        for (int i = 0; i < lookups; i++) {
+            warmUp += lookup.applyAsInt(i);
+        }
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            sum += lookup.applyAsInt(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertEquals(sum, warmUp, "lookups are repeatable");
+        return new Timing((double) elapsed / lookups, sum);
+    }
+
+    private static <T> Retained<T> retained(Supplier<T> build) {
+        long before = usedAfterGc();
+        T value = build.get();
+        long after = usedAfterGc();
+        Reference.reachabilityFence(value);
+        return new Retained<>(value, after - before);
+    }
+
+    private static long usedAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void header(String title) {
+        System.out.printf("%n%s%n", title);
+        System.out.printf(ROW, "structure", "retained MB", "ns / lookup");
+    }
+
+    private static void row(String structure, String megabytes, Timing timing) {
+        System.out.printf(ROW, structure, megabytes, String.format("%.1f", timing.nanos()));
+    }
+
+    private record Timing(double nanos, long sum) {
+    }
+
+    private record Retained<T>(T value, long bytes) {
+
+        String megabytes() {
+            return String.format("%.1f", bytes / (1024.0 * 1024));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.api.test.benchmarks;
+
+import static org.testng.Assert.assertEquals;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.generators.FakeDataGenerator;
+import com.api.test.generators.PayloadStore;
+import com.api.test.generators.RecordSink;
+import com.api.test.models.Book;
+import com.api.test.repositories.BookRepository;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.server.FakeRestApiServer;
+import com.google.gson.Gson;
+import io.restassured.response.Response;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Garbage and CPU per {@code createBook} by where the payload comes from: a fake book generated and
+ * serialized with Gson per request (what the load operations did), a pre-generated book serialized
+ * per request, and the bytes of a {@link PayloadStore} sent as {@code byte[]} and as a {@code
+ * ByteBuffer}. Reported per request: bytes allocated on the calling thread and in the whole JVM
+ * (the in-process server included, the same for every row) and process CPU time, for both {@link
+ * HttpTransport}s. 10,000 requests per row by default, {@code -Dbenchmark.payloads.requests=} to
+ * change.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class RequestPayloadBenchmark {
+
+    private static final int PAYLOADS = 1_024;
+    private static final String ROW = "%-40s %12s %14s %14s%n";
+
+    private static final com.sun.management.OperatingSystemMXBean OS =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private final Gson gson = new Gson();
+    private final BookRepository repository = new BookRepository();
+    private FakeRestApiServer server;
+    private int requests;
+    private List<Book> books;
+    private PayloadStore store;
+    private ByteBuffer[] buffers;
+
+    @BeforeClass
+    public void prepare() throws Exception {
+        server = FakeRestApiServer.start(0);
+        requests = ConfigurationLoader.getIntProperty("benchmark.payloads.requests", 10_000);
+        FakeDataGenerator generator = FakeDataGenerator.fromConfiguration();
+        books = new ArrayList<>(PAYLOADS);
+        generator.generate(PAYLOADS, generator.books(), RecordSink.collect(books));
+        store = PayloadStore.newBooks(generator, PAYLOADS);
+        buffers = new ByteBuffer[PAYLOADS];
+        for (int i = 0; i < PAYLOADS; i++) {
+            buffers[i] = ByteBuffer.wrap(store.get(i));
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test(description = "Per-request garbage of String payloads vs pre-serialized bytes")
+    public void comparePayloadSources() {
+        System.out.printf("%nRequest payloads, %,d createBook per row, %,d stored payloads of %,d bytes on average%n",
+                requests, store.size(), store.getTotalBytes() / store.size());
+        System.out.printf(ROW, "payload", "CPU us/req", "thread KB/req", "JVM KB/req");
+        for (HttpTransport.Type type : HttpTransport.Type.values()) {
+            BookRequests bookRequests = new BookRequests(RequestSettings.builder()
+                    .baseUri(server.baseUri())
+                    .transport(type)
+                    .responseCache(ResponseCache.disabled())
+                    .build());
+            measure(type, "getFakeNewBook + Gson",
+                    i -> bookRequests.createBook(gson.toJson(repository.getFakeNewBook())));
+            measure(type, "Gson.toJson(stored book)",
+                    i -> bookRequests.createBook(gson.toJson(books.get(i % PAYLOADS))));
+            measure(type, "PayloadStore byte[]",
+                    i -> bookRequests.createBookBytes(store.next()));
+            measure(type, "PayloadStore ByteBuffer",
+                    i -> bookRequests.createBookBytes(buffers[i % PAYLOADS]));
+        }
+    }
+
+    private void measure(HttpTransport.Type type, String name, IntFunction<Response> send) {
+        // warms up the path, then measures it
+        run(requests / 4, send);
+        long thread = AllocationMeter.allocatedBytes();
+        long total = AllocationMeter.totalAllocatedBytes();
+        long cpu = OS.getProcessCpuTime();
+        run(requests, send);
+        System.out.printf(ROW, type + ", " + name,
+                String.format("%.1f", (OS.getProcessCpuTime() - cpu) / 1e3 / requests),
+                String.format("%.2f", (AllocationMeter.allocatedBytes() - thread) / 1024.0 / requests),
+                String.format("%.2f", (AllocationMeter.totalAllocatedBytes() - total) / 1024.0 / requests));
+    }
+
+    private static void run(int count, IntFunction<Response> send) {
+        for (int i = 0; i < count; i++) {
+            assertEquals(send.apply(i).statusCode(), HttpStatus.SC_OK);
+        }
+    }
+}
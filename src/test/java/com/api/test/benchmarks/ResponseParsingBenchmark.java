@@ -0,0 +1,123 @@
+package com.api.test.benchmarks;
+
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_ERRORS_KEY;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_PAGE_COUNT_KEY;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TITLE;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TITLE_KEY;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TRACEID_KEY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.verifications.ErrorMessagesVerification;
+import com.api.test.verifications.ParsedResponse;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Compares asserting on a response through repeated {@code response.jsonPath()} calls, as the
+ * verifications used to, with one {@link ParsedResponse}: mean time and bytes allocated per
+ * verification, on a large validation-error body and on a large list body. The error body has
+ * 2,000 error keys and the list 20,000 books by default, {@code -Dbenchmark.response.records=}
+ * changes both.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test}.
+ */
+public class ResponseParsingBenchmark {
+
+    private static final int WARM_UP = 5;
+    private static final int MEASURED = 10;
+
+    private final ErrorMessagesVerification verifyError = new ErrorMessagesVerification();
+    private Response errorResponse;
+    private Response listResponse;
+    private int records;
+
+    @BeforeClass
+    public void buildResponses() {
+        records = ConfigurationLoader.getIntProperty("benchmark.response.records", 20_000);
+
+        StringBuilder errors = new StringBuilder();
+        errors.append("{\"title\":\"").append(ERROR_MESSAGE_TITLE).append("\",\"traceId\":\"00-1-01\",\"errors\":{");
+        for (int i = 0; i < records / 10; i++) {
+            errors.append("\"$.field").append(i).append("\":[\"The JSON value could not be converted.\"],");
+        }
+        errors.append("\"").append(ERROR_MESSAGE_PAGE_COUNT_KEY).append("\":[\"")
+                .append(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32).append(" Path: $.pageCount\"]}}");
+        errorResponse = json(400, errors.toString());
+
+        StringBuilder books = new StringBuilder("[");
+        for (int id = 1; id <= records; id++) {
+            books.append(id == 1 ? "" : ",")
+                    .append("{\"id\":").append(id)
+                    .append(",\"title\":\"Book ").append(id)
+                    .append("\",\"description\":\"Description of book ").append(id)
+                    .append("\",\"pageCount\":").append(id % 1000)
+                    .append(",\"excerpt\":\"Excerpt of book ").append(id)
+                    .append("\",\"publishDate\":\"2024-01-01T00:00:00.000Z\"}");
+        }
+        listResponse = json(200, books.append(']').toString());
+    }
+
+    @Test(description = "jsonPath() per lookup vs one ParsedResponse: time and allocation")
+    public void compareJsonPathAndParsedResponse() {
+        Result errorJsonPath = measure(() -> verifyWithJsonPath(errorResponse));
+        Result errorParsed = measure(() -> verifyError.verifyErrorInvalidPageCount(errorResponse));
+        Result listJsonPath = measure(() -> {
+            assertTrue(!listResponse.jsonPath().getList("id").isEmpty());
+            assertEquals(listResponse.jsonPath().getList("id").size(), records);
+        });
+        Result listParsed = measure(() -> {
+            ParsedResponse body = ParsedResponse.of(listResponse);
+            assertTrue(!body.getList("id").isEmpty());
+            assertEquals(body.getList("id").size(), records);
+        });
+
+        System.out.printf("%nResponse verification: error body %,d KB, list body %,d KB%n",
+                errorResponse.asByteArray().length >> 10, listResponse.asByteArray().length >> 10);
+        System.out.printf("%-28s %10s %14s%n", "path", "mean ms", "allocated MB");
+        errorJsonPath.print("error, jsonPath() x4");
+        errorParsed.print("error, ParsedResponse");
+        listJsonPath.print("list ids, jsonPath() x2");
+        listParsed.print("list ids, ParsedResponse");
+    }
+
+    /** The page-count verification as it was written before {@link ParsedResponse}. */
+    private static void verifyWithJsonPath(Response response) {
+        assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
+        assertTrue(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY) != null);
+        assertTrue(response.jsonPath().getMap(ERROR_MESSAGE_ERRORS_KEY).containsKey(ERROR_MESSAGE_PAGE_COUNT_KEY));
+        String errorMessage = response.jsonPath().getString(
+                String.format("%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_PAGE_COUNT_KEY));
+        assertTrue(errorMessage.contains(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32));
+    }
+
+    private static Response json(int status, String body) {
+        return new ResponseBuilder().setStatusCode(status).setContentType(ContentType.JSON).setBody(body).build();
+    }
+
+    private static Result measure(Runnable verification) {
+        for (int i = 0; i < WARM_UP; i++) {
+            verification.run();
+        }
+        long allocated = AllocationMeter.allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            verification.run();
+        }
+        return new Result(
+                (System.nanoTime() - start) / (double) MEASURED,
+                (AllocationMeter.allocatedBytes() - allocated) / (double) MEASURED);
+    }
+
+    private record Result(double nanos, double bytes) {
+
+        void print(String path) {
+            System.out.printf("%-28s %10.2f %14.2f%n", path, nanos / 1e6, bytes / (1024 * 1024));
+        }
+    }
+}
@@ -19,6 +19,8 @@ public final class ApiTestsConstants {
       "The JSON value could not be converted to System.Int32";
   public static final String ERROR_MESSAGE_COULD_NOT_CONVERT_DATE =
       "The JSON value could not be converted to System.DateTime";
+  public static final String ERROR_MESSAGE_COULD_NOT_CONVERT =
+      "The JSON value could not be converted to %s";
 
   private ApiTestsConstants() {
     throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
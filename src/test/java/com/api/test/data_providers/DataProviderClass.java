@@ -1,5 +1,6 @@
 package com.api.test.data_providers;
 
+import java.util.Iterator;
 import org.apache.http.HttpStatus;
 import org.testng.annotations.DataProvider;
 
@@ -20,4 +21,19 @@ public class DataProviderClass {
       {null, 400, "Null value"}
     };
   }
+
+  /**
+   * Book payloads from {@link FieldMatrix#books()}, generated while the rows run; {@code
+   * matrix.mode} picks pairwise (default) or exhaustive combinations.
+   */
+  @DataProvider(name = "bookFieldMatrix", parallel = true)
+  public static Iterator<Object[]> bookFieldMatrix() {
+    return FieldMatrix.books().rows();
+  }
+
+  /** Author payloads from {@link FieldMatrix#authors()}, like {@link #bookFieldMatrix()}. */
+  @DataProvider(name = "authorFieldMatrix", parallel = true)
+  public static Iterator<Object[]> authorFieldMatrix() {
+    return FieldMatrix.authors().rows();
+  }
 }
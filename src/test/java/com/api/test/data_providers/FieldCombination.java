@@ -0,0 +1,89 @@
+package com.api.test.data_providers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.apache.http.HttpStatus;
+
+/**
+ * One row of a {@link FieldMatrix}: a value for every field, kept as indexes into the variants of
+ * the matrix until the test asks for the payload. Valid combinations are expected to be accepted
+ * with {@code 200}; a combination with an invalid value (there is at most one) is expected to be
+ * rejected with {@code 400} and a validation error for that field.
+ */
+public final class FieldCombination {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final FieldMatrix matrix;
+  private final int[] choices;
+
+  FieldCombination(FieldMatrix matrix, int[] choices) {
+    this.matrix = matrix;
+    this.choices = choices;
+  }
+
+  /** The fields of the matrix, in payload order. */
+  public List<FieldMatrix.Field> getFields() {
+    return matrix.getFields();
+  }
+
+  /** The value chosen for {@code field}. */
+  public FieldVariant variant(String field) {
+    for (int i = 0; i < choices.length; i++) {
+      FieldMatrix.Field candidate = matrix.getFields().get(i);
+      if (candidate.name().equals(field)) {
+        return candidate.variants().get(choices[i]);
+      }
+    }
+    throw new IllegalArgumentException("No field " + field);
+  }
+
+  /** The field with an invalid value, or {@code null} when all values are valid. */
+  public FieldMatrix.Field getInvalidField() {
+    for (int i = 0; i < choices.length; i++) {
+      FieldMatrix.Field field = matrix.getFields().get(i);
+      if (choices[i] >= field.validCount()) {
+        return field;
+      }
+    }
+    return null;
+  }
+
+  public boolean isValid() {
+    return getInvalidField() == null;
+  }
+
+  public int getExpectedStatus() {
+    return isValid() ? HttpStatus.SC_OK : HttpStatus.SC_BAD_REQUEST;
+  }
+
+  /** The payload, with every field present, {@code null}s included. */
+  public String toJson() {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    for (int i = 0; i < choices.length; i++) {
+      FieldMatrix.Field field = matrix.getFields().get(i);
+      payload.put(field.name(), field.variants().get(choices[i]).value());
+    }
+    try {
+      return MAPPER.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not write payload " + payload, e);
+    }
+  }
+
+  /** The labels of the values, e.g. {@code id=zero, title=empty, ...}, as the row's test name. */
+  @Override
+  public String toString() {
+    StringJoiner text = new StringJoiner(", ");
+    for (int i = 0; i < choices.length; i++) {
+      FieldMatrix.Field field = matrix.getFields().get(i);
+      FieldVariant variant = field.variants().get(choices[i]);
+      text.add(field.name() + "=" + variant.label() + (variant.valid() ? "" : " (invalid)"));
+    }
+    return text.toString();
+  }
+}
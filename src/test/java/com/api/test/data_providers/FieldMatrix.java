@@ -0,0 +1,241 @@
+package com.api.test.data_providers;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code FieldMatrix} class describes the boundary values of every field of a Books or Authors
+ * payload and turns them into data-provider rows, generated one at a time when TestNG asks for
+ * them. Each row holds a single {@link FieldCombination}: the chosen value index per field and a
+ * reference to this matrix, so a queued row costs a few dozen bytes whatever the payload. That
+ * matters for {@code parallel = true} providers, which TestNG drains into one task per row before
+ * the first one runs.
+ *
+ * <p>Valid values are combined {@link #pairwise()} (every pair of values of two fields together at
+ * least once) or {@link #exhaustive()} (every combination). Invalid values are tried one at a time
+ * on top of the first valid value of every other field, so each of those rows has exactly one
+ * expected validation error. {@code matrix.mode} picks the mode of {@link #rows()}.
+ */
+public final class FieldMatrix {
+
+  private final List<Field> fields;
+
+  public FieldMatrix(List<Field> fields) {
+    if (fields.isEmpty()) {
+      throw new IllegalArgumentException("A matrix needs at least one field");
+    }
+    this.fields = List.copyOf(fields);
+  }
+
+  /** The fields of the {@code Book} payload. */
+  public static FieldMatrix books() {
+    return new FieldMatrix(
+        List.of(
+            Field.int32("id"),
+            Field.string("title"),
+            Field.string("description"),
+            Field.int32("pageCount"),
+            Field.string("excerpt"),
+            Field.dateTime("publishDate")));
+  }
+
+  /** The fields of the {@code Author} payload. */
+  public static FieldMatrix authors() {
+    return new FieldMatrix(
+        List.of(
+            Field.int32("id"),
+            Field.int32("idBook"),
+            Field.string("firstName"),
+            Field.string("lastName")));
+  }
+
+  public List<Field> getFields() {
+    return fields;
+  }
+
+  /** The rows of {@code matrix.mode}: {@code pairwise} (default) or {@code exhaustive}. */
+  public Iterator<Object[]> rows() {
+    String mode =
+        ConfigurationLoader.getProperty("matrix.mode", "pairwise").trim().toLowerCase(Locale.ROOT);
+    switch (mode) {
+      case "pairwise":
+        return pairwise();
+      case "exhaustive":
+        return exhaustive();
+      default:
+        throw new IllegalArgumentException(
+            "Unknown matrix.mode '" + mode + "', expected pairwise or exhaustive");
+    }
+  }
+
+  /** Every pair of valid values, then every invalid value once. */
+  public Iterator<Object[]> pairwise() {
+    return rowsOf(new PairwiseIterator(validCounts()));
+  }
+
+  /** Every combination of valid values, then every invalid value once. */
+  public Iterator<Object[]> exhaustive() {
+    return rowsOf(new CartesianIterator(validCounts()));
+  }
+
+  /** The number of rows {@link #exhaustive()} generates, without generating them. */
+  public long exhaustiveSize() {
+    long size = 1;
+    for (Field field : fields) {
+      size = Math.multiplyExact(size, field.validCount());
+    }
+    return size + invalidCount();
+  }
+
+  private int invalidCount() {
+    int count = 0;
+    for (Field field : fields) {
+      count += field.variants().size() - field.validCount();
+    }
+    return count;
+  }
+
+  private int[] validCounts() {
+    int[] counts = new int[fields.size()];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = fields.get(i).validCount();
+    }
+    return counts;
+  }
+
+  private Iterator<Object[]> rowsOf(Iterator<int[]> valid) {
+    return new Iterator<>() {
+      private int field;
+      private int variant = fields.get(0).validCount();
+
+      @Override
+      public boolean hasNext() {
+        if (valid.hasNext()) {
+          return true;
+        }
+        while (field < fields.size() && variant >= fields.get(field).variants().size()) {
+          field++;
+          variant = field < fields.size() ? fields.get(field).validCount() : 0;
+        }
+        return field < fields.size();
+      }
+
+      @Override
+      public Object[] next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (valid.hasNext()) {
+          return new Object[] {new FieldCombination(FieldMatrix.this, valid.next())};
+        }
+        int[] choices = new int[fields.size()];
+        choices[field] = variant++;
+        return new Object[] {new FieldCombination(FieldMatrix.this, choices)};
+      }
+    };
+  }
+
+  /**
+   * One payload field and the values tried for it; the first {@code validCount} variants bind,
+   * the others are rejected with a conversion error naming {@code typeName}.
+   */
+  public record Field(String name, String typeName, List<FieldVariant> variants, int validCount) {
+
+    static Field int32(String name) {
+      return of(
+          name,
+          "System.Int32",
+          List.of(
+              FieldVariant.valid(1, "1"),
+              FieldVariant.valid(0, "zero"),
+              FieldVariant.valid(-1, "negative"),
+              FieldVariant.valid(Integer.MAX_VALUE, "Int32 max")),
+          List.of(
+              FieldVariant.invalid(Integer.MAX_VALUE + 1L, "Int32 max + 1"),
+              FieldVariant.invalid(1.5, "fraction"),
+              FieldVariant.invalid("12", "numeric string"),
+              FieldVariant.invalid(null, "null"),
+              FieldVariant.invalid(true, "boolean")));
+    }
+
+    static Field string(String name) {
+      return of(
+          name,
+          "System.String",
+          List.of(
+              FieldVariant.valid("Krakatit", "plain"),
+              FieldVariant.valid("", "empty"),
+              FieldVariant.valid(null, "null"),
+              FieldVariant.valid("Válka s Mloky – Čapek 📘", "non-ASCII"),
+              FieldVariant.valid("x".repeat(4096), "4 KB")),
+          List.of(
+              FieldVariant.invalid(42, "number"),
+              FieldVariant.invalid(false, "boolean"),
+              FieldVariant.invalid(List.of("a"), "array"),
+              FieldVariant.invalid(Map.of("a", 1), "object")));
+    }
+
+    static Field dateTime(String name) {
+      return of(
+          name,
+          "System.DateTime",
+          List.of(
+              FieldVariant.valid("2024-02-29T13:45:00", "local date-time"),
+              FieldVariant.valid("2024-02-29", "date only"),
+              FieldVariant.valid("2024-02-29T13:45:00.123Z", "UTC"),
+              FieldVariant.valid("2024-02-29T13:45:00+02:00", "offset")),
+          List.of(
+              FieldVariant.invalid("2023-02-29", "no such day"),
+              FieldVariant.invalid("yesterday", "text"),
+              FieldVariant.invalid("", "empty"),
+              FieldVariant.invalid(20240229, "number"),
+              FieldVariant.invalid(null, "null")));
+    }
+
+    private static Field of(
+        String name, String typeName, List<FieldVariant> valid, List<FieldVariant> invalid) {
+      List<FieldVariant> variants = new ArrayList<>(valid);
+      variants.addAll(invalid);
+      return new Field(name, typeName, variants, valid.size());
+    }
+  }
+
+  /** Counts through every combination of values, the last field fastest. */
+  private static final class CartesianIterator implements Iterator<int[]> {
+
+    private final int[] sizes;
+    private int[] next;
+
+    CartesianIterator(int[] sizes) {
+      this.sizes = sizes;
+      this.next = new int[sizes.length];
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public int[] next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      int[] row = next.clone();
+      int field = sizes.length - 1;
+      while (field >= 0 && ++next[field] == sizes[field]) {
+        next[field] = 0;
+        field--;
+      }
+      if (field < 0) {
+        next = null;
+      }
+      return row;
+    }
+  }
+}
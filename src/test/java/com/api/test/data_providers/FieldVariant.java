@@ -0,0 +1,16 @@
+package com.api.test.data_providers;
+
+/**
+ * A value tried for one payload field, whether the API is expected to accept it, and a short label
+ * for the test name.
+ */
+public record FieldVariant(Object value, boolean valid, String label) {
+
+  static FieldVariant valid(Object value, String label) {
+    return new FieldVariant(value, true, label);
+  }
+
+  static FieldVariant invalid(Object value, String label) {
+    return new FieldVariant(value, false, label);
+  }
+}
@@ -0,0 +1,131 @@
+package com.api.test.data_providers;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code PairwiseIterator} class generates a pairwise covering set one row at a time: for any
+ * two fields, every combination of their values shows up in at least one row. With {@code k}
+ * fields of up to {@code v} values that takes about {@code v² · log k} rows instead of the {@code
+ * v^k} of all combinations, so adding a field or a value adds a few rows, not a multiple.
+ *
+ * <p>Each row is built greedily: it starts with the first pair not covered yet, and every other
+ * field gets the value that covers the most uncovered pairs with the fields set so far (ties go to
+ * the value used least, then the lowest index). Nothing is random, so the rows and their order are
+ * the same in every run, which the data-provider row numbers of sharding rely on. Only the
+ * uncovered pairs are kept, one bit per pair of values.
+ */
+public final class PairwiseIterator implements Iterator<int[]> {
+
+  private final int[] sizes;
+  // [i][j] for i < j: bit a * sizes[j] + b is set until value a of i and b of j share a row
+  private final BitSet[][] uncovered;
+  private final int[][] used;
+  private long remaining;
+  // a single field has no pairs; its values are handed out one by one
+  private int singleValue;
+
+  /** @param sizes the number of values of each field, each at least 1 */
+  public PairwiseIterator(int... sizes) {
+    this.sizes = sizes.clone();
+    this.uncovered = new BitSet[sizes.length][sizes.length];
+    this.used = new int[sizes.length][];
+    for (int i = 0; i < sizes.length; i++) {
+      if (sizes[i] < 1) {
+        throw new IllegalArgumentException("Field " + i + " has no values");
+      }
+      used[i] = new int[sizes[i]];
+      for (int j = i + 1; j < sizes.length; j++) {
+        int pairs = sizes[i] * sizes[j];
+        uncovered[i][j] = new BitSet(pairs);
+        uncovered[i][j].set(0, pairs);
+        remaining += pairs;
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (sizes.length == 1) {
+      return singleValue < sizes[0];
+    }
+    return remaining > 0;
+  }
+
+  @Override
+  public int[] next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    if (sizes.length == 1) {
+      return new int[] {singleValue++};
+    }
+    int[] row = new int[sizes.length];
+    boolean[] set = new boolean[sizes.length];
+    seed(row, set);
+    for (int field = 0; field < sizes.length; field++) {
+      if (!set[field]) {
+        row[field] = bestValue(field, row, set);
+        set[field] = true;
+      }
+    }
+    cover(row);
+    return row;
+  }
+
+  /** Puts the first uncovered pair into {@code row}. */
+  private void seed(int[] row, boolean[] set) {
+    for (int i = 0; i < sizes.length; i++) {
+      for (int j = i + 1; j < sizes.length; j++) {
+        int bit = uncovered[i][j].nextSetBit(0);
+        if (bit >= 0) {
+          row[i] = bit / sizes[j];
+          row[j] = bit % sizes[j];
+          set[i] = true;
+          set[j] = true;
+          return;
+        }
+      }
+    }
+    throw new IllegalStateException("No uncovered pair left");
+  }
+
+  private int bestValue(int field, int[] row, boolean[] set) {
+    int best = 0;
+    int bestGain = -1;
+    for (int value = 0; value < sizes[field]; value++) {
+      int gain = 0;
+      for (int other = 0; other < sizes.length; other++) {
+        if (set[other] && isUncovered(field, value, other, row[other])) {
+          gain++;
+        }
+      }
+      if (gain > bestGain || gain == bestGain && used[field][value] < used[field][best]) {
+        best = value;
+        bestGain = gain;
+      }
+    }
+    return best;
+  }
+
+  private boolean isUncovered(int field, int value, int other, int otherValue) {
+    if (field < other) {
+      return uncovered[field][other].get(value * sizes[other] + otherValue);
+    }
+    return uncovered[other][field].get(otherValue * sizes[field] + value);
+  }
+
+  private void cover(int[] row) {
+    for (int i = 0; i < sizes.length; i++) {
+      used[i][row[i]]++;
+      for (int j = i + 1; j < sizes.length; j++) {
+        int bit = row[i] * sizes[j] + row[j];
+        if (uncovered[i][j].get(bit)) {
+          uncovered[i][j].clear(bit);
+          remaining--;
+        }
+      }
+    }
+  }
+}
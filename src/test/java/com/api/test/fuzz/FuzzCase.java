@@ -0,0 +1,26 @@
+package com.api.test.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+
+/**
+ * One generated request: the endpoint, the path id of the updates, the mutations applied and the
+ * resulting payload. {@code index} and the campaign seed are enough to generate it again.
+ */
+public record FuzzCase(
+    long index, FuzzTarget target, int id, List<Mutation> mutations, JsonNode payload) {
+
+  public String toJson() {
+    return Payloads.toJson(payload);
+  }
+
+  /** The same request with another payload, e.g. a shrunk one. */
+  FuzzCase withPayload(JsonNode replacement) {
+    return new FuzzCase(index, target, id, mutations, replacement);
+  }
+
+  @Override
+  public String toString() {
+    return "#" + index + " " + target + " " + mutations;
+  }
+}
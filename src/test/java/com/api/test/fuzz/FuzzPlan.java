@@ -0,0 +1,41 @@
+package com.api.test.fuzz;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The {@code FuzzPlan} class describes a fuzzing campaign: how many cases to send, how many workers
+ * send them concurrently after a warm-up, the seed the cases are derived from, what counts as a
+ * latency outlier and how hard to try to shrink a failing payload. The same seed and case count
+ * send the same payloads in every run, whatever the concurrency.
+ */
+@Getter
+@Builder
+public class FuzzPlan {
+
+  @Builder.Default private final long seed = 42;
+  @Builder.Default private final int cases = 10_000;
+  @Builder.Default private final int concurrency = 16;
+  /** Valid payloads sent, and not checked, before the campaign. */
+  @Builder.Default private final int warmUpCases = 200;
+  @Builder.Default private final Duration latencyOutlier = Duration.ofSeconds(2);
+  @Builder.Default private final int maxShrinkAttempts = 500;
+  @Builder.Default private final Path outputDir = Path.of("target", "fuzz");
+
+  /** Plan from the {@code fuzz.*} settings of the active environment. */
+  public static FuzzPlan fromConfiguration() {
+    return FuzzPlan.builder()
+        .seed(Long.parseLong(ConfigurationLoader.getProperty("fuzz.seed", "42").trim()))
+        .cases(ConfigurationLoader.getIntProperty("fuzz.cases", 10_000))
+        .concurrency(ConfigurationLoader.getIntProperty("fuzz.concurrency", 16))
+        .warmUpCases(ConfigurationLoader.getIntProperty("fuzz.warmUpCases", 200))
+        .latencyOutlier(
+            Duration.ofMillis(ConfigurationLoader.getIntProperty("fuzz.latencyOutlierMs", 2_000)))
+        .maxShrinkAttempts(ConfigurationLoader.getIntProperty("fuzz.maxShrinkAttempts", 500))
+        .outputDir(Path.of(ConfigurationLoader.getProperty("fuzz.outputDir", "target/fuzz").trim()))
+        .build();
+  }
+}
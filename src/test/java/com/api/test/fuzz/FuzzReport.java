@@ -0,0 +1,155 @@
+package com.api.test.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code FuzzReport} class summarizes a finished campaign: how many cases were sent and how
+ * fast, the response statuses, and one {@link Finding} per distinct violation with the smallest
+ * payload that still reproduces it.
+ */
+public class FuzzReport {
+
+  static final String JSON_FILE = "fuzz-report.json";
+
+  private final String target;
+  private final FuzzPlan plan;
+  private final Duration elapsed;
+  private final long cases;
+  private final Map<Integer, Long> statuses;
+  private final List<Finding> findings;
+
+  public FuzzReport(
+      String target,
+      FuzzPlan plan,
+      Duration elapsed,
+      long cases,
+      Map<Integer, Long> statuses,
+      List<Finding> findings) {
+    this.target = target;
+    this.plan = plan;
+    this.elapsed = elapsed;
+    this.cases = cases;
+    this.statuses = statuses;
+    this.findings = findings;
+  }
+
+  /**
+   * One distinct violation: its signature, how many cases hit it and the first of them, and what
+   * shrinking that case left over.
+   *
+   * @param payload the shrunk payload, {@code null} when replaying the first case did not break the
+   *     invariant again (typically a latency outlier)
+   */
+  public record Finding(
+      String signature,
+      Violation violation,
+      long occurrences,
+      FuzzCase firstCase,
+      JsonNode payload,
+      int shrinkAttempts) {
+
+    public boolean isReproduced() {
+      return payload != null;
+    }
+  }
+
+  public Duration getElapsed() {
+    return elapsed;
+  }
+
+  public long getCases() {
+    return cases;
+  }
+
+  /** Cases per second over the campaign, shrinking excluded. */
+  public double getThroughput() {
+    return cases / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+  }
+
+  /** Response status to count, {@code 0} for requests that got no response. */
+  public Map<Integer, Long> getStatuses() {
+    return statuses;
+  }
+
+  public List<Finding> getFindings() {
+    return findings;
+  }
+
+  public void print(PrintStream out) {
+    out.printf(
+        "Fuzzed %s with %,d cases (seed %d) in %.1f s, %.0f cases/s; statuses %s%n",
+        target, cases, plan.getSeed(), elapsed.toMillis() / 1000.0, getThroughput(), statuses);
+    if (findings.isEmpty()) {
+      out.println("No invariant violated");
+    }
+    for (Finding finding : findings) {
+      out.printf(
+          "VIOLATION: %s, %,d cases, first %s: %s%n",
+          finding.signature(),
+          finding.occurrences(),
+          finding.firstCase(),
+          finding.violation().detail());
+      out.println(
+          finding.isReproduced()
+              ? "  shrunk in " + finding.shrinkAttempts() + " attempts to "
+                  + Payloads.toJson(finding.payload())
+              : "  not reproduced on replay");
+    }
+  }
+
+  public String toJson() {
+    List<Map<String, Object>> violations = new ArrayList<>();
+    for (Finding finding : findings) {
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("signature", finding.signature());
+      entry.put("detail", finding.violation().detail());
+      entry.put("occurrences", finding.occurrences());
+      entry.put("firstCase", finding.firstCase().index());
+      entry.put("pathId", finding.firstCase().id());
+      entry.put("mutations", finding.firstCase().mutations());
+      entry.put("originalBytes", Payloads.size(finding.firstCase().payload()));
+      entry.put("reproduced", finding.isReproduced());
+      entry.put("shrinkAttempts", finding.shrinkAttempts());
+      entry.put("payload", finding.payload());
+      violations.add(entry);
+    }
+    Map<String, Object> root = new LinkedHashMap<>();
+    root.put("target", target);
+    root.put("seed", plan.getSeed());
+    root.put("cases", cases);
+    root.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+    root.put("casesPerSecond", Math.round(getThroughput()));
+    root.put("statuses", statuses);
+    root.put("violations", violations);
+    try {
+      return Payloads.MAPPER
+          .writer()
+          .with(SerializationFeature.INDENT_OUTPUT)
+          .writeValueAsString(root);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Writes {@code fuzz-report.json} into {@code directory}. */
+  public void writeTo(Path directory) {
+    try {
+      Files.createDirectories(directory);
+      Files.writeString(directory.resolve(JSON_FILE), toJson(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.api.test.fuzz;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.load.LoadContext;
+import com.api.test.requests.RequestSettings;
+import com.api.test.server.FakeRestApiServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * The {@code FuzzRunner} class sends mutated Book and Author payloads to the create and update
+ * endpoints and checks every response against the {@link Invariants}. Like the {@code LoadRunner}
+ * it is a closed loop of {@code concurrency} virtual-thread workers, each generating its next case
+ * from the shared case counter as soon as the previous response is checked.
+ *
+ * <p>Violations are grouped by {@linkplain Violation#signature(FuzzTarget) signature}. Once all
+ * cases are sent, the first case of every group is replayed and {@linkplain Shrinker shrunk}, one
+ * group at a time so the replays do not compete with the campaign, and the report lists the
+ * smallest payload that still breaks the same invariant.
+ *
+ * <pre>
+ * mvn -Pfuzz test-compile exec:java -Denv=local -Dfuzz.cases=100000 -Dfuzz.seed=7
+ * </pre>
+ *
+ * @see FuzzPlan
+ * @see PayloadMutator
+ */
+public class FuzzRunner {
+
+  private final LoadContext context;
+  private final FuzzPlan plan;
+  private final PayloadMutator mutator;
+  private final Invariants invariants;
+
+  public FuzzRunner(LoadContext context, FuzzPlan plan) {
+    this.context = context;
+    this.plan = plan;
+    this.mutator =
+        new PayloadMutator(
+            plan.getSeed(), Math.min(context.getMaxBookId(), context.getMaxAuthorId()));
+    this.invariants = new Invariants(plan.getLatencyOutlier());
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    FakeRestApiServer.startEmbeddedIfConfigured();
+    FuzzPlan plan = FuzzPlan.fromConfiguration();
+    System.out.printf(
+        "Starting fuzz run: %,d cases, seed=%d, concurrency=%d%n",
+        plan.getCases(), plan.getSeed(), plan.getConcurrency());
+    FuzzReport report = new FuzzRunner(contextFor(RequestSettings.fromConfiguration()), plan).run();
+    report.print(System.out);
+    report.writeTo(plan.getOutputDir());
+    FakeRestApiServer.stopEmbedded();
+  }
+
+  /**
+   * A context whose requests are neither retried nor cut off by a circuit breaker, so every
+   * response is judged as the server sent it.
+   */
+  public static LoadContext contextFor(RequestSettings settings) {
+    return new LoadContext(
+        LoadContext.unprotected(settings),
+        ConfigurationLoader.getIntProperty("load.maxBookId", 200),
+        ConfigurationLoader.getIntProperty("load.maxAuthorId", 200));
+  }
+
+  public FuzzReport run() throws InterruptedException {
+    // connections, class loading and the JIT make the first requests slow enough to be outliers
+    AtomicLong warmUp = new AtomicLong(plan.getWarmUpCases());
+    FuzzTarget[] targets = FuzzTarget.values();
+    runWorkers(
+        () -> {
+          long index;
+          while ((index = warmUp.getAndDecrement()) > 0) {
+            FuzzTarget target = targets[(int) (index % targets.length)];
+            send(target, 1, target.validPayload(new SplittableRandom(index)));
+          }
+        });
+
+    AtomicLong next = new AtomicLong();
+    Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    Map<String, Sighting> sightings = new ConcurrentHashMap<>();
+    long start = System.nanoTime();
+    runWorkers(
+        () -> {
+          long index;
+          while ((index = next.getAndIncrement()) < plan.getCases()) {
+            FuzzCase fuzzCase = mutator.generate(index);
+            Exchange exchange = send(fuzzCase.target(), fuzzCase.id(), fuzzCase.payload());
+            statuses.computeIfAbsent(exchange.status(), status -> new LongAdder()).increment();
+            if (exchange.violation() != null) {
+              sightings.merge(
+                  exchange.violation().signature(fuzzCase.target()),
+                  new Sighting(fuzzCase, exchange.violation(), 1),
+                  Sighting::merge);
+            }
+          }
+        });
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    Map<Integer, Long> statusCounts = new TreeMap<>();
+    statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+    List<FuzzReport.Finding> findings =
+        sightings.values().stream()
+            .sorted(Comparator.comparingLong(sighting -> sighting.first().index()))
+            .map(this::shrink)
+            .toList();
+    return new FuzzReport(
+        context.getBookRequests().getBaseUri(),
+        plan,
+        elapsed,
+        plan.getCases(),
+        statusCounts,
+        findings);
+  }
+
+  /** Runs {@code worker} on {@code concurrency} virtual threads and waits for all of them. */
+  private void runWorkers(Runnable worker) throws InterruptedException {
+    ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    for (int i = 0; i < plan.getConcurrency(); i++) {
+      workers.submit(worker);
+    }
+    workers.shutdown();
+    workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  private FuzzReport.Finding shrink(Sighting sighting) {
+    FuzzCase first = sighting.first();
+    String signature = sighting.violation().signature(first.target());
+    Predicate<JsonNode> fails =
+        candidate -> {
+          Violation violation = send(first.target(), first.id(), candidate).violation();
+          return violation != null && violation.signature(first.target()).equals(signature);
+        };
+    if (!fails.test(first.payload())) {
+      return new FuzzReport.Finding(
+          signature, sighting.violation(), sighting.count(), first, null, 1);
+    }
+    Shrinker.Result shrunk =
+        new Shrinker(plan.getMaxShrinkAttempts()).shrink(first.payload(), fails);
+    return new FuzzReport.Finding(
+        signature,
+        sighting.violation(),
+        sighting.count(),
+        first,
+        shrunk.payload(),
+        1 + shrunk.attempts());
+  }
+
+  /** Sends {@code payload} to {@code target} and checks the response. */
+  private Exchange send(FuzzTarget target, int id, JsonNode payload) {
+    String body = Payloads.toJson(payload);
+    long callStart = System.nanoTime();
+    try {
+      Response response = target.send(context, id, body);
+      byte[] responseBody = response.asByteArray();
+      long nanos = System.nanoTime() - callStart;
+      return new Exchange(
+          response.statusCode(),
+          invariants.check(target, response.statusCode(), responseBody, nanos));
+    } catch (RuntimeException e) {
+      // a reset connection, a timeout, ... (UncheckedIOException from the transports)
+      return new Exchange(0, invariants.transportError(e));
+    }
+  }
+
+  private record Exchange(int status, Violation violation) {}
+
+  /** The first case, by index, that broke an invariant in a given way, and how many did. */
+  private record Sighting(FuzzCase first, Violation violation, long count) {
+
+    Sighting merge(Sighting other) {
+      Sighting earlier = first.index() <= other.first.index() ? this : other;
+      return new Sighting(earlier.first, earlier.violation, count + other.count);
+    }
+  }
+}
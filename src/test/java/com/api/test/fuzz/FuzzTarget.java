@@ -0,0 +1,64 @@
+package com.api.test.fuzz;
+
+import com.api.test.data_providers.FieldMatrix;
+import com.api.test.data_providers.FieldVariant;
+import com.api.test.load.LoadContext;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.restassured.response.Response;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The endpoints the fuzzer sends payloads to, with the fields of their model. A case starts from a
+ * payload that binds: every field gets one of the valid values of {@link FieldMatrix}, picked with
+ * the case's random generator, before the mutations are applied.
+ */
+public enum FuzzTarget {
+  CREATE_BOOK(FieldMatrix.books()) {
+    @Override
+    Response send(LoadContext context, int id, String payload) {
+      return context.getBookRequests().createBook(payload);
+    }
+  },
+  UPDATE_BOOK(FieldMatrix.books()) {
+    @Override
+    Response send(LoadContext context, int id, String payload) {
+      return context.getBookRequests().updateBook(id, payload);
+    }
+  },
+  CREATE_AUTHOR(FieldMatrix.authors()) {
+    @Override
+    Response send(LoadContext context, int id, String payload) {
+      return context.getAuthorRequests().createAuthor(payload);
+    }
+  },
+  UPDATE_AUTHOR(FieldMatrix.authors()) {
+    @Override
+    Response send(LoadContext context, int id, String payload) {
+      return context.getAuthorRequests().updateAuthor(id, payload);
+    }
+  };
+
+  private final FieldMatrix matrix;
+
+  FuzzTarget(FieldMatrix matrix) {
+    this.matrix = matrix;
+  }
+
+  public List<FieldMatrix.Field> getFields() {
+    return matrix.getFields();
+  }
+
+  /** A payload with a valid value for every field. */
+  ObjectNode validPayload(SplittableRandom random) {
+    ObjectNode payload = Payloads.MAPPER.createObjectNode();
+    for (FieldMatrix.Field field : getFields()) {
+      FieldVariant variant = field.variants().get(random.nextInt(field.validCount()));
+      payload.set(field.name(), Payloads.MAPPER.valueToTree(variant.value()));
+    }
+    return payload;
+  }
+
+  /** Sends {@code payload} as is; {@code id} is the path id of the updates. */
+  abstract Response send(LoadContext context, int id, String payload);
+}
@@ -0,0 +1,84 @@
+package com.api.test.fuzz;
+
+import com.api.test.data_providers.FieldMatrix;
+import com.api.test.verifications.ErrorMessagesVerification;
+import com.api.test.verifications.ParsedResponse;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.apache.http.HttpStatus;
+
+/**
+ * What every response to a fuzzed payload must satisfy, however broken the payload: the service
+ * either binds it ({@code 200} with the whole model) or rejects it ({@code 400} with a validation
+ * problem as checked by {@link ErrorMessagesVerification}), and it does so within the latency
+ * outlier of the plan.
+ */
+public final class Invariants {
+
+  private final ErrorMessagesVerification errorMessagesVerification =
+      new ErrorMessagesVerification();
+  private final long latencyOutlierNanos;
+
+  public Invariants(Duration latencyOutlier) {
+    this.latencyOutlierNanos = latencyOutlier.toNanos();
+  }
+
+  /** The broken invariant, or {@code null} when the response is fine. */
+  public Violation check(FuzzTarget target, int status, byte[] body, long nanos) {
+    if (status >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+      return new Violation(Violation.Kind.SERVER_ERROR, status, preview(body));
+    }
+    if (status != HttpStatus.SC_OK && status != HttpStatus.SC_BAD_REQUEST) {
+      return new Violation(Violation.Kind.UNEXPECTED_STATUS, status, preview(body));
+    }
+    String shapeError =
+        status == HttpStatus.SC_OK ? modelError(target, body) : validationProblemError(body);
+    if (shapeError != null) {
+      Violation.Kind kind =
+          status == HttpStatus.SC_OK ? Violation.Kind.RESPONSE_SHAPE : Violation.Kind.ERROR_SHAPE;
+      return new Violation(kind, status, shapeError + ": " + preview(body));
+    }
+    if (nanos > latencyOutlierNanos) {
+      return new Violation(
+          Violation.Kind.LATENCY_OUTLIER, status, Duration.ofNanos(nanos).toMillis() + " ms");
+    }
+    return null;
+  }
+
+  public Violation transportError(Exception e) {
+    return new Violation(
+        Violation.Kind.TRANSPORT, 0, e.getClass().getName() + ": " + e.getMessage());
+  }
+
+  private String validationProblemError(byte[] body) {
+    try {
+      errorMessagesVerification.verifyValidationProblem(ParsedResponse.of(body));
+      return null;
+    } catch (AssertionError | UncheckedIOException e) {
+      return e.getMessage();
+    }
+  }
+
+  private static String modelError(FuzzTarget target, byte[] body) {
+    ParsedResponse response = ParsedResponse.of(body);
+    try {
+      if (!response.root().isObject()) {
+        return "Not an object";
+      }
+    } catch (UncheckedIOException e) {
+      return e.getMessage();
+    }
+    for (FieldMatrix.Field field : target.getFields()) {
+      if (!response.root().has(field.name())) {
+        return "No " + field.name();
+      }
+    }
+    return null;
+  }
+
+  private static String preview(byte[] body) {
+    String text = new String(body, StandardCharsets.UTF_8);
+    return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+  }
+}
@@ -0,0 +1,184 @@
+package com.api.test.fuzz;
+
+import com.api.test.data_providers.FieldMatrix;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * The ways {@link PayloadMutator} changes a valid payload. Each mutation gets the payload object of
+ * the target and returns the new root, which is the same object unless the mutation replaced it;
+ * {@link #ROOT_TYPE} is always applied last, so the others always get an object.
+ */
+public enum Mutation {
+  /** A field gets a value of another JSON type. */
+  TYPE {
+    @Override
+    JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random) {
+      payload.set(field(target, random), scalarOrContainer(random));
+      return payload;
+    }
+  },
+  /** A field gets a string or an array far longer than any real value, or an empty one. */
+  SIZE {
+    @Override
+    JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random) {
+      int length = SIZES[random.nextInt(SIZES.length)];
+      if (random.nextInt(4) == 0) {
+        ArrayNode array = payload.putArray(field(target, random));
+        for (int i = 0; i < Math.min(length, 10_000); i++) {
+          array.add(i);
+        }
+      } else {
+        payload.put(field(target, random), "x".repeat(length));
+      }
+      return payload;
+    }
+  },
+  /**
+   * A string field, or the name of a field, gets characters that trip up encoders: astral and
+   * combining characters, right-to-left and zero-width marks, controls, a byte-order mark, a lone
+   * surrogate.
+   */
+  UNICODE {
+    @Override
+    JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random) {
+      StringBuilder text = new StringBuilder();
+      int count = 1 + random.nextInt(64);
+      for (int i = 0; i < count; i++) {
+        text.append(UNICODE_SAMPLES[random.nextInt(UNICODE_SAMPLES.length)]);
+      }
+      String field = field(target, random);
+      if (random.nextInt(4) == 0) {
+        JsonNode value = payload.remove(field);
+        payload.set(random.nextBoolean() ? field + text : text.toString(), value);
+      } else {
+        payload.put(field, text.toString());
+      }
+      return payload;
+    }
+  },
+  /** A field, known or not, gets arrays and objects nested up to {@link #MAX_DEPTH} deep. */
+  NESTING {
+    @Override
+    JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random) {
+      int depth = 1 + random.nextInt(MAX_DEPTH);
+      JsonNode value = scalar(random);
+      for (int i = 0; i < depth; i++) {
+        if (random.nextBoolean()) {
+          value = NODES.arrayNode().add(value);
+        } else {
+          ObjectNode wrapper = NODES.objectNode();
+          wrapper.set(random.nextBoolean() ? "a" : field(target, random), value);
+          value = wrapper;
+        }
+      }
+      payload.set(random.nextInt(3) == 0 ? "nested" : field(target, random), value);
+      return payload;
+    }
+  },
+  /** One or more fields are left out. */
+  MISSING_FIELD {
+    @Override
+    JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random) {
+      int count = 1 + random.nextInt(target.getFields().size());
+      for (int i = 0; i < count; i++) {
+        payload.remove(field(target, random));
+      }
+      return payload;
+    }
+  },
+  /**
+   * A field the model does not have, or a second spelling of one it has, e.g. {@code PAGECOUNT}
+   * after {@code pageCount}; names bind case-insensitively, so the last one should win.
+   */
+  EXTRA_FIELD {
+    @Override
+    JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random) {
+      String field = field(target, random);
+      String name =
+          switch (random.nextInt(4)) {
+            case 0 -> field.toUpperCase(Locale.ROOT);
+            case 1 -> Character.toUpperCase(field.charAt(0)) + field.substring(1);
+            case 2 -> field + "_";
+            default -> "extra" + random.nextInt(1_000);
+          };
+      payload.set(name, scalarOrContainer(random));
+      return payload;
+    }
+  },
+  /** A field gets a number past the range of its type, or an integer written as a fraction. */
+  NUMERIC_OVERFLOW {
+    @Override
+    JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random) {
+      payload.set(field(target, random), OVERFLOWS.get(random.nextInt(OVERFLOWS.size())));
+      return payload;
+    }
+  },
+  /** The body is not an object at all, e.g. the payload inside an array, or a bare string. */
+  ROOT_TYPE {
+    @Override
+    JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random) {
+      return switch (random.nextInt(5)) {
+        case 0 -> NODES.arrayNode().add(payload);
+        case 1 -> NODES.textNode(Payloads.toJson(payload));
+        case 2 -> NODES.arrayNode();
+        case 3 -> NODES.nullNode();
+        default -> scalar(random);
+      };
+    }
+  };
+
+  /** Deeper than any real payload, well short of the recursion limits of the JSON libraries. */
+  static final int MAX_DEPTH = 512;
+
+  private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+  private static final int[] SIZES = {0, 1, 255, 256, 4_096, 65_536, 1 << 20};
+  private static final String[] UNICODE_SAMPLES = {
+    "\u00E9", "e\u0301", "\u4E2D\u6587", "\uD83D\uDE00", "\uD83D\uDC69\u200D\uD83D\uDC67",
+    "\u202Eabc", "\u200B", "\uFEFF", "\u0000", "\u001F", "\\", "\"", "\uD800", "\uFFFF"
+  };
+  private static final List<JsonNode> OVERFLOWS =
+      List.of(
+          NODES.numberNode(Integer.MAX_VALUE + 1L),
+          NODES.numberNode(Integer.MIN_VALUE - 1L),
+          NODES.numberNode(Long.MAX_VALUE),
+          NODES.numberNode(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)),
+          NODES.numberNode(BigInteger.TEN.pow(40).negate()),
+          NODES.numberNode(new BigDecimal("1e400")),
+          NODES.numberNode(new BigDecimal("1.0")),
+          NODES.numberNode(1e-300),
+          NODES.numberNode(-0.0));
+
+  /** Returns the new root: {@code payload} itself, or what replaced it. */
+  abstract JsonNode apply(ObjectNode payload, FuzzTarget target, SplittableRandom random);
+
+  private static String field(FuzzTarget target, SplittableRandom random) {
+    List<FieldMatrix.Field> fields = target.getFields();
+    return fields.get(random.nextInt(fields.size())).name();
+  }
+
+  private static JsonNode scalar(SplittableRandom random) {
+    return switch (random.nextInt(5)) {
+      case 0 -> NODES.numberNode(random.nextInt());
+      case 1 -> NODES.numberNode(random.nextDouble());
+      case 2 -> NODES.textNode(Integer.toString(random.nextInt(1_000)));
+      case 3 -> NODES.booleanNode(random.nextBoolean());
+      default -> NODES.nullNode();
+    };
+  }
+
+  private static JsonNode scalarOrContainer(SplittableRandom random) {
+    return switch (random.nextInt(4)) {
+      case 0 -> NODES.arrayNode().add(scalar(random));
+      case 1 -> NODES.objectNode().set("value", scalar(random));
+      default -> scalar(random);
+    };
+  }
+}
@@ -0,0 +1,55 @@
+package com.api.test.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The {@code PayloadMutator} class generates fuzz cases: a target, a valid payload for it and one
+ * to three {@link Mutation}s on top. Case {@code i} only depends on the seed and {@code i}, not on
+ * the cases before it, so workers can generate cases in any order and a failing case is replayed
+ * from its index alone.
+ */
+public final class PayloadMutator {
+
+  private static final List<Mutation> OBJECT_MUTATIONS =
+      List.copyOf(EnumSet.complementOf(EnumSet.of(Mutation.ROOT_TYPE)));
+  private static final int MAX_MUTATIONS = 3;
+  // 1 in ROOT_TYPE_ODDS cases sends something other than an object
+  private static final int ROOT_TYPE_ODDS = 16;
+
+  private final long seed;
+  private final int maxId;
+
+  /** @param maxId the path ids of the updates are picked from 1 to {@code maxId} */
+  public PayloadMutator(long seed, int maxId) {
+    this.seed = seed;
+    this.maxId = maxId;
+  }
+
+  public FuzzCase generate(long index) {
+    // golden-ratio stride, as in SplittableRandom itself, so neighbouring cases do not correlate
+    SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+    FuzzTarget[] targets = FuzzTarget.values();
+    FuzzTarget target = targets[random.nextInt(targets.length)];
+    int id = 1 + random.nextInt(maxId);
+
+    ObjectNode payload = target.validPayload(random);
+    int count = 1 + random.nextInt(MAX_MUTATIONS);
+    List<Mutation> applied = new ArrayList<>(count + 1);
+    for (int i = 0; i < count; i++) {
+      Mutation mutation = OBJECT_MUTATIONS.get(random.nextInt(OBJECT_MUTATIONS.size()));
+      mutation.apply(payload, target, random);
+      applied.add(mutation);
+    }
+    JsonNode root = payload;
+    if (random.nextInt(ROOT_TYPE_ODDS) == 0) {
+      root = Mutation.ROOT_TYPE.apply(payload, target, random);
+      applied.add(Mutation.ROOT_TYPE);
+    }
+    return new FuzzCase(index, target, id, List.copyOf(applied), root);
+  }
+}
@@ -0,0 +1,27 @@
+package com.api.test.fuzz;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+
+/** Serialization of the payload trees the fuzzer mutates and shrinks. */
+final class Payloads {
+
+  static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private Payloads() {}
+
+  static String toJson(JsonNode payload) {
+    try {
+      return MAPPER.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not write payload", e);
+    }
+  }
+
+  /** The size of the request body, in UTF-8 bytes. */
+  static int size(JsonNode payload) {
+    return toJson(payload).getBytes(StandardCharsets.UTF_8).length;
+  }
+}
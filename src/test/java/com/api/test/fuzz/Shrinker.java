@@ -0,0 +1,191 @@
+package com.api.test.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The {@code Shrinker} class reduces a failing payload to a small one that still fails the same
+ * way. It is greedy: it tries simpler versions of the payload, largest cuts first, and restarts
+ * from the first one that still fails, until none does or the attempt budget is spent. A candidate
+ * is only tried when its body is strictly shorter, so shrinking always ends.
+ *
+ * <p>The simpler versions of a payload, for every node from the root down: without one of its
+ * fields or elements; replaced by one of its children, which undoes one level of nesting at a
+ * time; replaced by {@code null}, an empty container or a trivial value; a string cut in half or
+ * one character shorter; a number with a digit less.
+ */
+public final class Shrinker {
+
+  private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+  private final int maxAttempts;
+
+  public Shrinker(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * @param payload a payload for which {@code fails} is true
+   * @param fails sends a candidate and tells whether it fails the same way; called at most {@code
+   *     maxAttempts} times
+   */
+  public Result shrink(JsonNode payload, Predicate<JsonNode> fails) {
+    JsonNode current = payload;
+    int currentSize = Payloads.size(payload);
+    int attempts = 0;
+    int steps = 0;
+    boolean shrunk = true;
+    while (shrunk && attempts < maxAttempts) {
+      shrunk = false;
+      for (Iterator<Supplier<JsonNode>> candidates = candidates(current).iterator();
+          candidates.hasNext() && attempts < maxAttempts; ) {
+        JsonNode candidate = candidates.next().get();
+        int size = Payloads.size(candidate);
+        if (size >= currentSize) {
+          continue;
+        }
+        attempts++;
+        if (fails.test(candidate)) {
+          current = candidate;
+          currentSize = size;
+          steps++;
+          shrunk = true;
+          break;
+        }
+      }
+    }
+    return new Result(current, attempts, steps);
+  }
+
+  /**
+   * @param payload the smallest payload found that still fails
+   * @param attempts the candidates sent
+   * @param steps the candidates that still failed, each one smaller than the one before
+   */
+  public record Result(JsonNode payload, int attempts, int steps) {}
+
+  /**
+   * The simpler versions of {@code root}, bigger cuts first. Each is copied from {@code root} only
+   * when it is asked for: the first ones usually still fail, and a payload with thousands of
+   * elements has thousands of candidates.
+   */
+  static List<Supplier<JsonNode>> candidates(JsonNode root) {
+    List<Supplier<JsonNode>> candidates = new ArrayList<>();
+    collect(root, new ArrayList<>(), root, candidates);
+    return candidates;
+  }
+
+  private static void collect(
+      JsonNode root, List<Object> path, JsonNode node, List<Supplier<JsonNode>> candidates) {
+    List<Object> at = List.copyOf(path);
+    if (node.isObject()) {
+      node.fieldNames()
+          .forEachRemaining(
+              name -> candidates.add(() -> replace(root, at, removeField(node, name))));
+    } else if (node.isArray()) {
+      int size = node.size();
+      if (size > 1) {
+        candidates.add(() -> replace(root, at, slice(node, 0, size / 2)));
+        candidates.add(() -> replace(root, at, slice(node, size / 2, size)));
+      }
+      for (int i = 0; i < size; i++) {
+        int index = i;
+        candidates.add(() -> replace(root, at, removeElement(node, index)));
+      }
+    }
+    node.elements()
+        .forEachRemaining(child -> candidates.add(() -> replace(root, at, child.deepCopy())));
+    for (JsonNode simpler : simpler(node)) {
+      candidates.add(() -> replace(root, at, simpler));
+    }
+
+    if (node.isObject()) {
+      node.fields()
+          .forEachRemaining(
+              field -> {
+                path.add(field.getKey());
+                collect(root, path, field.getValue(), candidates);
+                path.remove(path.size() - 1);
+              });
+    } else if (node.isArray()) {
+      for (int i = 0; i < node.size(); i++) {
+        path.add(i);
+        collect(root, path, node.get(i), candidates);
+        path.remove(path.size() - 1);
+      }
+    }
+  }
+
+  private static List<JsonNode> simpler(JsonNode node) {
+    List<JsonNode> simpler = new ArrayList<>();
+    simpler.add(NODES.nullNode());
+    if (node.isContainerNode()) {
+      simpler.add(node.isObject() ? NODES.objectNode() : NODES.arrayNode());
+    } else if (node.isTextual()) {
+      String text = node.asText();
+      simpler.add(NODES.textNode(""));
+      simpler.add(NODES.textNode(text.substring(0, text.length() / 2)));
+      simpler.add(NODES.textNode(text.substring(text.length() / 2)));
+      if (!text.isEmpty()) {
+        simpler.add(NODES.textNode(text.substring(1)));
+        simpler.add(NODES.textNode(text.substring(0, text.length() - 1)));
+      }
+    } else if (node.isNumber()) {
+      simpler.add(NODES.numberNode(0));
+      if (node.isIntegralNumber()) {
+        simpler.add(NODES.numberNode(node.bigIntegerValue().divide(BigInteger.TEN)));
+      } else {
+        simpler.add(NODES.numberNode(node.decimalValue().stripTrailingZeros().movePointLeft(1)));
+      }
+    }
+    return simpler;
+  }
+
+  private static JsonNode removeField(JsonNode object, String name) {
+    ObjectNode copy = (ObjectNode) object.deepCopy();
+    copy.remove(name);
+    return copy;
+  }
+
+  private static JsonNode removeElement(JsonNode array, int index) {
+    ArrayNode copy = (ArrayNode) array.deepCopy();
+    copy.remove(index);
+    return copy;
+  }
+
+  private static JsonNode slice(JsonNode array, int from, int to) {
+    ArrayNode slice = NODES.arrayNode(to - from);
+    for (int i = from; i < to; i++) {
+      slice.add(array.get(i).deepCopy());
+    }
+    return slice;
+  }
+
+  /** A copy of {@code root} with {@code replacement} at {@code path}. */
+  private static JsonNode replace(JsonNode root, List<Object> path, JsonNode replacement) {
+    if (path.isEmpty()) {
+      return replacement;
+    }
+    JsonNode copy = root.deepCopy();
+    JsonNode parent = copy;
+    for (int i = 0; i < path.size() - 1; i++) {
+      Object segment = path.get(i);
+      parent = segment instanceof Integer index ? parent.get(index) : parent.get((String) segment);
+    }
+    Object last = path.get(path.size() - 1);
+    if (last instanceof Integer index) {
+      ((ArrayNode) parent).set(index, replacement);
+    } else {
+      ((ObjectNode) parent).set((String) last, replacement);
+    }
+    return copy;
+  }
+}
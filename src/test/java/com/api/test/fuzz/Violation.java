@@ -0,0 +1,29 @@
+package com.api.test.fuzz;
+
+/**
+ * A response that breaks one of the {@link Invariants}. Violations with the same target, kind and
+ * status are taken to be the same problem and share a {@link #signature(FuzzTarget)}.
+ *
+ * @param status the response status, {@code 0} when no response came back
+ */
+public record Violation(Kind kind, int status, String detail) {
+
+  public enum Kind {
+    /** A {@code 5xx}. */
+    SERVER_ERROR,
+    /** Neither {@code 200} nor {@code 400}. */
+    UNEXPECTED_STATUS,
+    /** A {@code 400} that is not a validation problem. */
+    ERROR_SHAPE,
+    /** A {@code 200} that is not the model. */
+    RESPONSE_SHAPE,
+    /** No response: the connection failed or was closed. */
+    TRANSPORT,
+    /** A response slower than the plan's latency outlier. */
+    LATENCY_OUTLIER
+  }
+
+  public String signature(FuzzTarget target) {
+    return target + " " + kind + (status > 0 ? " " + status : "");
+  }
+}
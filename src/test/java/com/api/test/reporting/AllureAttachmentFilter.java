@@ -0,0 +1,94 @@
+package com.api.test.reporting;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code AllureAttachmentFilter} class is a RestAssured filter that hands every request and
+ * its response to {@link AllureAttachments}, as one plain text attachment per exchange. Unlike
+ * {@code AllureRestAssured} it writes nothing while the test runs: what is kept is decided when the
+ * test is over, by the {@link AttachmentPolicy}.
+ *
+ * <p>The functional tests add it to the settings of their request objects (see {@code
+ * BaseApiTest}). Outside a test, e.g. in a benchmark, it only passes the request on.
+ */
+public class AllureAttachmentFilter implements OrderedFilter {
+
+  private final AllureAttachments attachments;
+
+  public AllureAttachmentFilter() {
+    this(AllureAttachments.shared());
+  }
+
+  public AllureAttachmentFilter(AllureAttachments attachments) {
+    this.attachments = attachments;
+  }
+
+  @Override
+  public Response filter(
+      FilterableRequestSpecification request,
+      FilterableResponseSpecification responseSpecification,
+      FilterContext context) {
+    Optional<String> test = attachments.currentTest();
+    if (test.isEmpty() || !attachments.isCollecting(test.get())) {
+      return context.next(request, responseSpecification);
+    }
+    long start = System.nanoTime();
+    Response response;
+    try {
+      response = context.next(request, responseSpecification);
+    } catch (RuntimeException e) {
+      String name = request.getMethod() + " " + request.getURI() + " -> " + e.getClass().getName();
+      attachments.record(test.get(), name, format(request) + "\n" + e + "\n");
+      throw e;
+    }
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    String name = request.getMethod() + " " + request.getURI() + " -> " + response.statusCode();
+    attachments.record(test.get(), name, format(request) + "\n" + format(response, millis));
+    return response;
+  }
+
+  // runs last, so it sees the request as it goes on the wire
+  @Override
+  public int getOrder() {
+    return LOWEST_PRECEDENCE;
+  }
+
+  private String format(FilterableRequestSpecification request) {
+    StringBuilder text = new StringBuilder();
+    text.append(request.getMethod()).append(' ').append(request.getURI()).append('\n');
+    for (Header header : request.getHeaders()) {
+      text.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+    }
+    Object body = request.getBody();
+    if (body != null) {
+      // pre-encoded payloads are UTF-8 JSON like the others
+      String json =
+          body instanceof byte[] bytes
+              ? new String(bytes, StandardCharsets.UTF_8)
+              : body.toString();
+      text.append('\n').append(attachments.getPolicy().truncate(json)).append('\n');
+    }
+    return text.toString();
+  }
+
+  private String format(Response response, long millis) {
+    StringBuilder text = new StringBuilder();
+    text.append(response.getStatusLine()).append(" (").append(millis).append(" ms)\n");
+    for (Header header : response.getHeaders()) {
+      text.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+    }
+    String body = response.asString();
+    if (!body.isEmpty()) {
+      text.append('\n').append(attachments.getPolicy().truncate(body)).append('\n');
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,63 @@
+package com.api.test.reporting;
+
+import com.api.test.sharding.ShardingListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.internal.TestResult;
+
+/**
+ * The {@code AllureAttachmentListener} class tells {@link AllureAttachments} when a test starts
+ * and how it ended. TestNG calls {@link #afterInvocation} before the Allure listener writes the
+ * result of the test, so the attachments chosen there are part of it.
+ *
+ * <p>Registered in {@code testng.xml}. When the suite ends it waits for the attachment files still
+ * queued and prints what was attached.
+ */
+public class AllureAttachmentListener implements IInvokedMethodListener, ISuiteListener {
+
+  private final AllureAttachments attachments;
+
+  public AllureAttachmentListener() {
+    this(AllureAttachments.shared());
+  }
+
+  public AllureAttachmentListener(AllureAttachments attachments) {
+    this.attachments = attachments;
+  }
+
+  @Override
+  public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+    if (method.isTestMethod()) {
+      attachments.currentTest().ifPresent(attachments::begin);
+    }
+  }
+
+  @Override
+  public void afterInvocation(IInvokedMethod method, ITestResult result) {
+    if (method.isTestMethod()) {
+      attachments
+          .currentTest()
+          .ifPresent(uuid -> attachments.finish(uuid, idOf(result), !result.isSuccess()));
+    }
+  }
+
+  @Override
+  public void onFinish(ISuite suite) {
+    if (attachments.getPolicy().isEnabled()) {
+      attachments.close();
+      System.out.println("Allure attachments: " + attachments.stats());
+    }
+  }
+
+  /** {@code <class>#<method>}, with {@code [<invocation>]} for a data-driven test. */
+  private static String idOf(ITestResult result) {
+    String id = ShardingListener.idOf(result.getMethod());
+    if (result.getMethod().isDataDriven() && result instanceof TestResult testResult) {
+      id += "[" + testResult.getParameterIndex() + "]";
+    }
+    return id;
+  }
+}
@@ -0,0 +1,178 @@
+package com.api.test.reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code AllureAttachments} class holds the HTTP exchanges of every running test until the
+ * test is over, and then attaches them to its Allure result or throws them away as its {@link
+ * AttachmentPolicy} says. The attachment references are added to the result right away; the files
+ * themselves are written by an {@link AttachmentWriter} in the background.
+ *
+ * <p>Tests are told apart by the Allure test case of the calling thread, which virtual threads
+ * started by a test inherit, so asynchronous requests count towards the test that sent them.
+ * {@link AllureAttachmentListener} opens and closes the tests, {@link AllureAttachmentFilter}
+ * records the exchanges.
+ */
+public final class AllureAttachments {
+
+  private static final AllureAttachments SHARED =
+      new AllureAttachments(Allure.getLifecycle(), AttachmentPolicy.fromConfiguration());
+
+  private final AllureLifecycle lifecycle;
+  private final AttachmentPolicy policy;
+  private final AttachmentWriter writer;
+  // Allure test case uuid -> the exchanges so far, only while that test runs
+  private final Map<String, Exchanges> running = new ConcurrentHashMap<>();
+
+  private final LongAdder testsAttached = new LongAdder();
+  private final LongAdder testsSkipped = new LongAdder();
+  private final LongAdder exchangesRecorded = new LongAdder();
+
+  public AllureAttachments(AllureLifecycle lifecycle, AttachmentPolicy policy) {
+    this.lifecycle = lifecycle;
+    this.policy = policy;
+    this.writer = new AttachmentWriter(lifecycle, policy.getQueueCapacity());
+  }
+
+  /** The instance of the test suite, configured by {@code attachments.*}. */
+  public static AllureAttachments shared() {
+    return SHARED;
+  }
+
+  public AttachmentPolicy getPolicy() {
+    return policy;
+  }
+
+  public AttachmentWriter getWriter() {
+    return writer;
+  }
+
+  /** The Allure test case running on this thread, if any. */
+  public Optional<String> currentTest() {
+    return lifecycle.getCurrentTestCase();
+  }
+
+  /** Starts collecting the exchanges of the test case {@code uuid}. */
+  public void begin(String uuid) {
+    if (policy.isEnabled()) {
+      running.put(uuid, new Exchanges());
+    }
+  }
+
+  /** Whether exchanges of the test case {@code uuid} are collected. */
+  public boolean isCollecting(String uuid) {
+    return running.containsKey(uuid);
+  }
+
+  /**
+   * Records an exchange of the test case {@code uuid}. Ignored when that test is not running, e.g.
+   * for a request that was still in flight when its test ended.
+   *
+   * @param name the attachment name, e.g. {@code GET /api/v1/Books/1 -> 200}
+   * @param text the request and response, bodies already cut by {@link AttachmentPolicy#truncate}
+   */
+  public void record(String uuid, String name, String text) {
+    Exchanges exchanges = running.get(uuid);
+    if (exchanges != null) {
+      exchangesRecorded.increment();
+      exchanges.add(name, text, policy.getMaxExchangesPerTest());
+    }
+  }
+
+  /**
+   * Ends the test case {@code uuid}: attaches its exchanges when the policy keeps them for a test
+   * with the id {@code testId} and that outcome, otherwise drops them.
+   *
+   * @return the number of exchanges attached
+   */
+  public int finish(String uuid, String testId, boolean failed) {
+    Exchanges exchanges = running.remove(uuid);
+    if (exchanges == null || exchanges.isEmpty()) {
+      return 0;
+    }
+    if (!policy.attaches(testId, failed)) {
+      testsSkipped.increment();
+      return 0;
+    }
+    testsAttached.increment();
+    List<Attachment> attachments = new ArrayList<>();
+    for (Exchanges.Entry entry : exchanges.entries()) {
+      String source = UUID.randomUUID() + "-attachment.txt";
+      if (writer.offer(source, entry.text().getBytes(StandardCharsets.UTF_8))) {
+        attachments.add(
+            new Attachment().setName(entry.name()).setType("text/plain").setSource(source));
+      }
+    }
+    if (exchanges.omitted() > 0) {
+      String source = UUID.randomUUID() + "-attachment.txt";
+      String note =
+          String.format(
+              "%d more exchanges not attached, attachments.maxExchangesPerTest is %d%n",
+              exchanges.omitted(), policy.getMaxExchangesPerTest());
+      if (writer.offer(source, note.getBytes(StandardCharsets.UTF_8))) {
+        attachments.add(
+            new Attachment().setName("Omitted exchanges").setType("text/plain").setSource(source));
+      }
+    }
+    lifecycle.updateTestCase(uuid, result -> result.getAttachments().addAll(attachments));
+    return attachments.size();
+  }
+
+  /** Waits for the files of all attachments so far, then stops the writer. */
+  public void close() {
+    writer.close();
+  }
+
+  /** What was attached and written, for the end of the run. */
+  public String stats() {
+    return String.format(
+        "%d exchanges recorded, tests attached %d, sampled out %d; %d files (%,d KB) written,"
+            + " %d dropped, %d failed",
+        exchangesRecorded.sum(),
+        testsAttached.sum(),
+        testsSkipped.sum(),
+        writer.getWritten(),
+        writer.getWrittenBytes() / 1024,
+        writer.getDropped(),
+        writer.getFailed());
+  }
+
+  /** The exchanges of one test, up to the per-test maximum. */
+  private static final class Exchanges {
+
+    private final List<Entry> entries = new ArrayList<>();
+    private int omitted;
+
+    synchronized void add(String name, String text, int max) {
+      if (entries.size() < max) {
+        entries.add(new Entry(name, text));
+      } else {
+        omitted++;
+      }
+    }
+
+    synchronized boolean isEmpty() {
+      return entries.isEmpty();
+    }
+
+    synchronized List<Entry> entries() {
+      return List.copyOf(entries);
+    }
+
+    synchronized int omitted() {
+      return omitted;
+    }
+
+    private record Entry(String name, String text) {}
+  }
+}
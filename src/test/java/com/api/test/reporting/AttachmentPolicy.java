@@ -0,0 +1,64 @@
+package com.api.test.reporting;
+
+import com.api.test.configs.ConfigurationLoader;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The {@code AttachmentPolicy} class decides which HTTP exchanges of a test end up as Allure
+ * attachments. A failed test keeps all of them; a passing one is kept with {@code samplePercent}
+ * probability. Bodies longer than {@code maxBodyChars} characters are cut off, and at most {@code
+ * maxExchangesPerTest} exchanges are kept per test, the first ones.
+ *
+ * <p>Sampling is by test id, not random: the same passing tests are attached run after run, so the
+ * reports of two runs can be compared.
+ */
+@Getter
+@Builder
+public class AttachmentPolicy {
+
+  @Builder.Default private final boolean enabled = true;
+  @Builder.Default private final int samplePercent = 5;
+  @Builder.Default private final int maxBodyChars = 16 * 1024;
+  @Builder.Default private final int maxExchangesPerTest = 50;
+  @Builder.Default private final int queueCapacity = 10_000;
+
+  /** Policy from the {@code attachments.*} settings of the active environment. */
+  public static AttachmentPolicy fromConfiguration() {
+    return AttachmentPolicy.builder()
+        .enabled(
+            Boolean.parseBoolean(
+                ConfigurationLoader.getProperty("attachments.enabled", "true").trim()))
+        .samplePercent(ConfigurationLoader.getIntProperty("attachments.samplePercent", 5))
+        .maxBodyChars(ConfigurationLoader.getIntProperty("attachments.maxBodyChars", 16 * 1024))
+        .maxExchangesPerTest(
+            ConfigurationLoader.getIntProperty("attachments.maxExchangesPerTest", 50))
+        .queueCapacity(ConfigurationLoader.getIntProperty("attachments.queueCapacity", 10_000))
+        .build();
+  }
+
+  /** Whether the exchanges of the test {@code testId} are attached. */
+  public boolean attaches(String testId, boolean failed) {
+    if (!enabled) {
+      return false;
+    }
+    if (failed || samplePercent >= 100) {
+      return true;
+    }
+    if (samplePercent <= 0) {
+      return false;
+    }
+    // spreads similar ids (row 1, row 2, ...) evenly over the buckets
+    int hash = testId.hashCode() * 0x9E3779B9;
+    return Math.floorMod(hash ^ (hash >>> 16), 100) < samplePercent;
+  }
+
+  /** {@code body} cut to {@code maxBodyChars} characters, with a note on what was left out. */
+  public String truncate(String body) {
+    if (body == null || body.length() <= maxBodyChars) {
+      return body;
+    }
+    return body.substring(0, maxBodyChars)
+        + String.format("%n... [%,d more characters not attached]", body.length() - maxBodyChars);
+  }
+}
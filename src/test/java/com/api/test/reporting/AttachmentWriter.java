@@ -0,0 +1,146 @@
+package com.api.test.reporting;
+
+import io.qameta.allure.AllureLifecycle;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code AttachmentWriter} class writes attachment files to the Allure results directory on a
+ * thread of its own, so a test thread hands its attachments over and moves on instead of waiting
+ * for the disk. The thread takes whatever is queued, up to {@link #BATCH_SIZE} at a time, and
+ * writes it in one go.
+ *
+ * <p>The queue is bounded: when the disk cannot keep up, {@link #offer} refuses the attachment and
+ * the caller leaves it out of the report rather than block or run out of memory. {@link #flush}
+ * waits until everything accepted so far is on disk; call {@link #close} before the JVM exits.
+ */
+public final class AttachmentWriter implements AutoCloseable {
+
+  static final int BATCH_SIZE = 256;
+
+  private final AllureLifecycle lifecycle;
+  private final BlockingQueue<Pending> queue;
+  private final Thread thread;
+  // accepted but not yet written, guarded by this
+  private long pending;
+  private volatile boolean closed;
+
+  private final LongAdder written = new LongAdder();
+  private final LongAdder writtenBytes = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+
+  public AttachmentWriter(AllureLifecycle lifecycle, int capacity) {
+    this.lifecycle = lifecycle;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.thread = new Thread(this::run, "allure-attachment-writer");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Queues {@code content} to be written as the attachment file {@code source}.
+   *
+   * @return {@code false} when the queue is full or the writer is closed; nothing is written then
+   */
+  public boolean offer(String source, byte[] content) {
+    synchronized (this) {
+      if (closed) {
+        dropped.increment();
+        return false;
+      }
+      pending++;
+    }
+    if (queue.offer(new Pending(source, content))) {
+      return true;
+    }
+    synchronized (this) {
+      pending--;
+    }
+    dropped.increment();
+    return false;
+  }
+
+  /** Waits until all attachments accepted so far are written. */
+  public void flush() throws InterruptedException {
+    synchronized (this) {
+      while (pending > 0) {
+        wait();
+      }
+    }
+  }
+
+  /** Writes what is queued, then stops the writer thread. */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    try {
+      flush();
+      thread.interrupt();
+      thread.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public long getWritten() {
+    return written.sum();
+  }
+
+  public long getWrittenBytes() {
+    return writtenBytes.sum();
+  }
+
+  /** Attachments refused because the queue was full or the writer closed. */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /** Attachments that could not be written. */
+  public long getFailed() {
+    return failed.sum();
+  }
+
+  private void run() {
+    List<Pending> batch = new ArrayList<>(BATCH_SIZE);
+    while (true) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        if (queue.isEmpty()) {
+          return;
+        }
+      }
+      queue.drainTo(batch, BATCH_SIZE - batch.size());
+      for (Pending attachment : batch) {
+        write(attachment);
+      }
+      synchronized (this) {
+        pending -= batch.size();
+        notifyAll();
+      }
+      batch.clear();
+    }
+  }
+
+  private void write(Pending attachment) {
+    try {
+      lifecycle.writeAttachment(
+          attachment.source(), new ByteArrayInputStream(attachment.content()));
+      written.increment();
+      writtenBytes.add(attachment.content().length);
+    } catch (RuntimeException e) {
+      // a missing attachment must not take the run down; the report shows it as unavailable
+      failed.increment();
+    }
+  }
+
+  private record Pending(String source, byte[] content) {}
+}
@@ -0,0 +1,61 @@
+package com.api.test.sharding;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * One of {@code count} slices of the test suite, selected with {@code -Dshard=<index>/<count>},
+ * e.g. {@code -Dshard=2/4}. Indexes start at 1. Without {@code -Dshard} the whole suite is one
+ * shard, {@link #ALL}.
+ *
+ * <p>{@link #hashOf(String, int)} assigns a test to a shard by a CRC32C of its id, so every JVM
+ * computes the same split without talking to the others, and a test keeps its shard as long as its
+ * class, method and data-provider row do not change.
+ */
+public record Shard(int index, int count) {
+
+  public static final Shard ALL = new Shard(1, 1);
+
+  public Shard {
+    if (count < 1 || index < 1 || index > count) {
+      throw new IllegalArgumentException(
+          "Invalid shard " + index + "/" + count + ", expected 1 <= index <= count");
+    }
+  }
+
+  /** The shard named by {@code -Dshard}, or {@link #ALL}. */
+  public static Shard fromConfiguration() {
+    String value = ConfigurationLoader.getProperty("shard", "");
+    return value.isEmpty() ? ALL : parse(value);
+  }
+
+  /** Parses {@code <index>/<count>}, e.g. {@code 2/4}. */
+  public static Shard parse(String value) {
+    String[] parts = value.trim().split("/");
+    if (parts.length != 2) {
+      throw new IllegalArgumentException("Invalid shard '" + value + "', expected e.g. 2/4");
+    }
+    try {
+      return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid shard '" + value + "', expected e.g. 2/4", e);
+    }
+  }
+
+  /** The shard, from 1 to {@code count}, that owns {@code testId} when splitting by hash. */
+  public static int hashOf(String testId, int count) {
+    CRC32C crc = new CRC32C();
+    crc.update(testId.getBytes(StandardCharsets.UTF_8));
+    return (int) (crc.getValue() % count) + 1;
+  }
+
+  public boolean isAll() {
+    return count == 1;
+  }
+
+  @Override
+  public String toString() {
+    return index + "/" + count;
+  }
+}
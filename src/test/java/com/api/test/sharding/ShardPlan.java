@@ -0,0 +1,74 @@
+package com.api.test.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides which tests belong to a {@link Shard}. Two modes are available, chosen with {@code
+ * shard.mode}:
+ *
+ * <ul>
+ *   <li>{@code hash} (default) - by a stable hash of the test id. Needs no input and spreads tests
+ *       evenly by number, but not by duration.
+ *   <li>{@code timing} - by the durations of a previous run ({@code shard.timingsFile}): tests are
+ *       handed out longest first, each to the shard with the least work so far, so the shards
+ *       finish at about the same time. Tests missing from the file (new tests, new data-provider
+ *       rows) fall back to the hash.
+ * </ul>
+ *
+ * <p>Both modes only depend on the shard count and the timings file, so every shard computes the
+ * same split and each test runs in exactly one of them.
+ */
+public final class ShardPlan {
+
+  private final Shard shard;
+  // test id -> owning shard, for the tests with a known duration
+  private final Map<String, Integer> assigned;
+
+  private ShardPlan(Shard shard, Map<String, Integer> assigned) {
+    this.shard = shard;
+    this.assigned = assigned;
+  }
+
+  public static ShardPlan hashed(Shard shard) {
+    return new ShardPlan(shard, Map.of());
+  }
+
+  /** Splits the tests in {@code durations} by duration, and any other test by hash. */
+  public static ShardPlan balanced(Shard shard, Map<String, Long> durations) {
+    List<Map.Entry<String, Long>> longestFirst = new ArrayList<>(durations.entrySet());
+    longestFirst.sort(
+        Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+    long[] loads = new long[shard.count()];
+    Map<String, Integer> assigned = new HashMap<>();
+    for (Map.Entry<String, Long> test : longestFirst) {
+      int lightest = 0;
+      for (int i = 1; i < loads.length; i++) {
+        if (loads[i] < loads[lightest]) {
+          lightest = i;
+        }
+      }
+      loads[lightest] += Math.max(0, test.getValue());
+      assigned.put(test.getKey(), lightest + 1);
+    }
+    return new ShardPlan(shard, assigned);
+  }
+
+  public Shard getShard() {
+    return shard;
+  }
+
+  /** The shard, from 1 to the shard count, that runs {@code testId}. */
+  public int shardOf(String testId) {
+    Integer owner = assigned.get(testId);
+    return owner != null ? owner : Shard.hashOf(testId, shard.count());
+  }
+
+  public boolean includes(String testId) {
+    return shard.isAll() || shardOf(testId) == shard.index();
+  }
+}
@@ -0,0 +1,135 @@
+package com.api.test.sharding;
+
+import com.api.test.metrics.EndpointMetricsReport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The {@code ShardReportMerger} class combines what the shards of one run wrote into a single
+ * result, as if the suite had run in one JVM. Every input is the {@code target} directory of one
+ * shard (or a copy of it, e.g. a downloaded CI artifact); the output directory gets:
+ *
+ * <ul>
+ *   <li>{@code allure-results/} - the Allure results of all shards, for {@code allure generate}
+ *   <li>{@code metrics/endpoint-metrics.csv} and {@code .json} - the endpoint metrics of all shards
+ *       added up, with percentiles computed over all calls
+ *   <li>{@code test-timings.json} - the test durations of all shards, the input of the next {@code
+ *       -Dshard.mode=timing} run
+ * </ul>
+ *
+ * <p>It prints the test time of every shard, which shows how evenly the run was split.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   mvn -Pmerge-shards test-compile exec:java \
+ *       -Dexec.args="target/merged shard-1/target shard-2/target"
+ * }
+ * </pre>
+ */
+public final class ShardReportMerger {
+
+  public static final String ALLURE_RESULTS = "allure-results";
+  public static final String METRICS = "metrics";
+  public static final String TIMINGS = "test-timings";
+  public static final String MERGED_TIMINGS_FILE = "test-timings.json";
+
+  private final Path output;
+
+  public ShardReportMerger(Path output) {
+    this.output = output;
+  }
+
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.err.println("Usage: ShardReportMerger <output dir> <shard target dir>...");
+      System.exit(2);
+    }
+    List<Path> shards = new ArrayList<>();
+    for (int i = 1; i < args.length; i++) {
+      shards.add(Path.of(args[i]));
+    }
+    new ShardReportMerger(Path.of(args[0])).merge(shards);
+  }
+
+  /** Merges the results of {@code shards} into the output directory. */
+  public void merge(List<Path> shards) {
+    int allureFiles = 0;
+    List<EndpointMetricsReport> metrics = new ArrayList<>();
+    List<Map<String, Long>> timings = new ArrayList<>();
+    for (Path shard : shards) {
+      if (!Files.isDirectory(shard)) {
+        throw new IllegalArgumentException("Not a shard output directory: " + shard);
+      }
+      allureFiles += copyAllureResults(shard.resolve(ALLURE_RESULTS));
+      Path endpointMetrics = shard.resolve(METRICS).resolve(EndpointMetricsReport.JSON_FILE);
+      if (Files.isRegularFile(endpointMetrics)) {
+        metrics.add(EndpointMetricsReport.readJson(endpointMetrics));
+      }
+      Map<String, Long> shardTimings = readTimings(shard.resolve(TIMINGS));
+      timings.add(shardTimings);
+      System.out.printf(
+          "%-40s %5d tests %9.1f s%n",
+          shard,
+          shardTimings.size(),
+          shardTimings.values().stream().mapToLong(Long::longValue).sum() / 1000.0);
+    }
+
+    EndpointMetricsReport mergedMetrics = EndpointMetricsReport.merge(metrics);
+    if (!mergedMetrics.isEmpty()) {
+      mergedMetrics.writeTo(output.resolve(METRICS));
+      mergedMetrics.print(System.out);
+    }
+    Map<String, Long> mergedTimings = TestTimings.merge(timings);
+    TestTimings.write(output.resolve(MERGED_TIMINGS_FILE), mergedTimings);
+    System.out.printf(
+        "Merged %d shards: %d Allure result files, %d tests, written to %s%n",
+        shards.size(), allureFiles, mergedTimings.size(), output);
+  }
+
+  /**
+   * Copies the result files of one shard. Test results have unique names; files every shard writes
+   * (environment, executor, categories) are taken from the first shard that has them.
+   */
+  private int copyAllureResults(Path results) {
+    if (!Files.isDirectory(results)) {
+      return 0;
+    }
+    Path target = output.resolve(ALLURE_RESULTS);
+    int copied = 0;
+    try (Stream<Path> files = Files.list(results)) {
+      Files.createDirectories(target);
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Path destination = target.resolve(file.getFileName().toString());
+        if (Files.isRegularFile(file) && !Files.exists(destination)) {
+          Files.copy(file, destination);
+          copied++;
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not copy Allure results from " + results, e);
+    }
+    return copied;
+  }
+
+  private static Map<String, Long> readTimings(Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return Map.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return TestTimings.merge(
+          files
+              .filter(file -> file.getFileName().toString().startsWith("test-timings"))
+              .map(TestTimings::read)
+              .toList());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not list test timings in " + directory, e);
+    }
+  }
+}
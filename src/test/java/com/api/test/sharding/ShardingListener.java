@@ -0,0 +1,213 @@
+package com.api.test.sharding;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.internal.TestResult;
+
+/**
+ * The {@code ShardingListener} class splits a TestNG run over several JVMs. Started with {@code
+ * -Dshard=<index>/<count>}, it only lets through the tests its {@link ShardPlan} gives to that
+ * shard: plain test methods are selected by {@code <class>#<method>}, data-driven ones row by row
+ * by {@code <class>#<method>[<row>]}, so a large data provider is spread over all shards.
+ *
+ * <p>Whether sharded or not, it records how long every test took and writes the durations to
+ * {@code shard.outputDir} (default {@code target/test-timings}) when the suite ends, as {@code
+ * test-timings.json}, or {@code test-timings-<index>-of-<count>.json} for a shard. Those files are
+ * the input of {@code shard.mode=timing}, after {@link ShardReportMerger} has combined them.
+ *
+ * <p>Registered in {@code testng.xml}. Without {@code -Dshard} it only records durations.
+ */
+public class ShardingListener
+    implements IMethodInterceptor, IDataProviderInterceptor, ITestListener, ISuiteListener {
+
+  private final ShardPlan plan;
+  private final Path timingsFile;
+  private final Map<String, Long> durations = new ConcurrentHashMap<>();
+  // data-driven test -> the data-provider row of each invocation this shard runs, in order
+  private final Map<String, List<Integer>> rowsRun = new ConcurrentHashMap<>();
+
+  public ShardingListener() {
+    this(planFromConfiguration(), timingsFileFromConfiguration());
+  }
+
+  public ShardingListener(ShardPlan plan, Path timingsFile) {
+    this.plan = plan;
+    this.timingsFile = timingsFile;
+  }
+
+  /** The plan for {@code -Dshard} and {@code shard.mode}. */
+  public static ShardPlan planFromConfiguration() {
+    Shard shard = Shard.fromConfiguration();
+    String mode = ConfigurationLoader.getProperty("shard.mode", "hash").toLowerCase(Locale.ROOT);
+    switch (mode) {
+      case "hash":
+        return ShardPlan.hashed(shard);
+      case "timing":
+        Path file =
+            Path.of(ConfigurationLoader.getProperty("shard.timingsFile", "test-timings.json"));
+        Map<String, Long> previous = TestTimings.read(file);
+        if (previous.isEmpty()) {
+          System.out.printf("No test timings in %s, splitting shard %s by hash%n", file, shard);
+          return ShardPlan.hashed(shard);
+        }
+        return ShardPlan.balanced(shard, previous);
+      default:
+        throw new IllegalArgumentException(
+            "Unknown shard.mode '" + mode + "', expected hash or timing");
+    }
+  }
+
+  private static Path timingsFileFromConfiguration() {
+    Shard shard = Shard.fromConfiguration();
+    String name =
+        shard.isAll()
+            ? "test-timings.json"
+            : String.format("test-timings-%d-of-%d.json", shard.index(), shard.count());
+    return Path.of(ConfigurationLoader.getProperty("shard.outputDir", "target/test-timings"))
+        .resolve(name);
+  }
+
+  /** {@code <class>#<method>}, without the data-provider row. */
+  public static String idOf(ITestNGMethod method) {
+    return method.getRealClass().getName() + "#" + method.getMethodName();
+  }
+
+  @Override
+  public void onStart(ISuite suite) {
+    if (!plan.getShard().isAll()) {
+      System.out.printf("Running shard %s of suite %s%n", plan.getShard(), suite.getName());
+    }
+  }
+
+  @Override
+  public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+    if (plan.getShard().isAll()) {
+      return methods;
+    }
+    List<IMethodInstance> selected = new ArrayList<>();
+    for (IMethodInstance instance : methods) {
+      ITestNGMethod method = instance.getMethod();
+      // data-driven methods run in every shard, each with its own rows
+      if (method.isDataDriven() || plan.includes(idOf(method))) {
+        selected.add(instance);
+      }
+    }
+    return selected;
+  }
+
+  @Override
+  public Iterator<Object[]> intercept(
+      Iterator<Object[]> rows,
+      IDataProviderMethod dataProvider,
+      ITestNGMethod method,
+      ITestContext context) {
+    if (plan.getShard().isAll()) {
+      return rows;
+    }
+    String id = idOf(method);
+    List<Integer> run = new CopyOnWriteArrayList<>();
+    rowsRun.put(id, run);
+    return new Iterator<>() {
+      private int row = -1;
+      private Object[] next;
+
+      @Override
+      public boolean hasNext() {
+        while (next == null && rows.hasNext()) {
+          Object[] candidate = rows.next();
+          row++;
+          if (plan.includes(id + "[" + row + "]")) {
+            next = candidate;
+            run.add(row);
+          }
+        }
+        return next != null;
+      }
+
+      @Override
+      public Object[] next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Object[] selected = next;
+        next = null;
+        return selected;
+      }
+    };
+  }
+
+  @Override
+  public void onTestSuccess(ITestResult result) {
+    record(result);
+  }
+
+  @Override
+  public void onTestFailure(ITestResult result) {
+    record(result);
+  }
+
+  @Override
+  public void onTestSkipped(ITestResult result) {
+    record(result);
+  }
+
+  @Override
+  public void onFinish(ISuite suite) {
+    if (durations.isEmpty()) {
+      return;
+    }
+    TestTimings.write(timingsFile, durations);
+    System.out.printf(
+        "Shard %s ran %d tests in %.1f s of test time, durations written to %s%n",
+        plan.getShard(),
+        durations.size(),
+        durations.values().stream().mapToLong(Long::longValue).sum() / 1000.0,
+        timingsFile);
+  }
+
+  /** The durations recorded so far, keyed by test id. */
+  public Map<String, Long> getDurations() {
+    return Map.copyOf(durations);
+  }
+
+  private void record(ITestResult result) {
+    String id = idOf(result.getMethod());
+    if (result.getMethod().isDataDriven()) {
+      id += "[" + row(id, result) + "]";
+    }
+    // invocationCount > 1 runs the same id several times; its cost is the sum
+    durations.merge(id, Math.max(0, result.getEndMillis() - result.getStartMillis()), Long::sum);
+  }
+
+  /**
+   * The data-provider row of a data-driven invocation. TestNG numbers the rows it was handed, so
+   * behind the row filter of a shard its index has to be mapped back; {@code ITestResult} does not
+   * expose the index, only TestNG's implementation does.
+   */
+  private int row(String id, ITestResult result) {
+    int invocation = result instanceof TestResult testResult ? testResult.getParameterIndex() : -1;
+    List<Integer> run = rowsRun.get(id);
+    if (run == null || invocation < 0 || invocation >= run.size()) {
+      return invocation;
+    }
+    return run.get(invocation);
+  }
+}
@@ -0,0 +1,63 @@
+package com.api.test.sharding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Durations of single test invocations in milliseconds, keyed by test id ({@code
+ * com.api.test.tests.BooksTests#testGetAllBooks}, or {@code ...#method[2]} for the third row of a
+ * data provider). Every run writes the durations it measured; {@link ShardPlan#balanced} reads
+ * them back to split the next run evenly.
+ *
+ * <p>The file is a flat JSON object sorted by id, so it diffs well when it is committed or cached
+ * between CI runs.
+ */
+public final class TestTimings {
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private TestTimings() {}
+
+  /** The durations in {@code file}, or an empty map when it does not exist. */
+  public static Map<String, Long> read(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return new TreeMap<>();
+    }
+    try {
+      return MAPPER.readValue(file.toFile(), new TypeReference<TreeMap<String, Long>>() {});
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read test timings " + file, e);
+    }
+  }
+
+  public static void write(Path file, Map<String, Long> durations) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      MAPPER.writeValue(file.toFile(), new TreeMap<>(durations));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write test timings " + file, e);
+    }
+  }
+
+  /**
+   * Combines the durations of several shards. Shards run disjoint tests, so an id is normally in
+   * one map only; if it is in several, the longest duration is kept.
+   */
+  public static Map<String, Long> merge(Collection<Map<String, Long>> shards) {
+    Map<String, Long> merged = new TreeMap<>();
+    shards.forEach(
+        durations -> durations.forEach((id, millis) -> merged.merge(id, millis, Math::max)));
+    return merged;
+  }
+}
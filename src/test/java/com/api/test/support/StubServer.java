@@ -0,0 +1,86 @@
+package com.api.test.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code StubServer} class starts a throw-away HTTP server on a free local port, so request
+ * layer behaviour can be tested without reaching a remote environment. Each exchange is handled on
+ * its own virtual thread, which lets handlers block (e.g. to simulate a stall) without starving the
+ * other connections.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   try (StubServer server =
+ *       StubServer.start(exchange -> StubServer.respond(exchange, 200, "[]"))) {
+ *     Response response = new BookRequests(server.baseUri()).getAllBooks();
+ *   }
+ * }
+ * </pre>
+ */
+public class StubServer implements AutoCloseable {
+
+  static {
+    // headers and body are written separately; without TCP_NODELAY every response waits for the
+    // client's delayed ACK
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+  }
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  private StubServer(HttpServer server, ExecutorService executor) {
+    this.server = server;
+    this.executor = executor;
+  }
+
+  public static StubServer start(HttpHandler handler) {
+    try {
+      HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+      server.createContext("/", handler);
+      server.setExecutor(executor);
+      server.start();
+      return new StubServer(server, executor);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  public String baseUri() {
+    return String.format("http://localhost:%d/", port());
+  }
+
+  public static String readBody(HttpExchange exchange) throws IOException {
+    return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+  }
+
+  public static void respond(HttpExchange exchange, int status, String jsonBody)
+      throws IOException {
+    byte[] bytes = jsonBody.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    try (OutputStream body = exchange.getResponseBody()) {
+      body.write(bytes);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
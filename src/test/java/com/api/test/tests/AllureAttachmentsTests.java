@@ -0,0 +1,190 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.reporting.AllureAttachmentFilter;
+import com.api.test.reporting.AllureAttachments;
+import com.api.test.reporting.AttachmentPolicy;
+import com.api.test.reporting.AttachmentWriter;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.support.StubServer;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.TestResult;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class AllureAttachmentsTests extends BaseApiTest {
+
+    private static final String BOOK = "{\"id\":1,\"title\":\"" + "x".repeat(500) + "\"}";
+
+    @Test(description = "Failed tests are always attached, passing ones at the sample rate, by a stable choice")
+    public void testPolicySamplesPassingTests() {
+        AttachmentPolicy policy = AttachmentPolicy.builder().samplePercent(5).build();
+        List<String> ids = IntStream.range(0, 10_000)
+                .mapToObj(row -> "com.api.test.tests.BooksTests#testGetBookById[" + row + "]")
+                .collect(Collectors.toList());
+
+        long sampled = ids.stream().filter(id -> policy.attaches(id, false)).count();
+        assertTrue(sampled > 400 && sampled < 600, "about 5% of 10,000 tests, got " + sampled);
+        assertTrue(ids.stream().allMatch(id -> policy.attaches(id, true)), "every failed test");
+        assertEquals(ids.stream().filter(id -> policy.attaches(id, false)).count(), sampled, "same choice every time");
+
+        assertFalse(AttachmentPolicy.builder().samplePercent(0).build().attaches(ids.get(0), false));
+        assertTrue(AttachmentPolicy.builder().samplePercent(100).build().attaches(ids.get(0), false));
+        assertFalse(AttachmentPolicy.builder().enabled(false).build().attaches(ids.get(0), true));
+    }
+
+    @Test(description = "Bodies above the size limit are cut off with a note")
+    public void testPolicyTruncatesLargeBodies() {
+        AttachmentPolicy policy = AttachmentPolicy.builder().maxBodyChars(10).build();
+        assertEquals(policy.truncate("short"), "short");
+        String cut = policy.truncate("0123456789abcdef");
+        assertTrue(cut.startsWith("0123456789\n") || cut.startsWith("0123456789\r\n"), cut);
+        assertTrue(cut.endsWith("[6 more characters not attached]"), cut);
+    }
+
+    @Test(description = "The exchanges of a failed test, sync and async, are attached with truncated bodies")
+    public void testFailedTestGetsItsExchanges() throws Exception {
+        InMemoryResults results = new InMemoryResults();
+        AllureLifecycle lifecycle = new AllureLifecycle(results);
+        AllureAttachments attachments = new AllureAttachments(lifecycle,
+                AttachmentPolicy.builder().samplePercent(0).maxBodyChars(100).maxExchangesPerTest(3).build());
+        try (StubServer server = StubServer.start(exchange -> {
+            StubServer.readBody(exchange);
+            StubServer.respond(exchange, HttpStatus.SC_OK, BOOK);
+        })) {
+            BookRequests bookRequests = new BookRequests(settings(server.baseUri(), attachments));
+
+            TestResult failed = runTest(lifecycle, results, attachments, "failing", true, () -> {
+                bookRequests.getBookById(1);
+                bookRequests.createBookAsync("{\"title\":\"Krakatit\"}").join();
+                bookRequests.getBookById(2);
+                bookRequests.getBookById(3);
+            });
+            attachments.getWriter().flush();
+
+            List<Attachment> attached = failed.getAttachments();
+            assertEquals(attached.size(), 4, "three exchanges and the note on the omitted one: " + attached);
+            assertTrue(attached.get(0).getName().matches("GET http://.*/Books/1 -> 200"), attached.get(0).getName());
+            assertTrue(attached.get(1).getName().startsWith("POST "), attached.get(1).getName());
+            assertEquals(attached.get(3).getName(), "Omitted exchanges");
+            String get = results.attachment(attached.get(0).getSource());
+            assertTrue(get.contains("HTTP/1.1 200"), get);
+            assertTrue(get.contains("more characters not attached]"), get);
+            assertFalse(get.contains(BOOK), "the body is cut off");
+            assertTrue(results.attachment(attached.get(1).getSource()).contains("Krakatit"));
+
+            TestResult passed = runTest(lifecycle, results, attachments, "passing", false, () -> bookRequests.getBookById(4));
+            attachments.getWriter().flush();
+            assertTrue(passed.getAttachments().isEmpty(), "0% of the passing tests are sampled");
+            assertEquals(results.attachments.size(), 4, "nothing written for the passing test");
+        } finally {
+            attachments.close();
+        }
+    }
+
+    @Test(description = "A full writer queue refuses attachments instead of blocking the test thread")
+    public void testWriterDropsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryResults results = new InMemoryResults() {
+            @Override
+            public void write(String source, InputStream content) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.write(source, content);
+            }
+        };
+        AttachmentWriter writer = new AttachmentWriter(new AllureLifecycle(results), 2);
+        byte[] content = "exchange".getBytes(StandardCharsets.UTF_8);
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (writer.offer("a" + i + "-attachment.txt", content)) {
+                accepted++;
+            }
+        }
+        // two queued, plus the batch the writer took before it got stuck: at most three
+        assertTrue(accepted >= 2 && accepted <= 5, "accepted " + accepted);
+        assertEquals(writer.getDropped(), 10 - accepted);
+
+        release.countDown();
+        writer.close();
+        assertEquals(writer.getWritten(), accepted);
+        assertEquals(results.attachments.size(), accepted);
+        assertFalse(writer.offer("late-attachment.txt", content), "closed");
+    }
+
+    /** Runs {@code calls} as an Allure test case of {@code lifecycle} and returns its written result. */
+    private static TestResult runTest(AllureLifecycle lifecycle, InMemoryResults results,
+                                      AllureAttachments attachments, String name, boolean failed, Runnable calls) {
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName(name));
+        lifecycle.startTestCase(uuid);
+        attachments.begin(uuid);
+        try {
+            calls.run();
+        } finally {
+            attachments.finish(uuid, AllureAttachmentsTests.class.getName() + "#" + name, failed);
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        }
+        return results.results.get(uuid);
+    }
+
+    private static RequestSettings settings(String baseUri, AllureAttachments attachments) {
+        return RequestSettings.builder()
+                .baseUri(baseUri)
+                .responseCache(ResponseCache.disabled())
+                .filter(new AllureAttachmentFilter(attachments))
+                .build();
+    }
+
+    /** Keeps what Allure writes in memory. */
+    private static class InMemoryResults implements AllureResultsWriter {
+
+        final Map<String, TestResult> results = new ConcurrentHashMap<>();
+        final Map<String, String> attachments = new ConcurrentHashMap<>();
+
+        @Override
+        public void write(TestResult testResult) {
+            results.put(testResult.getUuid(), testResult);
+        }
+
+        @Override
+        public void write(io.qameta.allure.model.TestResultContainer container) {
+        }
+
+        @Override
+        public void write(String source, InputStream content) {
+            try {
+                attachments.put(source, new String(content.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        String attachment(String source) {
+            return attachments.get(source);
+        }
+    }
+}
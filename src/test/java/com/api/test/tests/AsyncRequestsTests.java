@@ -0,0 +1,161 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.requests.AsyncRequestExecutor;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpConnectionPool;
+import com.api.test.requests.RequestSettings;
+import com.api.test.support.StubServer;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+// methods share the stub server set up per method, so they must not run concurrently
+@Test(singleThreaded = true)
+public class AsyncRequestsTests extends BaseApiTest {
+
+    private static final String STALL = "stall";
+
+    private final AtomicInteger inFlightOnServer = new AtomicInteger();
+    private final AtomicInteger maxInFlightOnServer = new AtomicInteger();
+    private final AtomicInteger requestsReceived = new AtomicInteger();
+    private CountDownLatch releaseStalled;
+    private StubServer server;
+    private HttpConnectionPool pool;
+
+    @BeforeMethod
+    public void startServer() {
+        inFlightOnServer.set(0);
+        maxInFlightOnServer.set(0);
+        requestsReceived.set(0);
+        releaseStalled = new CountDownLatch(1);
+        server =
+                StubServer.start(
+                        exchange -> {
+                            requestsReceived.incrementAndGet();
+                            int current = inFlightOnServer.incrementAndGet();
+                            maxInFlightOnServer.accumulateAndGet(current, Math::max);
+                            try {
+                                if (exchange.getRequestURI().getPath().endsWith(STALL)) {
+                                    releaseStalled.await(30, TimeUnit.SECONDS);
+                                } else {
+                                    Thread.sleep(20);
+                                }
+                                StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            } finally {
+                                inFlightOnServer.decrementAndGet();
+                            }
+                        });
+        pool = new HttpConnectionPool(50, 50, 60_000, 60_000, 5_000, 30_000, 5_000);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        releaseStalled.countDown();
+        pool.shutdown();
+        server.close();
+    }
+
+    @Test(description = "Fan-out never exceeds the configured number of in-flight requests")
+    public void testFanOutIsBounded() {
+        BookRequests bookRequests = bookRequests(new AsyncRequestExecutor(3));
+
+        List<CompletableFuture<Response>> calls = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            calls.add(bookRequests.getBookByIdAsync(i));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+
+        calls.forEach(call -> assertEquals(call.join().statusCode(), HttpStatus.SC_OK));
+        assertEquals(requestsReceived.get(), 60);
+        assertTrue(
+                maxInFlightOnServer.get() <= 3,
+                "Server saw " + maxInFlightOnServer.get() + " concurrent requests, limit is 3");
+    }
+
+    @Test(description = "Cancelling a future aborts the request and frees its permit and connection")
+    public void testCancellationAbortsRequest() throws Exception {
+        AsyncRequestExecutor executor = new AsyncRequestExecutor(2);
+        BookRequests bookRequests = bookRequests(executor);
+
+        CompletableFuture<Response> call = bookRequests.getBookByIdAsync(STALL);
+        awaitCondition(() -> inFlightOnServer.get() == 1);
+
+        assertTrue(call.cancel(true));
+
+        expectThrows(java.util.concurrent.CancellationException.class, call::join);
+        awaitCondition(() -> executor.getInFlight() == 0);
+        awaitCondition(() -> pool.stats().getLeased() == 0);
+    }
+
+    @Test(description = "A timeout fails the future and aborts the stalled request")
+    public void testTimeoutPropagates() throws Exception {
+        AsyncRequestExecutor executor = new AsyncRequestExecutor(2);
+        BookRequests bookRequests = bookRequests(executor);
+
+        long start = System.nanoTime();
+        CompletableFuture<Response> call =
+                bookRequests.getBookByIdAsync(STALL).orTimeout(200, TimeUnit.MILLISECONDS);
+
+        CompletionException error = expectThrows(CompletionException.class, call::join);
+        assertTrue(error.getCause() instanceof TimeoutException, "Unexpected cause " + error.getCause());
+        assertTrue(
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000,
+                "The timeout did not interrupt the stalled request");
+        awaitCondition(() -> executor.getInFlight() == 0);
+        awaitCondition(() -> pool.stats().getLeased() == 0);
+    }
+
+    @Test(description = "A request cancelled while queued for a permit is never sent")
+    public void testQueuedRequestIsNotSentAfterCancel() throws Exception {
+        AsyncRequestExecutor executor = new AsyncRequestExecutor(1);
+        BookRequests bookRequests = bookRequests(executor);
+
+        CompletableFuture<Response> stalled = bookRequests.getBookByIdAsync(STALL);
+        awaitCondition(() -> inFlightOnServer.get() == 1);
+        CompletableFuture<Response> queued = bookRequests.getBookByIdAsync(2);
+        awaitCondition(() -> executor.getQueued() == 1);
+
+        queued.cancel(true);
+        releaseStalled.countDown();
+
+        assertEquals(stalled.join().statusCode(), HttpStatus.SC_OK);
+        awaitCondition(() -> executor.getInFlight() == 0);
+        assertEquals(requestsReceived.get(), 1, "The cancelled request reached the server");
+    }
+
+    private BookRequests bookRequests(AsyncRequestExecutor executor) {
+        return new BookRequests(
+                RequestSettings.builder()
+                        .baseUri(server.baseUri())
+                        .connectionPool(pool)
+                        .asyncExecutor(executor)
+                        .build());
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import static com.api.test.constants.ApiTestsConstants.INVALID_ID_DATA_TYPE;
 import static com.api.test.constants.ApiTestsConstants.NON_EXISTENT_ID;
 import static org.testng.Assert.assertEquals;
 
+import com.api.test.data_providers.DataProviderClass;
+import com.api.test.data_providers.FieldCombination;
+import com.api.test.data_providers.FieldMatrix;
 import com.api.test.models.Author;
 import com.api.test.repositories.AuthorRepository;
 import com.api.test.requests.AuthorRequests;
@@ -32,7 +35,7 @@ public class AuthorTests extends BaseApiTest {
         // ✅ Load authors from a file or mock if needed
         authorRepository.loadAuthors("authors.json");  // <-- UNCOMMENT THIS LINE
 
-        authorRequests = new AuthorRequests();
+        authorRequests = new AuthorRequests(reportedSettings());
 
         List<Author> authors = authorRepository.getAllAuthors();
         if (authors == null || authors.isEmpty()) {
@@ -271,4 +274,21 @@ public class AuthorTests extends BaseApiTest {
 
         verifyError.verifyErrorInvalidIdType(response, INVALID_ID_DATA_TYPE);
     }
+
+    @Test(
+            description = "Create an author with a combination of boundary values in every field",
+            dataProvider = "authorFieldMatrix",
+            dataProviderClass = DataProviderClass.class)
+    public void testCreateAuthorFieldCombinations(FieldCombination combination) {
+        String payload = combination.toJson();
+        Response response = authorRequests.createAuthor(payload);
+
+        assertEquals(response.statusCode(), combination.getExpectedStatus(), "Payload " + combination);
+        if (combination.isValid()) {
+            verifyEcho.verifyEchoed(combination, response);
+        } else {
+            FieldMatrix.Field field = combination.getInvalidField();
+            verifyError.verifyErrorInvalidField(response, field.name(), field.typeName());
+        }
+    }
 }
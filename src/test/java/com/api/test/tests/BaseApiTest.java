@@ -1,11 +1,20 @@
 package com.api.test.tests;
 
-import com.api.test.configs.ConfigurationLoader;
+import com.api.test.metrics.EndpointMetrics;
+import com.api.test.metrics.EndpointMetricsReport;
+import com.api.test.reporting.AllureAttachmentFilter;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.server.FakeRestApiServer;
+import com.api.test.verifications.EchoVerification;
 import com.api.test.verifications.ErrorMessagesVerification;
+import com.api.test.verifications.LatencyVerification;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import io.restassured.RestAssured;
+import io.qameta.allure.Allure;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Parameters;
 
 public class BaseApiTest {
@@ -13,13 +22,63 @@ public class BaseApiTest {
 
   protected ErrorMessagesVerification verifyError;
 
+  protected EchoVerification verifyEcho;
+
+  protected LatencyVerification verifyLatency;
+
+  @BeforeSuite(alwaysRun = true)
+  public void startEmbeddedServer() {
+    // only starts the in-process FakeRestApi when the environment asks for it (-Denv=local)
+    FakeRestApiServer.startEmbeddedIfConfigured();
+  }
+
+  @AfterSuite(alwaysRun = true)
+  public void stopEmbeddedServer() {
+    FakeRestApiServer.stopEmbedded();
+  }
+
+  /**
+   * Request settings of the active environment whose requests and responses are kept for the
+   * Allure report of the test sending them (see {@link AllureAttachmentFilter}).
+   */
+  protected RequestSettings reportedSettings() {
+    return RequestSettings.fromConfiguration().toBuilder()
+        .filter(new AllureAttachmentFilter())
+        .build();
+  }
+
+  @AfterSuite(alwaysRun = true)
+  public void publishEndpointMetrics() {
+    EndpointMetricsReport report = EndpointMetrics.shared().report();
+    if (report.isEmpty()) {
+      return;
+    }
+    report.writeTo(null);
+    Allure.addAttachment("Endpoint metrics", "text/csv", report.toCsv(), ".csv");
+    Allure.addAttachment("Endpoint metrics (JSON)", "application/json", report.toJson(), ".json");
+  }
+
+  @AfterSuite(alwaysRun = true)
+  public void publishResponseCacheStats() {
+    // hit ratio and bytes saved of the GET cache, only when it was switched on
+    // (-Dhttp.cache.enabled)
+    if (ResponseCache.shared().isEnabled()) {
+      String stats = ResponseCache.shared().stats().toString();
+      System.out.println("Response cache: " + stats);
+      Allure.addAttachment("Response cache", "text/plain", stats, ".txt");
+    }
+  }
+
   //@Parameters("env")
   @BeforeClass
   public void setup() {
 
-    RestAssured.baseURI = ConfigurationLoader.getProperty("baseUrl");
+    // The base URI is owned by each request object, so nothing global is set here and test
+    // methods can run in parallel
     gson = new GsonBuilder().setPrettyPrinting().create();
     verifyError = new ErrorMessagesVerification();
+    verifyEcho = new EchoVerification();
+    verifyLatency = new LatencyVerification();
 
   }
 }
@@ -5,9 +5,13 @@ import static com.api.test.constants.ApiTestsConstants.NON_EXISTENT_ID;
 import static org.testng.Assert.*;
 
 import com.api.test.data_providers.DataProviderClass;
+import com.api.test.data_providers.FieldCombination;
+import com.api.test.data_providers.FieldMatrix;
 import com.api.test.models.Book;
 import com.api.test.repositories.BookRepository;
 import com.api.test.requests.BookRequests;
+import com.api.test.verifications.ParsedResponse;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -16,6 +20,7 @@ import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 
 import java.util.Date;
+import java.util.List;
 
 import org.apache.http.HttpStatus;
 import org.testng.Assert;
@@ -35,19 +40,36 @@ public class BooksTests extends BaseApiTest {
         bookRepository = new BookRepository();
         bookRepository.loadBooks("books.json");
         expectedBook = bookRepository.getAllBooks().get(0);
-        bookRequests = new BookRequests();
+        bookRequests = new BookRequests(reportedSettings());
     }
 
     @Test(description = "Get all books")
     public void testGetAllBooks() {
         Response response =
                 bookRequests.getAllBooks().then().statusCode(HttpStatus.SC_OK).extract().response();
-        assertFalse(response.jsonPath().getList("id").isEmpty(), "Books list should not be empty");
+        List<JsonNode> ids = ParsedResponse.of(response).getList("id");
+        assertFalse(ids.isEmpty(), "Books list should not be empty");
 
-        int totalBooks = response.jsonPath().getList("id").size();
+        int totalBooks = ids.size();
         assertEquals(totalBooks, 200, "Total number of books should be 200");
     }
 
+    @Test(description = "Get all books within its latency limit")
+    public void testGetAllBooksLatency() {
+        verifyLatency.verifyWithinLimit("getAllBooks", bookRequests::getAllBooks)
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+    }
+
+    @Test(description = "p95 of repeated get book by ID calls within its latency limit")
+    public void testGetBookByIdLatencyPercentile() {
+        verifyLatency.verifyPercentileWithinLimit(
+                "getBookById",
+                95,
+                status -> status == HttpStatus.SC_OK,
+                call -> bookRequests.getBookById(call % 200 + 1));
+    }
+
     @Ignore
     @Test(description = "Get a book by ID and validate fields")
     public void testGetBookById() {
@@ -167,6 +189,23 @@ public class BooksTests extends BaseApiTest {
         verifyError.verifyErrorInvalidDateFormat(response);
     }
 
+    @Test(
+            description = "Create a book with a combination of boundary values in every field",
+            dataProvider = "bookFieldMatrix",
+            dataProviderClass = DataProviderClass.class)
+    public void testCreateBookFieldCombinations(FieldCombination combination) {
+        String payload = combination.toJson();
+        Response response = bookRequests.createBook(payload);
+
+        assertEquals(response.statusCode(), combination.getExpectedStatus(), "Payload " + combination);
+        if (combination.isValid()) {
+            verifyEcho.verifyEchoed(combination, response);
+        } else {
+            FieldMatrix.Field field = combination.getInvalidField();
+            verifyError.verifyErrorInvalidField(response, field.name(), field.typeName());
+        }
+    }
+
     @Test(description = "Update Book with valid data")
     public void testUpdateBook() {
         // Step 1: Create book first
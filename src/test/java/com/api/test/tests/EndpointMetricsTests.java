@@ -0,0 +1,116 @@
+package com.api.test.tests;
+
+import static com.api.test.constants.ApiTestsConstants.INVALID_ID_DATA_TYPE;
+import static com.api.test.constants.ApiTestsConstants.NON_EXISTENT_ID;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.metrics.EndpointMetrics;
+import com.api.test.metrics.EndpointMetricsReport;
+import com.api.test.metrics.EndpointStats;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.RequestSettings;
+import com.api.test.server.FakeRestApiServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class EndpointMetricsTests extends BaseApiTest {
+
+    @Test(description = "Ids and the API version prefix are normalised out of endpoint names")
+    public void testNormalize() {
+        assertEquals(EndpointMetrics.normalize("/api/v1/Books/17"), "Books/{id}");
+        assertEquals(EndpointMetrics.normalize("api/v1/Authors/authors/books/3"), "Authors/authors/books/{id}");
+        assertEquals(EndpointMetrics.normalize("Books/4b7c1f0e-9d2a-4c3b-8e5f-1a2b3c4d5e6f?x=1"), "Books/{id}");
+        assertEquals(EndpointMetrics.normalize("api/v1/Books/abc"), "Books/abc");
+    }
+
+    @Test(description = "Calls through BaseRequest are grouped by method and endpoint template")
+    public void testRequestsAreRecordedPerEndpoint() {
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        try (FakeRestApiServer server = FakeRestApiServer.start(0)) {
+            BookRequests bookRequests = new BookRequests(
+                    RequestSettings.builder().baseUri(server.baseUri()).metrics(metrics).build());
+            bookRequests.getAllBooks();
+            bookRequests.getBookById(1);
+            bookRequests.getBookById(2);
+            bookRequests.getBookById(NON_EXISTENT_ID);
+            bookRequests.getBookById(INVALID_ID_DATA_TYPE);
+            bookRequests.getBookByIdAsync(3).join();
+            bookRequests.deleteBook(5);
+        }
+
+        List<EndpointStats> endpoints = metrics.snapshot();
+        assertEquals(endpoints.size(), 3, "Endpoints: " + endpoints.stream().map(EndpointStats::getEndpoint).toList());
+        EndpointStats getAll = endpoints.get(0);
+        assertEquals(getAll.getMethod() + " " + getAll.getEndpoint(), "GET Books");
+        assertEquals(getAll.getCount(), 1);
+
+        EndpointStats delete = endpoints.get(1);
+        assertEquals(delete.getMethod() + " " + delete.getEndpoint(), "DELETE Books/{id}");
+
+        EndpointStats getById = endpoints.get(2);
+        assertEquals(getById.getMethod() + " " + getById.getEndpoint(), "GET Books/{id}");
+        assertEquals(getById.getCount(), 5);
+        assertEquals(getById.getErrors(), 2);
+        assertEquals(getById.getStatusCounts(), Map.of(200, 3L, 404, 1L, 400, 1L));
+        assertTrue(getById.getLatency().getMax() > 0);
+    }
+
+    @Test(description = "Concurrent recording loses no calls")
+    public void testConcurrentRecording() throws Exception {
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        int threads = 8;
+        int callsPerThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < callsPerThread; i++) {
+                    metrics.record("GET", "api/v1/Books", true, i % 10 == 0 ? 500 : 200, 1_000_000);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        EndpointStats stats = metrics.snapshot().get(0);
+        assertEquals(stats.getCount(), threads * callsPerThread);
+        assertEquals(stats.getErrors(), threads * callsPerThread / 10);
+        assertEquals(stats.getLatency().getValueAtPercentile(50), 1_000, 1_000 * 0.016);
+    }
+
+    @Test(description = "Reports are written as CSV and JSON")
+    public void testReportFiles() throws Exception {
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        metrics.record("POST", "api/v1/Authors", false, 200, 2_000_000);
+        metrics.recordFailure("POST", "api/v1/Authors", false, 5_000_000);
+        Path directory = Files.createTempDirectory("endpoint-metrics");
+
+        EndpointMetricsReport report = metrics.report();
+        report.writeTo(directory);
+
+        List<String> csv = Files.readAllLines(directory.resolve(EndpointMetricsReport.CSV_FILE));
+        assertEquals(csv.size(), 2);
+        assertTrue(csv.get(1).startsWith("POST,Authors,2,1,1,"), csv.get(1));
+        JsonNode json = new ObjectMapper().readTree(directory.resolve(EndpointMetricsReport.JSON_FILE).toFile());
+        JsonNode authors = json.path("endpoints").path(0);
+        assertEquals(authors.path("endpoint").asText(), "Authors");
+        assertEquals(authors.path("statuses").path("200").asLong(), 1);
+        assertEquals(authors.path("latencyMicros").path("max").asLong(), 5_000, 5_000 * 0.016);
+    }
+
+    @Test(description = "A disabled registry records nothing")
+    public void testDisabled() {
+        EndpointMetrics metrics = new EndpointMetrics(false);
+        metrics.record("GET", "api/v1/Books", false, 200, 1_000);
+        assertTrue(metrics.report().isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.generators.FakeDataGenerator;
+import com.api.test.generators.RecordSink;
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.LoadDataFromJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class FakeDataGeneratorTests extends BaseApiTest {
+
+    private static final int COUNT = 5_000;
+
+    @Test(description = "The same seed gives the same records whatever the thread count")
+    public void testReproducibleAcrossThreadCounts() throws Exception {
+        List<Book> singleThreaded = books(new FakeDataGenerator(7, 1));
+        List<Book> multiThreaded = books(new FakeDataGenerator(7, 4));
+        List<Book> otherSeed = books(new FakeDataGenerator(8, 4));
+
+        assertEquals(multiThreaded, singleThreaded);
+        assertNotEquals(otherSeed, singleThreaded);
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(singleThreaded.get(i).getId(), i + 1, "records should arrive in order");
+        }
+    }
+
+    @Test(description = "Generated records have the shape of the one-at-a-time fake payloads")
+    public void testRecordShape() throws Exception {
+        FakeDataGenerator generator = new FakeDataGenerator(1, 2);
+        List<Author> authors = new ArrayList<>();
+        generator.generate(COUNT, generator.authors(200), RecordSink.collect(authors));
+
+        for (Book book : books(generator)) {
+            assertTrue(book.getPageCount() >= 0 && book.getPageCount() < 1000);
+            assertTrue(book.getDescription().endsWith("."), book.getDescription());
+            assertTrue(book.getPublishDate().matches("\\d{4}-\\d{2}-\\d{2}T.*Z"), book.getPublishDate());
+            assertTrue(!book.getTitle().isEmpty() && !book.getExcerpt().isEmpty());
+        }
+        for (Author author : authors) {
+            assertTrue(author.getIdBook() >= 1 && author.getIdBook() <= 200);
+            assertTrue(!author.getFirstName().isEmpty() && !author.getLastName().isEmpty());
+        }
+    }
+
+    @Test(description = "File sinks stream records to disk in a format the loaders read back")
+    public void testFileSinks() throws Exception {
+        FakeDataGenerator generator = new FakeDataGenerator(3, 2);
+        Path directory = Files.createTempDirectory("generated");
+        Path books = directory.resolve("books.json");
+        Path payloads = directory.resolve("books.jsonl");
+
+        try (RecordSink<Book> sink = RecordSink.jsonArray(books)) {
+            generator.generate(COUNT, generator.books(), sink);
+        }
+        try (RecordSink<byte[]> sink = RecordSink.jsonLines(payloads)) {
+            generator.generate(COUNT, generator.serialized(generator.books()), sink);
+        }
+
+        List<Book> fromArray;
+        try (Stream<Book> stream = new LoadDataFromJson().streamObjects(Files.newInputStream(books), Book.class)) {
+            fromArray = stream.collect(Collectors.toList());
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        List<Book> fromLines = new ArrayList<>();
+        for (String line : Files.readAllLines(payloads)) {
+            fromLines.add(mapper.readValue(line, Book.class));
+        }
+        assertEquals(fromArray, books(generator));
+        assertEquals(fromLines, fromArray);
+    }
+
+    @Test(description = "A queue sink feeds a concurrent consumer with back-pressure")
+    public void testQueueSink() throws Exception {
+        FakeDataGenerator generator = new FakeDataGenerator(5, 2);
+        BlockingQueue<Book> queue = new ArrayBlockingQueue<>(64);
+        CompletableFuture<Long> consumed = CompletableFuture.supplyAsync(() -> {
+            long sum = 0;
+            try {
+                for (int i = 0; i < COUNT; i++) {
+                    sum += queue.take().getId();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sum;
+        });
+
+        generator.generate(COUNT, generator.books(), RecordSink.queue(queue));
+
+        assertEquals(consumed.get().longValue(), (long) COUNT * (COUNT + 1) / 2);
+        assertTrue(queue.isEmpty());
+    }
+
+    private static List<Book> books(FakeDataGenerator generator) throws Exception {
+        List<Book> books = new ArrayList<>();
+        generator.generate(COUNT, generator.books(), RecordSink.collect(books));
+        return books;
+    }
+}
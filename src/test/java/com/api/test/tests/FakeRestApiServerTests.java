@@ -0,0 +1,141 @@
+package com.api.test.tests;
+
+import static com.api.test.constants.ApiTestsConstants.INVALID_ID_DATA_TYPE;
+import static com.api.test.constants.ApiTestsConstants.NON_EXISTENT_ID;
+import static org.testng.Assert.assertEquals;
+
+import com.api.test.models.Book;
+import com.api.test.repositories.BookRepository;
+import com.api.test.requests.AuthorRequests;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.server.FakeRestApiServer;
+import io.restassured.response.Response;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public class FakeRestApiServerTests extends BaseApiTest {
+
+    private FakeRestApiServer server;
+    private BookRequests bookRequests;
+    private AuthorRequests authorRequests;
+
+    @BeforeClass
+    public void startServer() {
+        server = FakeRestApiServer.start(0);
+        bookRequests = new BookRequests(server.baseUri());
+        authorRequests = new AuthorRequests(server.baseUri());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test(description = "Collections are seeded from the fixtures and filled up to the configured size")
+    public void testSeededCollections() {
+        Response books = bookRequests.getAllBooks().then().statusCode(HttpStatus.SC_OK).extract().response();
+        assertEquals(books.jsonPath().getList("id").size(), 200);
+
+        Book first = bookRequests.getBookById(1).as(Book.class);
+        assertEquals(first, bookRepositoryFixture().get(0), "Book 1 should come from books.json");
+        authorRequests.getAuthorById(1).then().statusCode(HttpStatus.SC_OK);
+    }
+
+    @Test(description = "Unknown ids and invalid ids return the service's error bodies")
+    public void testErrorBodies() {
+        verifyError.verifyErrorNotFound(
+                bookRequests.getBookById(NON_EXISTENT_ID).then().statusCode(HttpStatus.SC_NOT_FOUND).extract().response());
+        verifyError.verifyErrorInvalidIdType(
+                authorRequests
+                        .deleteAuthor(INVALID_ID_DATA_TYPE)
+                        .then()
+                        .statusCode(HttpStatus.SC_BAD_REQUEST)
+                        .extract()
+                        .response(),
+                INVALID_ID_DATA_TYPE);
+    }
+
+    @Test(description = "Values that do not fit the .NET model types are rejected per field")
+    public void testPayloadValidation() {
+        for (String pageCount : new String[] {"1.5", "\"two hundred\"", "9223372036854775807", "null"}) {
+            Response response =
+                    bookRequests
+                            .updateBook(1, "{\"id\":1,\"title\":\"t\",\"pageCount\":" + pageCount + "}")
+                            .then()
+                            .statusCode(HttpStatus.SC_BAD_REQUEST)
+                            .extract()
+                            .response();
+            verifyError.verifyErrorInvalidPageCount(response);
+        }
+        verifyError.verifyErrorInvalidDateFormat(
+                bookRequests
+                        .createBook("{\"publishDate\":\"Mon Jan 01 10:00:00 UTC 2024\"}")
+                        .then()
+                        .statusCode(HttpStatus.SC_BAD_REQUEST)
+                        .extract()
+                        .response());
+        verifyError.verifyErrorInvalidIdBookType(
+                authorRequests
+                        .createAuthor("{\"idBook\":\"abc\"}")
+                        .then()
+                        .statusCode(HttpStatus.SC_BAD_REQUEST)
+                        .extract()
+                        .response());
+        bookRequests.createBook("123").then().statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test(description = "Writes are echoed but, like the real service, not stored")
+    public void testWritesAreEchoedNotStored() {
+        Response created =
+                bookRequests
+                        .createBook("{\"id\":5000,\"title\":\"New\",\"pageCount\":10}")
+                        .then()
+                        .statusCode(HttpStatus.SC_OK)
+                        .extract()
+                        .response();
+        assertEquals(created.jsonPath().getString("title"), "New");
+        assertEquals(created.jsonPath().getString("publishDate"), "0001-01-01T00:00:00");
+
+        bookRequests.getBookById(5000).then().statusCode(HttpStatus.SC_NOT_FOUND);
+        bookRequests.deleteBook(1).then().statusCode(HttpStatus.SC_OK);
+        bookRequests.getBookById(1).then().statusCode(HttpStatus.SC_OK);
+    }
+
+    @Test(description = "With persistWrites, concurrent creates get ids of their own and are all stored")
+    public void testConcurrentCreatesGetDistinctIds() {
+        try (FakeRestApiServer persisting = FakeRestApiServer.start(0, true)) {
+            // non-blocking sends: RestAssured callers waiting for a pooled connection pin the carrier
+            // threads the server's virtual threads need
+            BookRequests requests = new BookRequests(RequestSettings.builder()
+                    .baseUri(persisting.baseUri())
+                    .transport(HttpTransport.Type.JDK)
+                    .build());
+            List<CompletableFuture<Response>> creates = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                creates.add(requests.createBookAsync("{\"id\":0,\"title\":\"Concurrent " + i + "\",\"pageCount\":1}"));
+            }
+            Set<Integer> ids = creates.stream()
+                    .map(create -> create.join().jsonPath().getInt("id"))
+                    .collect(Collectors.toSet());
+
+            assertEquals(ids.size(), 50, "every create must get an id of its own: " + ids);
+            assertEquals(requests.getAllBooks().jsonPath().getList("id").size(), 250);
+        }
+    }
+
+    private List<Book> bookRepositoryFixture() {
+        BookRepository repository = new BookRepository();
+        repository.loadBooks("books.json");
+        return repository.getAllBooks();
+    }
+}
@@ -0,0 +1,233 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.metrics.EndpointMetrics;
+import com.api.test.metrics.EndpointMetricsReport;
+import com.api.test.metrics.EndpointStats;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.CircuitBreaker;
+import com.api.test.requests.CircuitBreakerOpenException;
+import com.api.test.requests.CircuitBreakers;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.requests.RetryPolicy;
+import com.api.test.support.StubServer;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FaultToleranceTests extends BaseApiTest {
+
+    private static final RetryPolicy FAST_RETRIES = new RetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(50));
+
+    @DataProvider(name = "transports")
+    public Object[][] transports() {
+        return new Object[][] {{HttpTransport.Type.REST_ASSURED}, {HttpTransport.Type.JDK}};
+    }
+
+    @Test(dataProvider = "transports", description = "A GET answered with 502 and 503 is retried until it succeeds")
+    public void testIdempotentCallsAreRetried(HttpTransport.Type type) {
+        AtomicInteger calls = new AtomicInteger();
+        try (StubServer server = StubServer.start(exchange -> {
+            switch (calls.incrementAndGet() % 3) {
+                case 1 -> StubServer.respond(exchange, HttpStatus.SC_BAD_GATEWAY, "{}");
+                case 2 -> StubServer.respond(exchange, HttpStatus.SC_SERVICE_UNAVAILABLE, "{}");
+                default -> StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+            }
+        })) {
+            EndpointMetrics metrics = new EndpointMetrics(true);
+            BookRequests bookRequests = bookRequests(server, type, metrics, FAST_RETRIES, CircuitBreakers.disabled());
+
+            assertEquals(bookRequests.getBookById(1).statusCode(), HttpStatus.SC_OK);
+            assertEquals(bookRequests.getBookByIdAsync(1).join().statusCode(), HttpStatus.SC_OK);
+
+            assertEquals(calls.get(), 6);
+            EndpointStats stats = stats(metrics, "GET", "Books/{id}");
+            assertEquals(stats.getCount(), 6, "every attempt is recorded");
+            assertEquals(stats.getRetries(), 4);
+            assertEquals(stats.getStatusCounts(), Map.of(
+                    HttpStatus.SC_OK, 2L, HttpStatus.SC_BAD_GATEWAY, 2L, HttpStatus.SC_SERVICE_UNAVAILABLE, 2L));
+        }
+    }
+
+    @Test(description = "A GET whose connection is dropped without a response is sent again")
+    public void testDroppedConnectionsAreRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        try (StubServer server = StubServer.start(exchange -> {
+            if (calls.incrementAndGet() % 2 == 1) {
+                exchange.close(); // closes the connection, nothing was sent
+            } else {
+                StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+            }
+        })) {
+            // RestAssured only: the JDK client resends an idempotent request on a dropped connection itself
+            EndpointMetrics metrics = new EndpointMetrics(true);
+            BookRequests bookRequests = bookRequests(
+                    server, HttpTransport.Type.REST_ASSURED, metrics, FAST_RETRIES, CircuitBreakers.disabled());
+
+            assertEquals(bookRequests.getBookById(1).statusCode(), HttpStatus.SC_OK);
+            assertEquals(bookRequests.getBookByIdAsync(1).join().statusCode(), HttpStatus.SC_OK);
+
+            assertEquals(calls.get(), 4);
+            EndpointStats stats = stats(metrics, "GET", "Books/{id}");
+            assertEquals(stats.getFailures(), 2);
+            assertEquals(stats.getRetries(), 2);
+
+            BookRequests once = bookRequests(
+                    server, HttpTransport.Type.REST_ASSURED, metrics, RetryPolicy.none(), CircuitBreakers.disabled());
+            expectThrows(UncheckedIOException.class, () -> once.getBookById(1));
+        }
+    }
+
+    @Test(description = "POSTs are never retried, PUTs stop after the last attempt with its response")
+    public void testOnlyIdempotentMethodsAreRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        try (StubServer server = StubServer.start(exchange -> {
+            calls.incrementAndGet();
+            StubServer.respond(exchange, HttpStatus.SC_SERVICE_UNAVAILABLE, "{}");
+        })) {
+            EndpointMetrics metrics = new EndpointMetrics(true);
+            BookRequests bookRequests = bookRequests(
+                    server, HttpTransport.Type.REST_ASSURED, metrics, FAST_RETRIES, CircuitBreakers.disabled());
+
+            assertEquals(bookRequests.createBook("{}").statusCode(), HttpStatus.SC_SERVICE_UNAVAILABLE);
+            assertEquals(bookRequests.createBookAsync("{}").join().statusCode(), HttpStatus.SC_SERVICE_UNAVAILABLE);
+            assertEquals(calls.getAndSet(0), 2);
+            assertEquals(stats(metrics, "POST", "Books").getRetries(), 0);
+
+            assertEquals(bookRequests.updateBook(1, "{}").statusCode(), HttpStatus.SC_SERVICE_UNAVAILABLE);
+            assertEquals(calls.get(), FAST_RETRIES.getMaxAttempts());
+            assertEquals(stats(metrics, "PUT", "Books/{id}").getRetries(), FAST_RETRIES.getMaxAttempts() - 1);
+        }
+    }
+
+    @Test(description = "Backoff waits are random, grow with the attempt and stay below the maximum")
+    public void testBackoffIsJitteredAndBounded() {
+        RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(100), Duration.ofMillis(250));
+        Set<Long> seen = new HashSet<>();
+        for (int sample = 0; sample < 1_000; sample++) {
+            long first = policy.backoffMillis(1);
+            long second = policy.backoffMillis(2);
+            long late = policy.backoffMillis(9);
+            assertTrue(first >= 0 && first <= 100, "first backoff " + first);
+            assertTrue(second >= 0 && second <= 200, "second backoff " + second);
+            assertTrue(late >= 0 && late <= 250, "late backoff " + late);
+            seen.add(first);
+        }
+        assertTrue(seen.size() > 50, "Backoff is not jittered: " + seen);
+        assertEquals(RetryPolicy.none().backoffMillis(1), 0);
+        assertFalse(RetryPolicy.none().shouldRetry("GET", 1, HttpStatus.SC_SERVICE_UNAVAILABLE));
+    }
+
+    @Test(description = "Failures open the breaker of the host, which rejects calls until a trial call succeeds")
+    public void testCircuitBreakerOpensAndRecovers() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean healthy = new AtomicBoolean();
+        try (StubServer server = StubServer.start(exchange -> {
+            calls.incrementAndGet();
+            StubServer.respond(exchange, healthy.get() ? HttpStatus.SC_OK : HttpStatus.SC_INTERNAL_SERVER_ERROR, "{}");
+        }); StubServer other = StubServer.start(exchange -> StubServer.respond(exchange, HttpStatus.SC_OK, "{}"))) {
+            CircuitBreakers breakers = new CircuitBreakers(4, 4, 50, Duration.ofMillis(300), 1);
+            EndpointMetrics metrics = new EndpointMetrics(true);
+            BookRequests bookRequests = bookRequests(
+                    server, HttpTransport.Type.REST_ASSURED, metrics, RetryPolicy.none(), breakers);
+            BookRequests otherRequests = bookRequests(
+                    other, HttpTransport.Type.REST_ASSURED, metrics, RetryPolicy.none(), breakers);
+
+            for (int call = 0; call < 4; call++) {
+                assertEquals(bookRequests.getBookById(1).statusCode(), HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            }
+            CircuitBreakerOpenException rejected =
+                    expectThrows(CircuitBreakerOpenException.class, () -> bookRequests.getBookById(1));
+            assertEquals(rejected.getHost(), "localhost:" + server.port());
+            CompletionException rejectedAsync =
+                    expectThrows(CompletionException.class, () -> bookRequests.getAllBooksAsync().join());
+            assertTrue(rejectedAsync.getCause() instanceof CircuitBreakerOpenException, "Unexpected " + rejectedAsync);
+            assertEquals(calls.get(), 4, "an open breaker sends nothing");
+            assertEquals(otherRequests.getAllBooks().statusCode(), HttpStatus.SC_OK, "other hosts are not affected");
+
+            healthy.set(true);
+            Thread.sleep(350);
+            assertEquals(bookRequests.getBookById(1).statusCode(), HttpStatus.SC_OK);
+            assertEquals(breakers.forBaseUri(server.baseUri()).getState(), CircuitBreaker.State.CLOSED);
+            assertEquals(breakers.states().get("localhost:" + other.port()), CircuitBreaker.State.CLOSED);
+
+            assertEquals(stats(metrics, "GET", "Books/{id}").getShortCircuited(), 1);
+            assertEquals(stats(metrics, "GET", "Books").getShortCircuited(), 1);
+            List<String> transitions = metrics.breakerTransitions().stream()
+                    .map(transition -> transition.from() + "->" + transition.to())
+                    .toList();
+            assertEquals(transitions, List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"));
+
+            Path directory = Files.createTempDirectory("breaker-metrics");
+            metrics.report().writeTo(directory);
+            EndpointMetricsReport report = EndpointMetricsReport.readJson(directory.resolve(EndpointMetricsReport.JSON_FILE));
+            assertEquals(report.getBreakerTransitions(), metrics.breakerTransitions());
+            assertTrue(Files.readString(directory.resolve(EndpointMetricsReport.CSV_FILE))
+                    .contains("GET,Books,1,0,0,0,1,"), "CSV lacks the rejected call");
+        }
+    }
+
+    @Test(description = "A failed trial call opens the breaker again, client errors never open it")
+    public void testCircuitBreakerCountsOnlyServerFailures() throws Exception {
+        AtomicInteger status = new AtomicInteger(HttpStatus.SC_NOT_FOUND);
+        try (StubServer server = StubServer.start(exchange -> StubServer.respond(exchange, status.get(), "{}"))) {
+            CircuitBreakers breakers = new CircuitBreakers(4, 4, 50, Duration.ofMillis(200), 1);
+            BookRequests bookRequests = bookRequests(
+                    server, HttpTransport.Type.JDK, new EndpointMetrics(true), RetryPolicy.none(), breakers);
+            CircuitBreaker breaker = breakers.forBaseUri(server.baseUri());
+
+            for (int call = 0; call < 10; call++) {
+                assertEquals(bookRequests.getBookByIdAsync(1).join().statusCode(), HttpStatus.SC_NOT_FOUND);
+            }
+            assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+
+            status.set(HttpStatus.SC_BAD_GATEWAY);
+            for (int call = 0; call < 2; call++) {
+                bookRequests.getBookByIdAsync(1).join();
+            }
+            assertEquals(breaker.getState(), CircuitBreaker.State.OPEN, "2 failures in the last 4 calls: " + breaker);
+
+            Thread.sleep(250);
+            assertEquals(bookRequests.getBookById(1).statusCode(), HttpStatus.SC_BAD_GATEWAY);
+            assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+            expectThrows(CircuitBreakerOpenException.class, () -> bookRequests.getBookById(1));
+        }
+    }
+
+    private static BookRequests bookRequests(StubServer server, HttpTransport.Type type, EndpointMetrics metrics,
+                                             RetryPolicy retryPolicy, CircuitBreakers circuitBreakers) {
+        return new BookRequests(RequestSettings.builder()
+                .baseUri(server.baseUri())
+                .transport(type)
+                .metrics(metrics)
+                .responseCache(ResponseCache.disabled())
+                .retryPolicy(retryPolicy)
+                .circuitBreakers(circuitBreakers)
+                .build());
+    }
+
+    private static EndpointStats stats(EndpointMetrics metrics, String method, String endpoint) {
+        return metrics.snapshot().stream()
+                .filter(stats -> stats.getMethod().equals(method) && stats.getEndpoint().equals(endpoint))
+                .findFirst()
+                .orElseThrow();
+    }
+}
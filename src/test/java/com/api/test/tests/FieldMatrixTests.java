@@ -0,0 +1,118 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.data_providers.FieldCombination;
+import com.api.test.data_providers.FieldMatrix;
+import com.api.test.data_providers.PairwiseIterator;
+import com.api.test.verifications.ParsedResponse;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+public class FieldMatrixTests extends BaseApiTest {
+
+    @Test(description = "Every pair of values of two fields appears in some pairwise row")
+    public void testPairwiseCoversEveryPair() {
+        int[] sizes = {4, 5, 5, 4, 5, 4};
+        List<int[]> rows = rows(new PairwiseIterator(sizes));
+
+        for (int i = 0; i < sizes.length; i++) {
+            for (int j = i + 1; j < sizes.length; j++) {
+                Set<List<Integer>> seen = new HashSet<>();
+                for (int[] row : rows) {
+                    seen.add(List.of(row[i], row[j]));
+                }
+                assertEquals(seen.size(), sizes[i] * sizes[j], "pairs of fields " + i + " and " + j);
+            }
+        }
+        assertTrue(rows.size() >= 25 && rows.size() <= 40, "25 is the least possible, got " + rows.size());
+    }
+
+    @Test(description = "Pairwise rows grow slowly with the number of fields and are the same every run")
+    public void testPairwiseRowCountGrowsSlowly() {
+        int tenFields = rows(new PairwiseIterator(filled(10, 5))).size();
+        int hundredFields = rows(new PairwiseIterator(filled(100, 5))).size();
+        assertTrue(hundredFields < 3 * tenFields,
+                "10x the fields (5^100 combinations), got " + tenFields + " -> " + hundredFields + " rows");
+
+        List<int[]> first = rows(new PairwiseIterator(3, 2, 4));
+        List<int[]> second = rows(new PairwiseIterator(3, 2, 4));
+        assertEquals(first.size(), second.size());
+        for (int row = 0; row < first.size(); row++) {
+            assertEquals(first.get(row), second.get(row), "row " + row);
+        }
+        assertEquals(rows(new PairwiseIterator(3)).size(), 3, "a single field lists its values");
+    }
+
+    @Test(description = "Exhaustive rows are counted before they are generated; invalid values come one at a time")
+    public void testExhaustiveMatrixAndInvalidRows() {
+        FieldMatrix authors = FieldMatrix.authors();
+        List<FieldCombination> combinations = combinations(authors.exhaustive());
+        assertEquals(combinations.size(), authors.exhaustiveSize());
+        assertEquals(authors.exhaustiveSize(), 4 * 4 * 5 * 5 + 5 + 5 + 4 + 4);
+
+        long valid = combinations.stream().filter(FieldCombination::isValid).count();
+        assertEquals(valid, 400);
+        for (FieldCombination combination : combinations) {
+            if (!combination.isValid()) {
+                assertEquals(combination.getExpectedStatus(), HttpStatus.SC_BAD_REQUEST);
+                assertEquals(combination.toString().split("invalid").length, 2, "one invalid value: " + combination);
+            }
+        }
+
+        List<FieldCombination> pairwise = combinations(FieldMatrix.books().pairwise());
+        assertTrue(pairwise.size() < 100, "pairwise rows of 8,000 valid book combinations: " + pairwise.size());
+        assertEquals(pairwise.stream().filter(combination -> !combination.isValid()).count(), 27);
+    }
+
+    @Test(description = "The payload holds every field, nulls included, with the chosen values")
+    public void testCombinationPayload() {
+        Iterator<Object[]> rows = FieldMatrix.books().pairwise();
+        FieldCombination first = (FieldCombination) rows.next()[0];
+        ParsedResponse payload = ParsedResponse.of(first.toJson());
+        assertEquals(payload.root().size(), 6, first.toJson());
+        assertEquals(payload.getInt("id"), 1);
+        assertNull(first.getInvalidField());
+
+        FieldCombination invalid = null;
+        while (rows.hasNext() && invalid == null) {
+            FieldCombination next = (FieldCombination) rows.next()[0];
+            if (!next.isValid()) {
+                invalid = next;
+            }
+        }
+        assertNotNull(invalid);
+        assertEquals(invalid.getInvalidField().name(), "id", "invalid values follow the field order");
+        assertFalse(invalid.variant("id").valid());
+        assertEquals(invalid.getInvalidField().typeName(), "System.Int32");
+    }
+
+    private static int[] filled(int fields, int values) {
+        int[] sizes = new int[fields];
+        Arrays.fill(sizes, values);
+        return sizes;
+    }
+
+    private static List<int[]> rows(Iterator<int[]> iterator) {
+        List<int[]> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static List<FieldCombination> combinations(Iterator<Object[]> rows) {
+        List<FieldCombination> combinations = new ArrayList<>();
+        rows.forEachRemaining(row -> combinations.add((FieldCombination) row[0]));
+        return combinations;
+    }
+}
@@ -0,0 +1,86 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.BookRepository;
+import com.api.test.repositories.FixtureCache;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class FixtureCacheTests extends BaseApiTest {
+
+    private static final String BOOKS = "data/books/books.json";
+    private static final String AUTHORS = "data/authors/authors.json";
+
+    @Test(description = "Threads racing for the same fixture share a single parse")
+    public void testConcurrentRequestsParseOnce() throws Exception {
+        FixtureCache cache = new FixtureCache(1024 * 1024);
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Book>>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.get(BOOKS, Book.class);
+                }));
+            }
+            start.countDown();
+            List<Book> first = results.get(0).get();
+            for (Future<List<Book>> result : results) {
+                assertSame(result.get(), first);
+            }
+        }
+        FixtureCache.Stats stats = cache.stats();
+        assertEquals(stats.misses(), 1, stats.toString());
+        assertEquals(stats.hits(), threads - 1, stats.toString());
+    }
+
+    @Test(description = "Repositories share the cached list and cannot modify it")
+    public void testRepositoriesShareImmutableView() {
+        BookRepository first = new BookRepository();
+        BookRepository second = new BookRepository();
+        first.loadBooks("books.json");
+        second.loadBooks("books.json");
+
+        assertSame(first.getAllBooks(), second.getAllBooks());
+        expectThrows(UnsupportedOperationException.class, () -> first.getAllBooks().add(new Book()));
+    }
+
+    @Test(description = "Least recently used fixtures are evicted once the memory cap is exceeded")
+    public void testEvictionAboveCap() {
+        FixtureCache sizing = new FixtureCache(1024 * 1024);
+        sizing.get(BOOKS, Book.class);
+        long booksBytes = sizing.stats().cachedBytes();
+
+        FixtureCache cache = new FixtureCache(booksBytes + 1);
+        cache.get(BOOKS, Book.class);
+        cache.get(AUTHORS, Author.class);
+        assertEquals(cache.stats().evictions(), 1);
+        assertEquals(cache.stats().entries(), 1);
+
+        cache.get(AUTHORS, Author.class);
+        assertEquals(cache.stats().hits(), 1, "the newest entry should still be cached");
+        cache.get(BOOKS, Book.class);
+        assertEquals(cache.stats().misses(), 3, "the evicted entry should be parsed again");
+    }
+
+    @Test(description = "A failed load is not cached")
+    public void testFailuresAreNotCached() {
+        FixtureCache cache = new FixtureCache(1024 * 1024);
+        expectThrows(IllegalArgumentException.class, () -> cache.get("data/books/missing.json", Book.class));
+        expectThrows(IllegalArgumentException.class, () -> cache.get("data/books/missing.json", Book.class));
+        assertEquals(cache.stats().misses(), 2);
+        assertEquals(cache.stats().entries(), 0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.FixtureSnapshot;
+import com.api.test.repositories.FixtureSnapshotCompiler;
+import com.api.test.repositories.LoadDataFromJson;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public class FixtureSnapshotTests extends BaseApiTest {
+
+    private final LoadDataFromJson loadData = new LoadDataFromJson();
+
+    @Test(description = "The build step writes snapshots that load the same records as the JSON")
+    public void testClasspathSnapshotsMatchJson() {
+        Optional<List<Book>> books = FixtureSnapshot.load("data/books/books.json", Book.class);
+        Optional<List<Author>> authors = FixtureSnapshot.load("data/authors/authors.json", Author.class);
+
+        assertTrue(books.isPresent(), "books.snap should be on the test classpath");
+        assertTrue(authors.isPresent(), "authors.snap should be on the test classpath");
+        assertEquals(books.get(), parseJson("data/books/books.json", Book.class));
+        assertEquals(authors.get(), parseJson("data/authors/authors.json", Author.class));
+    }
+
+    @Test(description = "Nulls, missing fields and non-ASCII text survive the round trip")
+    public void testRoundTrip() throws IOException {
+        Path json = writeJson("[{\"id\":1,\"title\":\"Čaj за двама ☕\",\"pageCount\":null},"
+                + "{\"title\":\"\",\"publishDate\":\"2024-01-01T00:00:00\"},{}]");
+        FixtureSnapshotCompiler.compile(json, Book.class);
+
+        List<Book> expected = loadData.loadObjects(Files.newInputStream(json), Book.class);
+        List<Book> snapshot = FixtureSnapshot.load(json, Book.class).orElseThrow();
+        assertEquals(snapshot, expected);
+        assertSame(snapshot.get(0), snapshot.get(0), "a record is built once and then reused");
+        expectThrows(UnsupportedOperationException.class, () -> snapshot.add(new Book()));
+    }
+
+    @Test(description = "Stale, mismatched or damaged snapshots fall back to the JSON")
+    public void testUnusableSnapshotsAreIgnored() throws IOException {
+        Path json = writeJson("[{\"id\":1,\"title\":\"First\"}]");
+        Path snapshot = FixtureSnapshotCompiler.compile(json, Book.class);
+        assertTrue(FixtureSnapshot.load(json, Book.class).isPresent());
+
+        assertFalse(FixtureSnapshot.load(json, Author.class).isPresent(), "different model");
+
+        Files.setLastModifiedTime(json, FileTime.fromMillis(Files.getLastModifiedTime(json).toMillis() + 5_000));
+        assertFalse(FixtureSnapshot.load(json, Book.class).isPresent(), "JSON changed after the snapshot");
+
+        FixtureSnapshotCompiler.compile(json, Book.class);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+        assertFalse(FixtureSnapshot.load(json, Book.class).isPresent(), "truncated snapshot");
+    }
+
+    private <T> List<T> parseJson(String resourceName, Class<T> type) {
+        return loadData.loadObjects(getClass().getClassLoader().getResourceAsStream(resourceName), type);
+    }
+
+    private static Path writeJson(String json) throws IOException {
+        Path directory = Files.createTempDirectory("fixtures");
+        directory.toFile().deleteOnExit();
+        Path file = directory.resolve("books.json");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,123 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.fuzz.FuzzCase;
+import com.api.test.fuzz.FuzzPlan;
+import com.api.test.fuzz.FuzzReport;
+import com.api.test.fuzz.FuzzRunner;
+import com.api.test.fuzz.FuzzTarget;
+import com.api.test.fuzz.Mutation;
+import com.api.test.fuzz.PayloadMutator;
+import com.api.test.fuzz.Shrinker;
+import com.api.test.fuzz.Violation;
+import com.api.test.load.LoadContext;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.server.FakeRestApiServer;
+import com.api.test.support.StubServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class FuzzingTests extends BaseApiTest {
+
+    private static final String VALIDATION_PROBLEM = "{\"title\":\"One or more validation errors occurred.\","
+            + "\"traceId\":\"00-1\",\"errors\":{\"$\":[\"The JSON value could not be converted.\"]}}";
+
+    @Test(description = "A case depends on the seed and its index only, and every mutation and target comes up")
+    public void testMutatorIsDeterministic() {
+        PayloadMutator mutator = new PayloadMutator(7, 200);
+        PayloadMutator again = new PayloadMutator(7, 200);
+        Set<Mutation> mutations = EnumSet.noneOf(Mutation.class);
+        Set<FuzzTarget> targets = EnumSet.noneOf(FuzzTarget.class);
+        for (long index = 499; index >= 0; index--) {
+            FuzzCase fuzzCase = mutator.generate(index);
+            FuzzCase replayed = again.generate(index);
+            assertEquals(replayed.toJson(), fuzzCase.toJson(), "case " + index);
+            assertEquals(replayed.mutations(), fuzzCase.mutations());
+            mutations.addAll(fuzzCase.mutations());
+            targets.add(fuzzCase.target());
+        }
+        assertEquals(mutations, EnumSet.allOf(Mutation.class));
+        assertEquals(targets, EnumSet.allOf(FuzzTarget.class));
+        assertNotEquals(new PayloadMutator(8, 200).generate(0).toJson(), mutator.generate(0).toJson());
+    }
+
+    @Test(description = "Shrinking keeps only what the failure needs, within the attempt budget")
+    public void testShrinkerReducesPayload() throws Exception {
+        JsonNode payload = new ObjectMapper().readTree("{\"id\":1,\"title\":\"abcXYZdef\",\"pageCount\":123456,"
+                + "\"nested\":[[{\"a\":[1,2,3,{\"title\":\"XYZ\"}]}]],\"excerpt\":null}");
+
+        Shrinker.Result shrunk = new Shrinker(1_000).shrink(payload, candidate -> candidate.toString().contains("XYZ"));
+        assertEquals(shrunk.payload().toString(), "\"XYZ\"");
+        assertTrue(shrunk.steps() > 0 && shrunk.attempts() >= shrunk.steps());
+
+        Shrinker.Result budgeted = new Shrinker(3).shrink(payload, candidate -> candidate.toString().contains("XYZ"));
+        assertEquals(budgeted.attempts(), 3);
+        assertTrue(budgeted.payload().toString().length() < payload.toString().length());
+    }
+
+    @Test(description = "A server error found by the campaign is shrunk to the value that triggers it")
+    public void testCampaignShrinksServerErrors() throws Exception {
+        String trigger = String.valueOf(Integer.MAX_VALUE + 1L);
+        try (StubServer server = StubServer.start(exchange -> {
+            if (StubServer.readBody(exchange).contains(trigger)) {
+                StubServer.respond(exchange, HttpStatus.SC_INTERNAL_SERVER_ERROR, "{}");
+            } else {
+                StubServer.respond(exchange, HttpStatus.SC_BAD_REQUEST, VALIDATION_PROBLEM);
+            }
+        })) {
+            FuzzReport report = new FuzzRunner(context(server.baseUri()), plan(400)).run();
+
+            assertEquals(report.getCases(), 400);
+            assertFalse(report.getFindings().isEmpty(), "Int32 max + 1 is in 1 of about 30 cases");
+            for (FuzzReport.Finding finding : report.getFindings()) {
+                assertEquals(finding.violation().kind(), Violation.Kind.SERVER_ERROR, finding.signature());
+                assertTrue(finding.isReproduced());
+                // a payload sent as a JSON string keeps its quotes
+                assertEquals(finding.payload().toString().replace("\"", ""), trigger, finding.signature());
+                assertTrue(finding.occurrences() >= 1);
+            }
+            long serverErrors = report.getStatuses().getOrDefault(HttpStatus.SC_INTERNAL_SERVER_ERROR, 0L);
+            assertEquals(report.getFindings().stream().mapToLong(FuzzReport.Finding::occurrences).sum(), serverErrors);
+        }
+    }
+
+    @Test(description = "The embedded FakeRestApi answers every fuzzed payload with a model or a validation problem")
+    public void testCampaignAgainstFakeRestApi() throws Exception {
+        try (FakeRestApiServer server = FakeRestApiServer.start(0)) {
+            FuzzReport report = new FuzzRunner(context(server.baseUri()), plan(2_000)).run();
+
+            assertTrue(report.getFindings().isEmpty(), report.toJson());
+            assertEquals(report.getStatuses().keySet(), Set.of(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST));
+            assertTrue(report.getThroughput() > 0);
+        }
+    }
+
+    private static LoadContext context(String baseUri) {
+        return FuzzRunner.contextFor(RequestSettings.builder()
+                .baseUri(baseUri)
+                .responseCache(ResponseCache.disabled())
+                .build());
+    }
+
+    private static FuzzPlan plan(int cases) {
+        return FuzzPlan.builder()
+                .seed(42)
+                .cases(cases)
+                .concurrency(4)
+                // a loaded build machine, not the server, is the likely cause of a slow response here
+                .latencyOutlier(Duration.ofSeconds(30))
+                .maxShrinkAttempts(500)
+                .build();
+    }
+}
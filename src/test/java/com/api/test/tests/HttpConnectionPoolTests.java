@@ -0,0 +1,107 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpConnectionPool;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.support.StubServer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.http.HttpStatus;
+import org.apache.http.pool.PoolStats;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+// methods share the stub server set up per method, so they must not run concurrently
+@Test(singleThreaded = true)
+public class HttpConnectionPoolTests extends BaseApiTest {
+
+    private static final int MAX_PER_ROUTE = 4;
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private StubServer server;
+    private HttpConnectionPool pool;
+    private BookRequests bookRequests;
+
+    @BeforeMethod
+    public void startServer() {
+        clientPorts.clear();
+        server =
+                StubServer.start(
+                        exchange -> {
+                            // every TCP connection has its own client port
+                            clientPorts.add(exchange.getRemoteAddress().getPort());
+                            StubServer.respond(exchange, HttpStatus.SC_OK, "[]");
+                        });
+        pool = new HttpConnectionPool(10, MAX_PER_ROUTE, 60_000, 60_000, 5_000, 5_000, 30_000);
+        bookRequests =
+                new BookRequests(
+                        RequestSettings.builder()
+                                .baseUri(server.baseUri())
+                                // the pool only backs the RestAssured transport
+                                .transport(HttpTransport.Type.REST_ASSURED)
+                                .connectionPool(pool)
+                                .build());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        pool.shutdown();
+        server.close();
+    }
+
+    @Test(description = "Sequential calls reuse one keep-alive connection")
+    public void testSequentialCallsReuseConnection() {
+        for (int i = 0; i < 50; i++) {
+            bookRequests.getAllBooks().then().statusCode(HttpStatus.SC_OK);
+        }
+
+        assertEquals(clientPorts.size(), 1, "Expected every call to reuse the same connection");
+        PoolStats stats = pool.stats();
+        assertEquals(stats.getLeased(), 0, "No connection should stay leased after the calls");
+        assertEquals(stats.getAvailable(), 1, "The connection should be back in the pool");
+    }
+
+    @Test(description = "Concurrent calls never open more connections than allowed per route")
+    public void testConcurrentCallsRespectMaxPerRoute() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(16);
+        List<Future<?>> calls = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                calls.add(threads.submit(() -> bookRequests.getAllBooks().then().statusCode(HttpStatus.SC_OK)));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertTrue(
+                clientPorts.size() <= MAX_PER_ROUTE,
+                String.format("Opened %s connections, limit is %s", clientPorts.size(), MAX_PER_ROUTE));
+        PoolStats stats = pool.stats();
+        assertEquals(stats.getLeased(), 0);
+        assertEquals(stats.getPending(), 0);
+        assertEquals(stats.getAvailable(), clientPorts.size());
+    }
+
+    @Test(description = "Idle connections can be evicted")
+    public void testEvictIdleConnections() {
+        bookRequests.getAllBooks().then().statusCode(HttpStatus.SC_OK);
+        assertEquals(pool.stats().getAvailable(), 1);
+
+        pool.evictIdleConnections();
+
+        assertEquals(pool.stats().getAvailable(), 0);
+    }
+}
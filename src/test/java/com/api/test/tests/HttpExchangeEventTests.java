@@ -0,0 +1,185 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.metrics.HttpExchangeAnalyzer;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.CircuitBreakers;
+import com.api.test.requests.HttpExchangeEvent;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.requests.RetryPolicy;
+import com.api.test.support.StubServer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class HttpExchangeEventTests extends BaseApiTest {
+
+    private static final String BOOK = "{\"id\":1,\"title\":\"Krakatit – Čapek\"}";
+    // two-byte, three-byte and four-byte characters
+    private static final String PAYLOAD = "{\"title\":\"Válka s Mloky – Čapek 📘\"}";
+
+    @DataProvider(name = "transports")
+    public Object[][] transports() {
+        return new Object[][] {{HttpTransport.Type.REST_ASSURED}, {HttpTransport.Type.JDK}};
+    }
+
+    @Test(dataProvider = "transports",
+            description = "Every attempt commits an exchange event with endpoint, status, sizes and serialization time")
+    public void testExchangeEventsAreRecorded(HttpTransport.Type transport) throws Exception {
+        AtomicInteger gets = new AtomicInteger();
+        try (StubServer server = StubServer.start(exchange -> {
+            String body = StubServer.readBody(exchange);
+            if (exchange.getRequestMethod().equals("POST")) {
+                StubServer.respond(exchange, HttpStatus.SC_OK, body);
+            } else if (gets.incrementAndGet() == 1) {
+                StubServer.respond(exchange, HttpStatus.SC_SERVICE_UNAVAILABLE, "{}");
+            } else {
+                StubServer.respond(exchange, HttpStatus.SC_OK, BOOK);
+            }
+        })) {
+            BookRequests bookRequests = new BookRequests(settings(server.baseUri(), transport, new RetryPolicy(2, Duration.ZERO, Duration.ZERO)));
+
+            List<RecordedEvent> events = record(server.baseUri(), () -> {
+                bookRequests.getBookById(17);
+                bookRequests.createBookAsync(PAYLOAD).join();
+            });
+
+            assertEquals(events.size(), 3, "two GET attempts and a POST: " + events);
+            RecordedEvent unavailable = events.get(0);
+            assertEquals(unavailable.getString("method"), "GET");
+            assertEquals(unavailable.getString("endpoint"), "Books/{id}");
+            assertEquals(unavailable.getInt("status"), HttpStatus.SC_SERVICE_UNAVAILABLE);
+            assertEquals(unavailable.getInt("attempt"), 1);
+
+            RecordedEvent get = events.get(1);
+            assertEquals(get.getInt("status"), HttpStatus.SC_OK);
+            assertEquals(get.getInt("attempt"), 2);
+            assertEquals(get.getLong("requestBytes"), 0);
+            assertEquals(get.getLong("responseBytes"), BOOK.getBytes(StandardCharsets.UTF_8).length);
+            assertTrue(get.getString("host").startsWith("localhost:"), get.getString("host"));
+            assertNull(get.getString("error"));
+
+            RecordedEvent post = events.get(2);
+            assertEquals(post.getString("method"), "POST");
+            assertEquals(post.getString("endpoint"), "Books");
+            long payloadBytes = PAYLOAD.getBytes(StandardCharsets.UTF_8).length;
+            assertEquals(post.getLong("requestBytes"), payloadBytes);
+            assertEquals(post.getLong("responseBytes"), payloadBytes);
+            for (RecordedEvent event : events) {
+                Duration serialization = event.getDuration("serializationTime");
+                assertTrue(serialization.toNanos() > 0, "serialization time of " + event);
+                assertTrue(serialization.compareTo(event.getDuration()) < 0, "serialization is part of " + event);
+            }
+        }
+    }
+
+    @Test(description = "An attempt without a response records the error class and status 0")
+    public void testFailedExchangeIsRecorded() throws Exception {
+        // nothing listens on the port of a closed stub server
+        String baseUri;
+        try (StubServer server = StubServer.start(exchange -> StubServer.respond(exchange, HttpStatus.SC_OK, "{}"))) {
+            baseUri = server.baseUri();
+        }
+        BookRequests bookRequests = new BookRequests(settings(baseUri, HttpTransport.Type.REST_ASSURED, RetryPolicy.none()));
+
+        List<RecordedEvent> events =
+                record(baseUri, () -> expectThrows(RuntimeException.class, () -> bookRequests.getAllBooks()));
+
+        assertEquals(events.size(), 1);
+        assertEquals(events.get(0).getInt("status"), 0);
+        assertEquals(events.get(0).getString("endpoint"), "Books");
+        assertTrue(events.get(0).getString("error").endsWith("Exception"), events.get(0).getString("error"));
+    }
+
+    @Test(description = "The analyzer summarizes a recording per method and endpoint")
+    public void testAnalyzerSummarizesRecording() throws Exception {
+        try (StubServer server = StubServer.start(exchange -> {
+            StubServer.readBody(exchange);
+            int status = exchange.getRequestURI().getPath().endsWith("/404") ? HttpStatus.SC_NOT_FOUND : HttpStatus.SC_OK;
+            StubServer.respond(exchange, status, BOOK);
+        })) {
+            BookRequests bookRequests = new BookRequests(settings(server.baseUri(), HttpTransport.Type.REST_ASSURED, RetryPolicy.none()));
+            Path file = Files.createTempFile("exchanges", ".jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable(HttpExchangeEvent.NAME);
+                recording.start();
+                for (int id = 1; id <= 10; id++) {
+                    bookRequests.getBookById(id);
+                }
+                bookRequests.getBookById(404);
+                bookRequests.getAllBooks();
+                recording.stop();
+                recording.dump(file);
+            }
+
+            HttpExchangeAnalyzer analyzer = new HttpExchangeAnalyzer().read(file);
+
+            Map<String, HttpExchangeAnalyzer.Summary> summaries = analyzer.getSummaries().stream()
+                    .collect(Collectors.toMap(summary -> summary.getMethod() + " " + summary.getEndpoint(), Function.identity()));
+            assertEquals(summaries.keySet(), Set.of("GET Books/{id}", "GET Books"));
+            HttpExchangeAnalyzer.Summary items = summaries.get("GET Books/{id}");
+            assertEquals(items.getCount(), 11);
+            assertEquals(items.getErrors(), 1);
+            assertEquals(items.getFailures(), 0);
+            assertEquals(items.getStatuses(), Map.of(200, 10L, 404, 1L));
+            assertEquals(items.getResponseBytes(), 11L * BOOK.getBytes(StandardCharsets.UTF_8).length);
+            assertTrue(items.getSerializationPercent() > 0 && items.getSerializationPercent() < 100);
+            assertEquals(analyzer.getSummaries().get(0).getEndpoint(), "Books/{id}", "most total time first");
+
+            ByteArrayOutputStream printed = new ByteArrayOutputStream();
+            analyzer.print(new PrintStream(printed, true, StandardCharsets.UTF_8));
+            assertTrue(printed.toString(StandardCharsets.UTF_8).contains("Books/{id}"));
+        }
+    }
+
+    /** Runs {@code calls} while recording the exchange events; returns those with {@code baseUri} in commit order. */
+    private static List<RecordedEvent> record(String baseUri, Runnable calls) throws Exception {
+        String host = URI.create(baseUri).getAuthority();
+        Path file = Files.createTempFile("exchanges", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(HttpExchangeEvent.NAME);
+            recording.start();
+            calls.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(HttpExchangeEvent.NAME))
+                .filter(event -> host.equals(event.getString("host")))
+                .sorted((first, second) -> first.getEndTime().compareTo(second.getEndTime()))
+                .collect(Collectors.toList());
+    }
+
+    private static RequestSettings settings(String baseUri, HttpTransport.Type transport, RetryPolicy retryPolicy) {
+        return RequestSettings.builder()
+                .baseUri(baseUri)
+                .transport(transport)
+                .responseCache(ResponseCache.disabled())
+                .circuitBreakers(CircuitBreakers.disabled())
+                .retryPolicy(retryPolicy)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.api.test.tests;
+
+import static com.api.test.constants.ApiTestsConstants.INVALID_ID_DATA_TYPE;
+import static com.api.test.constants.ApiTestsConstants.NON_EXISTENT_ID;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.models.Book;
+import com.api.test.requests.AsyncRequestExecutor;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.JdkHttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.server.FakeRestApiServer;
+import com.api.test.support.StubServer;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.response.Response;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HttpTransportTests extends BaseApiTest {
+
+    private FakeRestApiServer server;
+
+    @BeforeClass
+    public void startServer() {
+        server = FakeRestApiServer.start(0);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.close();
+    }
+
+    @DataProvider(name = "transports")
+    public Object[][] transports() {
+        return new Object[][] {{HttpTransport.Type.REST_ASSURED}, {HttpTransport.Type.JDK}};
+    }
+
+    @Test(dataProvider = "transports", description = "Both transports hand back equivalent RestAssured responses")
+    public void testResponsesMatchAcrossTransports(HttpTransport.Type type) {
+        BookRequests bookRequests = bookRequests(type, AsyncRequestExecutor.shared());
+
+        Book book = bookRequests.getBookById(1).then().statusCode(HttpStatus.SC_OK).extract().as(Book.class);
+        assertEquals(book.getId(), Integer.valueOf(1));
+        assertEquals(bookRequests.getAllBooks().jsonPath().getList("id").size(), 200);
+
+        Book created = bookRequests.createBook(gson.toJson(Book.builder().title("Transport " + type).pageCount(1).build()))
+                .then().statusCode(HttpStatus.SC_OK).extract().as(Book.class);
+        assertEquals(created.getTitle(), "Transport " + type);
+
+        verifyError.verifyErrorNotFound(
+                bookRequests.getBookById(NON_EXISTENT_ID).then().statusCode(HttpStatus.SC_NOT_FOUND).extract().response());
+        verifyError.verifyErrorInvalidIdType(
+                bookRequests.deleteBook(INVALID_ID_DATA_TYPE).then().statusCode(HttpStatus.SC_BAD_REQUEST).extract().response(),
+                INVALID_ID_DATA_TYPE);
+        Response async = bookRequests.getBookByIdAsync(2).join();
+        assertEquals(async.as(Book.class).getId(), Integer.valueOf(2));
+    }
+
+    @Test(description = "Asynchronous JDK sends respect the executor's in-flight limit and release permits")
+    public void testJdkAsyncSendsAreBounded() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        try (StubServer stub = StubServer.start(exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        })) {
+            AsyncRequestExecutor executor = new AsyncRequestExecutor(3);
+            BookRequests bookRequests = new BookRequests(settings(stub.baseUri(), HttpTransport.Type.JDK, executor));
+
+            List<CompletableFuture<Response>> calls = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                calls.add(bookRequests.getBookByIdAsync(i));
+            }
+            calls.forEach(call -> assertEquals(call.join().statusCode(), HttpStatus.SC_OK));
+
+            assertTrue(maxInFlight.get() <= 3, "At most 3 requests should reach the server at once, saw " + maxInFlight.get());
+            assertEquals(executor.getInFlight(), 0);
+        }
+    }
+
+    @Test(description = "Cancelling a JDK async send aborts it and frees its permit")
+    public void testJdkAsyncCancellationReleasesPermit() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (StubServer stub = StubServer.start(exchange -> {
+            received.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+                StubServer.respond(exchange, HttpStatus.SC_OK, "{}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            AsyncRequestExecutor executor = new AsyncRequestExecutor(1);
+            BookRequests bookRequests = new BookRequests(settings(stub.baseUri(), HttpTransport.Type.JDK, executor));
+
+            CompletableFuture<Response> stalled = bookRequests.getBookByIdAsync(1);
+            assertTrue(received.await(10, TimeUnit.SECONDS), "The request should reach the server");
+            CompletableFuture<Response> queued = bookRequests.getBookByIdAsync(2);
+            stalled.cancel(true);
+            release.countDown();
+
+            assertEquals(queued.get(10, TimeUnit.SECONDS).statusCode(), HttpStatus.SC_OK);
+            assertEquals(executor.getInFlight(), 0);
+        }
+    }
+
+    @Test(description = "Filters and unknown transport names are rejected up front")
+    public void testInvalidConfigurationIsRejected() {
+        RequestSettings withFilter = settings(server.baseUri(), HttpTransport.Type.JDK, AsyncRequestExecutor.shared())
+                .toBuilder()
+                .filter(new RequestLoggingFilter())
+                .build();
+        expectThrows(IllegalArgumentException.class, () -> new JdkHttpTransport(withFilter));
+        expectThrows(IllegalArgumentException.class, () -> HttpTransport.Type.parse("okhttp"));
+        assertEquals(HttpTransport.Type.parse(" JDK "), HttpTransport.Type.JDK);
+    }
+
+    private BookRequests bookRequests(HttpTransport.Type type, AsyncRequestExecutor executor) {
+        return new BookRequests(settings(server.baseUri(), type, executor));
+    }
+
+    private static RequestSettings settings(String baseUri, HttpTransport.Type type, AsyncRequestExecutor executor) {
+        return RequestSettings.builder().baseUri(baseUri).transport(type).asyncExecutor(executor).build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.AuthorRepository;
+import com.api.test.repositories.BookRepository;
+import com.api.test.repositories.LoadDataFromJson;
+import com.api.test.repositories.LoadDataFromJson.JsonArrayIterator;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class JsonDataLoadingTests extends BaseApiTest {
+
+    private final LoadDataFromJson loadData = new LoadDataFromJson();
+
+    @Test(description = "Streaming a fixture yields the same records as loading it as a list")
+    public void testStreamMatchesList() {
+        BookRepository bookRepository = new BookRepository();
+        bookRepository.loadBooks("books.json");
+        try (Stream<Book> books = bookRepository.streamBooks("books.json")) {
+            assertEquals(books.collect(Collectors.toList()), bookRepository.getAllBooks());
+        }
+
+        AuthorRepository authorRepository = new AuthorRepository();
+        authorRepository.loadAuthors("authors.json");
+        try (Stream<Author> authors = authorRepository.streamAuthors("authors.json")) {
+            assertEquals(authors.collect(Collectors.toList()), authorRepository.getAllAuthors());
+        }
+    }
+
+    @Test(description = "Records are read one at a time, so the rest of the input is not touched yet")
+    public void testStreamIsLazy() {
+        String json = "[{\"id\":1,\"title\":\"First\"},{\"id\":2,\"title\":\"Second\"},{\"id\":3,\"title\":";
+        JsonArrayIterator<Book> books = loadData.iterateObjects(input(json), Book.class);
+
+        assertEquals(books.next().getTitle(), "First");
+        assertEquals(books.next().getTitle(), "Second");
+        expectThrows(UncheckedIOException.class, books::next);
+    }
+
+    @Test(description = "Closing the stream closes the underlying input")
+    public void testCloseReleasesInput() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream in = new ByteArrayInputStream("[{\"id\":1},{\"id\":2}]".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        try (Stream<Book> books = loadData.streamObjects(in, Book.class)) {
+            assertEquals(books.findFirst().orElseThrow().getId(), 1);
+        }
+        assertTrue(closed.get(), "input stream should be closed with the Stream");
+    }
+
+    @Test(description = "An input that fails before the first record is closed, not leaked")
+    public void testFailedReadClosesInput() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream in = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("disk gone");
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        expectThrows(UncheckedIOException.class, () -> loadData.streamObjects(in, Book.class));
+        assertTrue(closed.get(), "input stream should be closed when reading the array fails");
+    }
+
+    @Test(description = "Inputs that are not a JSON array, and missing resources, are rejected up front")
+    public void testInvalidInput() {
+        expectThrows(IllegalArgumentException.class, () -> loadData.iterateObjects(input("{\"id\":1}"), Book.class));
+        expectThrows(IllegalArgumentException.class, () -> loadData.streamObjects("data/books/missing.json", Book.class));
+        List<Book> empty = loadData.streamObjects(input("[]"), Book.class).collect(Collectors.toList());
+        assertTrue(empty.isEmpty());
+    }
+
+    private static InputStream input(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
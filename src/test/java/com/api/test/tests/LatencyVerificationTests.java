@@ -0,0 +1,75 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.metrics.LatencyHistogram;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+public class LatencyVerificationTests extends BaseApiTest {
+
+    private static final Response OK = new ResponseBuilder().setStatusCode(200).setBody("{}").build();
+
+    @Test(description = "A call within its limit passes and returns the response")
+    public void testSingleCallWithinLimit() {
+        assertEquals(verifyLatency.verifyWithinLimit("fast", Duration.ofSeconds(5), () -> OK), OK);
+    }
+
+    @Test(description = "A slow call fails with its histogram in the message")
+    public void testSingleCallAboveLimit() {
+        AssertionError error = expectThrows(AssertionError.class,
+                () -> verifyLatency.verifyWithinLimit("slow", Duration.ofMillis(5), () -> sleep(30)));
+        assertTrue(error.getMessage().startsWith("slow took"), error.getMessage());
+        assertTrue(error.getMessage().contains("above its limit of 5.0 ms"), error.getMessage());
+        assertTrue(error.getMessage().contains("1 calls, min"), error.getMessage());
+    }
+
+    @Test(description = "A percentile limit only fails when the tail is above it")
+    public void testPercentileLimit() {
+        // one call in 20 is slow: p90 stays fast, p99 does not
+        LatencyHistogram histogram = verifyLatency.verifyPercentileWithinLimit(
+                "mostlyFast", 90, Duration.ofMillis(15), 40, call -> call % 20 == 19 ? sleep(40) : OK);
+        assertEquals(histogram.getCount(), 40);
+
+        AssertionError error = expectThrows(AssertionError.class, () -> verifyLatency.verifyPercentileWithinLimit(
+                "mostlyFast", 99, Duration.ofMillis(15), 40, call -> call % 20 == 19 ? sleep(40) : OK));
+        String message = error.getMessage();
+        assertTrue(message.startsWith("p99 of 40 mostlyFast calls is"), message);
+        assertTrue(message.contains("p95"), message);
+        assertTrue(message.contains("#"), message);
+    }
+
+    @Test(description = "Fast calls with an unexpected status fail a percentile limit")
+    public void testPercentileLimitRequiresExpectedStatus() {
+        Response unavailable = new ResponseBuilder().setStatusCode(503).setBody("").build();
+        AssertionError error = expectThrows(AssertionError.class, () -> verifyLatency.verifyPercentileWithinLimit(
+                "outage", 95, Duration.ofSeconds(5), 40, call -> call % 4 == 3 ? unavailable : OK));
+        String message = error.getMessage();
+        assertTrue(message.startsWith("10 of 40 outage calls answered with an unexpected status"), message);
+        assertTrue(message.contains("{200=30, 503=10}"), message);
+
+        LatencyHistogram histogram = verifyLatency.verifyPercentileWithinLimit(
+                "expectedOutage", 95, Duration.ofSeconds(5), 40, status -> status == 503, call -> unavailable);
+        assertEquals(histogram.getCount(), 40);
+    }
+
+    @Test(description = "A limit missing from the environment skips the check")
+    public void testUnconfiguredLimitSkips() {
+        expectThrows(SkipException.class, () -> verifyLatency.verifyWithinLimit("notConfigured", () -> OK));
+    }
+
+    private static Response sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return OK;
+    }
+}
@@ -0,0 +1,175 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.load.LoadContext;
+import com.api.test.load.LoadOperation;
+import com.api.test.load.LoadPlan;
+import com.api.test.load.LoadReport;
+import com.api.test.load.LoadRunner;
+import com.api.test.load.OpenModelLoadRunner;
+import com.api.test.load.OperationStats;
+import com.api.test.load.ScenarioMix;
+import com.api.test.metrics.LatencyHistogram;
+import com.api.test.requests.CircuitBreakers;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.requests.RetryPolicy;
+import com.api.test.support.StubServer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.Test;
+
+public class LoadRunnerTests extends BaseApiTest {
+
+    private static final int WARM_UP_CALLS = 5;
+    // the 50th request of the open-model run
+    private static final int STALLED_REQUEST = WARM_UP_CALLS + 50;
+
+    @Test(description = "Scenario mix rejects unknown operations and bad weights")
+    public void testScenarioMixValidation() {
+        assertEquals(
+                ScenarioMix.parse("getBookById:70, getAllBooks:20,createBook:10").toString(),
+                "getBookById:70,getAllBooks:20,createBook:10");
+        expectThrows(IllegalArgumentException.class, () -> ScenarioMix.parse("getBook:10"));
+        expectThrows(IllegalArgumentException.class, () -> ScenarioMix.parse("getAllBooks:0"));
+        expectThrows(IllegalArgumentException.class, () -> ScenarioMix.parse("getAllBooks"));
+        expectThrows(IllegalArgumentException.class, () -> ScenarioMix.parse(""));
+    }
+
+    @Test(description = "The open-model arrival rate may be a fraction of a request per second")
+    public void testFractionalArrivalRate() {
+        System.setProperty("load.ratePerSecond", "0.5");
+        try {
+            LoadPlan plan = LoadPlan.fromConfiguration();
+            assertEquals(plan.getRatePerSecond(), 0.5);
+            assertTrue(plan.isOpenModel());
+        } finally {
+            System.clearProperty("load.ratePerSecond");
+        }
+    }
+
+    @Test(description = "Configured load contexts neither retry nor go through a circuit breaker")
+    public void testConfiguredContextIsUnprotected() {
+        RequestSettings settings = LoadContext.fromConfiguration().getSettings();
+        assertSame(settings.getRetryPolicy(), RetryPolicy.none());
+        assertSame(settings.getCircuitBreakers(), CircuitBreakers.disabled());
+    }
+
+    @Test(description = "Histogram percentiles stay within the bucket precision")
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(histogram.getCount(), 10_000);
+        assertEquals(histogram.getMax(), 10_000);
+        assertWithinPrecision(histogram.getValueAtPercentile(50), 5_000);
+        assertWithinPrecision(histogram.getValueAtPercentile(99), 9_900);
+        assertWithinPrecision(histogram.getValueAtPercentile(99.9), 9_990);
+        assertEquals(histogram.getValueAtPercentile(100), 10_000);
+    }
+
+    @Test(description = "An iteration-bound run sends exactly the planned requests in the planned mix")
+    public void testIterationBoundRun() throws Exception {
+        Map<String, AtomicInteger> requestsByMethod = new ConcurrentHashMap<>();
+        try (StubServer server =
+                StubServer.start(
+                        exchange -> {
+                            requestsByMethod
+                                    .computeIfAbsent(exchange.getRequestMethod(), key -> new AtomicInteger())
+                                    .incrementAndGet();
+                            StubServer.readBody(exchange);
+                            StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+                        })) {
+            LoadContext context = new LoadContext(RequestSettings.forBaseUri(server.baseUri()), 200, 200);
+            LoadPlan plan =
+                    LoadPlan.builder()
+                            .mix(ScenarioMix.parse("getBookById:70,getAllBooks:20,createBook:10"))
+                            .concurrency(8)
+                            .iterations(300)
+                            .build();
+
+            LoadReport report = new LoadRunner(context, plan).run();
+
+            assertEquals(report.getTotalCount(), 300);
+            assertEquals(report.getTotalErrors(), 0);
+            assertTrue(report.getThroughput() > 0);
+            Map<LoadOperation, Long> counts =
+                    report.getOperations().stream()
+                            .collect(
+                                    Collectors.toMap(
+                                            OperationStats::getOperation, stats -> stats.getLatency().getCount()));
+            assertEquals(counts.get(LoadOperation.CREATE_BOOK).intValue(), requestsByMethod.get("POST").get());
+            assertTrue(
+                    counts.get(LoadOperation.GET_BOOK_BY_ID) > counts.get(LoadOperation.GET_ALL_BOOKS),
+                    "The 70% operation should run more often than the 20% one: " + counts);
+        }
+    }
+
+    @Test(description = "Open-model latency includes the time requests queued behind a stall")
+    public void testOpenModelCorrectsForCoordinatedOmission() throws Exception {
+        int stallMillis = 600;
+        AtomicInteger received = new AtomicInteger();
+        try (StubServer server =
+                StubServer.start(
+                        exchange -> {
+                            if (received.incrementAndGet() == STALLED_REQUEST) {
+                                try {
+                                    Thread.sleep(stallMillis);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            }
+                            StubServer.respond(exchange, HttpStatus.SC_OK, "[]");
+                        })) {
+            // every call has to reach the server, whatever http.cache.enabled says
+            RequestSettings settings = RequestSettings.builder()
+                    .baseUri(server.baseUri())
+                    .responseCache(ResponseCache.disabled())
+                    .build();
+            LoadContext context = new LoadContext(settings, 200, 200);
+            for (int i = 0; i < WARM_UP_CALLS; i++) {
+                context.getBookRequests().getAllBooks();
+            }
+            LoadPlan plan =
+                    LoadPlan.builder()
+                            .mix(ScenarioMix.parse("getAllBooks:1"))
+                            .ratePerSecond(40)
+                            .maxInFlight(1)
+                            .iterations(200)
+                            .build();
+
+            LoadReport report = new OpenModelLoadRunner(context, plan).run();
+
+            LatencyHistogram corrected = report.getTotalLatency();
+            LatencyHistogram uncorrected = report.getTotalServiceTime();
+            assertEquals(corrected.getCount(), 200);
+            assertEquals(report.getTotalErrors(), 0);
+            long stallMicros = stallMillis * 1_000L;
+            assertTrue(uncorrected.getMax() >= stallMicros, "The stalled request itself must be recorded");
+            // only one request was slow to serve, so the uncorrected tail hides the stall ...
+            assertTrue(
+                    uncorrected.getValueAtPercentile(99) < stallMicros / 2,
+                    "Uncorrected p99 was " + uncorrected.getValueAtPercentile(99));
+            // ... while every request scheduled during the stall waited for it
+            assertTrue(
+                    corrected.getValueAtPercentile(99) > stallMicros * 6 / 10,
+                    "Corrected p99 was " + corrected.getValueAtPercentile(99));
+            assertTrue(corrected.getValueAtPercentile(90) > uncorrected.getValueAtPercentile(90));
+        }
+    }
+
+    private static void assertWithinPrecision(long actual, long expected) {
+        assertTrue(
+                Math.abs(actual - expected) <= expected / 50,
+                String.format("Expected about %s but got %s", expected, actual));
+    }
+}
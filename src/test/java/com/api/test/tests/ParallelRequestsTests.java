@@ -0,0 +1,97 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+
+import com.api.test.models.Book;
+import com.api.test.requests.BookRequests;
+import com.api.test.support.StubServer;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ParallelRequestsTests extends BaseApiTest {
+
+    private static final int CALLS = 400;
+    private static final int THREADS = 32;
+
+    private StubServer firstServer;
+    private StubServer secondServer;
+
+    @BeforeClass
+    public void startServers() {
+        firstServer = StubServer.start(exchange -> echo(exchange, "first"));
+        secondServer = StubServer.start(exchange -> echo(exchange, "second"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServers() {
+        firstServer.close();
+        secondServer.close();
+    }
+
+    @Test(description = "Hundreds of concurrent calls keep their own base URL and payload")
+    public void testConcurrentCallsDoNotCrossTalk() throws Exception {
+        BookRequests firstClient = new BookRequests(firstServer.baseUri());
+        BookRequests secondClient = new BookRequests(secondServer.baseUri());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> calls = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLS; i++) {
+                int bookId = i;
+                boolean useFirst = i % 2 == 0;
+                calls.add(
+                        pool.submit(
+                                () -> {
+                                    startGate.await();
+                                    BookRequests client = useFirst ? firstClient : secondClient;
+                                    String payload =
+                                            gson.toJson(Book.builder().id(bookId).title("Book " + bookId).build());
+                                    Response response =
+                                            bookId % 3 == 0
+                                                    ? client.createBook(payload)
+                                                    : client.updateBook(bookId, payload);
+
+                                    assertEquals(response.statusCode(), HttpStatus.SC_OK);
+                                    assertEquals(
+                                            response.jsonPath().getString("server"),
+                                            useFirst ? "first" : "second",
+                                            "Request reached the wrong base URL");
+                                    Book echoed = gson.fromJson(response.jsonPath().getString("body"), Book.class);
+                                    assertEquals(echoed.getId(), Integer.valueOf(bookId), "Payload was mixed up");
+                                    if (bookId % 3 != 0) {
+                                        assertEquals(
+                                                response.jsonPath().getString("path"), "/api/v1/Books/" + bookId);
+                                    }
+                                    return null;
+                                }));
+            }
+            startGate.countDown();
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void echo(HttpExchange exchange, String serverName) throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("server", serverName);
+        json.addProperty("path", exchange.getRequestURI().getPath());
+        json.addProperty("body", StubServer.readBody(exchange));
+        StubServer.respond(exchange, HttpStatus.SC_OK, json.toString());
+    }
+}
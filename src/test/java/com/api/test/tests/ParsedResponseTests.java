@@ -0,0 +1,89 @@
+package com.api.test.tests;
+
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TITLE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.verifications.ParsedResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+
+public class ParsedResponseTests extends BaseApiTest {
+
+    private static final String PAGE_COUNT_ERROR = "{\"title\":\"" + ERROR_MESSAGE_TITLE + "\","
+            + "\"traceId\":\"00-abc-01\","
+            + "\"errors\":{\"$.pageCount\":[\"" + ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32
+            + " Path: $.pageCount\"]}}";
+
+    @Test(description = "Paths resolve fields, quoted keys with dots and array indexes")
+    public void testPathLookups() {
+        ParsedResponse body = ParsedResponse.of(PAGE_COUNT_ERROR);
+
+        assertEquals(body.getString("title"), ERROR_MESSAGE_TITLE);
+        assertTrue(body.has("traceId"));
+        assertEquals(body.keys("errors"), Set.of("$.pageCount"));
+        assertTrue(body.getString("errors.'$.pageCount'[0]").startsWith(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32));
+        assertEquals(body.getList("errors.'$.pageCount'").size(), 1);
+    }
+
+    @Test(description = "Missing paths read as null or empty instead of failing")
+    public void testMissingPaths() {
+        ParsedResponse body = ParsedResponse.of("{\"title\":null}");
+
+        assertNull(body.getString("title"));
+        assertFalse(body.has("title"));
+        assertFalse(body.has("errors.'$.id'[0]"));
+        assertTrue(body.getList("errors").isEmpty());
+        assertTrue(body.keys("errors").isEmpty());
+        expectThrows(IllegalArgumentException.class, () -> body.getInt("id"));
+    }
+
+    @Test(description = "A field name on an array is read from every element, as in GPath")
+    public void testFieldOfArrayElements() {
+        ParsedResponse body = ParsedResponse.of("[{\"id\":1},{\"id\":2},{\"title\":\"no id\"},{\"id\":4}]");
+
+        List<JsonNode> ids = body.getList("id");
+        assertEquals(ids.size(), 3);
+        assertEquals(ids.get(2).asInt(), 4);
+        assertEquals(body.getInt("[1].id"), 2);
+    }
+
+    @Test(description = "Text is read as an int only when it holds one")
+    public void testIntFromText() {
+        ParsedResponse body = ParsedResponse.of("{\"id\":\"42\",\"title\":\"abc\",\"big\":\"3000000000\"}");
+
+        assertEquals(body.getInt("id"), 42);
+        expectThrows(IllegalArgumentException.class, () -> body.getInt("title"));
+        expectThrows(IllegalArgumentException.class, () -> body.getInt("big"));
+    }
+
+    @Test(description = "The body is parsed on first lookup, not on construction")
+    public void testParsesLazily() {
+        ParsedResponse body = ParsedResponse.of("not json");
+        expectThrows(UncheckedIOException.class, () -> body.getString("title"));
+    }
+
+    @Test(description = "Verifications accept a RestAssured response or a shared parsed view")
+    public void testVerificationsReadParsedResponse() {
+        Response response = new ResponseBuilder()
+                .setStatusCode(400)
+                .setContentType(ContentType.JSON)
+                .setBody(PAGE_COUNT_ERROR)
+                .build();
+
+        verifyError.verifyErrorInvalidPageCount(response);
+        verifyError.verifyErrorInvalidPageCount(ParsedResponse.of(response));
+        expectThrows(AssertionError.class, () -> verifyError.verifyErrorInvalidIdBookType(response));
+    }
+}
@@ -0,0 +1,110 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.AuthorRepository;
+import com.api.test.repositories.BookRepository;
+import com.api.test.repositories.IntIndex;
+import com.api.test.repositories.IntMultiIndex;
+import com.api.test.repositories.PrefixIndex;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class RepositoryIndexTests extends BaseApiTest {
+
+    @Test(description = "Repositories answer lookups from their indexes")
+    public void testRepositoryLookups() {
+        BookRepository books = new BookRepository();
+        books.loadBooks("books.json");
+        AuthorRepository authors = new AuthorRepository();
+        authors.loadAuthors("authors.json");
+
+        assertSame(books.findBookById(1).orElseThrow(), books.getAllBooks().get(0));
+        assertTrue(books.findBookById(-1).isEmpty());
+        assertEquals(books.findBooksByTitlePrefix("book").size(), books.getAllBooks().size());
+        assertTrue(books.findBooksByTitlePrefix("no such title").isEmpty());
+
+        assertEquals(authors.findAuthorById(2).orElseThrow().getLastName(), "Last Name 2");
+        assertEquals(authors.findAuthorsByBookId(1), authors.getAllAuthors());
+        assertTrue(authors.findAuthorsByBookId(999).isEmpty());
+    }
+
+    @Test(description = "IntIndex agrees with a HashMap, including key 0, negative keys and duplicates")
+    public void testIntIndexMatchesHashMap() {
+        Random random = new Random(42);
+        List<Book> books = new ArrayList<>();
+        Map<Integer, Book> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            Integer id = i % 100 == 0 ? null : random.nextInt(20_000) - 10_000;
+            Book book = Book.builder().id(id).title("Book " + i).build();
+            books.add(book);
+            if (id != null) {
+                expected.putIfAbsent(id, book);
+            }
+        }
+        books.add(Book.builder().id(0).build());
+        expected.putIfAbsent(0, books.get(books.size() - 1));
+
+        IntIndex<Book> index = IntIndex.of(books, Book::getId);
+
+        assertEquals(index.size(), expected.size());
+        for (int id = -10_001; id <= 10_001; id++) {
+            assertSame(index.get(id), expected.get(id), "id " + id);
+        }
+        assertNull(IntIndex.of(List.<Book>of(), Book::getId).get(0));
+    }
+
+    @Test(description = "IntMultiIndex groups records by key and keeps their order")
+    public void testIntMultiIndexMatchesGrouping() {
+        Random random = new Random(7);
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            authors.add(Author.builder().id(i).idBook(i % 50 == 0 ? null : random.nextInt(500) - 10).build());
+        }
+        Map<Integer, List<Author>> expected = authors.stream()
+                .filter(author -> author.getIdBook() != null)
+                .collect(Collectors.groupingBy(Author::getIdBook, LinkedHashMap::new, Collectors.toList()));
+
+        IntMultiIndex<Author> index = IntMultiIndex.of(authors, Author::getIdBook);
+
+        assertEquals(index.keyCount(), expected.size());
+        for (int idBook = -20; idBook < 510; idBook++) {
+            assertEquals(index.get(idBook), expected.getOrDefault(idBook, List.of()), "idBook " + idBook);
+        }
+    }
+
+    @Test(description = "PrefixIndex matches a case-insensitive startsWith scan")
+    public void testPrefixIndexMatchesScan() {
+        String[] words = {"Alpha", "alphabet", "Beta", "BETAMAX", "gamma", "Gam", "", "Ärger", "z"};
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String title = i % 97 == 0 ? null : words[i % words.length] + (i % 3 == 0 ? "" : " " + i);
+            books.add(Book.builder().id(i).title(title).build());
+        }
+        PrefixIndex<Book> index = PrefixIndex.of(books, Book::getTitle);
+
+        for (String prefix : new String[] {"", "a", "ALPHA", "alphab", "beta", "g", "gam ", "ä", "z 1", "zz", "1"}) {
+            String folded = prefix.toLowerCase(Locale.ROOT);
+            List<Book> expected = books.stream()
+                    .filter(book -> book.getTitle() != null)
+                    .filter(book -> book.getTitle().toLowerCase(Locale.ROOT).startsWith(folded))
+                    .sorted(Comparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER))
+                    .collect(Collectors.toList());
+            assertEquals(index.startingWith(prefix), expected, "prefix '" + prefix + "'");
+        }
+    }
+}
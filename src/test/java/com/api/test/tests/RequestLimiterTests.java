@@ -0,0 +1,216 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.metrics.EndpointMetrics;
+import com.api.test.metrics.EndpointStats;
+import com.api.test.requests.AuthorRequests;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestLimiter;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.requests.RetryPolicy;
+import com.api.test.support.StubServer;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestLimiterTests extends BaseApiTest {
+
+    @Test(description = "The token bucket lets a burst through at once and paces the rest at the configured rate")
+    public void testRateLimitPacesRequests() throws Exception {
+        List<Long> arrivals = new ArrayList<>();
+        try (StubServer server = StubServer.start(exchange -> {
+            synchronized (arrivals) {
+                arrivals.add(System.nanoTime());
+            }
+            StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+        })) {
+            EndpointMetrics metrics = new EndpointMetrics(true);
+            BookRequests bookRequests = new BookRequests(settings(server, metrics,
+                    RequestLimiter.of(RequestLimiter.Limit.rate(50, 5), Map.of())));
+
+            int requests = 30;
+            long start = System.nanoTime();
+            // platform threads: RestAssured callers waiting for a pooled connection pin virtual threads
+            try (ExecutorService callers = Executors.newFixedThreadPool(requests)) {
+                for (int call = 0; call < requests; call++) {
+                    callers.submit(() -> bookRequests.getBookById(1));
+                }
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // 5 at once, then one every 20 ms
+            assertTrue(elapsedMillis >= 450, "30 requests at 50/s with a burst of 5 took " + elapsedMillis + " ms");
+            assertEquals(arrivals.size(), requests);
+            long early = arrivals.stream().filter(arrival -> arrival - start < TimeUnit.MILLISECONDS.toNanos(100)).count();
+            assertTrue(early <= 10, early + " requests arrived in the first 100 ms");
+
+            EndpointStats stats = stats(metrics, "Books/{id}");
+            assertEquals(stats.getLimiterWait().getCount(), requests);
+            // callers start one by one on a busy machine, so the last one may wait less than 500 ms
+            assertTrue(stats.getLimiterWait().getMax() >= 200_000,
+                    "the last requests wait for their turn, waited " + stats.getLimiterWait().getMax() + " us");
+            assertTrue(stats.getLatency().getValueAtPercentile(50) < stats.getLimiterWait().getMax(),
+                    "the wait must not be part of the latency");
+        }
+    }
+
+    @Test(description = "A configured rate may be a fraction of a request per second")
+    public void testFractionalRateFromConfiguration() {
+        System.setProperty("test.fractionalLimit.ratePerSecond", "0.5");
+        try {
+            RequestLimiter.Limit limit = RequestLimiter.Limit.fromConfiguration("test.fractionalLimit.", 1);
+            assertEquals(limit.ratePerSecond(), 0.5);
+            assertEquals(limit.burst(), 1);
+        } finally {
+            System.clearProperty("test.fractionalLimit.ratePerSecond");
+        }
+    }
+
+    @Test(description = "An endpoint limit caps the requests in flight to that endpoint only")
+    public void testInFlightLimitPerEndpoint() {
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> maxInFlight = new ConcurrentHashMap<>();
+        try (StubServer server = StubServer.start(exchange -> {
+            String endpoint = exchange.getRequestURI().getPath().contains("Books") ? "Books" : "Authors";
+            int current = inFlight.computeIfAbsent(endpoint, key -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.computeIfAbsent(endpoint, key -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(100);
+                StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.get(endpoint).decrementAndGet();
+            }
+        })) {
+            EndpointMetrics metrics = new EndpointMetrics(true);
+            RequestSettings settings = settings(server, metrics,
+                    RequestLimiter.of(RequestLimiter.Limit.NONE, Map.of("Books", RequestLimiter.Limit.inFlight(2))));
+            BookRequests bookRequests = new BookRequests(settings);
+            AuthorRequests authorRequests = new AuthorRequests(settings);
+
+            List<CompletableFuture<?>> calls = new ArrayList<>();
+            for (int call = 0; call < 8; call++) {
+                calls.add(bookRequests.getBookByIdAsync(call));
+                calls.add(authorRequests.getAuthorByIdAsync(call));
+            }
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+
+            assertEquals(maxInFlight.get("Books").get(), 2);
+            assertTrue(maxInFlight.get("Authors").get() > 2, "Authors are not limited, max " + maxInFlight.get("Authors"));
+            assertEquals(stats(metrics, "Books/{id}").getLimiterWait().getCount(), 8);
+            assertEquals(stats(metrics, "Authors/{id}").getLimiterWait().getCount(), 0, "unlimited calls record no wait");
+        }
+    }
+
+    @Test(description = "A request that times out while waiting for the limiter is never sent and gives its permit back")
+    public void testCancelledWaitIsNotSent() throws Exception {
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        try (StubServer server = StubServer.start(exchange -> {
+            received.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+                StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            BookRequests bookRequests = new BookRequests(settings(server, new EndpointMetrics(true),
+                    new RequestLimiter(RequestLimiter.Limit.inFlight(1), endpoint -> RequestLimiter.Limit.NONE)));
+
+            CompletableFuture<?> first = bookRequests.getBookByIdAsync(1);
+            CompletionException timedOut = expectThrows(CompletionException.class,
+                    () -> bookRequests.getBookByIdAsync(2).orTimeout(200, TimeUnit.MILLISECONDS).join());
+            assertTrue(timedOut.getCause() instanceof TimeoutException, "Unexpected " + timedOut.getCause());
+
+            release.countDown();
+            first.join();
+            assertEquals(bookRequests.getBookById(3).statusCode(), HttpStatus.SC_OK);
+            assertEquals(received.get(), 2, "the timed out request must not reach the server");
+        }
+    }
+
+    @Test(description = "An async request the transport cannot build fails and gives its permit back")
+    public void testUnbuildableRequestReleasesPermit() {
+        try (StubServer server = StubServer.start(exchange -> {
+            // accepted in a response, but the JDK client refuses to send it back in If-None-Match
+            exchange.getResponseHeaders().set("ETag", "\"a\u0001b\"");
+            StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+        })) {
+            RequestSettings settings = settings(server, new EndpointMetrics(true),
+                    RequestLimiter.of(RequestLimiter.Limit.inFlight(1), Map.of())).toBuilder()
+                    .responseCache(new ResponseCache(Duration.ZERO, 1024 * 1024))
+                    .build();
+            BookRequests restAssured = new BookRequests(settings);
+            restAssured.getBookById(1);
+            BookRequests jdk = new BookRequests(settings.toBuilder().transport(HttpTransport.Type.JDK).build());
+
+            CompletionException failed = expectThrows(CompletionException.class,
+                    () -> jdk.getBookByIdAsync(1).orTimeout(5, TimeUnit.SECONDS).join());
+            assertTrue(failed.getCause() instanceof IllegalArgumentException, "Unexpected " + failed.getCause());
+            assertEquals(restAssured.getAllBooksAsync().orTimeout(5, TimeUnit.SECONDS).join().statusCode(),
+                    HttpStatus.SC_OK, "the only permit must have been given back");
+        }
+    }
+
+    @Test(description = "Limits are validated and an unlimited limiter hands out permits without waiting")
+    public void testLimitsAndUnlimitedPermits() throws Exception {
+        expectThrows(IllegalArgumentException.class, () -> RequestLimiter.Limit.rate(-1, 1));
+        expectThrows(IllegalArgumentException.class, () -> RequestLimiter.Limit.rate(10, 0));
+        expectThrows(IllegalArgumentException.class, () -> RequestLimiter.Limit.inFlight(-1));
+
+        RequestLimiter.Permit permit = RequestLimiter.unlimited().acquire("api/v1/Books");
+        assertFalse(permit.isLimited());
+        assertEquals(permit.getWaitNanos(), 0);
+
+        RequestLimiter limiter = RequestLimiter.of(RequestLimiter.Limit.inFlight(1), Map.of());
+        RequestLimiter.Permit held = limiter.acquire("api/v1/Books");
+        assertTrue(held.isLimited());
+        CompletableFuture<RequestLimiter.Permit> waiting = limiter.acquireAsync("api/v1/Authors");
+        assertFalse(waiting.isDone(), "the only slot is taken");
+        held.release();
+        held.release();
+        RequestLimiter.Permit second = waiting.get(5, TimeUnit.SECONDS);
+        CompletableFuture<RequestLimiter.Permit> third = limiter.acquireAsync("api/v1/Books");
+        assertFalse(third.isDone(), "releasing twice must not add a slot");
+        second.release();
+        third.get(5, TimeUnit.SECONDS).release();
+    }
+
+    private static RequestSettings settings(StubServer server, EndpointMetrics metrics, RequestLimiter limiter) {
+        return RequestSettings.builder()
+                .baseUri(server.baseUri())
+                .metrics(metrics)
+                .limiter(limiter)
+                .responseCache(ResponseCache.disabled())
+                .retryPolicy(RetryPolicy.none())
+                .build();
+    }
+
+    private static EndpointStats stats(EndpointMetrics metrics, String endpoint) {
+        return metrics.snapshot().stream()
+                .filter(stats -> stats.getMethod().equals("GET") && stats.getEndpoint().equals(endpoint))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,117 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import com.api.test.generators.FakeDataGenerator;
+import com.api.test.generators.PayloadStore;
+import com.api.test.load.LoadContext;
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.requests.AuthorRequests;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.server.FakeRestApiServer;
+import com.api.test.support.StubServer;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class RequestPayloadTests extends BaseApiTest {
+
+    private static final String JSON = "{\"id\":0,\"title\":\"Über – 本\",\"pageCount\":7}";
+
+    @DataProvider(name = "transports")
+    public Object[][] transports() {
+        return new Object[][] {{HttpTransport.Type.REST_ASSURED}, {HttpTransport.Type.JDK}};
+    }
+
+    @Test(dataProvider = "transports", description = "Byte, buffer and String bodies reach the server as the same bytes")
+    public void testByteBodiesAreSentAsIs(HttpTransport.Type type) {
+        List<String> received = new CopyOnWriteArrayList<>();
+        try (StubServer server = StubServer.start(exchange -> {
+            received.add(StubServer.readBody(exchange));
+            StubServer.respond(exchange, HttpStatus.SC_OK, "{}");
+        })) {
+            BookRequests bookRequests = new BookRequests(settings(server.baseUri(), type));
+            byte[] utf8 = JSON.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer slice = ByteBuffer.allocate(utf8.length + 8).put(new byte[5]).put(utf8);
+            slice.position(5).limit(5 + utf8.length);
+            ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length).put(utf8).flip();
+
+            bookRequests.createBook(JSON);
+            bookRequests.createBookBytes(utf8);
+            bookRequests.createBookBytes(slice);
+            bookRequests.updateBookBytes(1, direct);
+            bookRequests.createBookBytesAsync(slice).join();
+            bookRequests.createBook(null);
+
+            assertEquals(received, List.of(JSON, JSON, JSON, JSON, JSON, ""));
+            assertEquals(slice.position(), 5, "sending does not consume the buffer");
+            assertEquals(direct.remaining(), utf8.length);
+        }
+    }
+
+    @Test(dataProvider = "transports", description = "Stored payloads create and update records on the FakeRestApi")
+    public void testStoredPayloadsAgainstFakeRestApi(HttpTransport.Type type) {
+        FakeDataGenerator generator = FakeDataGenerator.fromConfiguration();
+        PayloadStore books = PayloadStore.newBooks(generator, 4);
+        PayloadStore authors = PayloadStore.newAuthors(generator, 4, 200);
+        try (FakeRestApiServer server = FakeRestApiServer.start(0)) {
+            RequestSettings settings = settings(server.baseUri(), type);
+            BookRequests bookRequests = new BookRequests(settings);
+            AuthorRequests authorRequests = new AuthorRequests(settings);
+
+            Book expected = gson.fromJson(new String(books.get(0), StandardCharsets.UTF_8), Book.class);
+            Book created = bookRequests.createBookBytes(books.next())
+                    .then().statusCode(HttpStatus.SC_OK).extract().as(Book.class);
+            assertEquals(created.getTitle(), expected.getTitle());
+            assertEquals(created.getPageCount(), expected.getPageCount());
+
+            Author author = authorRequests.updateAuthorBytesAsync(3, ByteBuffer.wrap(authors.get(1))).join()
+                    .then().statusCode(HttpStatus.SC_OK).extract().as(Author.class);
+            assertEquals(author.getFirstName(),
+                    gson.fromJson(new String(authors.get(1), StandardCharsets.UTF_8), Author.class).getFirstName());
+        }
+    }
+
+    @Test(description = "A payload store hands out the same arrays in turn; load contexts use one unless told not to")
+    public void testPayloadStoreIsReused() {
+        PayloadStore books = PayloadStore.newBooks(FakeDataGenerator.fromConfiguration(), 3);
+        long totalBytes = 0;
+        for (int i = 0; i < books.size(); i++) {
+            assertEquals(gson.fromJson(new String(books.get(i), StandardCharsets.UTF_8), Book.class).getId(),
+                    Integer.valueOf(0));
+            totalBytes += books.get(i).length;
+        }
+        assertEquals(books.getTotalBytes(), totalBytes);
+        assertSame(books.next(), books.get(0));
+        books.next();
+        books.next();
+        assertSame(books.next(), books.get(0), "starts over after the last payload");
+
+        RequestSettings settings = settings("http://localhost:1", HttpTransport.Type.JDK);
+        LoadContext stored = new LoadContext(settings, 200, 200, 2);
+        byte[] first = stored.bookPayload();
+        stored.bookPayload();
+        assertSame(stored.bookPayload(), first);
+        LoadContext perRequest = new LoadContext(settings, 200, 200, 0);
+        assertNotSame(perRequest.authorPayload(), perRequest.authorPayload());
+    }
+
+    private static RequestSettings settings(String baseUri, HttpTransport.Type type) {
+        return RequestSettings.builder()
+                .baseUri(baseUri)
+                .transport(type)
+                .responseCache(ResponseCache.disabled())
+                .build();
+    }
+}
@@ -0,0 +1,256 @@
+package com.api.test.tests;
+
+import static com.api.test.constants.ApiTestsConstants.NON_EXISTENT_ID;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.metrics.EndpointMetrics;
+import com.api.test.metrics.EndpointStats;
+import com.api.test.models.Book;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.HttpTransport;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.server.FakeRestApiServer;
+import com.api.test.support.StubServer;
+import io.restassured.response.Response;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResponseCacheTests extends BaseApiTest {
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    private FakeRestApiServer server;
+
+    @BeforeClass
+    public void startServer() {
+        server = FakeRestApiServer.start(0);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.close();
+    }
+
+    @DataProvider(name = "transports")
+    public Object[][] transports() {
+        return new Object[][] {{HttpTransport.Type.REST_ASSURED}, {HttpTransport.Type.JDK}};
+    }
+
+    @Test(description = "Fresh GET responses are served from the cache without a request")
+    public void testFreshResponsesAreServedFromCache() {
+        ResponseCache cache = new ResponseCache(Duration.ofMinutes(5), MEGABYTE);
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        BookRequests bookRequests = bookRequests(cache, metrics, HttpTransport.Type.REST_ASSURED);
+
+        Response first = bookRequests.getBookById(1);
+        Response second = bookRequests.getBookById(1);
+        Response async = bookRequests.getBookByIdAsync(1).join();
+        bookRequests.getAllBooks();
+        Response allBooks = bookRequests.getAllBooks();
+
+        assertEquals(second.statusCode(), HttpStatus.SC_OK);
+        assertEquals(second.as(Book.class), first.as(Book.class));
+        assertEquals(async.asString(), first.asString());
+        assertNotNull(second.header("ETag"));
+        assertEquals(allBooks.jsonPath().getList("id").size(), 200);
+        assertEquals(requests(metrics, "Books/{id}"), 1);
+        assertEquals(requests(metrics, "Books"), 1);
+        ResponseCache.Stats stats = cache.stats();
+        assertEquals(stats.hits(), 3);
+        assertEquals(stats.misses(), 2);
+        assertEquals(stats.bytesSaved(), 2L * first.asByteArray().length + allBooks.asByteArray().length);
+        assertEquals(stats.hitRatio(), 0.6, 1e-9);
+    }
+
+    @Test(dataProvider = "transports", description = "Stale entries are revalidated and a 304 hands back the cached body")
+    public void testStaleEntriesAreRevalidated(HttpTransport.Type type) {
+        ResponseCache cache = new ResponseCache(Duration.ZERO, MEGABYTE);
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        BookRequests bookRequests = bookRequests(cache, metrics, type);
+
+        Response first = bookRequests.getBookById(2);
+        Response revalidated = bookRequests.getBookById(2);
+        Response revalidatedAsync = bookRequests.getBookByIdAsync(2).join();
+
+        assertEquals(revalidated.statusCode(), HttpStatus.SC_OK);
+        assertEquals(revalidated.asString(), first.asString());
+        assertEquals(revalidatedAsync.as(Book.class).getId(), Integer.valueOf(2));
+        EndpointStats getById = metrics.snapshot().get(0);
+        assertEquals(getById.getStatusCounts(), Map.of(200, 1L, 304, 2L));
+        ResponseCache.Stats stats = cache.stats();
+        assertEquals(stats.revalidated(), 2);
+        assertEquals(stats.bytesSaved(), 2L * first.asByteArray().length);
+    }
+
+    @Test(description = "A write drops the cached item and its collection")
+    public void testWritesInvalidateItemAndCollection() {
+        ResponseCache cache = new ResponseCache(Duration.ofMinutes(5), MEGABYTE);
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        BookRequests bookRequests = bookRequests(cache, metrics, HttpTransport.Type.REST_ASSURED);
+
+        bookRequests.getBookById(3);
+        bookRequests.getBookById(4);
+        bookRequests.getAllBooks();
+        bookRequests.updateBook(3, gson.toJson(Book.builder().id(3).title("Updated").pageCount(1).build()));
+        bookRequests.getBookById(3);
+        bookRequests.getBookById(4);
+        bookRequests.getAllBooks();
+
+        assertEquals(requests(metrics, "Books/{id}", "GET"), 3, "book 3 is fetched again, book 4 is not");
+        assertEquals(requests(metrics, "Books", "GET"), 2);
+        assertEquals(cache.stats().invalidations(), 2);
+
+        bookRequests.deleteBookAsync(4).join();
+        bookRequests.getBookById(4);
+        assertEquals(requests(metrics, "Books/{id}", "GET"), 4);
+    }
+
+    @Test(description = "A GET on the wire while its resource is written is not cached")
+    public void testGetInFlightDuringWriteIsNotStored() throws Exception {
+        AtomicInteger gets = new AtomicInteger();
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (StubServer stub = StubServer.start(exchange -> {
+            try {
+                if (exchange.getRequestMethod().equals("GET") && gets.incrementAndGet() == 1) {
+                    received.countDown();
+                    release.await(30, TimeUnit.SECONDS);
+                }
+                StubServer.readBody(exchange);
+                StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            ResponseCache cache = new ResponseCache(Duration.ofMinutes(5), MEGABYTE);
+            BookRequests bookRequests = new BookRequests(
+                    RequestSettings.builder().baseUri(stub.baseUri()).responseCache(cache).build());
+
+            CompletableFuture<Response> stale = bookRequests.getBookByIdAsync(1);
+            assertTrue(received.await(10, TimeUnit.SECONDS), "The GET should reach the server");
+            bookRequests.deleteBook(1);
+            release.countDown();
+            stale.get(10, TimeUnit.SECONDS);
+            bookRequests.getBookById(1);
+
+            assertEquals(gets.get(), 2, "The GET that raced the delete must not have been cached");
+        }
+    }
+
+    @Test(description = "An async write has invalidated the cache when its future completes")
+    public void testAsyncWriteInvalidatesBeforeCompletion() throws Exception {
+        AtomicInteger listings = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        try (StubServer stub = StubServer.start(exchange -> {
+            try {
+                StubServer.readBody(exchange);
+                if (exchange.getRequestMethod().equals("POST")) {
+                    release.await(30, TimeUnit.SECONDS);
+                    StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+                } else {
+                    StubServer.respond(exchange, HttpStatus.SC_OK, "[{\"id\":" + listings.incrementAndGet() + "}]");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            ResponseCache cache = new ResponseCache(Duration.ofMinutes(5), MEGABYTE);
+            BookRequests bookRequests = new BookRequests(
+                    RequestSettings.builder().baseUri(stub.baseUri()).responseCache(cache).build());
+
+            bookRequests.getAllBooks();
+            // registered while the POST is still on the wire, so it runs when the POST completes
+            CompletableFuture<Response> listed = bookRequests.createBookAsync("{\"title\":\"New\"}")
+                    .thenCompose(created -> bookRequests.getAllBooksAsync());
+            release.countDown();
+
+            assertEquals(listed.get(10, TimeUnit.SECONDS).jsonPath().getInt("[0].id"), 2,
+                    "The listing read after the write must not come from the cache");
+            assertEquals(listings.get(), 2);
+        }
+    }
+
+    @Test(description = "The least recently used entries are evicted to stay within the size limit")
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        long bookSize = new BookRequests(server.baseUri()).getBookById(10).asByteArray().length;
+        ResponseCache cache = new ResponseCache(Duration.ofMinutes(5), 3 * bookSize + bookSize / 2);
+        BookRequests bookRequests = bookRequests(cache, metrics, HttpTransport.Type.REST_ASSURED);
+
+        for (int id = 10; id < 15; id++) {
+            bookRequests.getBookById(id);
+        }
+        ResponseCache.Stats stats = cache.stats();
+        assertTrue(stats.cachedBytes() <= stats.maxBytes(), stats.toString());
+        assertTrue(stats.evictions() >= 1, stats.toString());
+
+        bookRequests.getBookById(14);
+        assertEquals(cache.stats().hits(), 1, "the most recent entry is kept");
+        bookRequests.getBookById(10);
+        assertEquals(cache.stats().hits(), 1, "the oldest entry is gone");
+    }
+
+    @Test(description = "Responses marked no-store, errors and a disabled cache always go to the server")
+    public void testUncacheableResponses() {
+        AtomicInteger received = new AtomicInteger();
+        try (StubServer stub = StubServer.start(exchange -> {
+            received.incrementAndGet();
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+        })) {
+            ResponseCache cache = new ResponseCache(Duration.ofMinutes(5), MEGABYTE);
+            BookRequests bookRequests = new BookRequests(
+                    RequestSettings.builder().baseUri(stub.baseUri()).responseCache(cache).build());
+            bookRequests.getBookById(1);
+            bookRequests.getBookById(1);
+            assertEquals(received.get(), 2);
+            assertEquals(cache.stats().entries(), 0);
+        }
+
+        EndpointMetrics metrics = new EndpointMetrics(true);
+        ResponseCache cache = new ResponseCache(Duration.ofMinutes(5), MEGABYTE);
+        BookRequests bookRequests = bookRequests(cache, metrics, HttpTransport.Type.REST_ASSURED);
+        bookRequests.getBookById(NON_EXISTENT_ID);
+        bookRequests.getBookById(NON_EXISTENT_ID);
+        assertEquals(requests(metrics, "Books/{id}"), 2, "a 404 is not cached");
+
+        BookRequests uncached = bookRequests(ResponseCache.disabled(), metrics, HttpTransport.Type.REST_ASSURED);
+        uncached.getAllBooks();
+        uncached.getAllBooks();
+        assertEquals(requests(metrics, "Books"), 2);
+        assertEquals(ResponseCache.disabled().stats().entries(), 0);
+    }
+
+    private BookRequests bookRequests(ResponseCache cache, EndpointMetrics metrics, HttpTransport.Type type) {
+        return new BookRequests(RequestSettings.builder()
+                .baseUri(server.baseUri())
+                .transport(type)
+                .metrics(metrics)
+                .responseCache(cache)
+                .build());
+    }
+
+    private static long requests(EndpointMetrics metrics, String endpoint) {
+        return requests(metrics, endpoint, "GET");
+    }
+
+    private static long requests(EndpointMetrics metrics, String endpoint, String method) {
+        return metrics.snapshot().stream()
+                .filter(stats -> stats.getEndpoint().equals(endpoint) && stats.getMethod().equals(method))
+                .mapToLong(EndpointStats::getCount)
+                .sum();
+    }
+}
@@ -0,0 +1,214 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.metrics.EndpointMetrics;
+import com.api.test.metrics.EndpointMetricsReport;
+import com.api.test.metrics.EndpointStats;
+import com.api.test.metrics.LatencyHistogram;
+import com.api.test.sharding.Shard;
+import com.api.test.sharding.ShardPlan;
+import com.api.test.sharding.ShardReportMerger;
+import com.api.test.sharding.ShardingListener;
+import com.api.test.sharding.TestTimings;
+import org.testng.IMethodInstance;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.TestResult;
+
+import java.nio.file.Files;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class ShardingTests extends BaseApiTest {
+
+    private static final int SHARDS = 3;
+
+    @Test(description = "Shards are parsed from i/N and must lie within 1..N")
+    public void testParseShard() {
+        assertEquals(Shard.parse(" 2/4 "), new Shard(2, 4));
+        assertTrue(Shard.parse("1/1").isAll());
+        for (String invalid : List.of("0/4", "5/4", "2", "a/b", "1/0")) {
+            expectThrows(IllegalArgumentException.class, () -> Shard.parse(invalid));
+        }
+    }
+
+    @Test(description = "The hash split puts every test in exactly one shard, the same one in every JVM")
+    public void testHashSplitIsStableAndComplete() {
+        // CRC32C is fixed by its specification, so this holds for any JVM and machine
+        assertEquals(Shard.hashOf("com.api.test.tests.BooksTests#testGetAllBooks", 4), 2);
+
+        int[] perShard = new int[4];
+        for (int test = 0; test < 4_000; test++) {
+            String id = "com.example.Tests#test" + test;
+            int owners = 0;
+            for (int index = 1; index <= 4; index++) {
+                if (ShardPlan.hashed(new Shard(index, 4)).includes(id)) {
+                    owners++;
+                    perShard[index - 1]++;
+                }
+            }
+            assertEquals(owners, 1, id);
+        }
+        for (int count : perShard) {
+            assertTrue(count > 900 && count < 1_100, "Uneven split " + Arrays.toString(perShard));
+        }
+    }
+
+    @Test(description = "The timing split gives every shard about the same amount of test time")
+    public void testTimingSplitBalancesDurations() {
+        Map<String, Long> durations = new HashMap<>();
+        for (int test = 1; test <= 40; test++) {
+            durations.put("com.example.Tests#test" + test, test * 100L);
+        }
+        durations.put("com.example.Tests#slow", 5_000L);
+
+        long[] load = new long[SHARDS];
+        for (int index = 1; index <= SHARDS; index++) {
+            ShardPlan plan = ShardPlan.balanced(new Shard(index, SHARDS), durations);
+            for (Map.Entry<String, Long> test : durations.entrySet()) {
+                if (plan.includes(test.getKey())) {
+                    load[index - 1] += test.getValue();
+                }
+            }
+        }
+        long total = durations.values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(load[0] + load[1] + load[2], total);
+        for (long shardLoad : load) {
+            assertTrue(Math.abs(shardLoad - total / SHARDS) <= 100, "Unbalanced " + Arrays.toString(load));
+        }
+
+        ShardPlan plan = ShardPlan.balanced(new Shard(1, SHARDS), durations);
+        assertEquals(plan.shardOf("com.example.Tests#new"), Shard.hashOf("com.example.Tests#new", SHARDS),
+                "Tests without a duration fall back to the hash");
+    }
+
+    @Test(description = "Running every shard runs each test method and data-provider row exactly once")
+    public void testListenerSplitsMethodsAndRows() throws Exception {
+        Path timings = Files.createTempDirectory("test-timings");
+        List<ITestNGMethod> plainMethods = new ArrayList<>();
+        Set<String> expected = new HashSet<>();
+        for (int plain = 0; plain < 6; plain++) {
+            plainMethods.add(method("plain" + plain, false));
+            expected.add(ShardingTests.class.getName() + "#plain" + plain);
+        }
+        ITestNGMethod dataDriven = method("row", true);
+        int rows = 12;
+        for (int row = 0; row < rows; row++) {
+            expected.add(ShardingTests.class.getName() + "#row[" + row + "]");
+        }
+
+        Map<String, Integer> runs = new TreeMap<>();
+        for (int index = 1; index <= SHARDS; index++) {
+            Path file = timings.resolve("test-timings-" + index + "-of-" + SHARDS + ".json");
+            ShardingListener listener = new ShardingListener(ShardPlan.hashed(new Shard(index, SHARDS)), file);
+
+            List<IMethodInstance> instances = new ArrayList<>();
+            plainMethods.forEach(method -> instances.add(instance(method)));
+            instances.add(instance(dataDriven));
+            for (IMethodInstance selected : listener.intercept(instances, null)) {
+                if (selected.getMethod() != dataDriven) {
+                    listener.onTestSuccess(result(selected.getMethod(), -1));
+                }
+            }
+            List<Object[]> allRows = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                allRows.add(new Object[] {row});
+            }
+            Iterator<Object[]> shardRows = listener.intercept(allRows.iterator(), null, dataDriven, null);
+            for (int invocation = 0; shardRows.hasNext(); invocation++) {
+                int row = (Integer) shardRows.next()[0];
+                listener.onTestSuccess(result(dataDriven, invocation));
+                assertTrue(listener.getDurations().containsKey(ShardingTests.class.getName() + "#row[" + row + "]"),
+                        "Row " + row + " should be recorded under its data-provider index");
+            }
+            listener.onFinish((ISuite) null);
+
+            listener.getDurations().keySet().forEach(id -> runs.merge(id, 1, Integer::sum));
+            assertEquals(TestTimings.read(file).keySet(), listener.getDurations().keySet());
+            assertTrue(listener.getDurations().size() < expected.size(), "Shard " + index + " ran everything");
+        }
+
+        assertEquals(runs.keySet(), expected);
+        runs.forEach((id, count) -> assertEquals(count.intValue(), 1, id + " ran in several shards"));
+    }
+
+    @Test(description = "Merging shard outputs combines Allure results, endpoint metrics and timings")
+    public void testMergeShardOutputs() throws Exception {
+        Path root = Files.createTempDirectory("shards");
+        LatencyHistogram all = new LatencyHistogram();
+        for (int shard = 1; shard <= 2; shard++) {
+            Path target = root.resolve("shard-" + shard);
+            Path allure = Files.createDirectories(target.resolve(ShardReportMerger.ALLURE_RESULTS));
+            Files.writeString(allure.resolve("shard" + shard + "-result.json"), "{}");
+            Files.writeString(allure.resolve("environment.properties"), "shard=" + shard);
+
+            EndpointMetrics metrics = new EndpointMetrics(true);
+            for (int call = 1; call <= 100; call++) {
+                long micros = shard * 1_000L * call;
+                metrics.record("GET", "api/v1/Books", false, call % 10 == 0 ? 500 : 200, micros * 1_000);
+                all.record(micros);
+            }
+            metrics.report().writeTo(target.resolve(ShardReportMerger.METRICS));
+            TestTimings.write(target.resolve(ShardReportMerger.TIMINGS).resolve("test-timings-" + shard + "-of-2.json"),
+                    Map.of("com.example.Tests#test" + shard, shard * 10L));
+        }
+
+        Path output = root.resolve("merged");
+        new ShardReportMerger(output).merge(List.of(root.resolve("shard-1"), root.resolve("shard-2")));
+
+        try (var files = Files.list(output.resolve(ShardReportMerger.ALLURE_RESULTS))) {
+            assertEquals(files.count(), 3);
+        }
+        EndpointStats books = EndpointMetricsReport.readJson(
+                output.resolve(ShardReportMerger.METRICS).resolve(EndpointMetricsReport.JSON_FILE)).getEndpoints().get(0);
+        assertEquals(books.getCount(), 200);
+        assertEquals(books.getErrors(), 20);
+        assertEquals(books.getStatusCounts(), Map.of(200, 180L, 500, 20L));
+        assertEquals(books.getLatency().getValueAtPercentile(99), all.getValueAtPercentile(99));
+        assertEquals(books.getLatency().getMean(), all.getMean(), 1e-9);
+        assertEquals(TestTimings.read(output.resolve(ShardReportMerger.MERGED_TIMINGS_FILE)),
+                Map.of("com.example.Tests#test1", 10L, "com.example.Tests#test2", 20L));
+    }
+
+    /** A test method of this class, as TestNG would hand it to the listener. */
+    private static ITestNGMethod method(String name, boolean dataDriven) {
+        return (ITestNGMethod) Proxy.newProxyInstance(
+                ShardingTests.class.getClassLoader(),
+                new Class<?>[] {ITestNGMethod.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getRealClass" -> ShardingTests.class;
+                    case "getMethodName", "toString" -> name;
+                    case "isDataDriven" -> dataDriven;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private static TestResult result(ITestNGMethod method, int parameterIndex) {
+        TestResult result = TestResult.newEmptyTestResult();
+        result.setMethod(method);
+        result.setParameterIndex(parameterIndex);
+        return result;
+    }
+
+    private static IMethodInstance instance(ITestNGMethod method) {
+        return (IMethodInstance) Proxy.newProxyInstance(
+                ShardingTests.class.getClassLoader(),
+                new Class<?>[] {IMethodInstance.class},
+                (proxy, called, args) -> called.getName().equals("getMethod") ? method : null);
+    }
+}
@@ -0,0 +1,146 @@
+package com.api.test.tests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.api.test.load.LoadContext;
+import com.api.test.load.LoadPlan;
+import com.api.test.load.LoadReport;
+import com.api.test.load.ResourceSampler;
+import com.api.test.load.ScenarioMix;
+import com.api.test.load.SoakPlan;
+import com.api.test.load.SoakReport;
+import com.api.test.load.SoakRunner;
+import com.api.test.load.SoakSample;
+import com.api.test.load.Trend;
+import com.api.test.requests.RequestSettings;
+import com.api.test.requests.ResponseCache;
+import com.api.test.support.StubServer;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+public class SoakRunnerTests extends BaseApiTest {
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    @Test(description = "A trend is the least-squares line through the values")
+    public void testTrendFit() {
+        Trend rising = Trend.fit(new double[] {0, 1, 2, 3}, new double[] {100, 111, 119, 130});
+        assertEquals(rising.points(), 4);
+        assertEquals(rising.slopePerHour(), 9.8, 1e-9);
+        assertEquals(rising.start(), 100.3, 1e-9);
+        assertEquals(rising.end(), 129.7, 1e-9);
+        assertEquals(rising.changePercent(), 29.4 * 100 / 100.3, 1e-9);
+
+        Trend flat = Trend.fit(new double[] {1, 1}, new double[] {5, 7});
+        assertEquals(flat.slopePerHour(), 0.0);
+        assertEquals(flat.changePercent(), 0.0);
+        expectThrows(IllegalArgumentException.class, () -> Trend.fit(new double[] {1}, new double[0]));
+    }
+
+    @Test(description = "Latency drift and heap growth above the limits are flagged, warm-up samples are ignored")
+    public void testReportFlagsDriftAndGrowth() {
+        SoakPlan plan = SoakPlan.builder()
+                .warmUp(Duration.ofMinutes(1))
+                .maxLatencyDriftPercent(20)
+                .maxHeapGrowthPercent(20)
+                .build();
+
+        // a slow first minute (warm-up), then a steady 10 ms
+        SoakReport stable = report(plan, minute -> minute == 1 ? 900_000 : 10_000, minute -> 100 * MEGABYTE);
+        assertEquals(stable.getLatencyTrend().points(), 9);
+        assertEquals(stable.getLatencyTrend().changePercent(), 0.0, 1e-9);
+        assertTrue(stable.getFindings().isEmpty(), "Unexpected findings " + stable.getFindings());
+
+        SoakReport drifting = report(plan, minute -> 10_000 + minute * 1_000, minute -> 100 * MEGABYTE);
+        assertEquals(drifting.getFindings().size(), 1, "Findings " + drifting.getFindings());
+        assertTrue(drifting.getFindings().get(0).startsWith("p99 latency drifted up"), drifting.getFindings().get(0));
+
+        SoakReport leaking = report(plan, minute -> 10_000, minute -> (100 + minute * 10) * MEGABYTE);
+        assertEquals(leaking.getFindings().size(), 1, "Findings " + leaking.getFindings());
+        assertTrue(leaking.getFindings().get(0).startsWith("heap after GC grew"), leaking.getFindings().get(0));
+
+        SoakReport tooShort = report(
+                SoakPlan.builder().warmUp(Duration.ofMinutes(8)).build(),
+                minute -> minute * 100_000,
+                minute -> minute * MEGABYTE);
+        assertTrue(tooShort.getFindings().isEmpty(), "two samples are too few for a verdict");
+    }
+
+    @Test(description = "A short soak run samples every interval and writes the samples, report and flight recording")
+    public void testShortSoakRun() throws Exception {
+        try (StubServer server = StubServer.start(exchange -> {
+            StubServer.readBody(exchange);
+            StubServer.respond(exchange, HttpStatus.SC_OK, "{\"id\":1}");
+        })) {
+            RequestSettings settings = RequestSettings.builder()
+                    .baseUri(server.baseUri())
+                    .responseCache(ResponseCache.disabled())
+                    .build();
+            LoadPlan plan = LoadPlan.builder()
+                    .mix(ScenarioMix.parse("getBookById:80,createBook:20"))
+                    .concurrency(4)
+                    .build();
+            LoadContext context = new LoadContext(settings, 200, 200);
+            context.getBookRequests().getBookById(1);
+            Path directory = Files.createTempDirectory("soak");
+            SoakPlan soak = SoakPlan.builder()
+                    .duration(Duration.ofMillis(2_000))
+                    .sampleInterval(Duration.ofMillis(400))
+                    .warmUp(Duration.ZERO)
+                    .outputDir(directory)
+                    .build();
+
+            SoakReport report = new SoakRunner(context, plan, soak).run();
+            report.writeTo(directory);
+
+            List<SoakSample> samples = report.getSamples();
+            assertTrue(samples.size() >= 5, "One sample per interval, got " + samples.size());
+            assertEquals(samples.stream().mapToLong(SoakSample::requests).sum(), report.getLoad().getTotalCount());
+            assertEquals(report.getLoad().getTotalErrors(), 0);
+            for (SoakSample sample : samples) {
+                assertTrue(sample.resources().heapUsedBytes() > 0);
+                assertTrue(sample.resources().threads() >= plan.getConcurrency());
+            }
+            // the first interval may pass while the flight recorder starts up
+            assertTrue(report.getLatencyTrend().points() >= 4, "Intervals with requests: " + samples);
+
+            assertEquals(Files.readAllLines(directory.resolve("soak-samples.csv")).size(), samples.size() + 1);
+            assertTrue(Files.readString(directory.resolve("soak-report.json")).contains("\"heapAfterGcBytes\""));
+            Path recording = directory.resolve("soak.jfr");
+            assertTrue(Files.size(recording) > 0, "The flight recording is written when the run ends");
+            assertFalse(RecordingFile.readAllEvents(recording).isEmpty());
+        }
+    }
+
+    @Test(description = "The sampler counts only collections since the previous sample")
+    public void testResourceSamplerCountsCollectionsSinceLastSample() {
+        ResourceSampler sampler = new ResourceSampler(null);
+        System.gc();
+        ResourceSampler.Usage afterGc = sampler.sample();
+        assertTrue(afterGc.gcCount() >= 1, "System.gc() runs a collection: " + afterGc);
+        assertTrue(afterGc.heapAfterGcBytes() > 0);
+        assertEquals(afterGc.leasedConnections() + afterGc.idleConnections(), 0, "no pool to count");
+        assertEquals(sampler.sample().gcCount(), 0, "no collection since the last sample");
+    }
+
+    private static SoakReport report(SoakPlan plan, IntToLongFunction p99Micros, IntToLongFunction heapAfterGc) {
+        List<SoakSample> samples = new ArrayList<>();
+        for (int minute = 1; minute <= 10; minute++) {
+            ResourceSampler.Usage resources =
+                    new ResourceSampler.Usage(200 * MEGABYTE, heapAfterGc.applyAsLong(minute), 1, 5, 40, 2, 6, 120);
+            samples.add(new SoakSample(minute * 60_000L, 1_000, 0, 5_000, p99Micros.applyAsLong(minute), 50_000, resources));
+        }
+        return new SoakReport(new LoadReport("http://localhost", Duration.ofMinutes(10), List.of(), false), samples, plan);
+    }
+}
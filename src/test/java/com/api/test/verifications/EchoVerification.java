@@ -0,0 +1,88 @@
+package com.api.test.verifications;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.data_providers.FieldCombination;
+import com.api.test.data_providers.FieldMatrix;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+
+/**
+ * The {@code EchoVerification} class checks that a created record carries back every field of the
+ * {@link FieldCombination} it was created from, so a field the API drops or changes fails the
+ * matrix row that sent it.
+ *
+ * <p>Fields are compared as JSON values, except {@code System.DateTime} fields, which the API may
+ * write back in another form of the same time. Both sides are normalised before comparing: a value
+ * with an offset (or {@code Z}) becomes the instant it names, a value without one the local
+ * date-time, and a date alone midnight of that day; {@code 2024-02-29} and {@code
+ * 2024-02-29T00:00:00} match, as do {@code 2024-02-29T13:45:00+02:00} and {@code
+ * 2024-02-29T11:45:00Z}.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   Response response = bookRequests.createBook(combination.toJson());
+ *   new EchoVerification().verifyEchoed(combination, response);
+ * }
+ * </pre>
+ */
+public class EchoVerification {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String DATE_TIME = "System.DateTime";
+
+  /**
+   * Verifies that the created record in the response has the value sent for every field of the
+   * combination.
+   *
+   * @param combination the valid combination the payload was created from
+   * @param response the {@code Response} object of the create request
+   * @throws AssertionError if a field is missing or has another value
+   */
+  public void verifyEchoed(FieldCombination combination, Response response) {
+    verifyEchoed(combination, ParsedResponse.of(response));
+  }
+
+  public void verifyEchoed(FieldCombination combination, ParsedResponse created) {
+    for (FieldMatrix.Field field : combination.getFields()) {
+      JsonNode sent = MAPPER.valueToTree(combination.variant(field.name()).value());
+      JsonNode echoed = created.node(field.name());
+      assertTrue(!echoed.isMissingNode(), "Field " + field.name() + " is missing");
+      if (DATE_TIME.equals(field.typeName()) && sent.isTextual() && echoed.isTextual()) {
+        assertEquals(
+            normalizedDateTime(echoed.textValue()),
+            normalizedDateTime(sent.textValue()),
+            "Field " + field.name() + ": " + echoed.textValue() + " for " + sent.textValue());
+      } else {
+        assertEquals(echoed, sent, "Field " + field.name());
+      }
+    }
+  }
+
+  /** {@code text} as an {@code Instant}, a {@code LocalDateTime}, or itself when not a date. */
+  private static Object normalizedDateTime(String text) {
+    Temporal value;
+    try {
+      value = OffsetDateTime.parse(text).toInstant();
+    } catch (DateTimeParseException notOffset) {
+      try {
+        value = LocalDateTime.parse(text);
+      } catch (DateTimeParseException notLocal) {
+        try {
+          value = LocalDate.parse(text).atStartOfDay();
+        } catch (DateTimeParseException notDate) {
+          return text;
+        }
+      }
+    }
+    return value;
+  }
+}
@@ -2,10 +2,10 @@ package com.api.test.verifications;
 
 import static com.api.test.constants.ApiTestsConstants.*;
 import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.restassured.response.Response;
-import org.testng.Assert;
 
 /**
  * The {@code ErrorMessagesVerification} class provides utility methods for verifying specific error
@@ -13,7 +13,9 @@ import org.testng.Assert;
  * ensure they are returned correctly by the API in various error scenarios.
  *
  * <p>This class performs assertions on common error fields like the error message title, trace ID,
- * and specific error keys that correspond to different error types.
+ * and specific error keys that correspond to different error types. Every method reads the body
+ * through a {@link ParsedResponse}, so it is parsed once however many fields are checked; callers
+ * that assert more fields themselves can pass the same {@code ParsedResponse} in.
  *
  * <pre>
  * Example usage:
@@ -37,23 +39,12 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorInvalidPageCount(Response response) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
-    Assert.assertTrue(
-        response
-            .jsonPath()
-            .getMap(ERROR_MESSAGE_ERRORS_KEY)
-            .containsKey(ERROR_MESSAGE_PAGE_COUNT_KEY),
-        "Error key is missing");
-    String errorMessage =
-        response
-            .jsonPath()
-            .getString(
-                String.format(
-                    "%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_PAGE_COUNT_KEY));
-    Assert.assertTrue(
-        errorMessage.contains(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32),
-        "Expected error message is missing or incorrect");
+    verifyErrorInvalidPageCount(ParsedResponse.of(response));
+  }
+
+  public void verifyErrorInvalidPageCount(ParsedResponse response) {
+    verifyValidationError(
+        response, ERROR_MESSAGE_PAGE_COUNT_KEY, ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32);
   }
 
   /**
@@ -67,23 +58,12 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorInvalidDateFormat(Response response) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
-    Assert.assertTrue(
-        response
-            .jsonPath()
-            .getMap(ERROR_MESSAGE_ERRORS_KEY)
-            .containsKey(ERROR_MESSAGE_PUBLISH_DATE_KEY),
-        "Error key is missing");
-    String errorMessage =
-        response
-            .jsonPath()
-            .getString(
-                String.format(
-                    "%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_PUBLISH_DATE_KEY));
-    Assert.assertTrue(
-        errorMessage.contains(ERROR_MESSAGE_COULD_NOT_CONVERT_DATE),
-        "Expected error message is missing or incorrect");
+    verifyErrorInvalidDateFormat(ParsedResponse.of(response));
+  }
+
+  public void verifyErrorInvalidDateFormat(ParsedResponse response) {
+    verifyValidationError(
+        response, ERROR_MESSAGE_PUBLISH_DATE_KEY, ERROR_MESSAGE_COULD_NOT_CONVERT_DATE);
   }
 
   /**
@@ -97,19 +77,12 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorInvalidIdBookType(Response response) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
-    Assert.assertTrue(
-        response.jsonPath().getMap(ERROR_MESSAGE_ERRORS_KEY).containsKey(ERROR_MESSAGE_ID_BOOK_KEY),
-        "Error key is missing");
-    String errorMessage =
-        response
-            .jsonPath()
-            .getString(
-                String.format("%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_ID_BOOK_KEY));
-    Assert.assertTrue(
-        errorMessage.contains(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32),
-        "Expected error message is missing or incorrect");
+    verifyErrorInvalidIdBookType(ParsedResponse.of(response));
+  }
+
+  public void verifyErrorInvalidIdBookType(ParsedResponse response) {
+    verifyValidationError(
+        response, ERROR_MESSAGE_ID_BOOK_KEY, ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32);
   }
 
   /**
@@ -124,18 +97,30 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorInvalidIdType(Response response, String value) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
-    Assert.assertTrue(
-        response.jsonPath().getMap(ERROR_MESSAGE_ERRORS_KEY).containsKey(ERROR_MESSAGE_ID_KEY),
-        "Error key is missing");
-    String errorMessage =
-        response
-            .jsonPath()
-            .getString(String.format("%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_ID_KEY));
-    Assert.assertTrue(
-        errorMessage.contains(String.format(ERROR_MESSAGE_NOT_VALID_VALUE, value)),
-        "Expected error message is missing or incorrect");
+    verifyErrorInvalidIdType(ParsedResponse.of(response), value);
+  }
+
+  public void verifyErrorInvalidIdType(ParsedResponse response, String value) {
+    verifyValidationError(
+        response, ERROR_MESSAGE_ID_KEY, String.format(ERROR_MESSAGE_NOT_VALID_VALUE, value));
+  }
+
+  /**
+   * Verifies that the error message in the response indicates a body field that could not be
+   * converted to its type.
+   *
+   * @param response the {@code Response} object containing the API response to verify
+   * @param field the JSON property of the payload, e.g. {@code pageCount}
+   * @param typeName the .NET type of the field, e.g. {@code System.Int32}
+   * @throws AssertionError if any of the error message verifications fail
+   */
+  public void verifyErrorInvalidField(Response response, String field, String typeName) {
+    verifyErrorInvalidField(ParsedResponse.of(response), field, typeName);
+  }
+
+  public void verifyErrorInvalidField(ParsedResponse response, String field, String typeName) {
+    verifyValidationError(
+        response, "$." + field, String.format(ERROR_MESSAGE_COULD_NOT_CONVERT, typeName));
   }
 
   /**
@@ -148,7 +133,52 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorNotFound(Response response) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_NOT_FOUND);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
+    verifyErrorNotFound(ParsedResponse.of(response));
+  }
+
+  public void verifyErrorNotFound(ParsedResponse response) {
+    assertEquals(response.getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_NOT_FOUND);
+    assertTrue(response.has(ERROR_MESSAGE_TRACEID_KEY), "Trace id is missing");
+  }
+
+  /**
+   * Verifies that the response has the shape of a validation problem, whatever field it is about:
+   * the title, a trace ID, and an {@code errors} object whose every entry is a non-empty list of
+   * messages.
+   *
+   * @param response the parsed {@code 400} response to verify
+   * @throws AssertionError if the shape is not that of a validation problem
+   */
+  public void verifyValidationProblem(ParsedResponse response) {
+    assertEquals(response.getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
+    assertTrue(response.has(ERROR_MESSAGE_TRACEID_KEY), "Trace id is missing");
+    JsonNode errors = response.node(ERROR_MESSAGE_ERRORS_KEY);
+    assertTrue(errors.isObject() && errors.size() > 0, "Errors are missing");
+    errors
+        .fields()
+        .forEachRemaining(
+            error -> {
+              JsonNode messages = error.getValue();
+              assertTrue(
+                  messages.isArray() && messages.size() > 0 && messages.get(0).isTextual(),
+                  "No message for error key " + error.getKey());
+            });
+  }
+
+  /**
+   * Checks the validation-problem title, the trace ID and that the first message for {@code
+   * errorKey} contains {@code expectedMessage}.
+   */
+  private void verifyValidationError(
+      ParsedResponse response, String errorKey, String expectedMessage) {
+    assertEquals(response.getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
+    assertTrue(response.has(ERROR_MESSAGE_TRACEID_KEY), "Trace id is missing");
+    assertTrue(
+        response.keys(ERROR_MESSAGE_ERRORS_KEY).contains(errorKey), "Error key is missing");
+    String errorMessage =
+        response.getString(String.format("%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, errorKey));
+    assertTrue(
+        errorMessage != null && errorMessage.contains(expectedMessage),
+        "Expected error message is missing or incorrect");
   }
 }
@@ -0,0 +1,234 @@
+package com.api.test.verifications;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.metrics.LatencyHistogram;
+import io.restassured.response.Response;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import org.testng.SkipException;
+
+/**
+ * The {@code LatencyVerification} class provides assertions on response times, so a build fails
+ * when an endpoint gets slower and not only when it returns the wrong status. Two kinds of limit
+ * are supported: a limit on a single call, and a limit on a percentile over repeated calls.
+ *
+ * <p>Limits are read from the active {@code application-*.properties} file, keyed by a name the
+ * test chooses:
+ *
+ * <ul>
+ *   <li>{@code sla.<name>.maxMs} - the limit for a single call
+ *   <li>{@code sla.<name>.p<percentile>Ms}, e.g. {@code sla.getBookById.p95Ms} - the limit for that
+ *       percentile over {@code sla.<name>.calls} calls (default 200)
+ *   <li>{@code sla.warmUpCalls} - untimed calls made first, so connection set-up and class loading
+ *       are not measured (default 1)
+ * </ul>
+ *
+ * <p>A test whose limit is not configured for the active environment is skipped. When a limit is
+ * broken, the assertion message shows the histogram of the measured calls. Percentile checks also
+ * fail when a measured call answers with an unexpected status ({@code 2xx} unless the caller says
+ * otherwise), with the count of every status in the message.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   LatencyVerification verifyLatency = new LatencyVerification();
+ *   verifyLatency.verifyWithinLimit("getAllBooks", bookRequests::getAllBooks);
+ *   verifyLatency.verifyPercentileWithinLimit(
+ *       "getBookById", 95, call -> bookRequests.getBookById(call % 200 + 1));
+ * }
+ * </pre>
+ */
+public class LatencyVerification {
+
+  private static final int DEFAULT_CALLS = 200;
+  private static final double[] REPORTED_PERCENTILES = {50, 90, 95, 99, 99.9};
+
+  /**
+   * Times one call of {@code call} against {@code sla.<name>.maxMs}.
+   *
+   * @return the response of the timed call, for further assertions
+   * @throws AssertionError if the call took longer than the limit
+   */
+  public Response verifyWithinLimit(String name, Supplier<Response> call) {
+    return verifyWithinLimit(name, limit(name, "maxMs"), call);
+  }
+
+  /** Times one call of {@code call} against an explicit limit. */
+  public Response verifyWithinLimit(String name, Duration limit, Supplier<Response> call) {
+    warmUp(index -> call.get());
+    LatencyHistogram histogram = new LatencyHistogram();
+    long start = System.nanoTime();
+    Response response = call.get();
+    histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    if (histogram.getMax() > limit.toNanos() / 1000) {
+      throw new AssertionError(
+          String.format(
+              "%s took %s, above its limit of %s%n%s",
+              name,
+              millis(histogram.getMax()),
+              millis(limit.toNanos() / 1000),
+              describe(histogram)));
+    }
+    return response;
+  }
+
+  /**
+   * Calls {@code call} {@code sla.<name>.calls} times, one after the other, and checks the given
+   * percentile of the latencies against {@code sla.<name>.p<percentile>Ms}. The call index is
+   * passed in, e.g. to spread requests over several ids.
+   *
+   * <p>Every measured call has to answer with a {@code 2xx} status: fast errors would otherwise
+   * pass the limit, so an outage could make the check greener.
+   *
+   * @return the latencies of all measured calls, in microseconds
+   * @throws AssertionError if a call has another status, or the percentile is above the limit
+   */
+  public LatencyHistogram verifyPercentileWithinLimit(
+      String name, double percentile, IntFunction<Response> call) {
+    return verifyPercentileWithinLimit(name, percentile, LatencyVerification::isSuccess, call);
+  }
+
+  /** Like {@link #verifyPercentileWithinLimit(String, double, IntFunction)}, for other statuses. */
+  public LatencyHistogram verifyPercentileWithinLimit(
+      String name, double percentile, IntPredicate expectedStatus, IntFunction<Response> call) {
+    return verifyPercentileWithinLimit(
+        name,
+        percentile,
+        limit(name, "p" + format(percentile) + "Ms"),
+        ConfigurationLoader.getIntProperty("sla." + name + ".calls", DEFAULT_CALLS),
+        expectedStatus,
+        call);
+  }
+
+  /** Checks a percentile of {@code calls} {@code 2xx} calls against an explicit limit. */
+  public LatencyHistogram verifyPercentileWithinLimit(
+      String name, double percentile, Duration limit, int calls, IntFunction<Response> call) {
+    return verifyPercentileWithinLimit(
+        name, percentile, limit, calls, LatencyVerification::isSuccess, call);
+  }
+
+  /**
+   * Checks a percentile of {@code calls} calls against an explicit limit; every call has to answer
+   * with a status {@code expectedStatus} accepts.
+   */
+  public LatencyHistogram verifyPercentileWithinLimit(
+      String name,
+      double percentile,
+      Duration limit,
+      int calls,
+      IntPredicate expectedStatus,
+      IntFunction<Response> call) {
+    if (calls < 1) {
+      throw new IllegalArgumentException("calls must be at least 1, got " + calls);
+    }
+    warmUp(call);
+    LatencyHistogram histogram = new LatencyHistogram();
+    Map<Integer, Integer> statuses = new TreeMap<>();
+    int unexpected = 0;
+    for (int i = 0; i < calls; i++) {
+      long start = System.nanoTime();
+      Response response = call.apply(i);
+      histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+      int status = response.statusCode();
+      statuses.merge(status, 1, Integer::sum);
+      if (!expectedStatus.test(status)) {
+        unexpected++;
+      }
+    }
+    if (unexpected > 0) {
+      throw new AssertionError(
+          String.format(
+              "%d of %d %s calls answered with an unexpected status, statuses %s%n%s",
+              unexpected, calls, name, statuses, describe(histogram)));
+    }
+    long value = histogram.getValueAtPercentile(percentile);
+    long limitMicros = limit.toNanos() / 1000;
+    if (value > limitMicros) {
+      throw new AssertionError(
+          String.format(
+              "p%s of %d %s calls is %s, above its limit of %s%n%s",
+              format(percentile),
+              calls,
+              name,
+              millis(value),
+              millis(limitMicros),
+              describe(histogram)));
+    }
+    return histogram;
+  }
+
+  /**
+   * Renders a histogram for a failure message: summary, percentiles and the number of calls per
+   * power-of-two millisecond range.
+   */
+  public static String describe(LatencyHistogram histogram) {
+    StringBuilder text = new StringBuilder();
+    text.append(
+        String.format(
+            "%d calls, min %s, mean %s, max %s%n",
+            histogram.getCount(),
+            millis(histogram.getMin()),
+            millis((long) histogram.getMean()),
+            millis(histogram.getMax())));
+    for (double percentile : REPORTED_PERCENTILES) {
+      text.append(
+          String.format(
+              "  p%-5s %12s%n",
+              format(percentile), millis(histogram.getValueAtPercentile(percentile))));
+    }
+    long total = histogram.getCount();
+    long below = 0;
+    long upperMicros = 1000;
+    while (below < total) {
+      long atOrBelow = histogram.getCountAtOrBelow(upperMicros);
+      long inRange = atOrBelow - below;
+      if (inRange > 0 || below > 0) {
+        int width = (int) Math.round(40.0 * inRange / total);
+        text.append(
+            String.format(
+                "  <= %9s %6d %s%n", millis(upperMicros), inRange, "#".repeat(width)));
+      }
+      below = atOrBelow;
+      upperMicros *= 2;
+    }
+    return text.toString();
+  }
+
+  private static boolean isSuccess(int status) {
+    return status >= 200 && status < 300;
+  }
+
+  private static void warmUp(IntFunction<Response> call) {
+    int calls = ConfigurationLoader.getIntProperty("sla.warmUpCalls", 1);
+    for (int i = 0; i < calls; i++) {
+      call.apply(i);
+    }
+  }
+
+  private static Duration limit(String name, String suffix) {
+    String key = "sla." + name + "." + suffix;
+    String value = ConfigurationLoader.getProperty(key, "");
+    if (value.isEmpty()) {
+      throw new SkipException("No latency limit " + key + " configured for this environment");
+    }
+    try {
+      return Duration.ofNanos(new BigDecimal(value).movePointRight(6).longValueExact());
+    } catch (ArithmeticException | NumberFormatException e) {
+      throw new IllegalArgumentException("Latency limit " + key + " is not a number: " + value, e);
+    }
+  }
+
+  private static String millis(long micros) {
+    return String.format("%.1f ms", micros / 1000.0);
+  }
+
+  private static String format(double percentile) {
+    return BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+  }
+}
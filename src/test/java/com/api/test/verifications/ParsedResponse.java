@@ -0,0 +1,193 @@
+package com.api.test.verifications;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The {@code ParsedResponse} class is a read-only view of a JSON response body that parses the
+ * body once, on the first lookup, and answers every later lookup from the same Jackson tree.
+ * {@code response.jsonPath()} builds a new parser and object graph on every call, so asserting
+ * four fields of one body parses it four times.
+ *
+ * <p>Paths use the subset of GPath the verifications need: dot-separated field names, quoted
+ * names for keys that contain dots and {@code [n]} indexes, e.g. {@code errors.'$.pageCount'[0]}.
+ * A field name applied to an array is applied to each element, so {@code id} on a list of books
+ * is the list of their ids.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   ParsedResponse body = ParsedResponse.of(response);
+ *   assertEquals(body.getString("title"), "Not Found");
+ *   assertEquals(body.getList("id").size(), 200);
+ * }
+ * </pre>
+ *
+ * <p>Like {@code Response}, instances are meant to be used by one thread.
+ */
+public final class ParsedResponse {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Map<String, List<Object>> PATHS = new ConcurrentHashMap<>();
+
+  private final Supplier<byte[]> body;
+  private JsonNode root;
+
+  private ParsedResponse(Supplier<byte[]> body) {
+    this.body = body;
+  }
+
+  public static ParsedResponse of(Response response) {
+    return new ParsedResponse(response::asByteArray);
+  }
+
+  public static ParsedResponse of(byte[] body) {
+    return new ParsedResponse(() -> body);
+  }
+
+  public static ParsedResponse of(String body) {
+    return of(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** The whole body; parsed on the first call. */
+  public JsonNode root() {
+    if (root == null) {
+      try {
+        byte[] bytes = body.get();
+        root = bytes.length == 0 ? MissingNode.getInstance() : MAPPER.readTree(bytes);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Response body is not valid JSON", e);
+      }
+    }
+    return root;
+  }
+
+  /** The node at {@code path}, or a missing node when there is none. */
+  public JsonNode node(String path) {
+    JsonNode node = root();
+    for (Object segment : compile(path)) {
+      node = segment instanceof Integer index ? node.path(index) : field(node, (String) segment);
+    }
+    return node;
+  }
+
+  /** Whether {@code path} exists and is not JSON {@code null}. */
+  public boolean has(String path) {
+    JsonNode node = node(path);
+    return !node.isMissingNode() && !node.isNull();
+  }
+
+  /** The value at {@code path} as text, or {@code null} when it is missing or JSON null. */
+  public String getString(String path) {
+    JsonNode node = node(path);
+    if (node.isMissingNode() || node.isNull()) {
+      return null;
+    }
+    return node.isValueNode() ? node.asText() : node.toString();
+  }
+
+  /** The number at {@code path}, or the text there when it is an int, e.g. {@code "42"}. */
+  public int getInt(String path) {
+    JsonNode node = node(path);
+    if (node.canConvertToInt()) {
+      return node.asInt();
+    }
+    if (node.isTextual()) {
+      try {
+        return Integer.parseInt(node.textValue());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("No int value at " + path + ": " + node, e);
+      }
+    }
+    throw new IllegalArgumentException("No int value at " + path + ": " + node);
+  }
+
+  /** The elements of the array at {@code path}; empty when there is no array there. */
+  public List<JsonNode> getList(String path) {
+    JsonNode node = node(path);
+    if (!node.isArray()) {
+      return Collections.emptyList();
+    }
+    List<JsonNode> elements = new ArrayList<>(node.size());
+    node.forEach(elements::add);
+    return elements;
+  }
+
+  /** The field names of the object at {@code path}; empty when there is no object there. */
+  public Set<String> keys(String path) {
+    JsonNode node = node(path);
+    if (!node.isObject()) {
+      return Collections.emptySet();
+    }
+    Set<String> keys = new LinkedHashSet<>();
+    node.fieldNames().forEachRemaining(keys::add);
+    return keys;
+  }
+
+  private static JsonNode field(JsonNode node, String name) {
+    if (!node.isArray()) {
+      return node.path(name);
+    }
+    ArrayNode values = JsonNodeFactory.instance.arrayNode(node.size());
+    for (JsonNode element : node) {
+      JsonNode value = field(element, name);
+      if (!value.isMissingNode()) {
+        values.add(value);
+      }
+    }
+    return values;
+  }
+
+  /** Splits a path into field names (String) and array indexes (Integer). */
+  private static List<Object> compile(String path) {
+    return PATHS.computeIfAbsent(path, ParsedResponse::parsePath);
+  }
+
+  private static List<Object> parsePath(String path) {
+    List<Object> segments = new ArrayList<>();
+    int i = 0;
+    while (i < path.length()) {
+      char c = path.charAt(i);
+      if (c == '.') {
+        i++;
+      } else if (c == '[') {
+        int end = path.indexOf(']', i);
+        if (end < 0) {
+          throw new IllegalArgumentException("Unclosed index in path: " + path);
+        }
+        segments.add(Integer.parseInt(path.substring(i + 1, end).trim()));
+        i = end + 1;
+      } else if (c == '\'') {
+        int end = path.indexOf('\'', i + 1);
+        if (end < 0) {
+          throw new IllegalArgumentException("Unclosed quote in path: " + path);
+        }
+        segments.add(path.substring(i + 1, end));
+        i = end + 1;
+      } else {
+        int end = i;
+        while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+          end++;
+        }
+        segments.add(path.substring(i, end));
+        i = end;
+      }
+    }
+    return List.copyOf(segments);
+  }
+}